@@ -0,0 +1,76 @@
+package piq.piqproject.domain.matches.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * 가상의 사용자 집단(10만 ~ 1000만 명)에서 상위 K 추천에 걸리는 시간을 측정합니다.
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CompatibilityRankerBenchmark {
+
+    @Param({ "100000", "1000000", "10000000" })
+    private int population;
+
+    @Param({ "1", "0" }) // 1: 단일 스레드, 0: CPU 코어 수
+    private int parallelism;
+
+    @Param({ "20" })
+    private int k;
+
+    private CandidateColumns columns;
+    private RoaringBitmap candidates;
+    private ForkJoinPool pool;
+    private CompatibilityRanker ranker;
+    private int today;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        today = 20_000;
+        columns = new CandidateColumns(population + 1);
+        for (int i = 0; i < population; i++) {
+            int ordinal = i + 1;
+            columns.set(ordinal, (byte) random.nextInt(2), (byte) random.nextInt(20, 45),
+                    (byte) random.nextInt(-1, MbtiCodes.COUNT), 0, (float) random.nextDouble(0, 120),
+                    today - random.nextInt(0, 1_000));
+        }
+        candidates = RoaringBitmap.bitmapOfRange(1, population + 1L);
+
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        ranker = new CompatibilityRanker(pool, 16_384, new CompatibilityRanker.Weights(0.4f, 0.3f, 0.2f, 0.1f),
+                100f, 5f, 30);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public CompatibilityRanker.Ranked topK() {
+        return ranker.topK(candidates, columns, MbtiCodes.of("ENFP"), 29, today, k);
+    }
+}
@@ -2,6 +2,7 @@ package piq.piqproject;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 
@@ -12,8 +13,13 @@ import static org.springframework.data.web.config.EnableSpringDataWebSupport.Pag
 @EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO) //페이지네이션 응답과정에서 발생하는 불필요한 요소들을 제거해줍니다.
 public class PiqProjectApplication {
 
+    // 기동 단계(빈 생성, context refresh 등)를 기록할 최대 개수 (/actuator/startup, StartupTimelineReporter에서 사용)
+    private static final int STARTUP_STEP_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(PiqProjectApplication.class, args);
+        SpringApplication application = new SpringApplication(PiqProjectApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,107 @@
+package piq.piqproject.common.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 여러 스레드에서 잠금 없이 사용할 수 있는 Bloom filter입니다.
+ * <p>
+ * mightContain()이 false이면 "확실히 없음", true이면 "있을 수도 있음"을 의미합니다.
+ * 따라서 true인 경우에만 Redis/DB 등 실제 저장소를 확인하는 1차 필터로 사용합니다.
+ * <p>
+ * 원소 삭제는 지원하지 않습니다. 삭제가 필요하면 새 필터를 만들어 교체해야 합니다.
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        // long 단위로 비트를 저장하므로 64의 배수로 올림
+        int words = (int) ((bitSize + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * 예상 원소 수와 허용 오탐률로 최적의 비트 수와 해시 함수 개수를 계산하여 생성합니다.
+     *
+     * @param expectedInsertions 예상 원소 수
+     * @param falsePositiveRate  허용 오탐률 (예: 0.01 = 1%)
+     * @return 비어있는 BloomFilter
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("오탐률은 0과 1 사이여야 합니다: " + falsePositiveRate);
+        }
+
+        long n = Math.max(1, expectedInsertions);
+        long bitSize = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * LN2));
+        return new BloomFilter(bitSize, hashFunctions);
+    }
+
+    public void put(String value) {
+        putHash(hash(value));
+    }
+
+    public void put(long value) {
+        putHash(mix64(value));
+    }
+
+    public boolean mightContain(String value) {
+        return mightContainHash(hash(value));
+    }
+
+    public boolean mightContain(long value) {
+        return mightContainHash(mix64(value));
+    }
+
+    // 하나의 64bit 해시에서 두 값을 얻어 k개의 인덱스를 만드는 double hashing (Kirsch-Mitzenmacher)
+    private void putHash(long hash1) {
+        long hash2 = mix64(hash1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            long mask = 1L << index; // shift 연산은 하위 6bit만 사용
+            int word = (int) (index >>> 6);
+            if ((bits.get(word) & mask) == 0) {
+                bits.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+            }
+        }
+    }
+
+    private boolean mightContainHash(long hash1) {
+        long hash2 = mix64(hash1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a 64bit 해시 후 mix64로 비트를 고르게 섞습니다.
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    // MurmurHash3의 fmix64 (avalanche 단계)
+    private static long mix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,106 @@
+package piq.piqproject.common.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+import piq.piqproject.common.timer.PeriodicTask;
+
+/**
+ * 항목마다 만료 시각(ms)이 있는 메모리 캐시입니다.
+ * <p>
+ * - 조회: 만료된 항목은 없는 것으로 보고 그 자리에서 제거합니다.
+ * <p>
+ * - 정리: 조회되지 않고 남은 만료 항목은 startSweeper()로 시작한 스레드가 주기적으로 정리합니다.
+ * 사용하는 쪽은 종료 시(@PreDestroy) close()로 스레드를 멈춥니다.
+ * <p>
+ * - 크기 제한: maxSize에 도달하면 요청 스레드는 전체를 훑지 않고 넘치는 만큼만 임의의 항목을 제거합니다.
+ */
+public class ExpiringCache<K, V> implements AutoCloseable {
+
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final ToLongFunction<V> expiresAt;
+
+    private PeriodicTask sweeper;
+
+    /**
+     * @param maxSize   최대 항목 수
+     * @param expiresAt 항목의 만료 시각(ms)을 구하는 함수
+     */
+    public ExpiringCache(int maxSize, ToLongFunction<V> expiresAt) {
+        this.maxSize = maxSize;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * 만료된 항목을 interval마다 정리하는 스레드를 시작합니다.
+     */
+    public synchronized void startSweeper(String threadName, Duration interval) {
+        if (sweeper == null) {
+            sweeper = new PeriodicTask(threadName, interval, false, this::sweepExpired);
+            sweeper.start();
+        }
+    }
+
+    /**
+     * @return 만료되지 않은 값, 없으면 null
+     */
+    public V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (expiresAt.applyAsLong(value) <= System.currentTimeMillis()) {
+            entries.remove(key, value);
+            return null;
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        if (entries.size() >= maxSize) {
+            evictOverflow();
+        }
+        entries.put(key, value);
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 만료된 항목을 정리합니다. (정리 스레드 또는 테스트에서 호출)
+     */
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(value -> expiresAt.applyAsLong(value) <= now);
+    }
+
+    @Override
+    public void close() {
+        PeriodicTask current;
+        synchronized (this) {
+            current = sweeper;
+        }
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    // 용량을 넘는 만큼만 임의의 항목을 제거합니다. (만료된 항목은 sweepExpired()가 정리)
+    private void evictOverflow() {
+        int overflow = entries.size() - maxSize + 1;
+        Iterator<K> iterator = entries.keySet().iterator();
+        while (overflow-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
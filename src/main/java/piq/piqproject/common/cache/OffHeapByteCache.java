@@ -0,0 +1,186 @@
+package piq.piqproject.common.cache;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * long 키 → byte[] 값을 힙 밖(direct memory)에 저장하는 캐시입니다.
+ * <p>
+ * - 구조: 키의 해시로 세그먼트를 고르고, 각 세그먼트는 고정 크기 direct ByteBuffer에 값을 뒤에 이어 붙여(append) 저장합니다.
+ * 힙에는 키 → (offset, length) 인덱스만 남으므로 값이 많아도 GC 대상 객체가 늘지 않습니다.
+ * <p>
+ * - 교체: 세그먼트가 가득 차면 해당 세그먼트를 통째로 비웁니다. (FIFO) 자주 조회되는 값은 miss 후 곧바로 다시 저장됩니다.
+ * 무효화/덮어쓰기로 남은 빈 공간도 이때 함께 회수됩니다.
+ * <p>
+ * - 동시성: 세그먼트마다 읽기/쓰기 락을 두어 서로 다른 세그먼트의 조회/저장은 경합하지 않습니다.
+ * <p>
+ * - 오래된 값 방지: 조회 전에 받은 ticket()을 put()에 넘기면, 그 사이 같은 세그먼트에 무효화가 있었던 경우 저장하지 않습니다.
+ * (DB에서 읽은 뒤 커밋된 변경의 무효화가 먼저 처리되어, 오래된 값이 다시 저장되는 경쟁 상태를 막습니다.)
+ */
+public class OffHeapByteCache {
+
+    private final Segment[] segments;
+    private final int maxEntryBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param segmentCount  세그먼트 수 (2의 거듭제곱으로 올림)
+     * @param segmentBytes  세그먼트별 direct memory 크기
+     * @param maxEntryBytes 저장할 값의 최대 크기 (넘으면 저장하지 않음)
+     */
+    public OffHeapByteCache(int segmentCount, int segmentBytes, int maxEntryBytes) {
+        if (segmentCount <= 0 || segmentBytes <= 0 || maxEntryBytes <= 0 || maxEntryBytes > segmentBytes) {
+            throw new IllegalArgumentException("invalid cache size");
+        }
+        int count = Integer.highestOneBit(segmentCount - 1) << 1;
+        this.segments = new Segment[Math.max(1, count)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(segmentBytes);
+        }
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    /**
+     * @return 저장된 값의 복사본, 없으면 null
+     */
+    public byte[] get(long key) {
+        byte[] value = segmentFor(key).get(key);
+        (value != null ? hits : misses).incrementAndGet();
+        return value;
+    }
+
+    /**
+     * 값을 조회하기 전에 호출하여, put()에 넘길 ticket을 받습니다.
+     */
+    public long ticket(long key) {
+        return segmentFor(key).invalidations.get();
+    }
+
+    /**
+     * ticket을 받은 이후 같은 세그먼트에 무효화가 없었다면 값을 저장합니다.
+     *
+     * @return 저장했으면 true
+     */
+    public boolean put(long key, byte[] value, long ticket) {
+        if (value.length > maxEntryBytes) {
+            return false;
+        }
+        return segmentFor(key).put(key, value, ticket);
+    }
+
+    public void invalidate(long key) {
+        segmentFor(key).invalidate(key);
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long capacityBytes() {
+        return (long) segments.length * segments[0].buffer.capacity();
+    }
+
+    private Segment segmentFor(long key) {
+        long h = key * 0x9E3779B97F4A7C15L; // 연속된 id도 세그먼트에 고르게 분산
+        return segments[(int) (h >>> 32) & (segments.length - 1)];
+    }
+
+    private static class Segment {
+        private final ByteBuffer buffer;
+        // key → (offset << 32 | length)
+        private final Map<Long, Long> index = new HashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicLong invalidations = new AtomicLong();
+        private int writeOffset;
+
+        private Segment(int bytes) {
+            this.buffer = ByteBuffer.allocateDirect(bytes);
+        }
+
+        private byte[] get(long key) {
+            lock.readLock().lock();
+            try {
+                Long location = index.get(key);
+                if (location == null) {
+                    return null;
+                }
+                byte[] value = new byte[(int) (location & 0xFFFFFFFFL)];
+                buffer.get((int) (location >>> 32), value); // 절대 위치 읽기 (buffer의 position을 바꾸지 않음)
+                return value;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private boolean put(long key, byte[] value, long ticket) {
+            lock.writeLock().lock();
+            try {
+                if (invalidations.get() != ticket) {
+                    return false;
+                }
+                if (writeOffset + value.length > buffer.capacity()) {
+                    index.clear();
+                    writeOffset = 0;
+                }
+                buffer.put(writeOffset, value);
+                index.put(key, ((long) writeOffset << 32) | value.length);
+                writeOffset += value.length;
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void invalidate(long key) {
+            lock.writeLock().lock();
+            try {
+                invalidations.incrementAndGet();
+                index.remove(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void clear() {
+            lock.writeLock().lock();
+            try {
+                invalidations.incrementAndGet();
+                index.clear();
+                writeOffset = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private int size() {
+            lock.readLock().lock();
+            try {
+                return index.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
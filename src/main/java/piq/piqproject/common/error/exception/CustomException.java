@@ -14,22 +14,40 @@ import lombok.Getter;
  * - 중복 코드 제거: GlobalExceptionHandler에서 CustomException만 가로채면 모든 하위 예외를 일괄적으로 처리
  * 가능합니다.
  * ➡️ 각 예외 유형별로 핸들러 코드를 작성할 필요 ❌
+ * <p>
+ * 스택 트레이스 생략(stackless)
+ * <p>
+ * - 만료된 JWT, 중복 리뷰 같은 4xx 에러는 예상 가능한 흐름이므로 스택 트레이스를 만들지 않습니다.
+ * ➡️ 예외 생성 비용(fillInStackTrace)이 사라져, 에러가 몰려도 CPU 사용량이 급증하지 않음
+ * - 5xx 에러는 원인 추적이 필요하므로 항상 스택 트레이스를 생성합니다.
+ * - error.handling.stack-trace-enabled=true로 설정하면 4xx도 스택 트레이스를 생성합니다. (디버깅용)
  */
 @Getter
 public class CustomException extends RuntimeException {
 
+    // 4xx 에러도 스택 트레이스를 생성할지 여부 (ErrorHandlingProperties에서 설정)
+    private static volatile boolean stackTraceEnabled = false;
+
     private String message;
     private final ErrorCode errorCode;
 
     public CustomException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
+        super(errorCode.getMessage(), null, false, writableStackTrace(errorCode));
         this.errorCode = errorCode;
         this.message = errorCode.getMessage();
     }
 
     public CustomException(ErrorCode errorCode, String message) {
-        super(message);
+        super(message, null, false, writableStackTrace(errorCode));
         this.errorCode = errorCode;
         this.message = message;
     }
+
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+
+    private static boolean writableStackTrace(ErrorCode errorCode) {
+        return stackTraceEnabled || errorCode.getStatus().is5xxServerError();
+    }
 }
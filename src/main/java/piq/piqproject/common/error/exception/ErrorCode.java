@@ -15,8 +15,14 @@ public enum ErrorCode {
     // BAD_REQUEST (400) : 잘못된 요청
     JWT_TOKEN_MISSING(HttpStatus.BAD_REQUEST, "JWT 토큰이 제공되지 않았거나 유효하지 않습니다."),
     POST_TYPE_MISMATCH(HttpStatus.BAD_REQUEST, "해당 URL에서 접근할 수 없는 타입의 게시글입니다."),
+    AVAILABILITY_QUERY_MISSING(HttpStatus.BAD_REQUEST, "확인할 이메일 또는 닉네임을 입력해주세요."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "유효하지 않은 페이지 커서입니다."),
+    CANNOT_SWIPE_SELF(HttpStatus.BAD_REQUEST, "자기 자신은 선택할 수 없습니다."),
+    CANNOT_BLOCK_SELF(HttpStatus.BAD_REQUEST, "자기 자신은 차단할 수 없습니다."),
+    INVALID_IMAGE_FILE(HttpStatus.BAD_REQUEST, "지원하지 않는 이미지 형식입니다. (JPEG, PNG, GIF, WebP만 가능)"),
 
     // UNAUTHORIZED (401) : 인증되지 않은 접근,
+    AUTHENTICATION_REQUIRED(HttpStatus.UNAUTHORIZED, "인증이 필요합니다. 로그인을 해주세요."),
     JWT_TOKEN_EXPIRED(HttpStatus.UNAUTHORIZED, "JWT 토큰이 만료되었습니다."),
     UNSUPPORTED_JWT_TOKEN(HttpStatus.UNAUTHORIZED, "지원되지 않는 JWT 토큰 형식입니다."),
     MALFORMED_JWT_TOKEN(HttpStatus.UNAUTHORIZED, "손상되었거나 올바르지 않은 형식의 JWT 토큰입니다."),
@@ -24,8 +30,10 @@ public enum ErrorCode {
     INVALID_REFRESH_TOKEN(HttpStatus.UNAUTHORIZED, "유효하지 않은 리프레시 토큰입니다."),
     PASSWORD_MISMATCH(HttpStatus.UNAUTHORIZED, "비밀번호가 일치하지 않습니다."),
     REFRESH_TOKEN_MISMATCH(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 일치하지 않습니다. 다시 로그인해주세요."),
+    REVOKED_JWT_TOKEN(HttpStatus.UNAUTHORIZED, "폐기된 JWT 토큰입니다. 다시 로그인해주세요."),
 
     // FORBIDDEN (403) : 권한 없는 접근,
+    ACCESS_DENIED(HttpStatus.FORBIDDEN, "접근 권한이 없습니다."),
     DISABLED_ACCOUNT_USER(HttpStatus.FORBIDDEN, "비활성화된 계정입니다."),
     NOT_REVIEW_OWNER(HttpStatus.FORBIDDEN, "자신의 리뷰만 수정 및 삭제 가능합니다."),
 
@@ -34,13 +42,25 @@ public enum ErrorCode {
     NOT_FOUND_REFRESH_TOKEN(HttpStatus.NOT_FOUND, "리프레시 토큰이 존재하지 않습니다. 다시 로그인해주세요."),
     NOT_FOUND_REVIEW(HttpStatus.NOT_FOUND, "리뷰를 찾을 수 없습니다."),
     NOT_FOUND_POST(HttpStatus.NOT_FOUND, "게시글을 찾을 수 없습니다."),
+    NOT_FOUND_MATCH_OFFER(HttpStatus.NOT_FOUND, "응답할 수 있는 매칭 제안이 없습니다."),
+    NOT_FOUND_FILE(HttpStatus.NOT_FOUND, "파일을 찾을 수 없습니다."),
+    NOT_FOUND_UPLOAD(HttpStatus.NOT_FOUND, "업로드 작업을 찾을 수 없습니다. (완료 후 일정 시간이 지나면 조회할 수 없습니다.)"),
 
     // METHOD_NOT_ALLOWED (405) : 허용되지 않는 HTTP 메서드
     METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED, "요청하신 HTTP 메서드는 이 리소스에 허용되지 않습니다."),
 
     // CONFLICT (409) : 충돌
     ALREADY_EXISTS_USER(HttpStatus.CONFLICT, "이미 가입된 유저입니다."),
+    ALREADY_EXISTS_NICKNAME(HttpStatus.CONFLICT, "이미 사용 중인 닉네임입니다."),
     ALREADY_EXISTS_REVIEW(HttpStatus.CONFLICT, "서비스에 대한 리뷰는 1회만 가능합니다."),
+    BLOCK_LIMIT_EXCEEDED(HttpStatus.CONFLICT, "더 이상 차단할 수 없습니다. 차단 목록을 정리해주세요."),
+
+    // PAYLOAD_TOO_LARGE (413) : 요청 크기 초과
+    FILE_SIZE_EXCEEDED(HttpStatus.PAYLOAD_TOO_LARGE, "업로드할 수 있는 최대 파일 크기를 초과했습니다."),
+    AUTH_REQUEST_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "로그인/회원가입 요청 본문이 너무 큽니다."),
+
+    // TOO_MANY_REQUESTS (429) : 요청 횟수 초과
+    TOO_MANY_AUTH_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
 
     // INTERNAL_SERVER_ERROR (500) : 서버 오류
     INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "서버에 오류가 발생했습니다."),
@@ -49,6 +69,14 @@ public enum ErrorCode {
     FILE_NUMBER_EXCEEDED(HttpStatus.INTERNAL_SERVER_ERROR, "이미지 최대 개수를 초과했습니다."),
     FILE_DELETE_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "파일 삭제 중 오류가 발생했습니다."),
     AUTHORITY_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "권한 정보 처리 중 오류가 발생했습니다."),
+
+    // SERVICE_UNAVAILABLE (503) : 일시적으로 처리 불가
+    PASSWORD_HASHING_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 로그인을 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    CANDIDATE_INDEX_NOT_READY(HttpStatus.SERVICE_UNAVAILABLE, "매칭 후보 목록을 준비 중입니다. 잠시 후 다시 시도해주세요."),
+    SWIPE_BUFFER_FULL(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    SWIPE_WRITE_PENDING(HttpStatus.SERVICE_UNAVAILABLE, "선택이 저장되었는지 확인하지 못했습니다. 잠시 후 다시 시도해주세요."),
+    INSTANT_MATCH_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "매칭 대기 인원이 많습니다. 잠시 후 다시 시도해주세요."),
+    IMAGE_UPLOAD_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "업로드 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
     ;
 
     private final HttpStatus status;
@@ -0,0 +1,11 @@
+package piq.piqproject.common.error.exception;
+
+public class PayloadTooLargeException extends CustomException {
+    public PayloadTooLargeException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+
+    public PayloadTooLargeException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
@@ -0,0 +1,11 @@
+package piq.piqproject.common.error.exception;
+
+public class ServiceUnavailableException extends CustomException {
+    public ServiceUnavailableException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+
+    public ServiceUnavailableException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
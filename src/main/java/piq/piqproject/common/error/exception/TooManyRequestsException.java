@@ -0,0 +1,11 @@
+package piq.piqproject.common.error.exception;
+
+public class TooManyRequestsException extends CustomException {
+    public TooManyRequestsException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+
+    public TooManyRequestsException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
+    }
+}
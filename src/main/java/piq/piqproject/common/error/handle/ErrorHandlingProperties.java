@@ -0,0 +1,27 @@
+package piq.piqproject.common.error.handle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import piq.piqproject.common.error.exception.CustomException;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("error.handling") // application.properties에서 error.handling접두사 속성을 class의 필드에 매핑
+public class ErrorHandlingProperties {
+    // 4xx CustomException도 스택 트레이스를 생성할지 여부 (디버깅용, 5xx는 항상 생성)
+    private boolean stackTraceEnabled = false;
+    // ErrorCode별로 interval 동안 남길 최대 로그 수 (4xx 에러에만 적용)
+    private int logMaxPerInterval = 5;
+    // 로그 샘플링 interval(ms)
+    private long logIntervalMillis = 10_000;
+
+    @PostConstruct
+    protected void apply() {
+        CustomException.setStackTraceEnabled(stackTraceEnabled);
+    }
+}
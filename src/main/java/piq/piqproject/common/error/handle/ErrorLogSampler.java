@@ -0,0 +1,59 @@
+package piq.piqproject.common.error.handle;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import piq.piqproject.common.error.exception.ErrorCode;
+
+/**
+ * ErrorCode별로 일정 시간(interval) 동안 남길 로그 수를 제한합니다.
+ * <p>
+ * 만료된 JWT처럼 예상 가능한 에러가 한꺼번에 몰려도 로그 I/O가 폭증하지 않도록,
+ * interval마다 처음 몇 건만 기록하고 나머지는 개수만 세어 다음 로그에 함께 남깁니다.
+ */
+@Component
+public class ErrorLogSampler {
+
+    private final Map<ErrorCode, Window> windows = new EnumMap<>(ErrorCode.class);
+    private final int maxPerInterval;
+    private final long intervalMillis;
+
+    public ErrorLogSampler(ErrorHandlingProperties properties) {
+        this.maxPerInterval = properties.getLogMaxPerInterval();
+        this.intervalMillis = properties.getLogIntervalMillis();
+        // 모든 ErrorCode의 window를 미리 만들어두어, 조회 시 동기화가 필요 없게 합니다.
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            windows.put(errorCode, new Window());
+        }
+    }
+
+    /**
+     * 이번 에러를 로그로 남길지 결정합니다.
+     *
+     * @param errorCode 발생한 에러
+     * @return 로그를 남겨야 하면 지난 로그 이후 생략된 건수(0 이상), 생략해야 하면 -1
+     */
+    public long tryAcquire(ErrorCode errorCode) {
+        Window window = windows.get(errorCode);
+        long now = System.currentTimeMillis();
+        long start = window.start.get();
+        if (now - start >= intervalMillis && window.start.compareAndSet(start, now)) {
+            window.logged.set(0);
+        }
+
+        if (window.logged.incrementAndGet() <= maxPerInterval) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static class Window {
+        private final AtomicLong start = new AtomicLong();
+        private final AtomicLong logged = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+}
@@ -2,20 +2,24 @@ package piq.piqproject.common.error.handle;
 
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import piq.piqproject.common.error.dto.ErrorDetailsDto;
 import piq.piqproject.common.error.dto.ErrorResponseDto;
 import piq.piqproject.common.error.dto.ValidErrorResponseDto;
 import piq.piqproject.common.error.exception.CustomException;
 import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.PayloadTooLargeException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -31,34 +35,63 @@ import java.util.stream.Collectors;
 @Slf4j
 @Hidden
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+        private final PreEncodedErrorResponses errorResponses;
+        private final ErrorLogSampler errorLogSampler;
+
         /**
          * CustomException 하위 클래스에서 발생하는 모든 예외를 가로채 처리합니다.
          *
          * @ExceptionHandler 어노테이션을 사용하면 CustomException가 발생했을 때 이 메서드가 실행됩니다.
          */
         @ExceptionHandler(CustomException.class)
-        public ResponseEntity<ErrorResponseDto> handleCustomExceptionHandler(CustomException e) {
+        public ResponseEntity<?> handleCustomExceptionHandler(CustomException e) {
 
-                HttpStatus status = e.getErrorCode().getStatus();
-                int statusCode = e.getErrorCode().getStatus().value();
-                String code = e.getErrorCode().name();
+                ErrorCode errorCode = e.getErrorCode();
+                HttpStatus status = errorCode.getStatus();
+                String code = errorCode.name();
                 String message = e.getMessage();
 
-                log.error(
-                                """
-                                                CustomException occurred
-                                                ------------------------
-                                                status= {} ({})
-                                                code= {}
-                                                message= {}
-                                                """,
-                                status.getReasonPhrase(), status.value(), code, message, e);
-
+                if (status.is5xxServerError()) {
+                        // 서버 오류는 원인 추적을 위해 항상 스택 트레이스와 함께 남깁니다.
+                        log.error(
+                                        """
+                                                        CustomException occurred
+                                                        ------------------------
+                                                        status= {} ({})
+                                                        code= {}
+                                                        message= {}
+                                                        """,
+                                        status.getReasonPhrase(), status.value(), code, message, e);
+                } else {
+                        // 4xx는 예상 가능한 에러이므로 ErrorCode별로 샘플링하여 스택 트레이스 없이 남깁니다.
+                        long suppressed = errorLogSampler.tryAcquire(errorCode);
+                        if (suppressed >= 0) {
+                                log.info("CustomException occurred: status= {} ({}), code= {}, message= {} (suppressed {} similar)",
+                                                status.getReasonPhrase(), status.value(), code, message, suppressed);
+                        }
+                }
+
+                // 기본 메시지를 그대로 쓰는 경우 미리 직렬화된 본문을 재사용합니다.
+                if (errorCode.getMessage().equals(message)) {
+                        return ResponseEntity.status(status)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .body(errorResponses.body(errorCode));
+                }
                 return ResponseEntity.status(status).body(ErrorResponseDto.of(status, code, message));
         }
 
+        /**
+         * multipart 요청이 spring.servlet.multipart.max-file-size/max-request-size를 넘었을 때 발생하는 예외를 처리합니다.
+         * 응답: 413 Payload Too Large (저장소에서 크기를 넘은 경우와 같은 응답)
+         */
+        @ExceptionHandler(MaxUploadSizeExceededException.class)
+        public ResponseEntity<?> handleMaxUploadSizeExceeded(MaxUploadSizeExceededException e) {
+                return handleCustomExceptionHandler(new PayloadTooLargeException(ErrorCode.FILE_SIZE_EXCEEDED));
+        }
+
         // 유효성 검사에 대한 에러 처리
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ValidErrorResponseDto> handleMethodArgumentNotValidExceptionHandler(
@@ -0,0 +1,89 @@
+package piq.piqproject.common.error.handle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import piq.piqproject.common.error.dto.ErrorResponseDto;
+import piq.piqproject.common.error.exception.ErrorCode;
+
+/**
+ * ErrorCode별 에러 응답 본문(JSON)을 애플리케이션 시작 시 한 번만 직렬화해두고 재사용합니다.
+ * <p>
+ * - GlobalExceptionHandler 형식: {"status":"NOT_FOUND","code":"...","message":"..."} (ErrorResponseDto)
+ * <p>
+ * - 필터 형식: {"status":401,"error":"Unauthorized","message":"...","path":"..."}
+ * 요청마다 달라지는 path만 escape하여 미리 만든 앞/뒤 조각 사이에 씁니다.
+ */
+@Component
+public class PreEncodedErrorResponses {
+
+    private static final byte[] PATH_SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<ErrorCode, byte[]> handlerBodies = new EnumMap<>(ErrorCode.class);
+    private final Map<ErrorCode, byte[]> filterPrefixes = new EnumMap<>(ErrorCode.class);
+
+    public PreEncodedErrorResponses(ObjectMapper mapper) throws JsonProcessingException {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            handlerBodies.put(errorCode, mapper.writeValueAsBytes(
+                    ErrorResponseDto.of(errorCode.getStatus(), errorCode.name(), errorCode.getMessage())));
+            filterPrefixes.put(errorCode, filterPrefix(errorCode.getStatus(), errorCode.getMessage()));
+        }
+    }
+
+    /**
+     * GlobalExceptionHandler에서 사용할 ErrorResponseDto 형식의 본문을 반환합니다.
+     * 반환된 배열은 공유되므로 수정하면 안 됩니다.
+     */
+    public byte[] body(ErrorCode errorCode) {
+        return handlerBodies.get(errorCode);
+    }
+
+    /**
+     * 필터(Security 영역)에서 에러 응답을 작성합니다.
+     *
+     * @param response  응답
+     * @param errorCode 에러 코드 (상태 코드와 기본 메시지)
+     * @param message   응답 메시지 (ErrorCode의 기본 메시지와 같으면 미리 만든 본문을 사용)
+     * @param path      요청 URI
+     */
+    public void write(HttpServletResponse response, ErrorCode errorCode, String message, String path)
+            throws IOException {
+        byte[] prefix = errorCode.getMessage().equals(message)
+                ? filterPrefixes.get(errorCode)
+                : filterPrefix(errorCode.getStatus(), message);
+        byte[] escapedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+
+        response.setStatus(errorCode.getStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(prefix.length + escapedPath.length + PATH_SUFFIX.length);
+
+        ServletOutputStream out = response.getOutputStream();
+        out.write(prefix);
+        out.write(escapedPath);
+        out.write(PATH_SUFFIX);
+    }
+
+    // {"status":401,"error":"Unauthorized","message":"...","path":"  (path 값 직전까지)
+    private static byte[] filterPrefix(HttpStatus status, String message) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("{\"status\":" + status.value() + ",\"error\":\"").getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(status.getReasonPhrase()));
+        out.writeBytes("\",\"message\":\"".getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(message == null ? "" : message));
+        out.writeBytes("\",\"path\":\"".getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+}
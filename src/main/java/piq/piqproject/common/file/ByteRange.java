@@ -0,0 +1,53 @@
+package piq.piqproject.common.file;
+
+/**
+ * HTTP Range 요청 헤더(bytes=start-end)가 가리키는 구간입니다. (start, end 모두 포함)
+ * <p>
+ * 한 구간만 지원합니다. 여러 구간(bytes=0-1,5-9)이나 해석할 수 없는 헤더는 RFC 9110에 따라 무시하고 전체를 응답합니다.
+ */
+public record ByteRange(long start, long end) {
+
+    // 파일 범위를 벗어난 요청 (416 Range Not Satisfiable)
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    private static final String UNIT = "bytes=";
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * @param header Range 헤더 값 (없으면 null)
+     * @param length 파일 크기
+     * @return 응답할 구간 (전체를 응답해야 하면 null, 범위를 벗어나면 UNSATISFIABLE)
+     */
+    public static ByteRange parse(String header, long length) {
+        if (header == null || !header.regionMatches(true, 0, UNIT, 0, UNIT.length()) || header.indexOf(',') != -1) {
+            return null;
+        }
+        String spec = header.substring(UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+        try {
+            // bytes=-N: 마지막 N바이트
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+            long start = Long.parseLong(spec.substring(0, dash));
+            String last = spec.substring(dash + 1);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            return end < start ? null : new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package piq.piqproject.common.file;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import org.springframework.web.multipart.MultipartFile;
 
 public interface FileUploader {
@@ -8,14 +11,44 @@ public interface FileUploader {
      *
      * @param file     업로드할 파일
      * @param fullPath 파일이 저장될 전체 경로 (예: images/2025/09/17/uuid.jpg)
+     *                 내용의 해시로 경로를 정하는 구현체(LocalUploader)는 사용하지 않음
      * @return 외부에서 접근 가능한 최종 URL
      */
     String upload(MultipartFile file, String fullPath);
 
+    /**
+     * 이미 디스크에 있는 파일(비동기 업로드의 임시 파일 등)을 업로드하고 접근 가능한 URL을 반환합니다.
+     * 파일은 호출한 쪽에서 삭제합니다.
+     *
+     * @param file     업로드할 파일의 경로
+     * @param fullPath 파일이 저장될 전체 경로 (upload(MultipartFile, String)과 같음)
+     * @return 외부에서 접근 가능한 최종 URL
+     */
+    String upload(Path file, String fullPath);
+
     /**
      * 스토리지에서 파일을 삭제합니다.
-     * 
+     * 같은 내용을 여러 이미지가 공유하는 구현체는 참조 하나만 해제하고, 마지막 참조일 때 삭제합니다.
+     *
      * @param fileUrl DB에 저장된 파일의 전체 URL 또는 경로
      */
     void delete(String fileUrl);
+
+    /**
+     * 업로드된 파일의 내용을 읽습니다. (변형 이미지 생성용)
+     *
+     * @param fileUrl upload()가 반환한 URL
+     */
+    byte[] read(String fileUrl) throws IOException;
+
+    /**
+     * 업로드된 파일에서 만든 변형(썸네일 등)을 원본 옆에 저장합니다. 원본이 삭제될 때 함께 삭제됩니다.
+     *
+     * @param fileUrl upload()가 반환한 원본 URL
+     * @param variant 변형 이름 (영문 소문자, 예: thumb)
+     * @param format  변형 파일의 형식
+     * @param content 변형 파일의 내용
+     * @return 변형 파일의 URL (그 사이 원본이 삭제되었으면 null)
+     */
+    String uploadVariant(String fileUrl, String variant, ImageFormat format, byte[] content) throws IOException;
 }
\ No newline at end of file
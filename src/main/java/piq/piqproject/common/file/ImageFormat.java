@@ -0,0 +1,80 @@
+package piq.piqproject.common.file;
+
+import java.nio.charset.StandardCharsets;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 업로드를 허용하는 이미지 형식입니다.
+ * <p>
+ * 클라이언트가 보낸 Content-Type이나 파일 이름이 아니라 파일 앞부분의 magic bytes로 형식을 판별하므로,
+ * 확장자만 바꾼 파일은 업로드할 수 없습니다.
+ */
+@Getter
+@AllArgsConstructor
+public enum ImageFormat {
+    JPEG("jpg", "image/jpeg"),
+    PNG("png", "image/png"),
+    GIF("gif", "image/gif"),
+    WEBP("webp", "image/webp");
+
+    // 형식을 판별하는 데 필요한 최대 바이트 수 (WebP: "RIFF" + 크기(4) + "WEBP")
+    public static final int HEADER_BYTES = 12;
+
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    private final String extension;
+    private final String contentType;
+
+    /**
+     * 파일 앞부분으로 이미지 형식을 판별합니다.
+     *
+     * @param header 파일의 첫 바이트들
+     * @param length header에서 유효한 바이트 수
+     * @return 판별한 형식 (허용하지 않는 형식이면 null)
+     */
+    public static ImageFormat detect(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        if (startsWith(header, length, 0, PNG_SIGNATURE)) {
+            return PNG;
+        }
+        if (startsWith(header, length, 0, ascii("GIF87a")) || startsWith(header, length, 0, ascii("GIF89a"))) {
+            return GIF;
+        }
+        if (startsWith(header, length, 0, ascii("RIFF")) && startsWith(header, length, 8, ascii("WEBP"))) {
+            return WEBP;
+        }
+        return null;
+    }
+
+    /**
+     * @return 확장자에 해당하는 형식 (없으면 null)
+     */
+    public static ImageFormat fromExtension(String extension) {
+        for (ImageFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int length, int offset, byte[] expected) {
+        if (length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (header[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
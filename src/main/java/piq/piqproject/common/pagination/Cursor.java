@@ -0,0 +1,13 @@
+package piq.piqproject.common.pagination;
+
+import java.time.LocalDateTime;
+
+/**
+ * 커서 페이지네이션의 위치 (마지막으로 받은 항목의 정렬 키)
+ * 정렬은 (createdAt DESC, id DESC) 이므로 다음 페이지는 이 값보다 "작은" 항목부터 시작합니다.
+ *
+ * @param createdAt 마지막 항목의 생성 시각
+ * @param id        마지막 항목의 id (생성 시각이 같은 항목 사이의 순서 결정)
+ */
+public record Cursor(LocalDateTime createdAt, Long id) {
+}
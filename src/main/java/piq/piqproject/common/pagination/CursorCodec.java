@@ -0,0 +1,56 @@
+package piq.piqproject.common.pagination;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InvalidRequestException;
+
+/**
+ * Cursor를 클라이언트에 전달할 불투명(opaque) 문자열로 변환합니다.
+ * <p>
+ * (createdAt 초, 나노초, id)를 20바이트로 묶어 URL-safe Base64로 인코딩합니다.
+ * 클라이언트는 값을 해석하지 않고 다음 요청에 그대로 돌려보내기만 하면 됩니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorCodec {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    public static String encode(Cursor cursor) {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(cursor.createdAt().toEpochSecond(ZoneOffset.UTC))
+                .putInt(cursor.createdAt().getNano())
+                .putLong(cursor.id());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @param value 클라이언트가 보낸 커서 문자열 (null이거나 비어 있으면 첫 페이지)
+     * @return 디코딩된 Cursor, 첫 페이지면 null
+     * @throws InvalidRequestException 형식이 올바르지 않은 경우
+     */
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(value);
+            if (bytes.length != ENCODED_BYTES) {
+                throw new InvalidRequestException(ErrorCode.INVALID_CURSOR);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new Cursor(createdAt, buffer.getLong());
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException e) {
+            throw new InvalidRequestException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package piq.piqproject.common.pagination;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InvalidRequestException;
+
+/**
+ * 섞인 순서(FeistelPermutation)로 보여주는 목록의 커서입니다.
+ * 순서를 다시 계산하는 데 필요한 값을 모두 담고 있어 서버에는 조회자별 상태를 저장하지 않습니다.
+ *
+ * @param day      순서를 정한 날짜 (epoch day, 자정을 넘겨도 같은 순서로 이어서 조회)
+ * @param size     순서를 정한 시점의 전체 인원 (이후 가입자는 다음 날 순서부터 포함)
+ * @param position 다음에 읽을 위치
+ */
+public record ShuffleCursor(int day, int size, long position) {
+
+    private static final int ENCODED_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES).putInt(day).putInt(size).putLong(position);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @param value 클라이언트가 보낸 커서 문자열 (null이거나 비어 있으면 첫 페이지)
+     * @return 디코딩된 ShuffleCursor, 첫 페이지면 null
+     * @throws InvalidRequestException 형식이 올바르지 않은 경우
+     */
+    public static ShuffleCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(value);
+            if (bytes.length != ENCODED_BYTES) {
+                throw new InvalidRequestException(ErrorCode.INVALID_CURSOR);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            ShuffleCursor cursor = new ShuffleCursor(buffer.getInt(), buffer.getInt(), buffer.getLong());
+            if (cursor.size < 0 || cursor.position < 0 || cursor.position > cursor.size) {
+                throw new InvalidRequestException(ErrorCode.INVALID_CURSOR);
+            }
+            return cursor;
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new InvalidRequestException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package piq.piqproject.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.Getter;
+
+/**
+ * 커서 페이지네이션 응답입니다. (전체 개수를 세는 COUNT 쿼리 없음)
+ * <p>
+ * 요청한 size보다 1개 더 조회하여, 남는 항목이 있으면 hasNext = true로 응답하고 다음 페이지용 nextCursor를 채웁니다.
+ */
+@Getter
+public class SliceResponseDto<T> {
+
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor; // 마지막 페이지면 null
+
+    private SliceResponseDto(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * 이미 잘라낸 페이지와 다음 페이지 커서로 응답을 만듭니다. (정렬 키가 (createdAt, id)가 아닌 목록용)
+     */
+    public static <T> SliceResponseDto<T> of(List<T> content, boolean hasNext, String nextCursor) {
+        return new SliceResponseDto<>(content, content.size(), hasNext, hasNext ? nextCursor : null);
+    }
+
+    /**
+     * 요청한 페이지 크기를 1 ~ MAX_SIZE 범위로 맞춥니다. (지정하지 않으면 DEFAULT_SIZE)
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * size + 1개까지 조회한 결과로 응답을 만듭니다.
+     *
+     * @param rows     (createdAt DESC, id DESC) 순서로 최대 size + 1개 조회한 결과
+     * @param size     요청한 페이지 크기
+     * @param cursorOf 항목의 정렬 키를 꺼내는 함수
+     * @param mapper   항목을 응답 DTO로 변환하는 함수
+     */
+    public static <E, T> SliceResponseDto<T> of(List<E> rows, int size, Function<E, Cursor> cursorOf,
+            Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? CursorCodec.encode(cursorOf.apply(page.get(page.size() - 1))) : null;
+        return new SliceResponseDto<>(page.stream().map(mapper).toList(), page.size(), hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,77 @@
+package piq.piqproject.common.shuffle;
+
+/**
+ * 0 ~ size-1 범위의 정수를 key에 따라 섞는 순열(permutation)입니다.
+ * <p>
+ * 전체 순서를 배열로 만들어 섞지 않고, apply(i)로 i번째 위치의 값만 O(1)에 계산합니다.
+ * 같은 key와 size면 항상 같은 순서가 나오므로, 위치만 알면 어느 페이지든 독립적으로 계산할 수 있습니다.
+ * <p>
+ * - 4라운드 Feistel 네트워크로 2^bits 범위(size 이상인 가장 작은 짝수 비트 수)의 순열을 만들고,
+ * 결과가 size 이상이면 범위 안에 들어올 때까지 다시 적용합니다. (cycle walking, 평균 4회 미만)
+ */
+public class FeistelPermutation {
+
+    private static final int ROUNDS = 4;
+
+    private final long size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    /**
+     * @param size 순열의 크기 (1 이상, int 범위)
+     * @param key  순서를 결정하는 값
+     */
+    public FeistelPermutation(int size, long key) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다: " + size);
+        }
+        this.size = size;
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1L));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        for (int round = 0; round < ROUNDS; round++) {
+            roundKeys[round] = mix64(key + (round + 1) * 0x9E3779B97F4A7C15L);
+        }
+    }
+
+    /**
+     * @param index 위치 (0 ~ size-1)
+     * @return index번째 위치의 값 (0 ~ size-1, 서로 다른 index는 서로 다른 값)
+     */
+    public int apply(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        long value = index;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return (int) value;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (mix64(right ^ roundKey) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    // MurmurHash3의 fmix64 (avalanche 단계)
+    private static long mix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
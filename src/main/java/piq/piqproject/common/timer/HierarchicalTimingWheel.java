@@ -0,0 +1,200 @@
+package piq.piqproject.common.timer;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 짧은 만료 타이머를 대량으로 다루기 위한 계층형 타이밍 휠입니다.
+ * <p>
+ * - 구조: 레벨 0의 슬롯 하나는 tick 1개, 레벨 1의 슬롯 하나는 레벨 0 한 바퀴(wheelSize tick)를 담당합니다.
+ * 먼 만료는 상위 레벨에 두었다가 시간이 다가오면 하위 레벨로 내려보냅니다(cascade).
+ * 등록/취소는 O(1)이며, 타이머 수와 관계없이 tick마다 슬롯 하나만 처리합니다.
+ * <p>
+ * - 동시성: 등록은 lock-free 큐에 넣기만 하고, 슬롯 배치와 실행은 tick 스레드 하나가 담당하므로 슬롯에는 락이 없습니다.
+ * 취소는 상태만 바꾸고 실제 제거는 해당 슬롯을 처리할 때 건너뛰는 방식입니다.
+ * <p>
+ * 만료 작업은 tick 스레드에서 실행되므로 오래 걸리는 작업은 다른 스레드로 넘겨야 합니다.
+ */
+@Slf4j
+public class HierarchicalTimingWheel implements AutoCloseable {
+
+    /**
+     * 등록된 타이머입니다.
+     */
+    public interface Timeout {
+        /**
+         * @return 만료 전에 취소했으면 true (이미 실행되었거나 취소된 경우 false)
+         */
+        boolean cancel();
+    }
+
+    private final long tickNanos;
+    private final int bits;
+    private final int mask;
+    private final ArrayDeque<Task>[][] levels;
+    private final ConcurrentLinkedQueue<Task> pending = new ConcurrentLinkedQueue<>();
+    private final String threadName;
+
+    private volatile long currentTick;
+    private volatile boolean running;
+    private Thread ticker;
+
+    /**
+     * @param tickMillis tick 간격 (만료 시각의 정밀도)
+     * @param wheelSize  레벨마다 슬롯 수 (2의 거듭제곱)
+     * @param levelCount 레벨 수 (등록 가능한 최대 지연 = tickMillis * wheelSize ^ levelCount)
+     * @param threadName tick 스레드 이름
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, String threadName) {
+        if (tickMillis <= 0 || Integer.bitCount(wheelSize) != 1 || levelCount <= 0
+                || Integer.numberOfTrailingZeros(wheelSize) * levelCount >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("invalid timing wheel size");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new ArrayDeque[levelCount][wheelSize];
+        for (ArrayDeque<Task>[] level : levels) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                level[slot] = new ArrayDeque<>();
+            }
+        }
+        this.threadName = threadName;
+    }
+
+    /**
+     * tick 스레드를 시작합니다.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        ticker = Thread.ofPlatform().daemon().name(threadName).start(this::run);
+    }
+
+    /**
+     * delayMillis 후에 task를 실행하도록 등록합니다. (tick 단위로 올림)
+     *
+     * @throws IllegalArgumentException 지연이 휠이 다룰 수 있는 범위를 넘는 경우
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long ticks = Math.max(1, (TimeUnit.MILLISECONDS.toNanos(delayMillis) + tickNanos - 1) / tickNanos);
+        if (ticks >= 1L << (bits * levels.length)) {
+            throw new IllegalArgumentException("delay exceeds timing wheel range: " + delayMillis + "ms");
+        }
+        Task timeout = new Task(currentTick + ticks, task);
+        pending.offer(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (ticker != null) {
+            LockSupport.unpark(ticker);
+        }
+    }
+
+    private void run() {
+        long next = System.nanoTime() + tickNanos;
+        while (running) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            // GC 등으로 늦어진 경우 밀린 tick을 모두 처리합니다.
+            tick();
+            next += tickNanos;
+        }
+    }
+
+    /**
+     * 시계를 tick 1개 진행하고 만료된 작업을 실행합니다. (tick 스레드 또는 테스트에서만 호출)
+     */
+    void tick() {
+        long tick = currentTick + 1;
+        currentTick = tick;
+
+        drainPending();
+
+        // 하위 레벨이 한 바퀴 돌았으면 상위 레벨의 현재 슬롯을 하위 레벨로 내려보냅니다.
+        for (int level = 1; level < levels.length && (tick & ((1L << (bits * level)) - 1)) == 0; level++) {
+            ArrayDeque<Task> slot = levels[level][(int) (tick >>> (bits * level)) & mask];
+            Task task;
+            while ((task = slot.poll()) != null) {
+                place(task);
+            }
+        }
+
+        ArrayDeque<Task> due = levels[0][(int) tick & mask];
+        Task task;
+        while ((task = due.poll()) != null) {
+            expire(task);
+        }
+    }
+
+    private void drainPending() {
+        Task task;
+        while ((task = pending.poll()) != null) {
+            place(task);
+        }
+    }
+
+    private void place(Task task) {
+        if (task.state.get() == Task.CANCELLED) {
+            return;
+        }
+        long delta = task.deadlineTick - currentTick;
+        if (delta <= 0) {
+            expire(task);
+            return;
+        }
+        for (int level = 0; level < levels.length; level++) {
+            if (delta < 1L << (bits * (level + 1))) {
+                levels[level][(int) (task.deadlineTick >>> (bits * level)) & mask].add(task);
+                return;
+            }
+        }
+        // schedule()에서 범위를 검사하므로 여기에 오지 않음
+        levels[levels.length - 1][(int) (task.deadlineTick >>> (bits * (levels.length - 1))) & mask].add(task);
+    }
+
+    private void expire(Task task) {
+        if (!task.state.compareAndSet(Task.WAITING, Task.EXPIRED)) {
+            return;
+        }
+        try {
+            task.action.run();
+        } catch (Exception e) {
+            log.warn("Timer task failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static final class Task implements Timeout {
+        private static final int WAITING = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final long deadlineTick;
+        private final Runnable action;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Task(long deadlineTick, Runnable action) {
+            this.deadlineTick = deadlineTick;
+            this.action = action;
+        }
+
+        @Override
+        public boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+    }
+}
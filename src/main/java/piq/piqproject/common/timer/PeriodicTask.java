@@ -0,0 +1,98 @@
+package piq.piqproject.common.timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 작업 하나를 전용 daemon 스레드에서 일정 간격으로 반복 실행합니다. (캐시 정리, 필터 재생성 등)
+ * <p>
+ * - 실행: runFirst면 시작하자마자 한 번 실행하고, 아니면 첫 간격이 지난 뒤부터 실행합니다.
+ * 작업이 예외를 던져도 스레드는 멈추지 않고 다음 간격에 다시 실행합니다.
+ * <p>
+ * - 종료: close()는 대기 중인 스레드를 바로 깨워 멈추고, 실행 중인 작업이 끝날 때까지 잠시 기다립니다.
+ */
+@Slf4j
+public class PeriodicTask implements AutoCloseable {
+
+    private static final long JOIN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final String threadName;
+    private final long intervalNanos;
+    private final boolean runFirst;
+    private final Runnable task;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * @param threadName 실행 스레드 이름
+     * @param interval   실행 간격
+     * @param runFirst   시작하자마자 한 번 실행할지 여부
+     * @param task       반복할 작업
+     */
+    public PeriodicTask(String threadName, Duration interval, boolean runFirst, Runnable task) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("invalid interval: " + interval);
+        }
+        this.threadName = threadName;
+        this.intervalNanos = interval.toNanos();
+        this.runFirst = runFirst;
+        this.task = task;
+    }
+
+    /**
+     * 실행 스레드를 시작합니다. 이미 시작했으면 무시합니다.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().daemon().name(threadName).start(this::run);
+    }
+
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = worker;
+        }
+        if (current == null || current == Thread.currentThread()) {
+            return;
+        }
+        LockSupport.unpark(current);
+        try {
+            current.join(JOIN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        if (runFirst) {
+            runOnce();
+        }
+        while (running) {
+            LockSupport.parkNanos(intervalNanos);
+            if (running) {
+                runOnce();
+            }
+        }
+    }
+
+    private void runOnce() {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("Periodic task {} failed: {}", threadName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package piq.piqproject.common.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class HashUtils {
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * SHA-256 MessageDigest를 생성합니다. (MessageDigest는 thread-safe하지 않으므로 호출마다 새로 생성)
+     *
+     * @return SHA-256 MessageDigest
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JDK는 SHA-256을 지원해야 하므로 발생하지 않습니다.
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 문자열의 SHA-256 해시를 URL-safe Base64(패딩 없음) 문자열로 반환합니다.
+     * 토큰 원문 대신 캐시/저장소의 key로 사용합니다.
+     *
+     * @param value 해시할 문자열
+     * @return 43자 길이의 Base64 URL 문자열
+     */
+    public static String sha256Base64Url(String value) {
+        return BASE64_URL.encodeToString(newSha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 해시 결과(바이트 배열)를 소문자 16진수 문자열로 반환합니다.
+     *
+     * @param digest MessageDigest.digest()의 결과
+     * @return 16진수 문자열 (SHA-256의 경우 64자)
+     */
+    public static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+}
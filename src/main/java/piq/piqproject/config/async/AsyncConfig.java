@@ -0,0 +1,10 @@
+package piq.piqproject.config.async;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async 메서드를 Spring Boot가 자동 설정한 applicationTaskExecutor에서 실행하도록 활성화합니다.
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
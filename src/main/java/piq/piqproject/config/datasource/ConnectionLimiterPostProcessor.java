@@ -0,0 +1,68 @@
+package piq.piqproject.config.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * db.connection-limiter.enabled=true이면 DB 커넥션을 실제로 사용하는 곳(JPA EntityManagerFactory, JdbcTemplate)에
+ * Hikari 대신 ConnectionLimitingDataSource를 넣습니다. 동시 사용 한도는 Hikari의 maximumPoolSize를 그대로 사용합니다.
+ * (virtual 프로파일에서 활성화)
+ * <p>
+ * DataSource 빈은 HikariDataSource 그대로 두므로 Hikari 타입으로 주입받는 곳, 커넥션 풀 메트릭과 헬스 체크는 영향을 받지 않습니다.
+ * JpaTransactionManager는 EntityManagerFactory의 DataSource를 사용하므로, 트랜잭션 안의 JdbcTemplate도 같은 커넥션을 공유합니다.
+ */
+@Slf4j
+@Component
+public class ConnectionLimiterPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private Environment environment;
+    // Hikari 빈이 초기화된 뒤 만들어집니다. (빈으로 등록하지 않음)
+    private volatile ConnectionLimitingDataSource limiter;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        ConnectionLimitingDataSource current = limiter;
+        if (current == null) {
+            return bean;
+        }
+        // DataSource 빈은 이 빈들보다 먼저 초기화되므로, 여기서는 이미 limiter가 만들어져 있습니다.
+        if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+            entityManagerFactory.setDataSource(current);
+        } else if (bean instanceof JdbcTemplate jdbcTemplate
+                && jdbcTemplate.getDataSource() == current.getTargetDataSource()) {
+            jdbcTemplate.setDataSource(current);
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource hikari) || limiter != null
+                || !environment.getProperty("db.connection-limiter.enabled", Boolean.class, false)) {
+            return bean;
+        }
+
+        int maxConnections = hikari.getMaximumPoolSize();
+        // 기본 대기 시간은 Hikari의 connectionTimeout과 같게 맞춥니다.
+        long acquireTimeoutMillis = environment.getProperty("db.connection-limiter.acquire-timeout-millis",
+                Long.class, hikari.getConnectionTimeout());
+
+        log.info("DB connection limiter enabled: maxConcurrentConnections={}, acquireTimeout={}ms",
+                maxConnections, acquireTimeoutMillis);
+        limiter = new ConnectionLimitingDataSource(hikari, maxConnections, acquireTimeoutMillis);
+        return bean;
+    }
+}
@@ -0,0 +1,124 @@
+package piq.piqproject.config.datasource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 동시에 DB 커넥션을 사용하는 스레드 수를 커넥션 풀 크기 이하로 제한하는 DataSource입니다.
+ * <p>
+ * 가상 스레드(virtual thread)는 요청마다 생성되므로, 수천 개의 스레드가 한꺼번에 커넥션 풀(Hikari)에 몰릴 수 있습니다.
+ * 공정(fair) 세마포어로 먼저 줄을 세워 풀 크기만큼만 커넥션을 요청하게 하고, 나머지는 순서대로 기다립니다.
+ * 세마포어 대기는 가상 스레드를 캐리어 스레드에서 분리(unmount)하므로 플랫폼 스레드를 점유하지 않습니다.
+ * <p>
+ * 허가(permit)는 커넥션을 close()할 때 반납됩니다. 허가 없이 커넥션을 얻을 수 없도록 unwrap()으로 대상 DataSource를 노출하지 않습니다.
+ */
+@Slf4j
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConcurrentConnections,
+            long acquireTimeoutMillis) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrentConnections, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("ConnectionLimitingDataSource does not expose its target as " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    // 커넥션을 기다리는 스레드 수 (모니터링용)
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("DB connection limiter timed out after {}ms (waiting={})", acquireTimeoutMillis,
+                        permits.getQueueLength());
+                throw new SQLTransientConnectionException(
+                        "Timed out waiting for a DB connection permit after " + acquireTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a DB connection permit", e);
+        }
+    }
+
+    // close()가 호출되면 허가를 한 번만 반납하도록 커넥션을 감쌉니다.
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && (args == null || args.length == 0)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    if ("unwrap".equals(method.getName()) || "isWrapperFor".equals(method.getName())) {
+                        Class<?> type = (Class<?>) args[0];
+                        if (type.isInstance(connection) || type == Connection.class) {
+                            return "unwrap".equals(method.getName()) ? connection : true;
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
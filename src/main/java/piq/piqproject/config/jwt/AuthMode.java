@@ -0,0 +1,14 @@
+package piq.piqproject.config.jwt;
+
+/**
+ * JwtFilter가 인증 주체(principal)를 만드는 방식을 정의합니다.
+ * <p>
+ * DATABASE: 매 요청마다 UserDetailsService로 DB를 조회합니다. (기존 방식)
+ * <p>
+ * CLAIMS: Access Token에 서명된 id, auth 클레임만으로 principal을 만들고 PrincipalCache에 보관합니다.
+ * 권한 변경/비활성화/탈퇴 시에는 캐시가 무효화되어 다음 요청에서 DB를 한 번 다시 조회합니다.
+ */
+public enum AuthMode {
+    DATABASE,
+    CLAIMS
+}
@@ -1,6 +1,5 @@
 package piq.piqproject.config.jwt;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,20 +7,20 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import piq.piqproject.common.error.exception.CustomException;
+import piq.piqproject.common.error.handle.ErrorLogSampler;
+import piq.piqproject.common.error.handle.PreEncodedErrorResponses;
 
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtExceptionFilter extends OncePerRequestFilter {
-    private final ObjectMapper mapper;
+    private final PreEncodedErrorResponses errorResponses;
+    private final ErrorLogSampler errorLogSampler;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -37,16 +36,13 @@ public class JwtExceptionFilter extends OncePerRequestFilter {
 
     private void setErrorResponse(HttpServletRequest request, HttpServletResponse response, CustomException ex)
             throws IOException {
-        log.info("JwtExceptionFilter is operated:  {}", ex.getMessage());
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(ex.getErrorCode().getStatus().value());
-
-        final Map<String, Object> body = new HashMap<>();
-        body.put("status", ex.getErrorCode().getStatus().value());
-        body.put("error", ex.getErrorCode().getStatus().getReasonPhrase());
-        body.put("message", ex.getMessage()); // JwtTokenProvider에서 설정한 예외 메시지가 담깁니다.
-        body.put("path", request.getRequestURI());
+        // 만료된 토큰이 한꺼번에 몰려도 로그가 폭증하지 않도록 ErrorCode별로 샘플링합니다.
+        long suppressed = errorLogSampler.tryAcquire(ex.getErrorCode());
+        if (suppressed >= 0) {
+            log.info("JwtExceptionFilter is operated:  {} (suppressed {} similar)", ex.getMessage(), suppressed);
+        }
 
-        mapper.writeValue(response.getOutputStream(), body);
+        // JwtTokenProvider에서 설정한 예외 메시지가 담깁니다. (미리 직렬화된 본문에 path만 붙여서 응답)
+        errorResponses.write(response, ex.getErrorCode(), ex.getMessage(), request.getRequestURI());
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,14 @@
 package piq.piqproject.config.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.UnauthorizedException;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +26,7 @@ import java.io.IOException;
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
 
     // HTTP 요청이 들어올 때마다 실행되는 메소드
     @Override
@@ -36,10 +40,16 @@ public class JwtFilter extends OncePerRequestFilter {
 
         // 2.토큰이 존재하면 TokenProvider를 사용하여 토큰의 유효성을 검증, CustomException 발생 가능(runtime exception)         @formatter:off 
         if (token != null) {
-            jwtTokenProvider.validateToken(token);
+            // 파싱과 서명 검증은 verify()에서 한 번만 수행하고, 검증된 클레임을 그대로 재사용합니다.
+            Claims claims = jwtTokenProvider.verify(token);
+
+            // 로그아웃/계정 정지로 폐기된 토큰인지 확인 (Bloom filter가 의심할 때만 Redis 조회)
+            if (tokenRevocationService.isRevoked(claims)) {
+                throw new UnauthorizedException(ErrorCode.REVOKED_JWT_TOKEN);
+            }
 
             // 3. 토큰이 유효하면, 토큰에서 인증 정보를 가져옵니다.
-            Authentication authentication = jwtTokenProvider.getAuthentication(token);
+            Authentication authentication = jwtTokenProvider.getAuthentication(claims);
 
             // 4. 가져온 인증 정보를 Spring Security의 SecurityContextHolder에 저장합니다.
             // SecurityContextHolder는 현재 실행 중인 스레드에 대한 보안 컨텍스트를 관리합니다.
@@ -61,14 +71,7 @@ public class JwtFilter extends OncePerRequestFilter {
      * @return 추출된 JWT 토큰 문자열 (없거나 형식이 맞지 않으면 null 반환)
      */
     private String resolveToken(HttpServletRequest request) {
-        // 'Authorization' 헤더 값을 가져옵니다.
-        String authorizationHeader = request.getHeader("Authorization");
-
-        // 헤더가 존재하고, 'Bearer '로 시작하는 경우에만 실제 토큰 부분을 추출합니다.
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            return authorizationHeader.substring(7); // "Bearer " 다음의 문자열을 반환
-        }
-
-        return null; // 토큰이 없는 경우 null 반환
+        // 'Authorization' 헤더 값을 가져와 'Bearer ' 다음의 토큰을 추출합니다.
+        return JwtTokenProvider.resolveBearerToken(request.getHeader("Authorization"));
     }
 }
\ No newline at end of file
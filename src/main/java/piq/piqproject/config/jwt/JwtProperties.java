@@ -15,4 +15,12 @@ public class JwtProperties {
     private String secretKey;
     private long expiration;
     private long refreshExpiration;
+    // 인증 주체 생성 방식 (database: 매 요청 DB 조회, claims: 토큰 클레임 + PrincipalCache)
+    private AuthMode authMode = AuthMode.DATABASE;
+    // PrincipalCache에 보관할 최대 사용자 수
+    private int principalCacheSize = 10_000;
+    // 서명 검증을 마친 토큰을 보관할 최대 개수
+    private int verifiedTokenCacheSize = 50_000;
+    // Access Token 수명 동안 예상되는 폐기(로그아웃/계정 정지) 건수, Bloom filter 크기 계산에 사용
+    private long revocationExpectedInsertions = 100_000;
 }
@@ -8,12 +8,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import piq.piqproject.common.error.exception.*;
 import piq.piqproject.domain.users.entity.UserEntity;
+import piq.piqproject.domain.users.enums.Role;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 /*
@@ -23,13 +25,20 @@ import org.springframework.stereotype.Service;
  */
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
+    public static final String DEVICE_ID_CLAIM = "did";
+    private static final String TOKEN_TYPE_CLAIM = "type";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+
     // jwt속성을 갖고있는 클래스 주입
     private final JwtProperties jwtProperties;
     // JWT secret key
@@ -38,6 +47,10 @@ public class JwtTokenProvider {
     private JwtParser jwtParser;
     // UserDetailsService 주입
     private final UserDetailsService userDetailsService;
+    // AuthMode.CLAIMS에서 사용하는 principal 캐시
+    private final PrincipalCache principalCache;
+    // 서명 검증을 마친 토큰의 클레임 캐시
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @PostConstruct
     protected void init() {
@@ -54,21 +67,31 @@ public class JwtTokenProvider {
      * @author PJT
      */
     public String createAccessToken(UserEntity user) {
+        return createAccessToken(user.getId(), user.getEmail(), joinAuthorities(user));
+    }
+
+    /**
+     * 사용자 식별 정보와 권한 문자열로 Access Token을 생성합니다.
+     * Refresh Token의 클레임으로 재발급할 때 DB 조회 없이 사용합니다.
+     *
+     * @param userId      사용자 ID (id 클레임)
+     * @param email       사용자 이메일 (subject)
+     * @param authorities "ROLE_USER,ROLE_ADMIN" 형태의 권한 문자열 (auth 클레임)
+     * @return JWT 토큰 문자열
+     */
+    public String createAccessToken(Long userId, String email, String authorities) {
         // JWT 토큰 생성 로직
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtProperties.getExpiration());
 
-        String authorities = user.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
-
         return Jwts.builder()
                 .setHeaderParam(Header.TYPE, Header.JWT_TYPE) // 헤더 typ : JWT
                 .setIssuer(jwtProperties.getIssuer()) // 발급자 정보
                 .setIssuedAt(now) // 발급 시간
                 .setExpiration(expiry) // 만료 시간
-                .setSubject(user.getEmail()) // 토큰 제목 (사용자 식별값)
-                .claim("id", user.getId()) // 비공개 클레임(사용자 정의 클레임) key-value 형태로 추가 정보 저장
+                .setId(UUID.randomUUID().toString()) // 토큰 식별자 (로그아웃 시 이 값으로 폐기)
+                .setSubject(email) // 토큰 제목 (사용자 식별값)
+                .claim("id", userId) // 비공개 클레임(사용자 정의 클레임) key-value 형태로 추가 정보 저장
                 .claim("auth", authorities)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
@@ -76,13 +99,31 @@ public class JwtTokenProvider {
 
     /**
      * Refresh Token 생성
-     * Refresh Token은 사용자 식별 정보 외에 다른 claim을 담지 않는 것이 일반적
+     * 재발급 시 DB 조회가 필요 없도록 Access Token과 같은 id, auth 클레임을 담고,
+     * 기기별 세션을 구분하기 위한 did(deviceId) 클레임과 회전마다 달라지는 jti를 추가합니다.
+     * type 클레임으로 Access Token으로 사용되는 것을 막습니다.
      * 
      * @author PJT
-     * @param UserEntity user
+     * @param user     User Entity
+     * @param deviceId 로그인한 기기의 식별자
      * @return 받은 User Entity에 대한 JWT 토큰 문자열
      */
-    public String createRefreshToken(UserEntity user) {
+    public String createRefreshToken(UserEntity user, String deviceId) {
+        return createRefreshToken(user.getId(), user.getEmail(), joinAuthorities(user), deviceId);
+    }
+
+    /**
+     * 기존 Refresh Token의 클레임으로 같은 기기의 새 Refresh Token을 생성합니다. (토큰 회전)
+     *
+     * @param claims 검증된 기존 Refresh Token의 클레임
+     * @return 새 Refresh Token 문자열
+     */
+    public String rotateRefreshToken(Claims claims) {
+        return createRefreshToken(claims.get("id", Long.class), claims.getSubject(),
+                claims.get("auth", String.class), claims.get(DEVICE_ID_CLAIM, String.class));
+    }
+
+    private String createRefreshToken(Long userId, String email, String authorities, String deviceId) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtProperties.getRefreshExpiration());
 
@@ -91,11 +132,43 @@ public class JwtTokenProvider {
                 .setIssuer(jwtProperties.getIssuer())
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .setSubject(user.getEmail()) // Access Token 재발급 시 사용자 식별을 위해 필요 - redis에서 key값으로 사용
+                .setId(UUID.randomUUID().toString()) // 같은 초에 회전해도 토큰이 달라지도록 jti 추가
+                .setSubject(email)
+                .claim("id", userId)
+                .claim("auth", authorities)
+                .claim(DEVICE_ID_CLAIM, deviceId)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * 'Authorization' 헤더 값에서 Bearer 토큰을 추출합니다.
+     *
+     * @param authorizationHeader 'Authorization' 헤더 값
+     * @return 추출된 JWT 토큰 문자열 (없거나 형식이 맞지 않으면 null 반환)
+     */
+    public static String resolveBearerToken(String authorizationHeader) {
+        // 헤더가 존재하고, 'Bearer '로 시작하는 경우에만 실제 토큰 부분을 추출합니다.
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            return authorizationHeader.substring(7); // "Bearer " 다음의 문자열을 반환
+        }
+        return null;
+    }
+
+    /**
+     * 검증된 클레임이 Refresh Token의 것인지 확인합니다.
+     */
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+
+    private String joinAuthorities(UserEntity user) {
+        return user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+    }
+
     /**
      * 토큰의 3가지 유효성(서명, 만료시간, 구조)을 검증
      *
@@ -104,9 +177,38 @@ public class JwtTokenProvider {
      * @author PJT
      */
     public boolean validateToken(String token) {
+        verify(token);
+        return true;
+    }
+
+    /**
+     * 토큰을 한 번만 파싱/검증하고 클레임을 반환합니다.
+     * 최근에 검증된 토큰은 VerifiedTokenCache에서 바로 반환하므로 HMAC 검증을 반복하지 않습니다.
+     *
+     * @param token 검사할 JWT 토큰(String)
+     * @return 서명이 검증된 클레임
+     * @throws CustomException 서명 불일치, 만료, 형식 오류 등 검증에 실패한 경우
+     */
+    public Claims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new InvalidRequestException(ErrorCode.JWT_TOKEN_MISSING);
+        }
+
+        String digest = VerifiedTokenCache.digest(token);
+        Claims cached = verifiedTokenCache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parseClaims(token);
+        verifiedTokenCache.put(digest, claims);
+        return claims;
+    }
+
+    // init()에서 만든 jwtParser로 토큰을 파싱하고, jjwt 예외를 CustomException으로 변환합니다.
+    private Claims parseClaims(String token) {
         try {
-            jwtParser.parseClaimsJws(token);
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (SignatureException e) {
             throw new UnauthorizedException(ErrorCode.INVALID_JWT_SIGNATURE);
         } catch (ExpiredJwtException e) {
@@ -124,13 +226,34 @@ public class JwtTokenProvider {
 
     /**
      * token을 받아 Spring security가 이해하는 Authentication객체로 변환
+     * jwt.auth-mode에 따라 DB 조회(DATABASE) 또는 토큰 클레임(CLAIMS)으로 principal을 만듭니다.
      *
      * @param token 인증 정보가 담긴 JWT 토큰
      * @return Spring Security가 이해하는 형태의 Authentication 객체
      */
     public Authentication getAuthentication(String token) {
+        return getAuthentication(verify(token));
+    }
+
+    /**
+     * 이미 검증된 클레임을 Spring security가 이해하는 Authentication객체로 변환
+     * JwtFilter는 verify()로 한 번만 검증한 뒤 이 메소드를 호출합니다.
+     *
+     * @param claims verify()로 검증된 클레임
+     * @return Spring Security가 이해하는 형태의 Authentication 객체
+     */
+    public Authentication getAuthentication(Claims claims) {
+        // Refresh Token은 재발급(/reissue)에만 사용할 수 있습니다.
+        if (isRefreshToken(claims)) {
+            throw new UnauthorizedException(ErrorCode.UNSUPPORTED_JWT_TOKEN);
+        }
+
+        if (jwtProperties.getAuthMode() == AuthMode.CLAIMS) {
+            return getAuthenticationFromClaims(claims);
+        }
+
         // 2. 토큰에서 사용자의 이메일(Subject)을 추출합니다.
-        String userEmail = getClaims(token).getSubject();
+        String userEmail = claims.getSubject();
 
         // 3. UserDetailsService를 통해 DB에서 실제 UserEntity(UserDetails) 객체를 조회합니다.
         // 이 과정에서 매 요청마다 DB 조회가 발생합니다.
@@ -145,6 +268,54 @@ public class JwtTokenProvider {
                 userDetails.getAuthorities()); // authorities: DB에서 조회한 실제 권한 목록
     }
 
+    /**
+     * 서명이 검증된 클레임(id, sub, auth)으로 Authentication 객체를 생성합니다. (AuthMode.CLAIMS)
+     * 캐시가 무효화된 사용자(권한 변경/비활성화/탈퇴)의 이전 토큰은 DB에서 최신 정보를 다시 확인합니다.
+     */
+    private Authentication getAuthenticationFromClaims(Claims claims) {
+        Long userId = claims.get("id", Long.class);
+        String userEmail = claims.getSubject();
+
+        UserEntity principal = principalCache.get(
+                userId,
+                claims.getIssuedAt().getTime(),
+                claims.getExpiration().getTime(),
+                () -> UserEntity.principalOf(userId, userEmail, parseRoles(claims.get("auth", String.class))),
+                () -> loadActiveUser(userEmail));
+
+        return new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities());
+    }
+
+    // DB에서 사용자를 다시 조회하고, 비활성화된 계정이면 인증을 거부합니다.
+    private UserEntity loadActiveUser(String userEmail) {
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(userEmail);
+        } catch (UsernameNotFoundException e) {
+            throw new UnauthorizedException(ErrorCode.NOT_FOUND_USER);
+        }
+
+        if (!userDetails.isEnabled()) {
+            throw new ForbiddenException(ErrorCode.DISABLED_ACCOUNT_USER);
+        }
+        return (UserEntity) userDetails;
+    }
+
+    // "ROLE_USER,ROLE_ADMIN" 형태의 auth 클레임을 Role 목록으로 변환
+    private List<Role> parseRoles(String authorities) {
+        if (authorities == null || authorities.isBlank()) {
+            return List.of();
+        }
+
+        try {
+            return Arrays.stream(authorities.split(","))
+                    .map(Role::fromKey)
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            throw new InternalServerException(ErrorCode.AUTHORITY_ERROR);
+        }
+    }
+
     /**
      * 토큰에서 사용자 ID를 추출합니다.
      *
@@ -166,10 +337,6 @@ public class JwtTokenProvider {
 
     // 토큰의 클레임 정보(payload의 부분)를 추출하는 private 메소드
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token);
     }
 }
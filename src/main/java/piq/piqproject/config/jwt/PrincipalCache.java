@@ -0,0 +1,132 @@
+package piq.piqproject.config.jwt;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.cache.ExpiringCache;
+import piq.piqproject.domain.users.entity.UserEntity;
+
+/**
+ * 사용자 id를 key로 인증 주체(principal)를 보관하는 메모리 캐시입니다. (AuthMode.CLAIMS 전용)
+ * <p>
+ * - 크기 제한: 만료된 항목과 오래된 무효화 기록은 Access Token 수명(jwt.expiration)마다 ExpiringCache의 정리 스레드에서
+ * 정리하고, 종료 시 스레드를 멈춥니다.
+ * 그래도 jwt.principal-cache-size에 도달하면 요청 스레드는 전체를 훑지 않고 넘치는 만큼만 임의의 항목을 제거합니다.
+ * <p>
+ * - 만료: 각 항목은 principal을 만든 토큰의 만료 시각(exp)까지만 유효합니다.
+ * <p>
+ * - 무효화: 권한 변경/비활성화/탈퇴 시 invalidate(userId)를 호출하면 그 시각 이전에 발급된 토큰은
+ * 더 이상 클레임을 신뢰하지 않고, DB에서 최신 정보를 한 번 다시 읽어야 합니다.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final JwtProperties jwtProperties;
+
+    // userId -> 캐시된 principal
+    private final ExpiringCache<Long, CachedPrincipal> principals;
+    // userId -> 무효화된 시각. 이 시각 이전에 발급된 토큰의 클레임은 신뢰하지 않습니다.
+    // Access Token 수명이 지난 기록은 더 이상 의미가 없으므로(그 이전 토큰은 이미 만료됨) 그때 만료시킵니다.
+    private final ExpiringCache<Long, Long> invalidatedAt;
+
+    public PrincipalCache(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.principals = new ExpiringCache<>(jwtProperties.getPrincipalCacheSize(), CachedPrincipal::expiresAt);
+        this.invalidatedAt = new ExpiringCache<>(Integer.MAX_VALUE, time -> time + jwtProperties.getExpiration());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Duration interval = Duration.ofMillis(Math.max(1_000, jwtProperties.getExpiration()));
+        principals.startSweeper("principal-cache-sweep", interval);
+        invalidatedAt.startSweeper("principal-invalidation-sweep", interval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        principals.close();
+        invalidatedAt.close();
+    }
+
+    /**
+     * 캐시에서 principal을 조회하고, 없거나 무효화된 경우 주어진 loader로 새로 생성합니다.
+     *
+     * @param userId       토큰의 id 클레임
+     * @param issuedAt     토큰 발급 시각(ms)
+     * @param expiresAt    토큰 만료 시각(ms), 캐시 항목의 만료 시각으로 사용
+     * @param fromClaims   토큰 클레임만으로 principal을 만드는 loader (DB 조회 없음)
+     * @param fromDatabase DB에서 최신 사용자 정보를 읽어 principal을 만드는 loader
+     * @return 인증 주체로 사용할 UserEntity
+     */
+    public UserEntity get(Long userId, long issuedAt, long expiresAt,
+            Supplier<UserEntity> fromClaims, Supplier<UserEntity> fromDatabase) {
+        long now = System.currentTimeMillis();
+        Long lastInvalidated = invalidatedAt.get(userId);
+        long invalidated = lastInvalidated == null ? 0L : lastInvalidated;
+
+        CachedPrincipal cached = principals.get(userId);
+        if (cached != null && cached.validatedAt() >= invalidated) {
+            return cached.principal();
+        }
+
+        // 토큰이 무효화 이후에 발급되었다면 클레임을 그대로 신뢰하고, 그렇지 않으면 DB에서 최신 상태를 확인합니다.
+        UserEntity principal = issuedAt >= invalidated ? fromClaims.get() : fromDatabase.get();
+
+        principals.put(userId, new CachedPrincipal(principal, now, expiresAt));
+        return principal;
+    }
+
+    /**
+     * 해당 사용자의 캐시를 무효화합니다.
+     * 트랜잭션 안에서 호출되면 커밋 이후에 반영하여, 커밋 전의 DB 상태가 다시 캐시되는 것을 막습니다.
+     *
+     * @param userId 권한 변경/비활성화/탈퇴가 발생한 사용자 id
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+            return;
+        }
+
+        evict(userId);
+    }
+
+    private void evict(Long userId) {
+        // 같은 밀리초에 발급된 토큰도 무효화 대상에 포함되도록 1ms를 더합니다.
+        invalidatedAt.put(userId, System.currentTimeMillis() + 1);
+        principals.remove(userId);
+        log.debug("PrincipalCache invalidated: userId={}", userId);
+    }
+
+    // 만료된 항목과 오래된 무효화 기록을 정리합니다. (테스트용, 평소에는 정리 스레드가 처리)
+    void sweepExpired() {
+        principals.sweepExpired();
+        invalidatedAt.sweepExpired();
+    }
+
+    // 캐시된 사용자 수 (테스트용)
+    int cachedUsers() {
+        return principals.size();
+    }
+
+    private record CachedPrincipal(UserEntity principal, long validatedAt, long expiresAt) {
+    }
+}
@@ -0,0 +1,211 @@
+package piq.piqproject.config.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.bloom.BloomFilter;
+
+/**
+ * Access Token 폐기(revocation) 목록을 관리합니다.
+ * <p>
+ * - 저장: 폐기된 토큰(jti)과 사용자별 폐기 시각은 Redis에 토큰 만료 시각까지만 저장됩니다.
+ * <p>
+ * - 조회: 모든 요청은 먼저 메모리의 Bloom filter를 확인하고, "있을 수도 있음"인 경우에만 Redis를 조회합니다.
+ * 폐기된 토큰이 없는 대부분의 요청은 Redis 왕복 없이 통과합니다.
+ * <p>
+ * - 동기화: 폐기가 발생하면 Redis pub/sub으로 모든 서버의 Bloom filter에 전파하고,
+ * 서버 시작 시에는 Redis의 인덱스(sorted set)에서 아직 만료되지 않은 항목을 불러옵니다. 인덱스의 만료된 항목은
+ * 서버 시작과 폐기할 때마다 지웁니다.
+ * <p>
+ * - 만료: Bloom filter는 삭제를 지원하지 않으므로 Access Token 수명 단위로 세대(generation)를 교체합니다.
+ * 항목은 최소 1세대(= Access Token 수명)동안 유지되므로, 그 사이 폐기 대상 토큰은 모두 만료됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService implements MessageListener {
+
+    private static final String CHANNEL = "jwt:revocations";
+    private static final String INDEX_KEY = "jwt:revocations:index";
+    private static final String KEY_PREFIX = "jwt:revoked:";
+    private static final String TOKEN_PREFIX = "t:";
+    private static final String USER_PREFIX = "u:";
+    // 이보다 큰 폐기 시각은 ms 단위로 저장된 값 (초 단위로는 서기 2286년 이후)
+    private static final long MAX_EPOCH_SECONDS = 9_999_999_999L;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtProperties jwtProperties;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long currentStartedAt;
+
+    @PostConstruct
+    protected void init() {
+        current = newFilter();
+        previous = newFilter();
+        currentStartedAt = System.currentTimeMillis();
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        loadActiveRevocations();
+    }
+
+    /**
+     * Access Token 하나를 폐기합니다. (로그아웃)
+     *
+     * @param claims 폐기할 Access Token의 검증된 클레임
+     */
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null) {
+            return;
+        }
+
+        long expiresAt = claims.getExpiration().getTime();
+        long ttl = expiresAt - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return; // 이미 만료된 토큰은 폐기할 필요가 없음
+        }
+
+        publish(TOKEN_PREFIX + claims.getId(), "1", ttl, expiresAt);
+    }
+
+    /**
+     * 사용자에게 지금까지 발급된 모든 Access Token을 폐기합니다. (계정 정지/비활성화/탈퇴)
+     *
+     * @param userId 대상 사용자 ID
+     */
+    public void revokeUser(Long userId) {
+        long now = System.currentTimeMillis();
+        long ttl = jwtProperties.getExpiration();
+
+        // 지금 이전에 발급된 토큰은 최대 Access Token 수명 이후 모두 만료되므로, 그 시간만큼만 보관합니다.
+        // 토큰의 iat는 초 단위이므로 폐기 시각도 초 단위(epoch seconds)로 저장합니다.
+        publish(USER_PREFIX + userId, String.valueOf(TimeUnit.MILLISECONDS.toSeconds(now)), ttl, now + ttl);
+    }
+
+    /**
+     * 검증된 Access Token이 폐기되었는지 확인합니다.
+     * Bloom filter가 "없음"이라고 답하면 Redis를 조회하지 않습니다.
+     *
+     * @param claims JwtTokenProvider.verify()로 검증된 클레임
+     * @return 폐기된 토큰이면 true
+     */
+    public boolean isRevoked(Claims claims) {
+        rotateIfNeeded();
+
+        String jti = claims.getId();
+        boolean tokenSuspected = jti != null && mightContain(TOKEN_PREFIX + jti);
+
+        Long userId = claims.get("id", Long.class);
+        boolean userSuspected = userId != null && mightContain(USER_PREFIX + userId);
+
+        if (!tokenSuspected && !userSuspected) {
+            return false;
+        }
+
+        try {
+            if (tokenSuspected && Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + TOKEN_PREFIX + jti))) {
+                return true;
+            }
+
+            if (userSuspected) {
+                String revokedAt = redisTemplate.opsForValue().get(KEY_PREFIX + USER_PREFIX + userId);
+                Date issuedAt = claims.getIssuedAt();
+                // 초 단위끼리 비교합니다. (폐기한 그 초에 재로그인으로 발급된 토큰은 거절하지 않음)
+                return revokedAt != null && issuedAt != null
+                        && TimeUnit.MILLISECONDS.toSeconds(issuedAt.getTime()) < toEpochSeconds(revokedAt);
+            }
+            return false;
+        } catch (DataAccessException e) {
+            // Bloom filter가 폐기 가능성을 알렸는데 Redis로 확인할 수 없으면, 안전하게 폐기된 것으로 처리합니다.
+            log.warn("Failed to check token revocation in Redis, rejecting suspected token: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 다른 서버(또는 자신)가 발행한 폐기 메시지를 Bloom filter에 반영합니다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // 이전 버전이 ms 단위로 저장한 값(최대 Access Token 수명 동안 남아 있음)도 초 단위로 읽습니다.
+    private static long toEpochSeconds(String revokedAt) {
+        long value = Long.parseLong(revokedAt);
+        return value > MAX_EPOCH_SECONDS ? TimeUnit.MILLISECONDS.toSeconds(value) : value;
+    }
+
+    // Redis에 저장 + 인덱스 등록 + 다른 서버로 전파
+    // 인덱스의 만료된 항목도 이때 함께 지워서, 재기동 없이도 인덱스가 만료되지 않은 항목만큼만 유지되게 합니다.
+    private void publish(String entry, String value, long ttlMillis, long expiresAt) {
+        add(entry);
+        redisTemplate.opsForValue().set(KEY_PREFIX + entry, value, Duration.ofMillis(ttlMillis));
+        redisTemplate.opsForZSet().removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+        redisTemplate.opsForZSet().add(INDEX_KEY, entry, expiresAt);
+        redisTemplate.convertAndSend(CHANNEL, entry);
+    }
+
+    // 서버 시작 시 아직 만료되지 않은 폐기 항목을 Bloom filter로 불러옵니다.
+    private void loadActiveRevocations() {
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, now);
+            Set<String> entries = redisTemplate.opsForZSet().rangeByScore(INDEX_KEY, now, Double.POSITIVE_INFINITY);
+            if (entries != null) {
+                entries.forEach(this::add);
+                log.info("Loaded {} active token revocations", entries.size());
+            }
+        } catch (Exception e) {
+            // Redis가 없어도 애플리케이션은 기동되어야 하며, 이후 pub/sub 메시지로 채워집니다.
+            log.warn("Failed to load token revocations from Redis: {}", e.getMessage());
+        }
+    }
+
+    private void add(String entry) {
+        rotateIfNeeded();
+        current.put(entry);
+    }
+
+    private boolean mightContain(String entry) {
+        return current.mightContain(entry) || previous.mightContain(entry);
+    }
+
+    // Access Token 수명이 지날 때마다 세대를 교체하여 오래된 항목을 버립니다.
+    private void rotateIfNeeded() {
+        long now = System.currentTimeMillis();
+        if (now - currentStartedAt < jwtProperties.getExpiration()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (now - currentStartedAt < jwtProperties.getExpiration()) {
+                return;
+            }
+            previous = current;
+            current = newFilter();
+            currentStartedAt = now;
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return BloomFilter.create(jwtProperties.getRevocationExpectedInsertions(), 0.01);
+    }
+}
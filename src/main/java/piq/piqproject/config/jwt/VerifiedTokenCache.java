@@ -0,0 +1,86 @@
+package piq.piqproject.config.jwt;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PreDestroy;
+import piq.piqproject.common.cache.ExpiringCache;
+import piq.piqproject.common.util.HashUtils;
+
+/**
+ * 최근에 서명 검증을 통과한 토큰의 클레임을 보관하는 캐시입니다.
+ * <p>
+ * 모바일 클라이언트는 같은 Access Token을 만료될 때까지 반복해서 보내므로,
+ * 한 번 검증된 토큰은 만료 시각(exp)까지 파싱과 HMAC 검증을 다시 하지 않습니다.
+ * <p>
+ * 토큰 원문을 메모리에 남기지 않기 위해 SHA-256 digest를 key로 사용합니다.
+ * <p>
+ * 만료된 항목은 Access Token 수명(jwt.expiration)마다 ExpiringCache의 정리 스레드에서 정리하고, 종료 시 스레드를 멈춥니다.
+ * 그래도 jwt.verified-token-cache-size에 도달하면 요청 스레드는 전체를 훑지 않고 넘치는 만큼만 임의의 항목을 제거합니다.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtProperties jwtProperties;
+
+    // token digest -> 검증된 클레임
+    private final ExpiringCache<String, Claims> verified;
+
+    public VerifiedTokenCache(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.verified = new ExpiringCache<>(jwtProperties.getVerifiedTokenCacheSize(),
+                claims -> claims.getExpiration().getTime());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        verified.startSweeper("verified-token-cache-sweep",
+                Duration.ofMillis(Math.max(1_000, jwtProperties.getExpiration())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        verified.close();
+    }
+
+    /**
+     * 캐시에서 검증된 클레임을 조회합니다. 만료된 항목은 제거하고 null을 반환합니다.
+     *
+     * @param digest 토큰의 SHA-256 digest (HashUtils.sha256Base64Url)
+     * @return 검증된 클레임, 없거나 만료되었으면 null
+     */
+    public Claims get(String digest) {
+        return verified.get(digest);
+    }
+
+    /**
+     * 서명 검증을 통과한 토큰의 클레임을 저장합니다.
+     *
+     * @param digest 토큰의 SHA-256 digest
+     * @param claims 검증된 클레임 (exp가 없는 토큰은 저장하지 않음)
+     */
+    public void put(String digest, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        verified.put(digest, claims);
+    }
+
+    public static String digest(String token) {
+        return HashUtils.sha256Base64Url(token);
+    }
+
+    // 만료된 항목을 정리합니다. (테스트용, 평소에는 정리 스레드가 처리)
+    void sweepExpired() {
+        verified.sweepExpired();
+    }
+
+    // 캐시된 토큰 수 (테스트용)
+    int cachedTokens() {
+        return verified.size();
+    }
+}
@@ -0,0 +1,237 @@
+package piq.piqproject.config.ratelimit;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.PayloadTooLargeException;
+import piq.piqproject.common.error.exception.TooManyRequestsException;
+import piq.piqproject.common.util.HashUtils;
+
+/**
+ * 로그인/회원가입 요청을 IP와 이메일 기준으로 제한하는 필터입니다.
+ * AuthService(BCrypt, DB 조회)에 도달하기 전에 거절하여 크리덴셜 스터핑 공격 중에도 CPU와 DB를 보호합니다.
+ * <p>
+ * - 1차(서버 메모리): StripedTokenBuckets로 IP/이메일별 연속 요청을 제한합니다. Redis 왕복 없이 대부분의 공격을 거절합니다.
+ * <p>
+ * - 2차(Redis): SlidingWindowRateLimiter로 여러 서버에 분산된 요청까지 합산하여 제한합니다.
+ * <p>
+ * 거절된 요청은 Retry-After 헤더와 함께 429(TOO_MANY_AUTH_REQUESTS)로 응답합니다. (JwtExceptionFilter에서 응답 작성)
+ * <p>
+ * 이메일/닉네임 사용 가능 여부 확인(GET /api/v1/auth/availability)도 가입 여부를 알아내는 데 쓰일 수 있으므로
+ * 별도의 IP 기준 한도(availability-*)로 제한합니다.
+ * <p>
+ * 본문이 MAX_BODY_BYTES를 넘으면 이메일 기준 제한을 피할 수 없도록 413(AUTH_REQUEST_TOO_LARGE)으로 거절합니다.
+ * Content-Length가 없는 요청(chunked)도 최대 크기까지만 읽고, 넘으면 같은 방식으로 거절합니다.
+ */
+@Slf4j
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of("/api/v1/auth/login", "/api/v1/auth/signup");
+    private static final String AVAILABILITY_PATH = "/api/v1/auth/availability";
+    // 이메일을 꺼내기 위해 읽는 요청 본문의 최대 크기 (로그인/회원가입 요청은 이보다 훨씬 작음, 넘으면 413)
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final RateLimitProperties properties;
+    private final SlidingWindowRateLimiter slidingWindowRateLimiter;
+    private final ObjectMapper mapper;
+    private final StripedTokenBuckets ipBuckets;
+    private final StripedTokenBuckets emailBuckets;
+    private final StripedTokenBuckets availabilityBuckets;
+
+    public AuthRateLimitFilter(RateLimitProperties properties, SlidingWindowRateLimiter slidingWindowRateLimiter,
+            ObjectMapper mapper) {
+        this.properties = properties;
+        this.slidingWindowRateLimiter = slidingWindowRateLimiter;
+        this.mapper = mapper;
+        this.ipBuckets = new StripedTokenBuckets(properties.getStripes(),
+                properties.getIpCapacity(), properties.getIpRefillPerMinute());
+        this.emailBuckets = new StripedTokenBuckets(properties.getStripes(),
+                properties.getEmailCapacity(), properties.getEmailRefillPerMinute());
+        this.availabilityBuckets = new StripedTokenBuckets(properties.getStripes(),
+                properties.getAvailabilityIpCapacity(), properties.getAvailabilityIpRefillPerMinute());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        if (AVAILABILITY_PATH.equals(request.getRequestURI())) {
+            return !HttpMethod.GET.matches(request.getMethod());
+        }
+        return !HttpMethod.POST.matches(request.getMethod()) || !LIMITED_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // 프록시 뒤에서는 server.forward-headers-strategy 설정으로 실제 클라이언트 IP가 remoteAddr에 담깁니다.
+        String ip = request.getRemoteAddr();
+        if (AVAILABILITY_PATH.equals(request.getRequestURI())) {
+            limitAvailability(response, ip);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 1. IP 기준 제한 (본문을 읽기 전에 먼저 확인)
+        if (!ipBuckets.tryAcquire(ip)) {
+            reject(response, "ip", ip, ipBuckets.refillIntervalSeconds());
+        }
+
+        // 2. 본문에서 이메일을 꺼내 이메일 기준 제한 (본문은 컨트롤러에서 다시 읽을 수 있도록 보관)
+        CachedBodyRequest cachedRequest = CachedBodyRequest.of(request, MAX_BODY_BYTES);
+        if (cachedRequest == null) {
+            log.info("Auth request body too large: ip={}", ip);
+            throw new PayloadTooLargeException(ErrorCode.AUTH_REQUEST_TOO_LARGE);
+        }
+        String email = extractEmail(cachedRequest.body);
+        if (email != null && !emailBuckets.tryAcquire(email)) {
+            reject(response, "email", ip, emailBuckets.refillIntervalSeconds());
+        }
+
+        // 3. 클러스터 전체 sliding window 확인
+        long windowMillis = properties.getWindowSeconds() * 1000;
+        long retryAfterMillis = slidingWindowRateLimiter.tryAcquire("auth:ip:" + ip,
+                properties.getIpWindowLimit(), windowMillis);
+        if (retryAfterMillis == 0 && email != null) {
+            // Redis에는 이메일 원문 대신 해시를 키로 저장합니다.
+            retryAfterMillis = slidingWindowRateLimiter.tryAcquire("auth:email:" + HashUtils.sha256Base64Url(email),
+                    properties.getEmailWindowLimit(), windowMillis);
+        }
+        if (retryAfterMillis > 0) {
+            reject(response, "window", ip, (retryAfterMillis + 999) / 1000);
+        }
+
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    // 본문이 없는 GET 요청이므로 IP 기준으로만 제한합니다. (여러 이메일을 바꿔가며 조회하는 것을 막는 것이 목적)
+    private void limitAvailability(HttpServletResponse response, String ip) {
+        if (!availabilityBuckets.tryAcquire(ip)) {
+            reject(response, "availability-ip", ip, availabilityBuckets.refillIntervalSeconds());
+        }
+        long retryAfterMillis = slidingWindowRateLimiter.tryAcquire("auth:availability:ip:" + ip,
+                properties.getAvailabilityIpWindowLimit(), properties.getWindowSeconds() * 1000);
+        if (retryAfterMillis > 0) {
+            reject(response, "availability-window", ip, (retryAfterMillis + 999) / 1000);
+        }
+    }
+
+    // 로그에는 이메일을 남기지 않고, 어떤 기준으로 거절되었는지와 IP만 남깁니다.
+    private void reject(HttpServletResponse response, String scope, String ip, long retryAfterSeconds) {
+        log.info("Auth request rate limited: scope={}, ip={}", scope, ip);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        throw new TooManyRequestsException(ErrorCode.TOO_MANY_AUTH_REQUESTS);
+    }
+
+    // 요청 본문(JSON)의 email 필드를 소문자로 정규화하여 반환합니다. 형식이 맞지 않으면 null (검증은 컨트롤러에서 처리)
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = mapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 본문을 미리 읽어두고 이후 필터/컨트롤러에서 다시 읽을 수 있게 하는 요청 래퍼입니다.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        // 본문이 maxBytes를 넘으면 null. 길이를 알 수 없는 요청(chunked)은 maxBytes + 1까지만 읽어서 확인합니다.
+        static CachedBodyRequest of(HttpServletRequest request, int maxBytes) throws IOException {
+            long length = request.getContentLengthLong();
+            if (length > maxBytes) {
+                return null;
+            }
+            byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+            return body.length > maxBytes ? null : new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // 본문은 이미 메모리에 있으므로 바로 읽을 수 있다고 알리고, 이어서 끝까지 읽었음을 알립니다.
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package piq.piqproject.config.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("rate-limit.auth") // application.properties에서 rate-limit.auth접두사 속성을 class의 필드에 매핑
+public class RateLimitProperties {
+    // 로그인/회원가입 요청 제한 사용 여부
+    private boolean enabled = true;
+    // 메모리 토큰 버킷 개수 (2의 거듭제곱으로 올림), 키는 해시로 버킷에 분산됨
+    private int stripes = 65_536;
+
+    // [1차: 서버 메모리] IP별 토큰 버킷 - 최대 연속 요청 수 / 분당 충전량
+    private int ipCapacity = 20;
+    private int ipRefillPerMinute = 10;
+    // [1차: 서버 메모리] 이메일별 토큰 버킷 - 최대 연속 요청 수 / 분당 충전량
+    private int emailCapacity = 10;
+    private int emailRefillPerMinute = 5;
+
+    // [2차: Redis] 클러스터 전체 sliding window 크기(초)와 window 안에서 허용하는 요청 수
+    private long windowSeconds = 600;
+    private int ipWindowLimit = 100;
+    private int emailWindowLimit = 20;
+
+    // [이메일/닉네임 사용 가능 여부 확인] IP별 토큰 버킷 - 최대 연속 요청 수 / 분당 충전량 (입력 중 확인하므로 로그인보다 넉넉함)
+    private int availabilityIpCapacity = 30;
+    private int availabilityIpRefillPerMinute = 20;
+    // [이메일/닉네임 사용 가능 여부 확인] sliding window 안에서 허용하는 IP별 요청 수 (window 크기는 window-seconds)
+    private int availabilityIpWindowLimit = 200;
+}
@@ -0,0 +1,68 @@
+package piq.piqproject.config.ratelimit;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis sorted set으로 구현한 클러스터 공용 sliding window rate limiter입니다.
+ * <p>
+ * 키마다 window 안에 들어온 요청의 시각을 score로 보관하고, 확인과 기록을 Lua 스크립트 하나로 처리합니다.
+ * 여러 서버에 분산된 요청도 합산되므로, 서버별 메모리 버킷(StripedTokenBuckets)이 놓치는 분산 공격을 막습니다.
+ * <p>
+ * Redis에 접근할 수 없으면 요청을 허용합니다. (메모리 버킷이 1차로 보호하고 있으므로 로그인 장애로 번지지 않게 함)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlidingWindowRateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // KEYS[1]: window 키, ARGV[1]: 현재 시각(ms), ARGV[2]: window 크기(ms), ARGV[3]: 허용 요청 수, ARGV[4]: 요청 식별자
+    // 반환값 0: 허용, 양수: 거절 (가장 오래된 요청이 window를 벗어나기까지 남은 시간(ms))
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            if redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[3]) then
+                local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+                return math.max(1, tonumber(oldest[2]) + window - now)
+            end
+            redis.call('ZADD', KEYS[1], now, ARGV[4])
+            redis.call('PEXPIRE', KEYS[1], window)
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * window 안의 요청 수가 제한보다 적으면 이번 요청을 기록하고 허용합니다.
+     *
+     * @param key          제한 대상 키 (예: "login:ip:1.2.3.4")
+     * @param limit        window 안에서 허용하는 요청 수
+     * @param windowMillis window 크기(ms)
+     * @return 허용이면 0, 거절이면 다시 시도할 수 있을 때까지 남은 시간(ms)
+     */
+    public long tryAcquire(String key, int limit, long windowMillis) {
+        try {
+            Long result = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(KEY_PREFIX + key),
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(windowMillis),
+                    String.valueOf(limit),
+                    UUID.randomUUID().toString());
+            return result == null ? 0 : result;
+        } catch (DataAccessException e) {
+            log.warn("Redis rate limit check failed, allowing request: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package piq.piqproject.config.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 키를 해시하여 고정된 개수의 토큰 버킷 중 하나에 대응시키는 lock-free rate limiter입니다.
+ * <p>
+ * - 메모리: 키가 아무리 많아도 버킷 수(stripes) 만큼의 long만 사용합니다. 서로 다른 키가 같은 버킷을 공유할 수 있으며,
+ * 이 경우 두 키 모두 조금 더 엄격하게 제한될 뿐 제한이 느슨해지지는 않습니다.
+ * <p>
+ * - 동시성: 버킷 상태(마지막 충전 시각 42bit + 남은 토큰 22bit, 토큰은 1/1000 단위)를 long 하나에 담아
+ * CAS로만 갱신하므로 락이 없습니다.
+ */
+public class StripedTokenBuckets {
+
+    private static final int TOKEN_BITS = 22;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1_000; // 토큰은 1/1000 단위로 저장 (느린 충전 속도 표현용)
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long capacity; // 1/1000 토큰 단위
+    private final long refillPerMinute;
+    private final long baseMillis = System.currentTimeMillis();
+
+    /**
+     * @param stripes         버킷 개수 (2의 거듭제곱으로 올림)
+     * @param capacity        버킷의 최대 토큰 수 (연속으로 허용되는 요청 수)
+     * @param refillPerMinute 분당 충전되는 토큰 수
+     */
+    public StripedTokenBuckets(int stripes, int capacity, int refillPerMinute) {
+        if (capacity <= 0 || capacity * ONE_TOKEN > TOKEN_MASK || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("capacity must be 1.." + TOKEN_MASK / ONE_TOKEN
+                    + " and refillPerMinute must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.buckets = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.capacity = capacity * ONE_TOKEN;
+        this.refillPerMinute = refillPerMinute;
+    }
+
+    /**
+     * 키에 해당하는 버킷에서 토큰 하나를 사용합니다.
+     *
+     * @param key 제한 대상 (IP, 이메일 등)
+     * @return 토큰이 남아 있어 요청을 허용하면 true
+     */
+    public boolean tryAcquire(String key) {
+        int index = spread(key.hashCode()) & mask;
+        long now = System.currentTimeMillis() - baseMillis;
+
+        while (true) {
+            long current = buckets.get(index);
+            long refilledAt = current >>> TOKEN_BITS;
+            // 0은 아직 사용되지 않은 버킷 (가득 찬 상태로 간주)
+            long tokens = current == 0 ? capacity : current & TOKEN_MASK;
+
+            // 지난 시간만큼 충전 (소수점 아래로 버려진 시간은 다음 충전에 이어지도록 실제 충전에 쓰인 시간만 전진)
+            long elapsed = Math.max(0, now - refilledAt);
+            long refill = elapsed * refillPerMinute * ONE_TOKEN / MILLIS_PER_MINUTE;
+            long nextRefilledAt = refilledAt + refill * MILLIS_PER_MINUTE / (refillPerMinute * ONE_TOKEN);
+            tokens += refill;
+            if (current == 0 || tokens >= capacity) {
+                tokens = capacity;
+                nextRefilledAt = now;
+            }
+
+            if (tokens < ONE_TOKEN) {
+                return false;
+            }
+
+            long next = (nextRefilledAt << TOKEN_BITS) | (tokens - ONE_TOKEN);
+            if (buckets.compareAndSet(index, current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 버킷에 토큰 하나가 충전되기까지 걸리는 시간(초), Retry-After 헤더 값으로 사용합니다.
+     */
+    public long refillIntervalSeconds() {
+        return Math.max(1, (MILLIS_PER_MINUTE / refillPerMinute + 999) / 1000);
+    }
+
+    // 해시 값의 상위 비트를 하위 비트에 섞어 버킷에 고르게 분산시킵니다.
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+}
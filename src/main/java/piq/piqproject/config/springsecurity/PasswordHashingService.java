@@ -0,0 +1,144 @@
+package piq.piqproject.config.springsecurity;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InternalServerException;
+import piq.piqproject.common.error.exception.ServiceUnavailableException;
+
+/**
+ * 비밀번호 해싱/검증을 요청 스레드(Tomcat)가 아닌 전용 스레드 풀에서 실행합니다.
+ * <p>
+ * - 격리: BCrypt는 CPU를 많이 사용하므로, 로그인이 몰려도 CPU 코어 수 만큼의 스레드만 해싱에 사용되고
+ * 나머지 요청 스레드는 피드 등 다른 API를 계속 처리할 수 있습니다.
+ * <p>
+ * - 입장 제어(admission control): 대기열(security.password.queue-capacity)이 가득 차면 기다리지 않고 즉시
+ * 503(PASSWORD_HASHING_BUSY)으로 거절합니다. 대기 시간이 security.password.max-wait-millis를 넘어도 마찬가지입니다.
+ * <p>
+ * - 재해싱: needsRehash()가 true이면 로그인 시 새 설정(work factor, 알고리즘)으로 다시 해싱하여 저장할 수 있습니다.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final long maxWaitMillis;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, PasswordProperties passwordProperties) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWaitMillis = passwordProperties.getMaxWaitMillis();
+
+        int threads = passwordProperties.getHashingThreads() > 0
+                ? passwordProperties.getHashingThreads()
+                : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(passwordProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // 대기열이 가득 차면 RejectedExecutionException
+        this.executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * 평문 비밀번호를 현재 설정의 알고리즘으로 해싱합니다.
+     *
+     * @param rawPassword 평문 비밀번호
+     * @return {id} 접두사가 붙은 해시 문자열
+     */
+    public String encode(String rawPassword) {
+        return await(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 평문 비밀번호가 저장된 해시와 일치하는지 확인합니다.
+     *
+     * @param rawPassword     평문 비밀번호
+     * @param encodedPassword DB에 저장된 해시
+     * @return 일치하면 true
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 저장된 해시가 현재 설정보다 오래된 알고리즘/work factor로 만들어졌는지 확인합니다. (해싱 없이 문자열만 검사)
+     *
+     * @param encodedPassword DB에 저장된 해시
+     * @return 다시 해싱해야 하면 true
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 현재 설정으로 다시 해싱하는 작업을 전용 풀에서 비동기로 실행합니다. (로그인 응답을 지연시키지 않음)
+     * 풀이 바쁘면 건너뛰며, 다음 로그인 때 다시 시도됩니다.
+     *
+     * @param rawPassword 검증을 마친 평문 비밀번호
+     * @param saveNewHash 새 해시를 저장하는 작업
+     */
+    public void rehashInBackground(String rawPassword, Consumer<String> saveNewHash) {
+        try {
+            executor.execute(() -> {
+                try {
+                    saveNewHash.accept(passwordEncoder.encode(rawPassword));
+                } catch (Exception e) {
+                    log.warn("Failed to upgrade password hash: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Password hashing queue is full, skipping rehash until next login");
+        }
+    }
+
+    // 해싱 작업을 전용 풀에 제출하고, 정해진 시간 안에 끝나지 않으면 503으로 응답합니다.
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue is full (queued={}), rejecting request", executor.getQueue().size());
+            throw new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_BUSY);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing did not finish within {}ms, rejecting request", maxWaitMillis);
+            throw new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(ErrorCode.PASSWORD_HASHING_BUSY);
+        } catch (ExecutionException e) {
+            log.error("Password hashing failed", e.getCause());
+            throw new InternalServerException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,24 @@
+package piq.piqproject.config.springsecurity;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("security.password") // application.properties에서 security.password접두사 속성을 class의 필드에 매핑
+public class PasswordProperties {
+    // 새 비밀번호를 저장할 때 사용할 알고리즘 id (DelegatingPasswordEncoder의 {id} 접두사)
+    private String encodingId = "bcrypt";
+    // BCrypt work factor (4~31), 올리면 다음 로그인 때 기존 해시가 자동으로 다시 해싱됨
+    private int bcryptStrength = 10;
+    // 해싱 전용 스레드 수 (0 이하이면 CPU 코어 수)
+    private int hashingThreads = 0;
+    // 해싱 대기열 최대 길이, 가득 차면 즉시 503으로 거절
+    private int queueCapacity = 64;
+    // 해싱 결과를 기다리는 최대 시간(ms)
+    private long maxWaitMillis = 3_000;
+}
@@ -1,9 +1,14 @@
 package piq.piqproject.config.springsecurity;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpMethod;
 import piq.piqproject.config.jwt.JwtExceptionFilter;
 import piq.piqproject.config.jwt.JwtFilter;
+import piq.piqproject.config.ratelimit.AuthRateLimitFilter;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,7 +19,9 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -28,6 +35,7 @@ public class SecurityConfig {
     // JWT 토큰 제공자 및 필터를 주입받습니다.
     private final JwtFilter jwtFilter;
     private final JwtExceptionFilter jwtExceptionFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
 
@@ -37,17 +45,33 @@ public class SecurityConfig {
             "/api/v1/auth/signup",
             "/api/v1/auth/login",
             "/api/v1/auth/reissue",
+            "/api/v1/auth/availability",
             "/api/v1/users/profiles",
+            "/api/v1/users/profiles/cursor",
             "/api/v1/reviews",
+            "/api/v1/reviews/cursor",
             "/h2-console/**", // H2 콘솔 접근 허용
             "/swagger-ui/**", // Swagger UI 접근 허용
             "/v3/api-docs/**", // Swagger API 문서 접근 허용
+            "/actuator/health", // 상태 확인 (로드밸런서/쿠버네티스)
     };
 
     // 1. 비밀번호 암호화를 위한 PasswordEncoder Bean 등록
+    // 저장되는 해시에 {id} 접두사를 붙여 알고리즘을 바꿔도 기존 해시를 검증할 수 있게 합니다.
+    // (접두사가 없는 기존 해시는 BCrypt로 검증하고, 로그인 시 PasswordHashingService가 새 형식으로 다시 해싱합니다.)
+    // 실제 해싱은 요청 스레드가 아닌 PasswordHashingService의 전용 스레드 풀에서 실행해야 합니다.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordProperties passwordProperties) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(passwordProperties.getBcryptStrength());
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+                passwordProperties.getEncodingId(), encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 
     // 2. 인증을 총괄하는 AuthenticationManager Bean 등록
@@ -85,7 +109,12 @@ public class SecurityConfig {
                 // "/api/signup", "/api/login" 엔드포인트는 인증 없이 누구나 접근할 수 있도록 허용합니다.
                 .requestMatchers(AUTH_WHITELIST)
                 .permitAll()
+                // SSE(업로드 상태 구독)가 끝날 때의 async dispatch는 JWT 필터를 다시 거치지 않으므로 허용합니다.
+                // (처음 요청에서 이미 인증과 인가를 마친 요청의 이어지는 처리)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/posts/**").permitAll()
+                // 기동 타임라인, 메트릭은 관리자만 조회 가능
+                .requestMatchers("/actuator/startup", "/actuator/metrics/**").hasRole("ADMIN")
                 // 그 외의 모든 요청은 반드시 인증(로그인)된 사용자만 접근할 수 있도록 설정합니다.
                 .anyRequest().authenticated())
 
@@ -98,6 +127,8 @@ public class SecurityConfig {
         // 다른 필터를 추가할 경우 여기에 추가할것
         // JWT Filter(custom Filter)를 Spring Security 이전에 추가
         http.addFilterBefore(jwtExceptionFilter, UsernamePasswordAuthenticationFilter.class);
+        // 로그인/회원가입 요청 제한 (JwtExceptionFilter가 429 응답을 작성하도록 그 뒤, JWT 검증 전에 위치)
+        http.addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
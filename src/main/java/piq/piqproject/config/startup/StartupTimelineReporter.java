@@ -0,0 +1,87 @@
+package piq.piqproject.config.startup;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 애플리케이션 기동이 끝나면 기동 타임라인을 로그로 요약합니다.
+ * <p>
+ * - context refresh 단계별 소요 시간과 생성에 오래 걸린 빈 상위 N개를 남겨, 기동 시간이 늘어난 원인을 바로 확인할 수 있습니다.
+ * <p>
+ * - 전체 타임라인은 /actuator/startup (ADMIN 권한)에서 JSON으로 조회할 수 있습니다.
+ * <p>
+ * - BufferingApplicationStartup으로 기동된 경우에만 동작합니다. (PiqProjectApplication.main 참고)
+ */
+@Slf4j
+@Component
+public class StartupTimelineReporter {
+
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+    private static final String CONTEXT_STEP_PREFIX = "spring.context.";
+
+    @Value("${startup.report.enabled:false}")
+    private boolean enabled;
+
+    @Value("${startup.report.top-beans:15}")
+    private int topBeans;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        ApplicationStartup applicationStartup = event.getApplicationContext().getApplicationStartup();
+        if (!enabled || !(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+
+        // getBufferedTimeline()은 버퍼를 비우지 않으므로 /actuator/startup에서도 같은 내용을 조회할 수 있습니다.
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        List<TimelineEvent> events = timeline.getEvents();
+
+        String phases = events.stream()
+                .filter(e -> e.getStartupStep().getName().startsWith(CONTEXT_STEP_PREFIX))
+                .map(e -> String.format("    - %-45s %6d ms", e.getStartupStep().getName(), e.getDuration().toMillis()))
+                .collect(Collectors.joining("\n"));
+
+        String slowestBeans = events.stream()
+                .filter(e -> BEAN_INSTANTIATE_STEP.equals(e.getStartupStep().getName()))
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(topBeans)
+                .map(e -> String.format("    - %-45s %6d ms", beanName(e), e.getDuration().toMillis()))
+                .collect(Collectors.joining("\n"));
+
+        // 기동 시작부터 요청을 받을 준비가 될 때까지 걸린 시간
+        Duration total = event.getTimeTaken();
+
+        log.info("""
+                Startup timeline
+                ----------------
+                total= {} ms (ready), recorded steps= {}
+                context phases=
+                {}
+                slowest beans (top {}, including dependencies)=
+                {}
+                """, total.toMillis(), events.size(), phases, topBeans, slowestBeans);
+    }
+
+    // 빈 생성 단계의 beanName 태그 값을 꺼냅니다.
+    private static String beanName(TimelineEvent event) {
+        return StreamSupport.stream(event.getStartupStep().getTags().spliterator(), false)
+                .filter(tag -> "beanName".equals(tag.getKey()))
+                .map(tag -> tag.getValue())
+                .findFirst()
+                .orElse("?");
+    }
+}
@@ -0,0 +1,113 @@
+package piq.piqproject.config.virtualthread;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JFR의 jdk.VirtualThreadPinned 이벤트를 구독하여 가상 스레드가 캐리어 스레드에 고정(pinning)된 횟수와 시간을
+ * 메트릭으로 남깁니다.
+ * <p>
+ * synchronized 블록 안에서 I/O 등으로 블로킹되면 가상 스레드가 캐리어 스레드를 놓지 못해 동시 처리량이 떨어집니다.
+ * <p>
+ * - 메트릭: jvm.threads.virtual.pinned (Timer, tag frame = 고정을 일으킨 첫 번째 애플리케이션 코드 위치)
+ * <p>
+ * - 로그: 새로운 위치에서 처음 발생한 경우에만 스택 트레이스와 함께 경고를 남깁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "virtual-threads.pinning-monitor.enabled", havingValue = "true")
+public class PinnedVirtualThreadMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "piq.piqproject";
+    private static final int MAX_LOGGED_FRAMES = 15;
+
+    private final MeterRegistry meterRegistry;
+
+    // 이 시간 이상 고정된 경우만 기록 (짧은 고정은 무시)
+    @Value("${virtual-threads.pinning-monitor.threshold-millis:20}")
+    private long thresholdMillis;
+
+    private final Set<String> loggedFrames = ConcurrentHashMap.newKeySet();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private RecordingStream recordingStream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMillis))
+                .withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::record);
+        recordingStream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold={}ms)", thresholdMillis);
+    }
+
+    private void record(RecordedEvent event) {
+        String frame = applicationFrame(event);
+        timers.computeIfAbsent(frame, key -> Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to a carrier thread")
+                .tag("frame", key)
+                .register(meterRegistry))
+                .record(event.getDuration());
+
+        if (loggedFrames.add(frame)) {
+            log.warn("Virtual thread pinned for {}ms at {}\n{}", event.getDuration().toMillis(), frame,
+                    stackTrace(event));
+        }
+    }
+
+    // 스택에서 처음 나오는 애플리케이션 코드 위치 (없으면 맨 위 프레임), 메트릭 tag 값으로 사용
+    private static String applicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .orElse("unknown");
+    }
+
+    private static String stackTrace(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        event.getStackTrace().getFrames().stream()
+                .limit(MAX_LOGGED_FRAMES)
+                .forEach(frame -> builder.append("    at ")
+                        .append(frame.getMethod().getType().getName()).append('.')
+                        .append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber()).append('\n'));
+        return builder.toString();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
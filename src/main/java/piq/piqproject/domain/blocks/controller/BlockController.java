@@ -0,0 +1,62 @@
+package piq.piqproject.domain.blocks.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import piq.piqproject.common.list.ListResponseDto;
+import piq.piqproject.domain.blocks.dto.BlockResponseDto;
+import piq.piqproject.domain.blocks.service.BlockService;
+import piq.piqproject.domain.users.entity.UserEntity;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/blocks")
+public class BlockController {
+
+    private final BlockService blockService;
+
+    /**
+     * 내가 차단한 사용자 목록을 조회합니다.
+     *
+     * @param user 현재 인증된 사용자
+     * @return 차단한 사용자 ID와 차단 시각 목록
+     */
+    @GetMapping
+    public ResponseEntity<ListResponseDto<BlockResponseDto>> getBlocks(@AuthenticationPrincipal UserEntity user) {
+        return ResponseEntity.ok(ListResponseDto.from(blockService.findBlocks(user.getId())));
+    }
+
+    /**
+     * 상대를 차단합니다. 차단한 상대와 나는 피드, 매칭 후보, 프로필 조회에서 서로 보이지 않습니다.
+     *
+     * @param user     현재 인증된 사용자
+     * @param targetId 차단할 사용자의 ID
+     */
+    @PostMapping("/{targetId}")
+    public ResponseEntity<Void> block(
+            @AuthenticationPrincipal UserEntity user,
+            @PathVariable("targetId") Long targetId) {
+        blockService.block(user.getId(), targetId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 차단을 해제합니다.
+     *
+     * @param user     현재 인증된 사용자
+     * @param targetId 차단을 해제할 사용자의 ID
+     */
+    @PostMapping("/{targetId}/delete")
+    public ResponseEntity<Void> unblock(
+            @AuthenticationPrincipal UserEntity user,
+            @PathVariable("targetId") Long targetId) {
+        blockService.unblock(user.getId(), targetId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,15 @@
+package piq.piqproject.domain.blocks.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import piq.piqproject.common.list.Listable;
+
+// 내가 차단한 사용자
+@Getter
+@AllArgsConstructor
+public class BlockResponseDto implements Listable {
+    private Long blockedUserId;
+    private LocalDateTime blockedAt;
+}
@@ -0,0 +1,54 @@
+package piq.piqproject.domain.blocks.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import piq.piqproject.domain.BaseEntity;
+import piq.piqproject.domain.blocks.enums.BlockDirection;
+
+/**
+ * 사용자 차단 기록입니다.
+ * <p>
+ * A가 B를 차단하면 (A, B, OUTGOING)과 (B, A, INCOMING) 두 행을 저장합니다.
+ * 차단한 쪽과 차단당한 쪽 모두 서로에게 보이지 않아야 하므로, 한 사용자의 제외 대상을 user_id 인덱스 하나로 조회합니다.
+ */
+@Table(name = "blocks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_blocks_user_id_other_id_direction", columnNames = { "user_id", "other_id",
+                "direction" })
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class BlockEntity extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "other_id", nullable = false)
+    private Long otherId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private BlockDirection direction;
+
+    @Builder
+    private BlockEntity(Long userId, Long otherId, BlockDirection direction) {
+        this.userId = userId;
+        this.otherId = otherId;
+        this.direction = direction;
+    }
+
+    public static BlockEntity of(Long userId, Long otherId, BlockDirection direction) {
+        return BlockEntity.builder()
+                .userId(userId)
+                .otherId(otherId)
+                .direction(direction)
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package piq.piqproject.domain.blocks.enums;
+
+// 차단 행의 방향 (user_id 기준)
+public enum BlockDirection {
+    OUTGOING, // user_id가 other_id를 차단
+    INCOMING // other_id가 user_id를 차단
+}
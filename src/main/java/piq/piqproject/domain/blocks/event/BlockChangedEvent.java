@@ -0,0 +1,10 @@
+package piq.piqproject.domain.blocks.event;
+
+/**
+ * 차단/차단 해제가 일어났을 때 발행하는 이벤트입니다.
+ *
+ * @param blockerId 차단(해제)한 사용자의 ID
+ * @param blockedId 차단(해제)된 사용자의 ID
+ */
+public record BlockChangedEvent(Long blockerId, Long blockedId) {
+}
@@ -0,0 +1,45 @@
+package piq.piqproject.domain.blocks.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
+import piq.piqproject.domain.blocks.dto.BlockResponseDto;
+import piq.piqproject.domain.blocks.entity.BlockEntity;
+import piq.piqproject.domain.blocks.enums.BlockDirection;
+
+public interface BlockRepository extends JpaRepository<BlockEntity, Long> {
+
+    boolean existsByUserIdAndOtherIdAndDirection(Long userId, Long otherId, BlockDirection direction);
+
+    long countByUserIdAndDirection(Long userId, BlockDirection direction);
+
+    // 사용자와 어느 방향으로든 차단 관계인 상대 ID 목록 (BlockExclusionCache 로딩용)
+    @Query("SELECT DISTINCT b.otherId FROM BlockEntity b WHERE b.userId = :userId")
+    List<Long> findOtherIdsByUserId(@Param("userId") Long userId);
+
+    // 내가 차단한 사용자 목록 (최근 차단순)
+    @Query("SELECT new piq.piqproject.domain.blocks.dto.BlockResponseDto(b.otherId, b.createdAt)"
+            + " FROM BlockEntity b WHERE b.userId = :userId AND b.direction = :direction"
+            + " ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlockResponseDto> findBlocks(@Param("userId") Long userId,
+            @Param("direction") BlockDirection direction);
+
+    // 차단 관계가 있는 모든 사용자 ID를 한 행씩 읽어옵니다. (Bloom filter 생성용, 트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT DISTINCT b.userId FROM BlockEntity b")
+    Stream<Long> streamUserIds();
+
+    @Modifying
+    @Query("DELETE FROM BlockEntity b WHERE b.userId = :userId AND b.otherId = :otherId"
+            + " AND b.direction = :direction")
+    int deleteBlock(@Param("userId") Long userId, @Param("otherId") Long otherId,
+            @Param("direction") BlockDirection direction);
+}
@@ -0,0 +1,228 @@
+package piq.piqproject.domain.blocks.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.bloom.BloomFilter;
+import piq.piqproject.common.cache.ExpiringCache;
+import piq.piqproject.common.timer.PeriodicTask;
+import piq.piqproject.domain.blocks.event.BlockChangedEvent;
+import piq.piqproject.domain.blocks.repository.BlockRepository;
+import piq.piqproject.domain.users.event.UserDeletedEvent;
+
+/**
+ * 사용자별로 차단 관계(내가 차단했거나 나를 차단한 상대)인 사용자 ID 집합을 메모리에 보관합니다.
+ * 피드의 모든 항목과 프로필 조회마다 확인하므로 항목마다 DB를 조회하지 않습니다.
+ * <p>
+ * - 1차 필터: 차단 관계가 하나라도 있는 사용자 ID를 Bloom filter에 담아 두고, "확실히 없음"이면 바로 빈 집합을 반환합니다.
+ * 대부분의 사용자는 차단 기록이 없으므로 캐시 조회 없이 끝납니다. 필터가 생성되기 전에는 항상 캐시/DB를 확인합니다.
+ * <p>
+ * - 캐시: 차단 관계가 있을 수도 있는 사용자는 상대 ID를 RoaringBitmap으로 한 번 읽어 두고, 확인은 contains()로 처리합니다.
+ * <p>
+ * - 무효화: 차단/해제가 커밋된 후 두 사용자의 항목을 지우고 필터에 추가하며, 다른 서버에도 Redis pub/sub으로 전파합니다.
+ * 전파를 놓친 서버도 blocks.filter-rebuild-minutes마다 필터를 새로 만들고, 캐시 항목은 blocks.cache-ttl-seconds가 지나면 다시 읽습니다.
+ * <p>
+ * - 크기 제한: 만료된 항목은 cache-ttl-seconds마다 ExpiringCache의 정리 스레드에서 정리합니다. 그래도 max-cached-users에 도달하면
+ * 요청 스레드는 전체를 훑지 않고 넘치는 만큼만 임의의 항목을 제거합니다. 정리/필터 재생성 스레드는 종료 시 멈춥니다.
+ */
+@Slf4j
+@Component
+public class BlockExclusionCache implements MessageListener {
+
+    private static final String CHANNEL = "blocks:invalidations";
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final BlockRepository blockRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BlockProperties properties;
+
+    private final ExpiringCache<Long, Cached> cache;
+    private final PeriodicTask filterRebuild;
+    // 무효화할 때마다 증가 (로딩 중에 무효화되었으면 읽은 값을 캐시하지 않음)
+    private final AtomicLong generation = new AtomicLong();
+
+    // null이면 아직 생성 전 (항상 캐시/DB 확인)
+    private volatile BloomFilter filter;
+    // 재생성 중 추가된 사용자 (새 필터로 교체할 때 함께 반영)
+    private List<Long> pendingDuringRebuild;
+    private final Object lock = new Object();
+
+    public BlockExclusionCache(BlockRepository blockRepository, StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer, PlatformTransactionManager transactionManager,
+            BlockProperties properties) {
+        this.blockRepository = blockRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.cache = new ExpiringCache<>(properties.getMaxCachedUsers(), Cached::expiresAt);
+        this.filterRebuild = new PeriodicTask("block-filter-rebuild",
+                Duration.ofMinutes(properties.getFilterRebuildMinutes()), true, this::rebuildFilter);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        cache.startSweeper("block-cache-sweep", Duration.ofSeconds(Math.max(1, properties.getCacheTtlSeconds())));
+        filterRebuild.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        filterRebuild.close();
+        cache.close();
+    }
+
+    /**
+     * @return userId와 차단 관계인 사용자 ID 집합 (공유 객체이므로 수정하면 안 됨)
+     */
+    public RoaringBitmap excludedFor(Long userId) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(userId)) {
+            return EMPTY;
+        }
+
+        Cached cached = cache.get(userId);
+        if (cached != null) {
+            return cached.others;
+        }
+
+        long loadedGeneration = generation.get();
+        RoaringBitmap others = new RoaringBitmap();
+        for (Long otherId : blockRepository.findOtherIdsByUserId(userId)) {
+            others.add(Math.toIntExact(otherId));
+        }
+        others.runOptimize();
+        if (generation.get() == loadedGeneration) {
+            long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(properties.getCacheTtlSeconds());
+            cache.put(userId, new Cached(others, expiresAt));
+        }
+        return others;
+    }
+
+    /**
+     * 두 사용자 중 한쪽이라도 상대를 차단했는지 확인합니다.
+     */
+    public boolean isBlocked(Long userId, Long otherId) {
+        return excludedFor(userId).contains(Math.toIntExact(otherId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBlockChanged(BlockChangedEvent event) {
+        invalidate(event.blockerId(), event.blockedId());
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event.blockerId() + ":" + event.blockedId());
+        } catch (Exception e) {
+            // 다른 서버는 필터 재생성/캐시 만료 후 반영됩니다.
+            log.warn("Failed to publish block change: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        cache.remove(event.userId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            invalidate(Long.valueOf(body.substring(0, separator)), Long.valueOf(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed block invalidation message: {}", body);
+        }
+    }
+
+    private void invalidate(Long blockerId, Long blockedId) {
+        generation.incrementAndGet();
+        synchronized (lock) {
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(blockerId);
+                current.put(blockedId);
+            }
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(blockerId);
+                pendingDuringRebuild.add(blockedId);
+            }
+        }
+        cache.remove(blockerId);
+        cache.remove(blockedId);
+    }
+
+    // 만료된 항목을 정리합니다. (테스트용, 평소에는 정리 스레드가 처리)
+    void sweepExpired() {
+        cache.sweepExpired();
+    }
+
+    // 캐시된 사용자 수 (테스트용)
+    int cachedUsers() {
+        return cache.size();
+    }
+
+    private void rebuildFilter() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Failed to build block filter, falling back to cache lookups: {}", e.getMessage());
+            synchronized (lock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (lock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        long expected = Math.max(properties.getMinExpectedUsers(), blockRepository.count());
+        BloomFilter next = BloomFilter.create(expected, properties.getFalsePositiveRate());
+        long[] inserted = new long[1];
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Long> userIds = blockRepository.streamUserIds()) {
+                userIds.forEach(userId -> {
+                    next.put(userId);
+                    inserted[0]++;
+                });
+            }
+        });
+
+        synchronized (lock) {
+            // 스트리밍 중에 차단한 사용자를 반영한 뒤 교체합니다.
+            pendingDuringRebuild.forEach(next::put);
+            pendingDuringRebuild = null;
+            filter = next;
+        }
+        log.info("Block filter built: {} users in {}ms", inserted[0], System.currentTimeMillis() - started);
+    }
+
+    private record Cached(RoaringBitmap others, long expiresAt) {
+    }
+}
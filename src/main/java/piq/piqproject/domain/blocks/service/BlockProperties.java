@@ -0,0 +1,26 @@
+package piq.piqproject.domain.blocks.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("blocks") // application.properties에서 blocks접두사 속성을 class의 필드에 매핑
+public class BlockProperties {
+    // 차단 관계가 있는 사용자 Bloom filter의 오탐률
+    private double falsePositiveRate = 0.01;
+    // Bloom filter의 최소 예상 사용자 수 (blocks 행 수가 더 많으면 그 수로 생성, 차단 한 건이 두 행이므로 사용자 수보다 넉넉함)
+    private long minExpectedUsers = 100_000;
+    // 전파를 놓친 경우에 대비해 Bloom filter를 새로 만드는 간격 (분)
+    private long filterRebuildMinutes = 30;
+    // 제외 대상을 메모리에 유지할 최대 사용자 수
+    private int maxCachedUsers = 100_000;
+    // 제외 대상을 다시 읽기 전까지 메모리에 유지하는 시간 (초)
+    private long cacheTtlSeconds = 300;
+    // 한 사용자가 차단할 수 있는 최대 인원
+    private int maxBlocksPerUser = 1000;
+}
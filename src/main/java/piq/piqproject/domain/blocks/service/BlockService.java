@@ -0,0 +1,109 @@
+package piq.piqproject.domain.blocks.service;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.ConflictException;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InvalidRequestException;
+import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.domain.blocks.dto.BlockResponseDto;
+import piq.piqproject.domain.blocks.entity.BlockEntity;
+import piq.piqproject.domain.blocks.enums.BlockDirection;
+import piq.piqproject.domain.blocks.event.BlockChangedEvent;
+import piq.piqproject.domain.blocks.repository.BlockRepository;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+@Slf4j
+@Service
+public class BlockService {
+
+    private final BlockRepository blockRepository;
+    private final UserRepository userRepository;
+    private final BlockProperties blockProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public BlockService(BlockRepository blockRepository, UserRepository userRepository,
+            BlockProperties blockProperties, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.blockRepository = blockRepository;
+        this.userRepository = userRepository;
+        this.blockProperties = blockProperties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 상대를 차단합니다. 이후 두 사용자는 피드, 매칭 후보, 프로필 조회에서 서로 보이지 않습니다.
+     * 이미 차단한 상대면 아무것도 하지 않습니다. (같은 차단 요청이 동시에 들어와도 한 번만 저장되고 둘 다 성공)
+     *
+     * @param userId   차단하는 사용자의 ID
+     * @param targetId 차단할 사용자의 ID
+     * @throws InvalidRequestException 자기 자신을 차단한 경우
+     * @throws NotFoundException       상대가 없는 경우
+     * @throws ConflictException       차단 가능한 인원을 넘은 경우
+     */
+    public void block(Long userId, Long targetId) {
+        if (userId.equals(targetId)) {
+            throw new InvalidRequestException(ErrorCode.CANNOT_BLOCK_SELF);
+        }
+        // unique 제약 위반은 트랜잭션을 rollback-only로 만들므로, 트랜잭션 밖에서 처리합니다.
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBlock(userId, targetId));
+        } catch (DataIntegrityViolationException e) {
+            // 확인 후 저장 전에 같은 차단이 먼저 저장된 경우 (이미 차단한 것과 같음)
+            log.debug("Concurrent duplicate block ignored: userId={}, targetId={}", userId, targetId);
+        }
+    }
+
+    private void insertBlock(Long userId, Long targetId) {
+        if (blockRepository.existsByUserIdAndOtherIdAndDirection(userId, targetId, BlockDirection.OUTGOING)) {
+            return;
+        }
+        if (!userRepository.existsById(targetId)) {
+            throw new NotFoundException(ErrorCode.NOT_FOUND_USER, "해당 ID의 사용자를 찾을 수 없습니다: " + targetId);
+        }
+        if (blockRepository.countByUserIdAndDirection(userId, BlockDirection.OUTGOING) >= blockProperties
+                .getMaxBlocksPerUser()) {
+            throw new ConflictException(ErrorCode.BLOCK_LIMIT_EXCEEDED);
+        }
+
+        // 양쪽 사용자 기준으로 한 행씩 저장하여, 각자의 제외 대상을 user_id로 바로 조회합니다.
+        blockRepository.save(BlockEntity.of(userId, targetId, BlockDirection.OUTGOING));
+        blockRepository.save(BlockEntity.of(targetId, userId, BlockDirection.INCOMING));
+        // 커밋 후 제외 대상 캐시를 무효화합니다.
+        eventPublisher.publishEvent(new BlockChangedEvent(userId, targetId));
+    }
+
+    /**
+     * 차단을 해제합니다. 상대도 나를 차단했다면 그 차단은 유지됩니다.
+     *
+     * @param userId   차단을 해제하는 사용자의 ID
+     * @param targetId 차단을 해제할 사용자의 ID
+     */
+    @Transactional
+    public void unblock(Long userId, Long targetId) {
+        int deleted = blockRepository.deleteBlock(userId, targetId, BlockDirection.OUTGOING);
+        if (deleted == 0) {
+            return;
+        }
+        blockRepository.deleteBlock(targetId, userId, BlockDirection.INCOMING);
+        eventPublisher.publishEvent(new BlockChangedEvent(userId, targetId));
+    }
+
+    /**
+     * @return 내가 차단한 사용자 목록 (최근 차단순)
+     */
+    @Transactional(readOnly = true)
+    public List<BlockResponseDto> findBlocks(Long userId) {
+        return blockRepository.findBlocks(userId, BlockDirection.OUTGOING);
+    }
+}
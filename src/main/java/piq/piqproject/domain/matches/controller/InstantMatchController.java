@@ -0,0 +1,74 @@
+package piq.piqproject.domain.matches.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import piq.piqproject.domain.matches.dto.InstantMatchStatusResponseDto;
+import piq.piqproject.domain.matches.service.InstantMatchService;
+import piq.piqproject.domain.users.entity.UserEntity;
+import piq.piqproject.domain.users.enums.Gender;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/matches/instant")
+public class InstantMatchController {
+
+    private final InstantMatchService instantMatchService;
+
+    /**
+     * 실시간 매칭 대기열에 참가합니다. 이후 /status를 주기적으로 조회하여 상대가 정해졌는지 확인합니다.
+     *
+     * @param user   현재 인증된 사용자
+     * @param target 원하는 상대의 성별 (생략하면 MALE↔FEMALE, OTHER는 OTHER)
+     * @return 현재 매칭 상태
+     */
+    @PostMapping
+    public ResponseEntity<InstantMatchStatusResponseDto> join(
+            @AuthenticationPrincipal UserEntity user,
+            @RequestParam(value = "target", required = false) Gender target) {
+        return ResponseEntity.ok(instantMatchService.join(user.getId(), target));
+    }
+
+    /**
+     * 대기열에서 나갑니다. 매칭 제안을 받은 상태라면 거절로 처리합니다.
+     */
+    @PostMapping("/leave")
+    public ResponseEntity<InstantMatchStatusResponseDto> leave(@AuthenticationPrincipal UserEntity user) {
+        return ResponseEntity.ok(instantMatchService.leave(user.getId()));
+    }
+
+    /**
+     * 현재 매칭 상태(NONE, WAITING, OFFERED, MATCHED, DECLINED, EXPIRED)를 조회합니다.
+     */
+    @GetMapping("/status")
+    public ResponseEntity<InstantMatchStatusResponseDto> getStatus(@AuthenticationPrincipal UserEntity user) {
+        return ResponseEntity.ok(instantMatchService.status(user.getId()));
+    }
+
+    /**
+     * 매칭 제안을 수락합니다. 상대도 수락하면 MATCHED가 됩니다.
+     */
+    @PostMapping("/offers/{offerId}/accept")
+    public ResponseEntity<InstantMatchStatusResponseDto> accept(
+            @AuthenticationPrincipal UserEntity user,
+            @PathVariable("offerId") long offerId) {
+        return ResponseEntity.ok(instantMatchService.accept(user.getId(), offerId));
+    }
+
+    /**
+     * 매칭 제안을 거절합니다. 상대는 다시 대기열로 돌아갑니다.
+     */
+    @PostMapping("/offers/{offerId}/decline")
+    public ResponseEntity<InstantMatchStatusResponseDto> decline(
+            @AuthenticationPrincipal UserEntity user,
+            @PathVariable("offerId") long offerId) {
+        return ResponseEntity.ok(instantMatchService.decline(user.getId(), offerId));
+    }
+}
@@ -0,0 +1,78 @@
+package piq.piqproject.domain.matches.controller;
+
+import java.util.Set;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import piq.piqproject.common.list.ListResponseDto;
+import piq.piqproject.common.pagination.SliceResponseDto;
+import piq.piqproject.domain.matches.dto.CandidateQuery;
+import piq.piqproject.domain.matches.service.MatchCandidateService;
+import piq.piqproject.domain.matches.service.MatchRecommendationService;
+import piq.piqproject.domain.users.dto.response.UserSimpleProfileResponseDto;
+import piq.piqproject.domain.users.entity.UserEntity;
+import piq.piqproject.domain.users.enums.Gender;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/matches")
+public class MatchController {
+
+    private final MatchCandidateService matchCandidateService;
+    private final MatchRecommendationService matchRecommendationService;
+
+    /**
+     * 여러 조건(성별, 나이, MBTI, 신뢰점수, 활성 여부)으로 매칭 후보를 검색합니다.
+     * 지정하지 않은 조건은 적용하지 않으며, 결과는 최근 가입순으로 커서 페이지네이션됩니다.
+     * 예: /api/v1/matches/candidates?gender=FEMALE&minAge=25&maxAge=30&mbti=ENFP&mbti=INFJ&minScore=50
+     *
+     * @param user   현재 인증된 사용자 (결과에서 제외)
+     * @param cursor 이전 응답의 nextCursor
+     * @param size   페이지 크기 (기본 10, 최대 100)
+     * @return 후보 프로필 목록과 다음 페이지 커서
+     */
+    @GetMapping("/candidates")
+    public ResponseEntity<SliceResponseDto<UserSimpleProfileResponseDto>> getCandidates(
+            @AuthenticationPrincipal UserEntity user,
+            @RequestParam(value = "gender", required = false) Gender gender,
+            @RequestParam(value = "minAge", required = false) Integer minAge,
+            @RequestParam(value = "maxAge", required = false) Integer maxAge,
+            @RequestParam(value = "mbti", required = false) Set<String> mbtis,
+            @RequestParam(value = "minScore", required = false) Double minScore,
+            @RequestParam(value = "maxScore", required = false) Double maxScore,
+            @RequestParam(value = "activeOnly", defaultValue = "true") boolean activeOnly,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        CandidateQuery query = new CandidateQuery(gender, minAge, maxAge, mbtis, minScore, maxScore, activeOnly);
+        return ResponseEntity.ok(matchCandidateService.findCandidates(user.getId(), query, cursor, size));
+    }
+
+    /**
+     * 조건에 맞는 후보 중 궁합 점수(MBTI 궁합, 신뢰점수, 나이 차이, 최신 가입)가 높은 순서로 추천합니다.
+     * 검색 조건은 /candidates와 같습니다.
+     *
+     * @param user  현재 인증된 사용자 (궁합 계산 기준, 결과에서 제외)
+     * @param limit 추천할 후보 수 (기본 20, 최대 matches.ranking.max-results)
+     * @return 점수가 높은 순서의 후보 프로필 목록
+     */
+    @GetMapping("/recommendations")
+    public ResponseEntity<ListResponseDto<UserSimpleProfileResponseDto>> getRecommendations(
+            @AuthenticationPrincipal UserEntity user,
+            @RequestParam(value = "gender", required = false) Gender gender,
+            @RequestParam(value = "minAge", required = false) Integer minAge,
+            @RequestParam(value = "maxAge", required = false) Integer maxAge,
+            @RequestParam(value = "mbti", required = false) Set<String> mbtis,
+            @RequestParam(value = "minScore", required = false) Double minScore,
+            @RequestParam(value = "maxScore", required = false) Double maxScore,
+            @RequestParam(value = "activeOnly", defaultValue = "true") boolean activeOnly,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        CandidateQuery query = new CandidateQuery(gender, minAge, maxAge, mbtis, minScore, maxScore, activeOnly);
+        return ResponseEntity.ok(ListResponseDto.from(matchRecommendationService.recommend(user.getId(), query, limit)));
+    }
+}
@@ -0,0 +1,50 @@
+package piq.piqproject.domain.matches.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import piq.piqproject.domain.matches.dto.SwipeResponseDto;
+import piq.piqproject.domain.matches.enums.SwipeAction;
+import piq.piqproject.domain.matches.service.SwipeService;
+import piq.piqproject.domain.users.entity.UserEntity;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/matches/swipes")
+public class SwipeController {
+
+    private final SwipeService swipeService;
+
+    /**
+     * 상대에게 좋아요를 합니다. 상대도 이미 나를 좋아요했다면 매칭이 성립하고 matched=true로 응답합니다.
+     *
+     * @param user     현재 인증된 사용자
+     * @param targetId 상대 사용자의 ID
+     * @return 기록된 선택과 서로 좋아요 여부 (이미 선택한 상대면 처음 선택)
+     */
+    @PostMapping("/{targetId}/like")
+    public ResponseEntity<SwipeResponseDto> like(
+            @AuthenticationPrincipal UserEntity user,
+            @PathVariable("targetId") Long targetId) {
+        return ResponseEntity.ok(swipeService.swipe(user.getId(), targetId, SwipeAction.LIKE));
+    }
+
+    /**
+     * 상대를 넘깁니다.
+     *
+     * @param user     현재 인증된 사용자
+     * @param targetId 상대 사용자의 ID
+     * @return 기록된 선택 (이미 선택한 상대면 처음 선택)
+     */
+    @PostMapping("/{targetId}/pass")
+    public ResponseEntity<SwipeResponseDto> pass(
+            @AuthenticationPrincipal UserEntity user,
+            @PathVariable("targetId") Long targetId) {
+        return ResponseEntity.ok(swipeService.swipe(user.getId(), targetId, SwipeAction.PASS));
+    }
+}
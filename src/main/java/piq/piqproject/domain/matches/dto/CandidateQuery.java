@@ -0,0 +1,20 @@
+package piq.piqproject.domain.matches.dto;
+
+import java.util.Set;
+
+import piq.piqproject.domain.users.enums.Gender;
+
+/**
+ * 후보 검색 조건입니다. null인 조건은 적용하지 않습니다.
+ *
+ * @param gender     성별
+ * @param minAge     최소 나이 (포함)
+ * @param maxAge     최대 나이 (포함)
+ * @param mbtis      MBTI 목록 (하나라도 일치하면 포함)
+ * @param minScore   최소 신뢰점수 (포함)
+ * @param maxScore   최대 신뢰점수 (포함)
+ * @param activeOnly 활성 사용자만 검색할지 여부
+ */
+public record CandidateQuery(Gender gender, Integer minAge, Integer maxAge, Set<String> mbtis, Double minScore,
+        Double maxScore, boolean activeOnly) {
+}
@@ -0,0 +1,12 @@
+package piq.piqproject.domain.matches.dto;
+
+import java.time.LocalDateTime;
+
+import piq.piqproject.domain.users.enums.Gender;
+
+/**
+ * 후보 인덱스를 만들 때 users 테이블에서 읽어오는 컬럼입니다. (UserRepository 프로젝션 쿼리)
+ */
+public record CandidateRow(Long id, Gender gender, Integer age, String mbti, Double score, Boolean isActive,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,31 @@
+package piq.piqproject.domain.matches.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import piq.piqproject.domain.matches.enums.InstantMatchState;
+
+// 실시간 매칭 상태 (상대가 정해지기 전에는 offer 관련 항목을 생략)
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InstantMatchStatusResponseDto {
+    private InstantMatchState state;
+    private Long offerId;
+    private Long partnerId;
+    // 수락 제한 시각 (OFFERED 상태에서만)
+    private LocalDateTime expiresAt;
+    // 내가 이미 수락했는지 (OFFERED 상태에서만)
+    private Boolean accepted;
+
+    public static InstantMatchStatusResponseDto of(InstantMatchState state) {
+        return new InstantMatchStatusResponseDto(state, null, null, null, null);
+    }
+
+    public static InstantMatchStatusResponseDto of(InstantMatchState state, long offerId, long partnerId) {
+        return new InstantMatchStatusResponseDto(state, offerId, partnerId, null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package piq.piqproject.domain.matches.dto;
+
+import java.time.LocalDateTime;
+
+import piq.piqproject.domain.matches.enums.MatchSource;
+import piq.piqproject.domain.matches.enums.MatchStatus;
+
+/**
+ * matches 테이블에 저장할 매칭 결과입니다. (MatchResultWriter가 모아서 batch insert)
+ */
+public record MatchResult(long userAId, long userBId, MatchSource source, MatchStatus status,
+        LocalDateTime resolvedAt) {
+}
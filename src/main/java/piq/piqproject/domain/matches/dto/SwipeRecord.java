@@ -0,0 +1,16 @@
+package piq.piqproject.domain.matches.dto;
+
+import piq.piqproject.domain.matches.enums.SwipeAction;
+
+/**
+ * 저장 대기 중인 좋아요/넘기기 한 건입니다. (write-ahead log 레코드)
+ *
+ * @param lsn      log 순번 (log에 기록되기 전에는 0)
+ * @param swipedAt 요청 시각 (epoch millis)
+ */
+public record SwipeRecord(long lsn, long swiperId, long targetId, SwipeAction action, long swipedAt) {
+
+    public SwipeRecord withLsn(long lsn) {
+        return new SwipeRecord(lsn, swiperId, targetId, action, swipedAt);
+    }
+}
@@ -0,0 +1,15 @@
+package piq.piqproject.domain.matches.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import piq.piqproject.domain.matches.enums.SwipeAction;
+
+// 좋아요/넘기기 결과 (이미 선택한 상대면 처음 선택한 action을 반환)
+@Getter
+@AllArgsConstructor
+public class SwipeResponseDto {
+    private Long targetId;
+    private SwipeAction action;
+    // 이번 좋아요로 서로 좋아요가 되었는지
+    private boolean matched;
+}
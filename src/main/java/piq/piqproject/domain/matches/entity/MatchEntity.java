@@ -0,0 +1,44 @@
+package piq.piqproject.domain.matches.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import piq.piqproject.domain.BaseEntity;
+import piq.piqproject.domain.matches.enums.MatchSource;
+import piq.piqproject.domain.matches.enums.MatchStatus;
+
+/**
+ * 매칭 결과입니다.
+ * <p>
+ * 실시간 매칭 결과는 MatchResultWriter가 JDBC batch insert로 모아서 저장하므로,
+ * 사용자는 연관관계 대신 ID 컬럼으로 가지고 있습니다. (탈퇴한 사용자의 매칭 기록도 남음)
+ */
+@Table(name = "matches", indexes = {
+        @Index(name = "idx_matches_user_a_id", columnList = "user_a_id"),
+        @Index(name = "idx_matches_user_b_id", columnList = "user_b_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class MatchEntity extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 매칭을 먼저 요청한(대기열에 먼저 들어온) 사용자
+    @Column(name = "user_a_id", nullable = false)
+    private Long userAId;
+
+    @Column(name = "user_b_id", nullable = false)
+    private Long userBId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MatchSource source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MatchStatus status;
+}
@@ -0,0 +1,39 @@
+package piq.piqproject.domain.matches.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import piq.piqproject.domain.BaseEntity;
+import piq.piqproject.domain.matches.enums.SwipeAction;
+
+/**
+ * 좋아요/넘기기 기록입니다. 같은 상대에게는 처음 한 번만 기록됩니다.
+ * <p>
+ * SwipeBatchWriter가 JDBC batch insert로 모아서 저장하므로, 사용자는 연관관계 대신 ID 컬럼으로 가지고 있습니다.
+ */
+@Table(name = "swipes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_swipes_swiper_id_target_id", columnNames = { "swiper_id", "target_id" })
+}, indexes = {
+        // 나를 좋아요한 사용자 조회
+        @Index(name = "idx_swipes_target_id", columnList = "target_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class SwipeEntity extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "swiper_id", nullable = false)
+    private Long swiperId;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private SwipeAction action;
+}
@@ -0,0 +1,10 @@
+package piq.piqproject.domain.matches.enums;
+
+public enum InstantMatchState {
+    NONE, // 대기열에 참가하지 않음
+    WAITING, // 상대를 찾는 중
+    OFFERED, // 상대를 찾았고 양쪽의 수락을 기다리는 중
+    MATCHED, // 양쪽 모두 수락
+    DECLINED, // 한쪽이 거절
+    EXPIRED // 대기 또는 수락 제한 시간 초과
+}
@@ -0,0 +1,6 @@
+package piq.piqproject.domain.matches.enums;
+
+public enum MatchSource {
+    INSTANT, // 실시간 매칭 대기열
+    MUTUAL_LIKE // 서로 좋아요
+}
@@ -0,0 +1,7 @@
+package piq.piqproject.domain.matches.enums;
+
+public enum MatchStatus {
+    MATCHED, // 양쪽 모두 수락
+    DECLINED, // 한쪽이 거절
+    EXPIRED // 제한 시간 안에 양쪽이 모두 응답하지 않음
+}
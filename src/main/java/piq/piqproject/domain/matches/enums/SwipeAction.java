@@ -0,0 +1,6 @@
+package piq.piqproject.domain.matches.enums;
+
+public enum SwipeAction {
+    LIKE, // 좋아요
+    PASS // 넘기기
+}
@@ -0,0 +1,12 @@
+package piq.piqproject.domain.matches.event;
+
+import piq.piqproject.domain.matches.dto.SwipeRecord;
+
+/**
+ * 요청이 결과를 기다리지 못한(시간 초과) 좋아요/넘기기가 나중에 log에 기록되었을 때 발행하는 이벤트입니다.
+ * (writer 스레드에서 발행)
+ *
+ * @param record LSN이 부여된 레코드
+ */
+public record SwipeLoggedEvent(SwipeRecord record) {
+}
@@ -0,0 +1,202 @@
+package piq.piqproject.domain.matches.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.domain.matches.dto.MatchResult;
+import piq.piqproject.domain.matches.enums.MatchSource;
+import piq.piqproject.domain.matches.enums.MatchStatus;
+import piq.piqproject.domain.matches.service.InstantMatchProperties;
+
+/**
+ * 매칭 결과를 모아서 JDBC batch insert로 저장합니다.
+ * <p>
+ * 매칭이 몰리는 시간에 결과마다 트랜잭션을 열지 않도록, write()는 대기열에 넣기만 하고
+ * 전용 스레드가 쌓인 만큼(최대 writer-batch-size건) 한 번의 batch로 저장합니다.
+ * <p>
+ * - 실패: 저장에 실패한 batch는 writer-retry-backoff-millis 간격으로 writer-max-retries번까지 다시 시도하고,
+ * 그래도 실패하면 Redis의 dead-letter 목록(DEAD_LETTER_KEY)으로 옮깁니다.
+ * <p>
+ * - 대기열이 가득 찬 경우: 호출한 스레드(요청/타이머 스레드)에서 DB에 쓰지 않고 바로 dead-letter 목록으로 옮깁니다.
+ * <p>
+ * - 재처리: 대기열이 비어 있을 때 dead-letter 목록에서 꺼내 다시 저장합니다. (실패하면 목록에 되돌림)
+ */
+@Slf4j
+@Repository
+public class MatchResultWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO matches (user_a_id, user_b_id, source, status, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    static final String DEAD_LETTER_KEY = "matches:results:dead-letter";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final BlockingQueue<MatchResult> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxRetries;
+    private final long retryBackoffNanos;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public MatchResultWriter(JdbcTemplate jdbcTemplate, StringRedisTemplate redisTemplate,
+            InstantMatchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.queue = new ArrayBlockingQueue<>(properties.getWriterQueueCapacity());
+        this.batchSize = properties.getWriterBatchSize();
+        this.flushIntervalMillis = properties.getWriterFlushIntervalMillis();
+        this.maxRetries = properties.getWriterMaxRetries();
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(properties.getWriterRetryBackoffMillis());
+        this.flusher = Thread.ofPlatform().daemon().name("match-result-writer").start(this::run);
+    }
+
+    /**
+     * 매칭 결과를 저장 대기열에 추가합니다.
+     */
+    public void write(MatchResult result) {
+        if (!queue.offer(result)) {
+            log.warn("Match result queue is full, moving the result to the dead-letter list");
+            deadLetter(List.of(result));
+        }
+    }
+
+    private void run() {
+        List<MatchResult> batch = new ArrayList<>(batchSize);
+        // 종료 요청 후에도 남은 결과를 모두 저장한 뒤 끝냅니다.
+        while (running || !queue.isEmpty()) {
+            try {
+                MatchResult first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (running) {
+                        replayDeadLetters();
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 저장에 실패하면 max-retries번까지 다시 시도하고, 그래도 실패하면(종료 중이면 바로) dead-letter 목록으로 옮깁니다.
+    private void flush(List<MatchResult> batch) {
+        for (int attempt = 0;; attempt++) {
+            try {
+                insert(batch);
+                return;
+            } catch (DataAccessException e) {
+                if (attempt >= maxRetries || !running) {
+                    log.error("Failed to persist {} match results, moving them to the dead-letter list",
+                            batch.size(), e);
+                    deadLetter(batch);
+                    return;
+                }
+                log.warn("Failed to persist {} match results, retrying: {}", batch.size(), e.getMessage());
+                LockSupport.parkNanos(retryBackoffNanos);
+            }
+        }
+    }
+
+    // dead-letter 목록에서 batch-size건을 꺼내 저장합니다. 실패하면 목록에 되돌리고 retry-backoff만큼 쉽니다.
+    private void replayDeadLetters() {
+        List<String> values;
+        try {
+            values = redisTemplate.opsForList().leftPop(DEAD_LETTER_KEY, batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read match result dead letters: {}", e.getMessage());
+            LockSupport.parkNanos(retryBackoffNanos);
+            return;
+        }
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+
+        List<MatchResult> results = new ArrayList<>(values.size());
+        for (String value : values) {
+            MatchResult result = decode(value);
+            if (result == null) {
+                log.warn("Dropping malformed match result dead letter: {}", value);
+                continue;
+            }
+            results.add(result);
+        }
+        if (results.isEmpty()) {
+            return;
+        }
+        try {
+            insert(results);
+            log.info("Replayed {} match result dead letters", results.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to replay {} match result dead letters: {}", results.size(), e.getMessage());
+            deadLetter(results);
+            LockSupport.parkNanos(retryBackoffNanos);
+        }
+    }
+
+    private void deadLetter(List<MatchResult> results) {
+        List<String> values = results.stream().map(MatchResultWriter::encode).toList();
+        try {
+            redisTemplate.opsForList().rightPushAll(DEAD_LETTER_KEY, values);
+        } catch (RuntimeException e) {
+            // Redis도 쓸 수 없으면 로그가 마지막 기록입니다.
+            log.error("Failed to dead-letter match results {}", results, e);
+        }
+    }
+
+    private void insert(List<MatchResult> results) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, results, results.size(), (ps, result) -> {
+            Timestamp resolvedAt = Timestamp.valueOf(result.resolvedAt());
+            ps.setLong(1, result.userAId());
+            ps.setLong(2, result.userBId());
+            ps.setString(3, result.source().name());
+            ps.setString(4, result.status().name());
+            ps.setTimestamp(5, resolvedAt);
+            ps.setTimestamp(6, resolvedAt);
+        });
+    }
+
+    // "userAId,userBId,SOURCE,STATUS,resolvedAt"
+    static String encode(MatchResult result) {
+        return result.userAId() + "," + result.userBId() + "," + result.source().name() + ","
+                + result.status().name() + "," + result.resolvedAt();
+    }
+
+    static MatchResult decode(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 5) {
+            return null;
+        }
+        try {
+            return new MatchResult(Long.parseLong(parts[0]), Long.parseLong(parts[1]), MatchSource.valueOf(parts[2]),
+                    MatchStatus.valueOf(parts[3]), LocalDateTime.parse(parts[4]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
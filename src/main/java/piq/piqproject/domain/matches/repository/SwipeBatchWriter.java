@@ -0,0 +1,240 @@
+package piq.piqproject.domain.matches.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InternalServerException;
+import piq.piqproject.common.error.exception.ServiceUnavailableException;
+import piq.piqproject.domain.matches.dto.SwipeRecord;
+import piq.piqproject.domain.matches.enums.MatchSource;
+import piq.piqproject.domain.matches.enums.MatchStatus;
+import piq.piqproject.domain.matches.enums.SwipeAction;
+import piq.piqproject.domain.matches.event.SwipeLoggedEvent;
+import piq.piqproject.domain.matches.service.SwipeProperties;
+
+/**
+ * 좋아요/넘기기를 write-behind 방식으로 저장합니다.
+ * <p>
+ * - 요청: write()는 SwipeWriteAheadLog에 기록(group commit fsync)된 뒤 반환하며, DB에는 아직 저장되지 않습니다.
+ * 기록된 레코드는 LSN 순서대로 메모리 버퍼에 쌓이고, 버퍼는 buffer-capacity건으로 제한됩니다. (가득 차면 503)
+ * <p>
+ * - 저장: 전용 스레드가 버퍼에서 최대 batch-size건씩 꺼내 한 트랜잭션에서 JDBC batch insert로 저장합니다.
+ * 좋아요는 상대의 좋아요 기록이 DB에 있으면 matches에도 함께 저장합니다. 매칭 여부를 요청한 서버의 그래프가 아니라
+ * DB로 판단하고 요청 시각은 비교하지 않으므로, 두 사람이 서로 다른 서버에서 좋아요하거나 늦게 한 좋아요가 먼저 저장되어도
+ * (복구/재시도 포함) 나중에 저장되는 쪽에서 매칭됩니다.
+ * 저장이 끝난 LSN까지 log를 정리합니다.
+ * <p>
+ * - 복구: 기동 시 log에 남아 있는 레코드를 먼저 저장합니다. insert는 NOT EXISTS 조건으로 멱등이므로
+ * 이미 저장된 레코드를 다시 저장해도 중복되지 않습니다. DB 저장에 실패하면 버리지 않고 다시 시도합니다.
+ * <p>
+ * - 시간 초과: log 기록을 wal-max-wait-millis 안에 확인하지 못하면 결과를 모르는 상태로 응답합니다. (503)
+ * 버퍼 자리는 실제로 실패했을 때만 반납하고, 늦게 기록되면 SwipeLoggedEvent를 발행합니다.
+ */
+@Slf4j
+@Repository
+@DependsOn("entityManagerFactory") // 기동 시 복구는 JPA가 테이블을 만든 뒤에 실행
+public class SwipeBatchWriter {
+
+    private static final String INSERT_SWIPE_SQL = "INSERT INTO swipes (swiper_id, target_id, action, "
+            + "created_at, updated_at) SELECT ?, ?, ?, ?, ? FROM DUAL "
+            + "WHERE NOT EXISTS (SELECT 1 FROM swipes WHERE swiper_id = ? AND target_id = ?)";
+
+    // 먼저 저장된 좋아요의 주인이 user_a (NOT EXISTS가 양방향 중복을 막음)
+    private static final String INSERT_MATCH_SQL = "INSERT INTO matches (user_a_id, user_b_id, source, status, "
+            + "created_at, updated_at) SELECT ?, ?, ?, ?, ?, ? FROM DUAL "
+            + "WHERE EXISTS (SELECT 1 FROM swipes WHERE swiper_id = ? AND target_id = ? AND action = ?) "
+            + "AND NOT EXISTS (SELECT 1 FROM matches WHERE source = ? "
+            + "AND ((user_a_id = ? AND user_b_id = ?) OR (user_a_id = ? AND user_b_id = ?)))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SwipeWriteAheadLog writeAheadLog;
+    private final LinkedBlockingQueue<SwipeRecord> buffer = new LinkedBlockingQueue<>();
+    // 버퍼 자리 (log에 기록하기 전에 확보하고, DB 저장 후 반납)
+    private final Semaphore slots;
+    private final long bufferWaitMillis;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long retryBackoffNanos;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public SwipeBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher, SwipeProperties properties) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.slots = new Semaphore(properties.getBufferCapacity());
+        this.bufferWaitMillis = properties.getBufferWaitMillis();
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalMillis = properties.getFlushIntervalMillis();
+        this.retryBackoffNanos = TimeUnit.MILLISECONDS.toNanos(properties.getRetryBackoffMillis());
+
+        Path directory = Path.of(properties.getWalDirectory());
+        long lastLsn = recover(directory);
+        this.writeAheadLog = new SwipeWriteAheadLog(directory, lastLsn + 1, properties.getWalSegmentBytes(),
+                properties.getWalMaxWaitMillis(), buffer::addAll);
+        this.flusher = Thread.ofPlatform().daemon().name("swipe-batch-writer").start(this::run);
+    }
+
+    /**
+     * 좋아요/넘기기를 log에 기록하고 저장 버퍼에 추가합니다. 반환되면 서버가 비정상 종료되어도 유실되지 않습니다.
+     *
+     * @throws ServiceUnavailableException 저장 버퍼가 가득 차 buffer-wait-millis 안에 자리가 나지 않은 경우 (SWIPE_BUFFER_FULL),
+     *                                     log 기록을 기다리지 못해 결과를 모르는 경우 (SWIPE_WRITE_PENDING)
+     * @throws InternalServerException     log 기록에 실패한 경우 (기록되지 않음)
+     */
+    public void write(SwipeRecord record) {
+        try {
+            if (!slots.tryAcquire(bufferWaitMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Swipe buffer is full, rejecting request");
+                throw new ServiceUnavailableException(ErrorCode.SWIPE_BUFFER_FULL);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(ErrorCode.SWIPE_BUFFER_FULL);
+        }
+
+        try {
+            writeAheadLog.append(record);
+        } catch (SwipeWriteAheadLog.WriteTimeoutException e) {
+            // 아직 대기열에 있으므로 기록될 수 있습니다. 기록되면 버퍼 자리는 DB 저장 후 반납됩니다.
+            e.completion().whenComplete((written, failure) -> {
+                if (failure != null) {
+                    slots.release();
+                } else {
+                    eventPublisher.publishEvent(new SwipeLoggedEvent(written));
+                }
+            });
+            log.warn("Swipe log write of user {} is pending: {}", record.swiperId(), e.getMessage());
+            throw new ServiceUnavailableException(ErrorCode.SWIPE_WRITE_PENDING);
+        } catch (UncheckedIOException | IllegalStateException e) {
+            slots.release();
+            log.error("Failed to write swipe log: {}", e.getMessage());
+            throw new InternalServerException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 이전 실행에서 저장하지 못한 레코드를 저장하고 마지막 LSN을 반환합니다.
+    private long recover(Path directory) throws IOException {
+        List<SwipeRecord> records = SwipeWriteAheadLog.recover(directory);
+        long lastLsn = records.stream().mapToLong(SwipeRecord::lsn).max().orElse(0);
+        if (records.isEmpty()) {
+            return lastLsn;
+        }
+        try {
+            for (int from = 0; from < records.size(); from += batchSize) {
+                insert(records.subList(from, Math.min(from + batchSize, records.size())));
+            }
+            SwipeWriteAheadLog.deleteSegments(directory);
+            log.info("Recovered {} swipes from the write-ahead log", records.size());
+        } catch (DataAccessException e) {
+            // 파일은 남겨두고 다음 기동 때 다시 시도합니다. (새 log는 이어지는 LSN으로 기록)
+            log.error("Failed to recover {} swipes from the write-ahead log", records.size(), e);
+        }
+        return lastLsn;
+    }
+
+    private void run() {
+        List<SwipeRecord> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                SwipeRecord first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                if (!flush(batch)) {
+                    return; // 종료 중 저장 실패 (log에 남아 다음 기동 때 저장됨)
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                slots.release(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    // 저장에 성공할 때까지 다시 시도합니다. 종료 중에 실패하면 false
+    private boolean flush(List<SwipeRecord> batch) {
+        while (true) {
+            try {
+                insert(batch);
+                writeAheadLog.checkpoint(batch.getLast().lsn());
+                return true;
+            } catch (DataAccessException e) {
+                log.error("Failed to persist {} swipes, retrying", batch.size(), e);
+                if (!running) {
+                    return false;
+                }
+                LockSupport.parkNanos(retryBackoffNanos);
+            }
+        }
+    }
+
+    private void insert(List<SwipeRecord> records) {
+        List<SwipeRecord> likes = records.stream().filter(record -> record.action() == SwipeAction.LIKE).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SWIPE_SQL, records, records.size(), (ps, record) -> {
+                Timestamp swipedAt = new Timestamp(record.swipedAt());
+                ps.setLong(1, record.swiperId());
+                ps.setLong(2, record.targetId());
+                ps.setString(3, record.action().name());
+                ps.setTimestamp(4, swipedAt);
+                ps.setTimestamp(5, swipedAt);
+                ps.setLong(6, record.swiperId());
+                ps.setLong(7, record.targetId());
+            });
+            if (!likes.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_MATCH_SQL, likes, likes.size(), (ps, record) -> {
+                    Timestamp swipedAt = new Timestamp(record.swipedAt());
+                    ps.setLong(1, record.targetId());
+                    ps.setLong(2, record.swiperId());
+                    ps.setString(3, MatchSource.MUTUAL_LIKE.name());
+                    ps.setString(4, MatchStatus.MATCHED.name());
+                    ps.setTimestamp(5, swipedAt);
+                    ps.setTimestamp(6, swipedAt);
+                    ps.setLong(7, record.targetId());
+                    ps.setLong(8, record.swiperId());
+                    ps.setString(9, SwipeAction.LIKE.name());
+                    ps.setString(10, MatchSource.MUTUAL_LIKE.name());
+                    ps.setLong(11, record.targetId());
+                    ps.setLong(12, record.swiperId());
+                    ps.setLong(13, record.swiperId());
+                    ps.setLong(14, record.targetId());
+                });
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // log를 먼저 닫아 남은 기록을 버퍼로 넘긴 뒤, 버퍼를 모두 저장하고 끝냅니다.
+        writeAheadLog.close();
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,29 @@
+package piq.piqproject.domain.matches.repository;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
+import piq.piqproject.domain.matches.entity.SwipeEntity;
+import piq.piqproject.domain.matches.enums.SwipeAction;
+
+// 저장은 SwipeBatchWriter가 JDBC batch로 처리하고, 여기서는 조회만 합니다.
+public interface SwipeRepository extends JpaRepository<SwipeEntity, Long> {
+
+    // 모든 좋아요/넘기기를 한 행씩 읽어옵니다. (SwipeGraph 생성용, 트랜잭션 안에서 사용)
+    // 탈퇴한 사용자의 기록은 DB에 남아 있으므로 두 사용자가 모두 있는 간선만 읽습니다.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.swiperId, s.targetId, s.action FROM SwipeEntity s "
+            + "WHERE EXISTS (SELECT 1 FROM UserEntity u WHERE u.id = s.swiperId) "
+            + "AND EXISTS (SELECT 1 FROM UserEntity u WHERE u.id = s.targetId)")
+    Stream<Object[]> streamEdges();
+
+    @Query("SELECT s.action FROM SwipeEntity s WHERE s.swiperId = :swiperId AND s.targetId = :targetId")
+    Optional<SwipeAction> findAction(@Param("swiperId") Long swiperId, @Param("targetId") Long targetId);
+}
@@ -0,0 +1,311 @@
+package piq.piqproject.domain.matches.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.domain.matches.dto.SwipeRecord;
+import piq.piqproject.domain.matches.enums.SwipeAction;
+
+/**
+ * 좋아요/넘기기를 DB에 저장하기 전에 로컬 파일에 먼저 기록하는 append-only log입니다.
+ * 서버가 비정상 종료되어도 메모리 버퍼에 있던 기록은 다음 기동 때 recover()로 다시 읽어 저장합니다.
+ * <p>
+ * - group commit: append()는 대기열에 넣고 기다리기만 하며, 전용 스레드가 모인 레코드를 한 번에 쓰고
+ * FileChannel.force()를 한 번만 호출합니다. 동시에 들어온 요청 수와 관계없이 fsync는 한 번입니다.
+ * <p>
+ * - 순서: 디스크에 기록된 레코드는 LSN 순서대로 onDurable에 전달되므로, 그 뒤의 저장도 LSN 순서로 진행됩니다.
+ * <p>
+ * - 정리: segment-bytes를 넘으면 새 segment 파일로 넘어가고, checkpoint(lsn)으로 DB 저장이 끝난 segment를 지웁니다.
+ * <p>
+ * 레코드 형식(37 bytes): lsn(8) swiperId(8) targetId(8) action(1) swipedAt(8) crc32c(4)
+ */
+@Slf4j
+public class SwipeWriteAheadLog implements AutoCloseable {
+
+    static final int RECORD_BYTES = 37;
+    private static final String PREFIX = "swipes-";
+    private static final String SUFFIX = ".wal";
+    private static final int MAX_GROUP = 4096;
+    private static final SwipeAction[] ACTIONS = SwipeAction.values();
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final long maxWaitMillis;
+    private final Consumer<List<SwipeRecord>> onDurable;
+    private final BlockingQueue<PendingAppend> pending = new LinkedBlockingQueue<>();
+    // 닫힌 segment (오래된 순서, checkpoint()와 writer 스레드가 함께 접근)
+    private final ArrayDeque<Segment> closedSegments = new ArrayDeque<>();
+    private final Thread writer;
+
+    // writer 스레드에서만 접근
+    private FileChannel channel;
+    private Path currentPath;
+    private long currentSize;
+    private long nextLsn;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param directory     segment 파일을 둘 디렉터리
+     * @param startLsn      첫 레코드의 LSN (recover()로 읽은 마지막 LSN + 1)
+     * @param segmentBytes  segment 파일 하나의 최대 크기
+     * @param maxWaitMillis append()가 디스크 기록을 기다리는 최대 시간
+     * @param onDurable     디스크에 기록된 레코드를 LSN 순서대로 받을 콜백 (writer 스레드에서 호출)
+     */
+    public SwipeWriteAheadLog(Path directory, long startLsn, long segmentBytes, long maxWaitMillis,
+            Consumer<List<SwipeRecord>> onDurable) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = Math.max(segmentBytes, RECORD_BYTES);
+        this.maxWaitMillis = maxWaitMillis;
+        this.onDurable = onDurable;
+        this.nextLsn = Math.max(startLsn, 1);
+        openSegment();
+        this.writer = Thread.ofPlatform().daemon().name("swipe-wal-writer").start(this::run);
+    }
+
+    /**
+     * 레코드를 log에 기록하고 디스크에 반영될 때까지 기다립니다.
+     *
+     * @return LSN이 부여된 레코드
+     * @throws UncheckedIOException  기록에 실패한 경우 (기록되지 않음)
+     * @throws WriteTimeoutException max-wait 안에 끝나지 않았거나 기다리는 중 인터럽트된 경우 (나중에 기록될 수 있음)
+     */
+    public SwipeRecord append(SwipeRecord record) {
+        if (!running) {
+            throw new IllegalStateException("swipe log is closed");
+        }
+        PendingAppend append = new PendingAppend(record, new CompletableFuture<>());
+        pending.add(append);
+        try {
+            return append.done.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteTimeoutException("interrupted while writing swipe log", append.done);
+        } catch (ExecutionException e) {
+            throw new UncheckedIOException(new IOException("failed to write swipe log", e.getCause()));
+        } catch (TimeoutException e) {
+            // 늦게라도 기록되면 그대로 저장됩니다. (재시도한 요청과 겹쳐도 insert가 멱등이라 중복되지 않음)
+            throw new WriteTimeoutException("swipe log write timed out", append.done);
+        }
+    }
+
+    /**
+     * 기록 결과를 기다리지 못한 경우입니다. 대기열에 들어간 레코드는 그대로 기록되거나 실패하므로,
+     * 실패로 간주하지 말고 completion()으로 결과를 확인해야 합니다.
+     */
+    public static final class WriteTimeoutException extends UncheckedIOException {
+
+        private final transient CompletableFuture<SwipeRecord> completion;
+
+        private WriteTimeoutException(String message, CompletableFuture<SwipeRecord> completion) {
+            super(new IOException(message));
+            this.completion = completion;
+        }
+
+        /**
+         * @return 기록되면 LSN이 부여된 레코드로, 기록에 실패하면 예외로 완료되는 future
+         */
+        public CompletableFuture<SwipeRecord> completion() {
+            return completion;
+        }
+    }
+
+    /**
+     * lsn까지 DB 저장이 끝났음을 알립니다. 모든 레코드가 저장된 닫힌 segment 파일을 지웁니다.
+     */
+    public void checkpoint(long lsn) {
+        synchronized (closedSegments) {
+            while (!closedSegments.isEmpty() && closedSegments.peekFirst().lastLsn <= lsn) {
+                Path path = closedSegments.pollFirst().path;
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Failed to delete swipe log segment {}: {}", path, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 디렉터리에 남아 있는 모든 레코드를 LSN 순서로 읽습니다. (기동 시 복구용)
+     * 비정상 종료로 마지막 레코드가 일부만 기록되었거나 CRC가 맞지 않으면, 그 segment는 거기까지만 읽습니다.
+     */
+    public static List<SwipeRecord> recover(Path directory) throws IOException {
+        List<SwipeRecord> records = new ArrayList<>();
+        for (Path path : segments(directory)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            while (buffer.remaining() >= RECORD_BYTES) {
+                SwipeRecord record = decode(buffer);
+                if (record == null) {
+                    log.warn("Swipe log segment {} has a corrupt record at offset {}, ignoring the rest", path,
+                            buffer.position() - RECORD_BYTES);
+                    break;
+                }
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * 디렉터리의 모든 segment 파일을 지웁니다. (recover()한 레코드를 DB에 저장한 뒤 호출)
+     */
+    public static void deleteSegments(Path directory) throws IOException {
+        for (Path path : segments(directory)) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private void run() {
+        List<PendingAppend> group = new ArrayList<>();
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingAppend first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                pending.drainTo(group, MAX_GROUP - 1);
+                writeGroup(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                group.clear();
+            }
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close swipe log: {}", e.getMessage());
+        }
+    }
+
+    private void writeGroup(List<PendingAppend> group) {
+        List<SwipeRecord> written = new ArrayList<>(group.size());
+        try {
+            if (currentSize > 0 && currentSize + (long) group.size() * RECORD_BYTES > segmentBytes) {
+                rollSegment();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(group.size() * RECORD_BYTES);
+            long lsn = nextLsn;
+            for (PendingAppend append : group) {
+                SwipeRecord record = append.record.withLsn(lsn++);
+                encode(record, buffer);
+                written.add(record);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            currentSize += buffer.limit();
+            nextLsn = lsn;
+        } catch (IOException e) {
+            log.error("Failed to write {} swipe log records", group.size(), e);
+            try {
+                // 일부만 기록된 레코드 뒤에 다음 레코드가 이어지면 복구 시 읽을 수 없으므로 잘라냅니다.
+                channel.truncate(currentSize);
+            } catch (IOException truncateFailure) {
+                log.warn("Failed to truncate swipe log: {}", truncateFailure.getMessage());
+            }
+            group.forEach(append -> append.done.completeExceptionally(e));
+            return;
+        }
+
+        onDurable.accept(written);
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).done.complete(written.get(i));
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        channel.close();
+        synchronized (closedSegments) {
+            closedSegments.addLast(new Segment(currentPath, nextLsn - 1));
+        }
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        // 파일 이름의 첫 LSN으로 정렬하면 기록 순서가 됩니다.
+        currentPath = directory.resolve(PREFIX + String.format("%020d", nextLsn) + SUFFIX);
+        channel = FileChannel.open(currentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        currentSize = channel.size();
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return paths;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(paths::add);
+        }
+        paths.sort(null);
+        return paths;
+    }
+
+    private static void encode(SwipeRecord record, ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putLong(record.lsn())
+                .putLong(record.swiperId())
+                .putLong(record.targetId())
+                .put((byte) record.action().ordinal())
+                .putLong(record.swipedAt());
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), start, RECORD_BYTES - Integer.BYTES);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private static SwipeRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), start, RECORD_BYTES - Integer.BYTES);
+
+        long lsn = buffer.getLong();
+        long swiperId = buffer.getLong();
+        long targetId = buffer.getLong();
+        int action = buffer.get();
+        long swipedAt = buffer.getLong();
+        if (buffer.getInt() != (int) crc.getValue() || action < 0 || action >= ACTIONS.length) {
+            return null;
+        }
+        return new SwipeRecord(lsn, swiperId, targetId, ACTIONS[action], swipedAt);
+    }
+
+    private record PendingAppend(SwipeRecord record, CompletableFuture<SwipeRecord> done) {
+    }
+
+    private record Segment(Path path, long lastLsn) {
+    }
+}
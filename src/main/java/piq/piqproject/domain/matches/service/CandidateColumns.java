@@ -0,0 +1,88 @@
+package piq.piqproject.domain.matches.service;
+
+import java.util.Arrays;
+
+/**
+ * 사용자 ordinal(= ID)을 인덱스로 하는 열(column) 단위 원시 타입 배열입니다. (ordinal당 23 bytes, 빈 ID 포함)
+ * <p>
+ * 후보마다 객체를 만들지 않고 배열을 순서대로 읽기만 하므로, 수백만 명을 점수 계산할 때도 할당과 캐시 미스가 적습니다.
+ * 값은 CandidateIndex의 비트맵(all)에 포함된 ordinal만 유효하며, 동기화는 CandidateIndex의 lock이 담당합니다.
+ */
+public class CandidateColumns {
+
+    public static final byte NONE = -1;
+    public static final int NO_BAND = Integer.MIN_VALUE;
+
+    byte[] genders;
+    byte[] ages; // 0 ~ CandidateIndex.MAX_AGE
+    byte[] mbtis; // MbtiCodes 코드
+    int[] scoreBands;
+    float[] trustScores; // 점수 계산용
+    double[] scores; // 검색 경계 비교용 (DB 값 그대로)
+    int[] createdDays; // 가입일 (epoch day)
+
+    public CandidateColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.genders = new byte[capacity];
+        this.ages = new byte[capacity];
+        this.mbtis = new byte[capacity];
+        this.scoreBands = new int[capacity];
+        this.trustScores = new float[capacity];
+        this.scores = new double[capacity];
+        this.createdDays = new int[capacity];
+    }
+
+    /**
+     * 한 사용자의 값을 기록합니다. 모르는 값은 NONE(나이/MBTI/성별), NO_BAND(점수 구간)로 기록합니다.
+     */
+    public void set(int ordinal, byte gender, byte age, byte mbti, int scoreBand, double trustScore, int createdDay) {
+        ensureCapacity(ordinal);
+        genders[ordinal] = gender;
+        ages[ordinal] = age;
+        mbtis[ordinal] = mbti;
+        scoreBands[ordinal] = scoreBand;
+        trustScores[ordinal] = (float) trustScore;
+        scores[ordinal] = trustScore;
+        createdDays[ordinal] = createdDay;
+    }
+
+    private CandidateColumns(CandidateColumns source) {
+        this.genders = source.genders;
+        this.ages = source.ages;
+        this.mbtis = source.mbtis;
+        this.scoreBands = source.scoreBands;
+        this.trustScores = source.trustScores;
+        this.createdDays = source.createdDays;
+        this.scores = source.scores;
+    }
+
+    /**
+     * 현재 배열을 공유하는 읽기용 사본을 만듭니다. CandidateIndex의 lock 안에서 만들고 lock 밖에서 읽습니다.
+     * 배열이 커져 교체되어도 사본은 만들 때의 배열을 계속 읽으며, 그 뒤 갱신된 사용자의 값은 이전 값 또는 새 값으로 보입니다.
+     */
+    public CandidateColumns view() {
+        return new CandidateColumns(this);
+    }
+
+    public byte age(int ordinal) {
+        return ordinal < ages.length ? ages[ordinal] : NONE;
+    }
+
+    public byte mbti(int ordinal) {
+        return ordinal < mbtis.length ? mbtis[ordinal] : NONE;
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal < genders.length) {
+            return;
+        }
+        int capacity = Math.max(ordinal + 1, genders.length * 2);
+        genders = Arrays.copyOf(genders, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        mbtis = Arrays.copyOf(mbtis, capacity);
+        scoreBands = Arrays.copyOf(scoreBands, capacity);
+        trustScores = Arrays.copyOf(trustScores, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        createdDays = Arrays.copyOf(createdDays, capacity);
+    }
+}
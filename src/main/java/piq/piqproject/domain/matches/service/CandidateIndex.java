@@ -0,0 +1,519 @@
+package piq.piqproject.domain.matches.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.ServiceUnavailableException;
+import piq.piqproject.common.shuffle.FeistelPermutation;
+import piq.piqproject.domain.matches.dto.CandidateQuery;
+import piq.piqproject.domain.matches.dto.CandidateRow;
+import piq.piqproject.domain.users.enums.Gender;
+import piq.piqproject.domain.users.event.UserDeletedEvent;
+import piq.piqproject.domain.users.event.UserProfileChangedEvent;
+import piq.piqproject.domain.users.event.UserRegisteredEvent;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+/**
+ * 매칭 후보 검색용 메모리 비트맵 인덱스입니다.
+ * <p>
+ * - 구조: 사용자 ID를 그대로 비트 위치(ordinal)로 사용하고, 성별/나이(1살 단위)/MBTI/활성 여부/신뢰점수 구간마다
+ * 압축 비트맵(RoaringBitmap)을 둡니다. 여러 조건의 검색은 비트맵 AND/OR 연산으로 처리되어 DB를 조회하지 않습니다.
+ * <p>
+ * - ordinal: ID ↔ ordinal 매핑을 따로 두지 않습니다. 비트맵 순서가 곧 ID 순서라서 피드 커서(ID 내림차순)를 그대로 쓰고,
+ * 사용자 ID로 저장된 차단/본 프로필 비트맵과도 변환 없이 AND/ANDNOT 합니다. 대신 열 배열(CandidateColumns)은
+ * 가장 큰 ID까지 자리를 두므로 탈퇴 등으로 빈 ID도 23 bytes씩 차지합니다. (배열은 2배씩 커지므로 최악에는 두 배,
+ * 최대 ID가 1천만이면 약 230 ~ 460MB) 빈 ID가 대부분이 되면 조밀한 ordinal로 바꿔야 합니다.
+ * <p>
+ * - 생성: 애플리케이션 기동 후 users 테이블을 스트리밍으로 읽어 만듭니다. 완료 전 검색은 503으로 응답합니다.
+ * <p>
+ * - 갱신: 가입/프로필 변경/비활성화/탈퇴 이벤트가 커밋된 후 해당 사용자 한 명만 다시 읽어 반영하고,
+ * 다른 서버에도 Redis pub/sub으로 전파합니다. 같은 사용자의 갱신은 읽기부터 반영까지 순서대로 처리되어,
+ * 먼저 읽은 오래된 값이 나중에 읽은 값을 덮어쓰지 않습니다.
+ */
+@Slf4j
+@Component
+public class CandidateIndex implements MessageListener {
+
+    private static final String CHANNEL = "matches:candidate-index";
+    private static final Gender[] GENDERS = Gender.values();
+    private static final int REFRESH_STRIPES = 64; // 2의 거듭제곱
+    // 이 나이 이상은 모두 MAX_AGE 비트맵에 색인합니다.
+    static final int MAX_AGE = 100;
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${matches.candidate-index.score-band-width:10}")
+    private double scoreBandWidth;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // null이면 아직 생성 전 (lock 안에서만 접근)
+    private IndexData data;
+    // 재생성 중 변경된 사용자 ID (새 인덱스로 교체한 뒤 다시 반영)
+    private List<Long> pendingDuringRebuild;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // 사용자 ID별로 refresh()의 DB 읽기와 반영을 직렬화합니다. (서로 다른 사용자는 같은 락을 공유할 수 있음)
+    private final ReentrantLock[] refreshLocks = new ReentrantLock[REFRESH_STRIPES];
+
+    public CandidateIndex(UserRepository userRepository, StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        for (int i = 0; i < REFRESH_STRIPES; i++) {
+            refreshLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        rebuildInBackground();
+    }
+
+    /**
+     * 조건에 맞는 사용자 ID 비트맵을 반환합니다. 반환된 비트맵은 호출자가 자유롭게 수정할 수 있는 복사본입니다.
+     *
+     * @throws ServiceUnavailableException 인덱스가 아직 생성되지 않은 경우
+     */
+    public RoaringBitmap search(CandidateQuery query) {
+        lock.readLock().lock();
+        try {
+            if (data == null) {
+                throw new ServiceUnavailableException(ErrorCode.CANDIDATE_INDEX_NOT_READY);
+            }
+            return data.search(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * ID 내림차순(최근 가입순)으로 cursor보다 작은 ID를 최대 limit개 꺼냅니다.
+     *
+     * @param candidates search() 결과
+     * @param cursor     이전 페이지의 마지막 ID (첫 페이지면 null)
+     * @param limit      꺼낼 최대 개수
+     */
+    public static List<Long> pageDescending(RoaringBitmap candidates, Long cursor, int limit) {
+        // rank(x): x 이하인 값의 개수 → cursor보다 작은 값은 select(0) ~ select(remaining - 1)
+        long remaining = cursor == null ? candidates.getLongCardinality() : candidates.rankLong(ordinal(cursor) - 1);
+        List<Long> ids = new ArrayList<>(limit);
+        for (long rank = remaining - 1; rank >= 0 && ids.size() < limit; rank--) {
+            ids.add(Integer.toUnsignedLong(candidates.select((int) rank)));
+        }
+        return ids;
+    }
+
+    /**
+     * 조건에 맞는 후보 중 조회하는 사용자와 궁합 점수가 높은 상위 k명을 고릅니다.
+     * 읽기 락 안에서는 후보 비트맵과 속성 배열의 사본(CandidateColumns.view())만 만들고, 점수 계산은 락을 놓은 뒤 합니다.
+     * (계산 중에 갱신된 후보의 점수는 이전 값 또는 새 값으로 계산될 수 있음)
+     *
+     * @param excluded 후보에서 뺄 사용자 ID 비트맵 (이미 본 프로필 등)
+     * @throws ServiceUnavailableException 인덱스가 아직 생성되지 않은 경우
+     */
+    public CompatibilityRanker.Ranked recommend(Long viewerId, CandidateQuery query, RoaringBitmap excluded,
+            CompatibilityRanker ranker, int k) {
+        int viewer = ordinal(viewerId);
+        int today = (int) LocalDate.now(ZoneOffset.UTC).toEpochDay();
+
+        RoaringBitmap candidates;
+        CandidateColumns columns;
+        int viewerMbti;
+        int viewerAge;
+        lock.readLock().lock();
+        try {
+            if (data == null) {
+                throw new ServiceUnavailableException(ErrorCode.CANDIDATE_INDEX_NOT_READY);
+            }
+            candidates = data.search(query);
+            columns = data.columns.view();
+            boolean viewerIndexed = data.all.contains(viewer);
+            viewerMbti = viewerIndexed ? columns.mbti(viewer) : MbtiCodes.UNKNOWN;
+            viewerAge = viewerIndexed ? columns.age(viewer) : CandidateColumns.NONE;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // search()의 결과는 이 요청만의 복사본이므로 락 밖에서 수정하고 순회해도 됩니다.
+        candidates.andNot(excluded);
+        candidates.remove(viewer);
+        return ranker.topK(candidates, columns, viewerMbti, viewerAge, today, k);
+    }
+
+    /**
+     * @return 성별 비트맵의 인원 (비활성 사용자 포함, shuffledPage()의 순열 크기)
+     * @throws ServiceUnavailableException 인덱스가 아직 생성되지 않은 경우
+     */
+    public int countByGender(Gender gender) {
+        lock.readLock().lock();
+        try {
+            if (data == null) {
+                throw new ServiceUnavailableException(ErrorCode.CANDIDATE_INDEX_NOT_READY);
+            }
+            return data.byGender[gender.ordinal()].getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 성별 사용자를 permutation 순서로 position부터 읽어, 제외 대상이 아닌 활성 사용자 ID를 최대 limit개 꺼냅니다.
+     * permutation의 값 r은 성별 비트맵에서 r번째로 작은 ID(select)를 가리킵니다.
+     * 새 가입자는 항상 가장 큰 ID이므로 permutation 크기 안의 순위는 가입으로 바뀌지 않습니다.
+     * (탈퇴/성별 변경이 있으면 뒤쪽 일부가 한 칸씩 밀릴 수 있음)
+     *
+     * @param excluded 건너뛸 사용자 ID 비트맵 (조회자 본인, 이미 본 프로필 등)
+     * @param maxScan  최대로 읽을 위치 수 (제외 대상이 많아도 요청 비용을 제한)
+     * @throws ServiceUnavailableException 인덱스가 아직 생성되지 않은 경우
+     */
+    public ShuffledPage shuffledPage(Gender gender, FeistelPermutation permutation, long position, int limit,
+            int maxScan, RoaringBitmap excluded) {
+        lock.readLock().lock();
+        try {
+            if (data == null) {
+                throw new ServiceUnavailableException(ErrorCode.CANDIDATE_INDEX_NOT_READY);
+            }
+            RoaringBitmap users = data.byGender[gender.ordinal()];
+            int cardinality = users.getCardinality();
+            List<Long> ids = new ArrayList<>(limit);
+            long end = Math.min(permutation.size(), position + maxScan);
+            while (position < end && ids.size() < limit) {
+                int rank = permutation.apply(position++);
+                if (rank >= cardinality) {
+                    continue; // 순서를 정한 뒤 줄어든 경우
+                }
+                int ordinal = users.select(rank);
+                if (data.active.contains(ordinal) && !excluded.contains(ordinal)) {
+                    ids.add(Integer.toUnsignedLong(ordinal));
+                }
+            }
+            return new ShuffledPage(ids, position);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * shuffledPage()의 결과입니다.
+     *
+     * @param ids          꺼낸 사용자 ID (permutation 순서)
+     * @param nextPosition 다음에 읽을 위치
+     */
+    public record ShuffledPage(List<Long> ids, long nextPosition) {
+    }
+
+    /**
+     * 활성 사용자인지 확인합니다.
+     *
+     * @return 인덱스가 아직 생성되지 않았으면 null (호출자가 DB에서 확인)
+     */
+    public Boolean isActiveUser(Long userId) {
+        lock.readLock().lock();
+        try {
+            return data == null ? null : data.active.contains(ordinal(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static int ordinal(Long userId) {
+        return Math.toIntExact(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        refreshEverywhere(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        refreshEverywhere(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        refreshEverywhere(event.userId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            refresh(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed candidate index message");
+        }
+    }
+
+    private void refreshEverywhere(Long userId) {
+        refresh(userId);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            // 전파에 실패하면 다른 서버는 다음 재생성 전까지 이전 값으로 검색합니다.
+            log.warn("Failed to publish candidate index update for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    // 사용자 한 명을 DB에서 다시 읽어 반영합니다. (없으면 인덱스에서 제거)
+    // DB 읽기는 인덱스 락 밖에서 하되, 같은 사용자의 refresh는 읽은 순서대로 반영되도록 사용자별 락 안에서 처리합니다.
+    private void refresh(Long userId) {
+        ReentrantLock refreshLock = refreshLocks[Long.hashCode(userId) & (REFRESH_STRIPES - 1)];
+        refreshLock.lock();
+        try {
+            CandidateRow row = userRepository.findCandidateRowById(userId).orElse(null);
+            lock.writeLock().lock();
+            try {
+                if (data != null) {
+                    if (row != null) {
+                        data.upsert(row);
+                    } else {
+                        data.remove(ordinal(userId));
+                    }
+                }
+                if (pendingDuringRebuild != null) {
+                    pendingDuringRebuild.add(userId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().daemon().name("candidate-index-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.warn("Failed to build candidate index: {}", e.getMessage());
+                lock.writeLock().lock();
+                try {
+                    pendingDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexData next = new IndexData(scoreBandWidth);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<CandidateRow> rows = userRepository.streamCandidateRows()) {
+                rows.forEach(next::upsert);
+            }
+        });
+        next.optimize();
+
+        List<Long> pending;
+        lock.writeLock().lock();
+        try {
+            data = next;
+            pending = pendingDuringRebuild;
+            pendingDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // 스트리밍 중에 변경된 사용자를 다시 읽어 반영합니다.
+        pending.forEach(this::refresh);
+
+        log.info("Candidate index built: {} users in {}ms", next.all.getLongCardinality(),
+                System.currentTimeMillis() - started);
+    }
+
+    /**
+     * 비트맵과 사용자별 색인 값입니다. CandidateIndex의 lock 안에서만 접근합니다.
+     */
+    static class IndexData {
+        private static final byte NONE = CandidateColumns.NONE;
+        private static final int NO_BAND = CandidateColumns.NO_BAND;
+
+        private final double scoreBandWidth;
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final RoaringBitmap active = new RoaringBitmap();
+        private final RoaringBitmap[] byGender = newBitmaps(GENDERS.length);
+        private final RoaringBitmap[] byAge = newBitmaps(MAX_AGE + 1);
+        private final RoaringBitmap[] byMbti = newBitmaps(MbtiCodes.COUNT);
+        private final TreeMap<Integer, RoaringBitmap> byScoreBand = new TreeMap<>();
+
+        // ordinal → 현재 색인된 값 (변경 시 이전 비트맵에서 지우고, 추천 점수 계산에도 사용)
+        private final CandidateColumns columns = new CandidateColumns(1024);
+
+        IndexData(double scoreBandWidth) {
+            this.scoreBandWidth = scoreBandWidth;
+        }
+
+        void upsert(CandidateRow row) {
+            int ordinal = ordinal(row.id());
+            remove(ordinal);
+
+            byte gender = row.gender() == null ? NONE : (byte) row.gender().ordinal();
+            byte age = row.age() == null ? NONE : (byte) Math.clamp(row.age(), 0, MAX_AGE);
+            byte mbti = (byte) MbtiCodes.of(row.mbti());
+            int scoreBand = row.score() == null ? NO_BAND : scoreBand(row.score());
+            double trustScore = row.score() == null ? 0 : row.score();
+            int createdDay = row.createdAt() == null ? 0 : (int) row.createdAt().toLocalDate().toEpochDay();
+            columns.set(ordinal, gender, age, mbti, scoreBand, trustScore, createdDay);
+
+            all.add(ordinal);
+            if (Boolean.TRUE.equals(row.isActive())) {
+                active.add(ordinal);
+            }
+            if (gender != NONE) {
+                byGender[gender].add(ordinal);
+            }
+            if (age != NONE) {
+                byAge[age].add(ordinal);
+            }
+            if (mbti != NONE) {
+                byMbti[mbti].add(ordinal);
+            }
+            if (scoreBand != NO_BAND) {
+                byScoreBand.computeIfAbsent(scoreBand, band -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        void remove(int ordinal) {
+            if (!all.contains(ordinal)) {
+                return;
+            }
+            all.remove(ordinal);
+            active.remove(ordinal);
+            if (columns.genders[ordinal] != NONE) {
+                byGender[columns.genders[ordinal]].remove(ordinal);
+            }
+            if (columns.ages[ordinal] != NONE) {
+                byAge[columns.ages[ordinal]].remove(ordinal);
+            }
+            if (columns.mbtis[ordinal] != NONE) {
+                byMbti[columns.mbtis[ordinal]].remove(ordinal);
+            }
+            RoaringBitmap band = byScoreBand.get(columns.scoreBands[ordinal]);
+            if (band != null) {
+                band.remove(ordinal);
+            }
+        }
+
+        RoaringBitmap search(CandidateQuery query) {
+            // AND로 묶을 조건들 (각 조건 안의 여러 값은 OR)
+            List<RoaringBitmap> terms = new ArrayList<>();
+            terms.add(query.activeOnly() ? active : all);
+
+            if (query.gender() != null) {
+                terms.add(byGender[query.gender().ordinal()]);
+            }
+            if (query.minAge() != null || query.maxAge() != null) {
+                int from = query.minAge() == null ? 0 : Math.clamp(query.minAge(), 0, MAX_AGE);
+                int to = query.maxAge() == null ? MAX_AGE : Math.clamp(query.maxAge(), 0, MAX_AGE);
+                terms.add(from > to ? new RoaringBitmap()
+                        : FastAggregation.or(Arrays.asList(byAge).subList(from, to + 1).iterator()));
+            }
+            if (query.mbtis() != null && !query.mbtis().isEmpty()) {
+                List<RoaringBitmap> selected = query.mbtis().stream()
+                        .mapToInt(MbtiCodes::of)
+                        .filter(code -> code != MbtiCodes.UNKNOWN)
+                        .mapToObj(code -> byMbti[code])
+                        .toList();
+                terms.add(FastAggregation.or(selected.iterator()));
+            }
+            if (query.minScore() != null || query.maxScore() != null) {
+                terms.add(searchScore(query.minScore(), query.maxScore()));
+            }
+
+            return terms.size() == 1 ? terms.get(0).clone() : FastAggregation.and(terms.iterator());
+        }
+
+        // 범위에 걸친 구간을 OR로 합친 뒤, 양 끝 구간의 사용자만 점수를 직접 비교하여 범위 밖을 뺍니다.
+        private RoaringBitmap searchScore(Double minScore, Double maxScore) {
+            int from = minScore == null ? Integer.MIN_VALUE + 1 : scoreBand(minScore);
+            int to = maxScore == null ? Integer.MAX_VALUE : scoreBand(maxScore);
+            if (from > to) {
+                return new RoaringBitmap();
+            }
+            RoaringBitmap matched = FastAggregation.or(byScoreBand.subMap(from, true, to, true).values().iterator());
+
+            double min = minScore == null ? Double.NEGATIVE_INFINITY : minScore;
+            double max = maxScore == null ? Double.POSITIVE_INFINITY : maxScore;
+            double[] scores = columns.scores;
+            for (RoaringBitmap edge : Arrays.asList(byScoreBand.get(from), byScoreBand.get(to))) {
+                if (edge == null) {
+                    continue;
+                }
+                edge.forEach((int ordinal) -> {
+                    if (scores[ordinal] < min || scores[ordinal] > max) {
+                        matched.remove(ordinal);
+                    }
+                });
+            }
+            return matched;
+        }
+
+        // 대량 적재 후 연속 구간을 run 컨테이너로 압축합니다.
+        void optimize() {
+            all.runOptimize();
+            active.runOptimize();
+            Stream.of(byGender, byAge, byMbti).flatMap(Arrays::stream).forEach(RoaringBitmap::runOptimize);
+            byScoreBand.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        private int scoreBand(double score) {
+            return (int) Math.floor(score / scoreBandWidth);
+        }
+
+        private static RoaringBitmap[] newBitmaps(int count) {
+            RoaringBitmap[] bitmaps = new RoaringBitmap[count];
+            for (int i = 0; i < count; i++) {
+                bitmaps[i] = new RoaringBitmap();
+            }
+            return bitmaps;
+        }
+    }
+}
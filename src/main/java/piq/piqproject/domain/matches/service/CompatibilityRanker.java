@@ -0,0 +1,250 @@
+package piq.piqproject.domain.matches.service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * 후보들의 궁합 점수를 계산하여 상위 K명을 고릅니다.
+ * <p>
+ * - 점수: MBTI 궁합(16 x 16 표), 신뢰점수, 나이 차이, 가입 최신성을 가중합합니다.
+ * 나이 차이/최신성은 미리 계산한 표를 조회하므로 후보마다 exp/pow 같은 연산을 하지 않습니다.
+ * <p>
+ * - 병렬화: 후보 비트맵을 순위(rank) 기준 shardSize개씩 나눠 fork-join으로 동시에 계산하고, 샤드마다 크기 K의 최소 힙을
+ * 유지한 뒤 힙끼리 합쳐 전체 상위 K를 구합니다. 샤드는 비트맵을 직접 순회하므로 후보 배열을 따로 만들지 않고,
+ * 후보마다 객체를 만들지 않고 CandidateColumns의 원시 타입 배열만 읽습니다.
+ * <p>
+ * 점수가 같으면 ordinal(ID)이 큰 (최근 가입한) 후보가 앞에 옵니다.
+ */
+public class CompatibilityRanker {
+
+    /**
+     * 점수 항목별 가중치입니다. (각 항목은 0 ~ 1)
+     */
+    public record Weights(float mbti, float trust, float age, float recency) {
+    }
+
+    /**
+     * 점수 내림차순으로 정렬된 상위 K 결과입니다.
+     */
+    public record Ranked(int[] ordinals, float[] scores) {
+    }
+
+    private final ForkJoinPool pool;
+    private final int shardSize;
+    private final Weights weights;
+    private final float inverseTrustScale;
+    private final float[] ageTable; // 나이 차이 → 0 ~ 1
+    private final float[] recencyTable; // 가입 후 경과 일수 → 0 ~ 1
+
+    /**
+     * @param pool                 점수 계산에 사용할 fork-join 풀
+     * @param shardSize            한 작업이 순차로 계산할 후보 수
+     * @param weights              점수 항목별 가중치
+     * @param trustScale           이 값 이상의 신뢰점수는 1로 봅니다.
+     * @param ageHalfGapYears      나이 차이가 이만큼이면 나이 점수가 0.5가 됩니다.
+     * @param recencyHalfLifeDays  가입 후 이 일수가 지나면 최신성 점수가 절반이 됩니다.
+     */
+    public CompatibilityRanker(ForkJoinPool pool, int shardSize, Weights weights, float trustScale,
+            float ageHalfGapYears, int recencyHalfLifeDays) {
+        this.pool = pool;
+        this.shardSize = Math.max(1024, shardSize);
+        this.weights = weights;
+        this.inverseTrustScale = 1f / trustScale;
+
+        this.ageTable = new float[CandidateIndex.MAX_AGE + 1];
+        for (int gap = 0; gap < ageTable.length; gap++) {
+            ageTable[gap] = 1f / (1f + gap / ageHalfGapYears);
+        }
+        this.recencyTable = new float[recencyHalfLifeDays * 8 + 1];
+        for (int days = 0; days < recencyTable.length; days++) {
+            recencyTable[days] = (float) Math.pow(0.5, (double) days / recencyHalfLifeDays);
+        }
+    }
+
+    /**
+     * @param candidates 점수를 계산할 후보 ordinal 비트맵 (계산하는 동안 수정하지 않아야 함)
+     * @param columns    후보들의 속성 배열
+     * @param viewerMbti 조회하는 사용자의 MBTI 코드 (모르면 음수)
+     * @param viewerAge  조회하는 사용자의 나이 (모르면 음수)
+     * @param today      오늘 (epoch day)
+     * @param k          고를 후보 수
+     */
+    public Ranked topK(RoaringBitmap candidates, CandidateColumns columns, int viewerMbti, int viewerAge, int today,
+            int k) {
+        int count = candidates.getCardinality();
+        if (k <= 0 || count == 0) {
+            return new Ranked(new int[0], new float[0]);
+        }
+        ShardTask task = new ShardTask(candidates, 0, count, columns, MbtiCompatibility.rowFor(viewerMbti), viewerAge,
+                today, k);
+        // 샤드 하나로 끝나는 작은 후보 집합은 풀에 넘기지 않고 호출 스레드에서 바로 계산합니다.
+        TopK top = count <= shardSize ? task.compute() : pool.invoke(task);
+        return top.toRanked();
+    }
+
+    private final class ShardTask extends RecursiveTask<TopK> {
+        private final RoaringBitmap candidates;
+        private final int from; // 순위 (포함)
+        private final int to; // 순위 (미포함)
+        private final CandidateColumns columns;
+        private final float[] mbtiRow;
+        private final int viewerAge;
+        private final int today;
+        private final int k;
+
+        private ShardTask(RoaringBitmap candidates, int from, int to, CandidateColumns columns, float[] mbtiRow,
+                int viewerAge, int today, int k) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.columns = columns;
+            this.mbtiRow = mbtiRow;
+            this.viewerAge = viewerAge;
+            this.today = today;
+            this.k = k;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= shardSize) {
+                return scoreShard();
+            }
+            int mid = (from + to) >>> 1;
+            ShardTask left = new ShardTask(candidates, from, mid, columns, mbtiRow, viewerAge, today, k);
+            ShardTask right = new ShardTask(candidates, mid, to, columns, mbtiRow, viewerAge, today, k);
+            left.fork();
+            TopK rightTop = right.compute();
+            return left.join().mergeFrom(rightTop);
+        }
+
+        private TopK scoreShard() {
+            // 필드를 지역 변수로 옮겨 루프 안에서 배열 참조를 다시 읽지 않도록 합니다.
+            byte[] mbtis = columns.mbtis;
+            byte[] ages = columns.ages;
+            float[] trustScores = columns.trustScores;
+            int[] createdDays = columns.createdDays;
+            float wMbti = weights.mbti();
+            float wTrust = weights.trust();
+            float wAge = weights.age();
+            float wRecency = weights.recency();
+            int lastRecency = recencyTable.length - 1;
+
+            TopK top = new TopK(k);
+            // from번째로 작은 ordinal부터 (to - from)개를 순서대로 읽습니다.
+            PeekableIntIterator ordinals = candidates.getIntIterator();
+            ordinals.advanceIfNeeded(candidates.select(from));
+            for (int i = from; i < to; i++) {
+                int ordinal = ordinals.next();
+
+                int mbti = mbtis[ordinal];
+                float score = wMbti * (mbti < 0 ? MbtiCompatibility.NEUTRAL : mbtiRow[mbti]);
+
+                score += wTrust * Math.clamp(trustScores[ordinal] * inverseTrustScale, 0f, 1f);
+
+                int age = ages[ordinal];
+                score += wAge * (age < 0 || viewerAge < 0 ? 0.5f : ageTable[Math.min(Math.abs(age - viewerAge),
+                        CandidateIndex.MAX_AGE)]);
+
+                int days = today - createdDays[ordinal];
+                score += wRecency * recencyTable[Math.clamp(days, 0, lastRecency)];
+
+                top.offer(ordinal, score);
+            }
+            return top;
+        }
+    }
+
+    /**
+     * 크기 K의 최소 힙입니다. (루트 = 현재 상위 K 중 가장 낮은 점수) 원시 타입 배열만 사용합니다.
+     */
+    static final class TopK {
+        private final int[] ordinals;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            this.ordinals = new int[k];
+            this.scores = new float[k];
+        }
+
+        void offer(int ordinal, float score) {
+            if (size < ordinals.length) {
+                ordinals[size] = ordinal;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (isBetter(score, ordinal, scores[0], ordinals[0])) {
+                ordinals[0] = ordinal;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        TopK mergeFrom(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.ordinals[i], other.scores[i]);
+            }
+            return this;
+        }
+
+        // 루트(최솟값)를 하나씩 꺼내 뒤에서부터 채우면 내림차순이 됩니다.
+        Ranked toRanked() {
+            int count = size;
+            int[] rankedOrdinals = new int[count];
+            float[] rankedScores = new float[count];
+            for (int i = count - 1; i >= 0; i--) {
+                rankedOrdinals[i] = ordinals[0];
+                rankedScores[i] = scores[0];
+                size--;
+                ordinals[0] = ordinals[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return new Ranked(rankedOrdinals, rankedScores);
+        }
+
+        private static boolean isBetter(float score, int ordinal, float otherScore, int otherOrdinal) {
+            return score > otherScore || (score == otherScore && ordinal > otherOrdinal);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!isBetter(scores[parent], ordinals[parent], scores[index], ordinals[index])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = index * 2 + 1;
+                if (left >= size) {
+                    return;
+                }
+                int right = left + 1;
+                int smallest = right < size && isBetter(scores[left], ordinals[left], scores[right], ordinals[right])
+                        ? right
+                        : left;
+                if (!isBetter(scores[index], ordinals[index], scores[smallest], ordinals[smallest])) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int ordinal = ordinals[a];
+            ordinals[a] = ordinals[b];
+            ordinals[b] = ordinal;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package piq.piqproject.domain.matches.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("matches.instant") // application.properties에서 matches.instant접두사 속성을 class의 필드에 매핑
+public class InstantMatchProperties {
+    // 대기열 나이 구간 크기(년)와 상대를 찾을 때 함께 확인할 인접 구간 수
+    private int ageBucketYears = 5;
+    private int ageBucketRange = 1;
+    // 상대를 찾지 못하면 대기열에서 빠지는 시간
+    private long waitTimeoutSeconds = 300;
+    // 상대를 찾은 뒤 양쪽이 수락해야 하는 제한 시간
+    private long offerTimeoutSeconds = 30;
+    // 매칭 결과(MATCHED/DECLINED/EXPIRED)를 상태 조회로 확인할 수 있는 시간
+    private long outcomeRetentionSeconds = 60;
+    // 한 서버의 최대 대기 인원 (넘으면 503)
+    private int maxWaiting = 50_000;
+    // 대기열이 비어 있을 때 짝짓기 루프의 대기 간격
+    private long pairIntervalMillis = 50;
+    // 타이밍 휠 tick 간격 (만료 시각의 정밀도)
+    private long timerTickMillis = 100;
+    // 매칭 결과 저장: 한 번에 insert할 최대 건수, 저장 대기열 크기, 대기열이 비어 있을 때 확인 간격
+    private int writerBatchSize = 500;
+    private int writerQueueCapacity = 10_000;
+    private long writerFlushIntervalMillis = 200;
+    // 매칭 결과 저장에 실패한 batch를 다시 시도할 횟수와 간격 (넘으면 Redis dead-letter 목록으로 옮김)
+    private int writerMaxRetries = 3;
+    private long writerRetryBackoffMillis = 1000;
+}
@@ -0,0 +1,547 @@
+package piq.piqproject.domain.matches.service;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.ForbiddenException;
+import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.common.error.exception.ServiceUnavailableException;
+import piq.piqproject.common.timer.HierarchicalTimingWheel;
+import piq.piqproject.domain.blocks.service.BlockExclusionCache;
+import piq.piqproject.domain.matches.dto.CandidateRow;
+import piq.piqproject.domain.matches.dto.InstantMatchStatusResponseDto;
+import piq.piqproject.domain.matches.dto.MatchResult;
+import piq.piqproject.domain.matches.enums.InstantMatchState;
+import piq.piqproject.domain.matches.enums.MatchSource;
+import piq.piqproject.domain.matches.enums.MatchStatus;
+import piq.piqproject.domain.matches.repository.MatchResultWriter;
+import piq.piqproject.domain.users.enums.Gender;
+import piq.piqproject.domain.users.event.UserDeletedEvent;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+/**
+ * 실시간 매칭 대기열입니다. 참가한 사용자끼리 짝을 지어 매칭을 제안하고, 양쪽이 수락하면 매칭이 성립합니다.
+ * <p>
+ * - 대기열: (내 성별, 원하는 성별, 나이 구간)마다 lock-free 큐(ConcurrentLinkedQueue)를 두므로,
+ * 같은 큐에 있는 대기자는 모두 같은 상대 큐를 찾습니다. 참가/취소는 요청 스레드에서 큐와 상태만 바꾸고 락을 잡지 않습니다.
+ * <p>
+ * - 짝짓기: 전용 스레드 하나가 큐의 맨 앞 대기자와 상대 큐(인접 나이 구간 포함)의 맨 앞 대기자를 CAS로 선점하여 짝을 짓습니다.
+ * 상대를 찾지 못하면 같은 큐의 나머지 대기자도 찾을 수 없으므로 다음 큐로 넘어갑니다. (대기 인원과 무관하게 한 바퀴는 큐 수에 비례)
+ * <p>
+ * - 만료: 대기 시간 초과, 제안 수락 시간 초과, 결과 보관 시간을 계층형 타이밍 휠 하나로 처리합니다.
+ * <p>
+ * - 저장: 매칭 결과(MATCHED/DECLINED/EXPIRED)는 MatchResultWriter가 모아서 batch insert로 저장합니다.
+ * <p>
+ * 대기열은 서버 메모리에 있으므로 같은 서버에 참가한 사용자끼리만 짝이 지어집니다.
+ */
+@Slf4j
+@Service
+public class InstantMatchService {
+
+    private static final int MAX_AGE = 100;
+    private static final int GENDERS = Gender.values().length;
+    // 대기 중인 큐를 정리하는 간격 (큐 중간에 남은 취소된 대기자 제거)
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // 나가기 요청이 짝짓기(MATCHING)가 끝나길 기다리는 최대 시간과, 먼저 spin으로 확인할 횟수 / 그 뒤 park 간격
+    private static final long WITHDRAW_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final int WITHDRAW_SPINS = 100;
+    private static final long WITHDRAW_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    // Ticket 상태
+    private static final int WAITING = 0;
+    private static final int MATCHING = 1; // 짝짓기 스레드가 상대를 찾는 중
+    private static final int OFFERED = 2;
+    private static final int CANCELLED = 3;
+
+    // Offer 상태 비트
+    private static final int ACCEPTED_A = 1;
+    private static final int ACCEPTED_B = 2;
+    private static final int RESOLVED = 4;
+
+    private static final InstantMatchStatusResponseDto NONE_STATUS = InstantMatchStatusResponseDto.of(
+            InstantMatchState.NONE);
+    private static final InstantMatchStatusResponseDto WAITING_STATUS = InstantMatchStatusResponseDto.of(
+            InstantMatchState.WAITING);
+
+    private final UserRepository userRepository;
+    private final MatchResultWriter matchResultWriter;
+    private final BlockExclusionCache blockExclusionCache;
+    private final HierarchicalTimingWheel timer;
+
+    private final int ageBucketYears;
+    private final int ageBuckets;
+    private final int ageBucketRange;
+    private final int maxWaiting;
+    private final long waitTimeoutMillis;
+    private final long offerTimeoutMillis;
+    private final long outcomeRetentionMillis;
+    private final long pairIntervalNanos;
+    private final long timerTickMillis;
+
+    private final ConcurrentLinkedQueue<Ticket>[] buckets;
+    private final ConcurrentHashMap<Long, Ticket> waiting = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Offer> offers = new ConcurrentHashMap<>();
+    // 끝난 매칭의 결과 (outcome-retention-seconds 동안 상태 조회로 확인 가능)
+    private final ConcurrentHashMap<Long, InstantMatchStatusResponseDto> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong offerSequence = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread pairingThread;
+
+    @SuppressWarnings("unchecked")
+    public InstantMatchService(UserRepository userRepository, MatchResultWriter matchResultWriter,
+            BlockExclusionCache blockExclusionCache, InstantMatchProperties properties) {
+        this.userRepository = userRepository;
+        this.matchResultWriter = matchResultWriter;
+        this.blockExclusionCache = blockExclusionCache;
+        this.timer = new HierarchicalTimingWheel(properties.getTimerTickMillis(), 64, 4, "instant-match-timer");
+
+        this.ageBucketYears = properties.getAgeBucketYears();
+        this.ageBuckets = MAX_AGE / ageBucketYears + 1;
+        this.ageBucketRange = properties.getAgeBucketRange();
+        this.maxWaiting = properties.getMaxWaiting();
+        this.waitTimeoutMillis = TimeUnit.SECONDS.toMillis(properties.getWaitTimeoutSeconds());
+        this.offerTimeoutMillis = TimeUnit.SECONDS.toMillis(properties.getOfferTimeoutSeconds());
+        this.outcomeRetentionMillis = TimeUnit.SECONDS.toMillis(properties.getOutcomeRetentionSeconds());
+        this.pairIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getPairIntervalMillis());
+        this.timerTickMillis = properties.getTimerTickMillis();
+
+        this.buckets = new ConcurrentLinkedQueue[GENDERS * GENDERS * ageBuckets];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        timer.start();
+        pairingThread = Thread.ofPlatform().daemon().name("instant-match-pairing").start(this::pairLoop);
+    }
+
+    /**
+     * 실시간 매칭 대기열에 참가합니다. 이미 대기 중이거나 제안을 받은 상태면 현재 상태를 그대로 반환합니다.
+     *
+     * @param userId 참가할 사용자의 ID
+     * @param target 원하는 상대의 성별 (null이면 MALE↔FEMALE, OTHER는 OTHER)
+     * @throws ServiceUnavailableException 대기 인원이 matches.instant.max-waiting을 넘은 경우
+     */
+    public InstantMatchStatusResponseDto join(Long userId, Gender target) {
+        InstantMatchStatusResponseDto active = activeStatus(userId);
+        if (active != null) {
+            return active;
+        }
+
+        CandidateRow row = userRepository.findCandidateRowById(userId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.NOT_FOUND_USER));
+        if (!Boolean.TRUE.equals(row.isActive())) {
+            throw new ForbiddenException(ErrorCode.DISABLED_ACCOUNT_USER);
+        }
+        if (waiting.size() >= maxWaiting) {
+            throw new ServiceUnavailableException(ErrorCode.INSTANT_MATCH_BUSY);
+        }
+
+        Gender gender = row.gender() != null ? row.gender() : Gender.OTHER;
+        Ticket ticket = new Ticket(userId, gender, row.age() != null ? row.age() : 0,
+                target != null ? target : defaultTarget(gender));
+        if (waiting.putIfAbsent(userId, ticket) != null) {
+            return status(userId);
+        }
+        outcomes.remove(userId);
+        enqueue(ticket);
+        return WAITING_STATUS;
+    }
+
+    /**
+     * 대기열에서 나갑니다. 제안을 받은 상태라면 거절로 처리합니다.
+     *
+     * @throws ServiceUnavailableException 짝짓기 스레드가 상대를 찾는 중이라 제한 시간 안에 나가지 못한 경우
+     */
+    public InstantMatchStatusResponseDto leave(Long userId) {
+        Ticket ticket = waiting.get(userId);
+        if (ticket != null && withdraw(ticket)) {
+            HierarchicalTimingWheel.Timeout expiry = ticket.expiry;
+            if (expiry != null) {
+                expiry.cancel();
+            }
+            return NONE_STATUS;
+        }
+        Offer offer = offers.get(userId);
+        if (offer != null && resolve(offer)) {
+            finish(offer, MatchStatus.DECLINED, userId);
+        }
+        return status(userId);
+    }
+
+    /**
+     * 현재 매칭 상태를 조회합니다.
+     */
+    public InstantMatchStatusResponseDto status(Long userId) {
+        InstantMatchStatusResponseDto active = activeStatus(userId);
+        if (active != null) {
+            return active;
+        }
+        return outcomes.getOrDefault(userId, NONE_STATUS);
+    }
+
+    /**
+     * 매칭 제안을 수락합니다. 상대도 이미 수락했다면 매칭이 성립합니다.
+     *
+     * @throws NotFoundException 응답할 수 있는 제안이 없는 경우 (이미 끝났거나 다른 제안)
+     */
+    public InstantMatchStatusResponseDto accept(Long userId, long offerId) {
+        Offer offer = findOffer(userId, offerId);
+        int side = offer.a.userId == userId ? ACCEPTED_A : ACCEPTED_B;
+
+        int previous;
+        int next;
+        do {
+            previous = offer.state.get();
+            if ((previous & RESOLVED) != 0) {
+                return status(userId);
+            }
+            next = previous | side;
+            if ((next & (ACCEPTED_A | ACCEPTED_B)) == (ACCEPTED_A | ACCEPTED_B)) {
+                next |= RESOLVED;
+            }
+        } while (!offer.state.compareAndSet(previous, next));
+
+        if ((next & RESOLVED) != 0) {
+            finish(offer, MatchStatus.MATCHED, null);
+        }
+        return status(userId);
+    }
+
+    /**
+     * 매칭 제안을 거절합니다. 상대는 다시 대기열로 돌아갑니다.
+     *
+     * @throws NotFoundException 응답할 수 있는 제안이 없는 경우 (이미 끝났거나 다른 제안)
+     */
+    public InstantMatchStatusResponseDto decline(Long userId, long offerId) {
+        Offer offer = findOffer(userId, offerId);
+        if (resolve(offer)) {
+            finish(offer, MatchStatus.DECLINED, userId);
+        }
+        return status(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        try {
+            leave(event.userId());
+        } catch (ServiceUnavailableException e) {
+            // 대기 시간이 지나면 만료로 빠지므로 기다리지 않습니다.
+            log.warn("Could not remove deleted user {} from the instant match queue", event.userId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        timer.close();
+        if (pairingThread != null) {
+            LockSupport.unpark(pairingThread);
+        }
+    }
+
+    private InstantMatchStatusResponseDto activeStatus(Long userId) {
+        Offer offer = offers.get(userId);
+        if (offer != null) {
+            return offer.statusFor(userId);
+        }
+        return waiting.containsKey(userId) ? WAITING_STATUS : null;
+    }
+
+    private Offer findOffer(Long userId, long offerId) {
+        Offer offer = offers.get(userId);
+        if (offer == null || offer.id != offerId) {
+            throw new NotFoundException(ErrorCode.NOT_FOUND_MATCH_OFFER);
+        }
+        return offer;
+    }
+
+    // waiting에 등록된 대기자를 큐에 넣고 대기 시간 만료를 예약합니다.
+    private void enqueue(Ticket ticket) {
+        ticket.expiry = timer.schedule(() -> expireWaiting(ticket), waitTimeoutMillis);
+        buckets[bucketOf(ticket.gender, ticket.target, ageBucket(ticket.age))].offer(ticket);
+    }
+
+    private void expireWaiting(Ticket ticket) {
+        switch (tryWithdraw(ticket)) {
+            case WITHDRAWN -> putOutcome(ticket.userId, InstantMatchStatusResponseDto.of(InstantMatchState.EXPIRED));
+            // 타이머 스레드는 기다리지 않고, 짝짓기가 끝난 뒤(다음 tick) 다시 확인합니다.
+            case BUSY -> ticket.expiry = timer.schedule(() -> expireWaiting(ticket), timerTickMillis);
+            case NOT_WAITING -> {
+            }
+        }
+    }
+
+    // 대기 중인 Ticket을 취소합니다. 짝짓기 스레드가 상대를 찾는 중이면 끝날 때까지 기다리되,
+    // 잠깐 spin한 뒤에는 park하고, WITHDRAW_WAIT_NANOS가 지나면 503으로 응답합니다.
+    private boolean withdraw(Ticket ticket) {
+        long deadline = System.nanoTime() + WITHDRAW_WAIT_NANOS;
+        for (int attempt = 0;; attempt++) {
+            Withdrawal result = tryWithdraw(ticket);
+            if (result != Withdrawal.BUSY) {
+                return result == Withdrawal.WITHDRAWN;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new ServiceUnavailableException(ErrorCode.INSTANT_MATCH_BUSY);
+            }
+            if (attempt < WITHDRAW_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(WITHDRAW_PARK_NANOS);
+            }
+        }
+    }
+
+    private Withdrawal tryWithdraw(Ticket ticket) {
+        while (true) {
+            int state = ticket.state.get();
+            if (state == MATCHING) {
+                return Withdrawal.BUSY;
+            }
+            if (state != WAITING) {
+                return Withdrawal.NOT_WAITING;
+            }
+            if (ticket.state.compareAndSet(WAITING, CANCELLED)) {
+                // 큐에서는 짝짓기 스레드가 나중에 건너뛰며 제거합니다.
+                waiting.remove(ticket.userId, ticket);
+                return Withdrawal.WITHDRAWN;
+            }
+        }
+    }
+
+    private void pairLoop() {
+        long lastSweep = System.nanoTime();
+        while (running) {
+            try {
+                if (pairOnce() == 0) {
+                    LockSupport.parkNanos(pairIntervalNanos);
+                }
+                if (System.nanoTime() - lastSweep > SWEEP_INTERVAL_NANOS) {
+                    for (ConcurrentLinkedQueue<Ticket> bucket : buckets) {
+                        bucket.removeIf(ticket -> ticket.state.get() > MATCHING);
+                    }
+                    lastSweep = System.nanoTime();
+                }
+            } catch (Exception e) {
+                log.error("Instant match pairing failed", e);
+                LockSupport.parkNanos(pairIntervalNanos);
+            }
+        }
+    }
+
+    // 모든 큐를 한 바퀴 돌며 짝을 짓고, 지은 짝의 수를 반환합니다. (짝짓기 스레드에서만 호출, 테스트용으로 package-private)
+    int pairOnce() {
+        int paired = 0;
+        for (ConcurrentLinkedQueue<Ticket> bucket : buckets) {
+            Ticket ticket;
+            while ((ticket = bucket.peek()) != null) {
+                // 큐에서 꺼내는 스레드는 하나뿐이므로 peek한 항목이 그대로 맨 앞에 남아 있습니다.
+                if (!ticket.state.compareAndSet(WAITING, MATCHING)) {
+                    bucket.poll(); // 취소/만료된 대기자
+                    continue;
+                }
+                Ticket partner;
+                try {
+                    partner = findPartner(ticket);
+                } catch (RuntimeException e) {
+                    // MATCHING으로 남으면 나가기/만료가 끝나지 않으므로 되돌립니다.
+                    ticket.state.set(WAITING);
+                    throw e;
+                }
+                if (partner == null) {
+                    ticket.state.set(WAITING);
+                    break;
+                }
+                bucket.poll();
+                offer(ticket, partner);
+                paired++;
+            }
+        }
+        return paired;
+    }
+
+    // 상대 큐에서 가장 오래 기다린 대기자를 선점합니다. (나이 구간이 가까운 큐부터)
+    private Ticket findPartner(Ticket ticket) {
+        int center = ageBucket(ticket.age);
+        for (int distance = 0; distance <= ageBucketRange; distance++) {
+            Ticket partner = claimFirst(ticket, center - distance);
+            if (partner == null && distance > 0) {
+                partner = claimFirst(ticket, center + distance);
+            }
+            if (partner != null) {
+                return partner;
+            }
+        }
+        return null;
+    }
+
+    private Ticket claimFirst(Ticket ticket, int ageBucket) {
+        if (ageBucket < 0 || ageBucket >= ageBuckets) {
+            return null;
+        }
+        ConcurrentLinkedQueue<Ticket> bucket = buckets[bucketOf(ticket.target, ticket.gender, ageBucket)];
+        for (Iterator<Ticket> it = bucket.iterator(); it.hasNext();) {
+            Ticket candidate = it.next();
+            if (candidate == ticket) {
+                continue; // 같은 성별끼리 원하는 경우 자기 큐를 찾게 됨
+            }
+            if (blockExclusionCache.isBlocked(ticket.userId, candidate.userId)) {
+                continue; // 차단 관계인 상대는 건너뛰고 큐에 남겨둠
+            }
+            boolean claimed = candidate.state.compareAndSet(WAITING, OFFERED);
+            // 선점했거나 이미 취소/제안된 대기자는 큐에서 제거합니다.
+            it.remove();
+            if (claimed) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void offer(Ticket a, Ticket b) {
+        a.expiry.cancel();
+        b.expiry.cancel();
+        Offer offer = new Offer(offerSequence.incrementAndGet(), a, b,
+                LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis)));
+        // 상태 조회에서 빈틈이 없도록 제안을 먼저 등록한 뒤 대기 목록에서 뺍니다.
+        offers.put(a.userId, offer);
+        offers.put(b.userId, offer);
+        a.state.set(OFFERED);
+        waiting.remove(a.userId, a);
+        waiting.remove(b.userId, b);
+        offer.timeout = timer.schedule(() -> {
+            if (resolve(offer)) {
+                finish(offer, MatchStatus.EXPIRED, null);
+            }
+        }, offerTimeoutMillis);
+    }
+
+    // 제안을 끝난 상태로 표시합니다. 먼저 표시한 한 스레드만 true를 받아 finish()를 호출합니다.
+    private boolean resolve(Offer offer) {
+        int previous;
+        do {
+            previous = offer.state.get();
+            if ((previous & RESOLVED) != 0) {
+                return false;
+            }
+        } while (!offer.state.compareAndSet(previous, previous | RESOLVED));
+        return true;
+    }
+
+    private void finish(Offer offer, MatchStatus status, Long declinedBy) {
+        HierarchicalTimingWheel.Timeout timeout = offer.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        int state = offer.state.get();
+        matchResultWriter.write(new MatchResult(offer.a.userId, offer.b.userId, MatchSource.INSTANT, status,
+                LocalDateTime.now()));
+        settle(offer, offer.a, offer.b, status, declinedBy, (state & ACCEPTED_A) != 0);
+        settle(offer, offer.b, offer.a, status, declinedBy, (state & ACCEPTED_B) != 0);
+    }
+
+    // 제안이 끝난 뒤 한쪽 사용자의 상태를 정리합니다. 상대가 거절했거나, 수락했는데 상대가 응답하지 않았으면 다시 대기합니다.
+    private void settle(Offer offer, Ticket self, Ticket partner, MatchStatus status, Long declinedBy,
+            boolean accepted) {
+        offers.remove(self.userId, offer);
+        boolean requeue = switch (status) {
+            case MATCHED -> false;
+            case DECLINED -> declinedBy == null || declinedBy != self.userId;
+            case EXPIRED -> accepted;
+        };
+        if (requeue) {
+            Ticket again = new Ticket(self.userId, self.gender, self.age, self.target);
+            if (waiting.putIfAbsent(self.userId, again) == null) {
+                enqueue(again);
+            }
+            return;
+        }
+        // MatchStatus와 InstantMatchState의 결과 상태 이름이 같습니다.
+        putOutcome(self.userId, InstantMatchStatusResponseDto.of(InstantMatchState.valueOf(status.name()),
+                offer.id, partner.userId));
+    }
+
+    private void putOutcome(long userId, InstantMatchStatusResponseDto outcome) {
+        outcomes.put(userId, outcome);
+        timer.schedule(() -> outcomes.remove(userId, outcome), outcomeRetentionMillis);
+    }
+
+    private int bucketOf(Gender gender, Gender target, int ageBucket) {
+        return (gender.ordinal() * GENDERS + target.ordinal()) * ageBuckets + ageBucket;
+    }
+
+    private int ageBucket(int age) {
+        return Math.clamp(age, 0, MAX_AGE) / ageBucketYears;
+    }
+
+    private static Gender defaultTarget(Gender gender) {
+        return switch (gender) {
+            case MALE -> Gender.FEMALE;
+            case FEMALE -> Gender.MALE;
+            case OTHER -> Gender.OTHER;
+        };
+    }
+
+    private enum Withdrawal {
+        WITHDRAWN, NOT_WAITING, BUSY // BUSY: 짝짓기 스레드가 상대를 찾는 중
+    }
+
+    private static final class Ticket {
+        private final long userId;
+        private final Gender gender;
+        private final int age;
+        private final Gender target;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        // 큐에 넣기 전에 설정되므로 큐에서 꺼낸 스레드에서도 보입니다.
+        private volatile HierarchicalTimingWheel.Timeout expiry;
+
+        private Ticket(long userId, Gender gender, int age, Gender target) {
+            this.userId = userId;
+            this.gender = gender;
+            this.age = age;
+            this.target = target;
+        }
+    }
+
+    private static final class Offer {
+        private final long id;
+        private final Ticket a;
+        private final Ticket b;
+        private final LocalDateTime expiresAt;
+        private final AtomicInteger state = new AtomicInteger();
+        private volatile HierarchicalTimingWheel.Timeout timeout;
+
+        private Offer(long id, Ticket a, Ticket b, LocalDateTime expiresAt) {
+            this.id = id;
+            this.a = a;
+            this.b = b;
+            this.expiresAt = expiresAt;
+        }
+
+        private InstantMatchStatusResponseDto statusFor(long userId) {
+            boolean isA = a.userId == userId;
+            boolean accepted = (state.get() & (isA ? ACCEPTED_A : ACCEPTED_B)) != 0;
+            return new InstantMatchStatusResponseDto(InstantMatchState.OFFERED, id, isA ? b.userId : a.userId,
+                    expiresAt, accepted);
+        }
+    }
+}
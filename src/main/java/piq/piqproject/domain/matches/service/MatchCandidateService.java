@@ -0,0 +1,70 @@
+package piq.piqproject.domain.matches.service;
+
+import java.util.List;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InvalidRequestException;
+import piq.piqproject.common.pagination.SliceResponseDto;
+import piq.piqproject.domain.blocks.service.BlockExclusionCache;
+import piq.piqproject.domain.matches.dto.CandidateQuery;
+import piq.piqproject.domain.users.cache.SeenProfileStore;
+import piq.piqproject.domain.users.dto.response.UserSimpleProfileResponseDto;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+@Service
+@RequiredArgsConstructor
+public class MatchCandidateService {
+
+    private final CandidateIndex candidateIndex;
+    private final UserRepository userRepository;
+    private final SeenProfileStore seenProfileStore;
+    private final BlockExclusionCache blockExclusionCache;
+
+    /**
+     * 조건에 맞는 매칭 후보를 최근 가입순으로 조회합니다.
+     * 조건 검색은 메모리 비트맵 인덱스에서 처리하고, DB에서는 현재 페이지의 프로필만 ID로 조회합니다.
+     * 조회하는 사용자와 차단 관계인 사용자, 이미 본 프로필은 비트맵 연산으로 제외합니다.
+     *
+     * @param viewerId 조회하는 사용자의 ID (결과에서 제외)
+     * @param query    검색 조건
+     * @param cursor   이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size     페이지 크기
+     * @return 후보 프로필 목록과 다음 페이지 커서
+     */
+    public SliceResponseDto<UserSimpleProfileResponseDto> findCandidates(Long viewerId, CandidateQuery query,
+            String cursor, Integer size) {
+        Long after = decodeCursor(cursor);
+        int pageSize = SliceResponseDto.normalizeSize(size);
+
+        RoaringBitmap candidates = candidateIndex.search(query);
+        candidates.andNot(seenProfileStore.seenBy(viewerId));
+        candidates.andNot(blockExclusionCache.excludedFor(viewerId));
+        candidates.remove(CandidateIndex.ordinal(viewerId));
+
+        List<Long> ids = CandidateIndex.pageDescending(candidates, after, pageSize + 1);
+        boolean hasNext = ids.size() > pageSize;
+        List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+
+        return SliceResponseDto.of(userRepository.findProfilesInOrder(pageIds), hasNext,
+                pageIds.isEmpty() ? null : String.valueOf(pageIds.get(pageIds.size() - 1)));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            long id = Long.parseLong(cursor);
+            if (id <= 0 || id > Integer.MAX_VALUE) {
+                throw new InvalidRequestException(ErrorCode.INVALID_CURSOR);
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
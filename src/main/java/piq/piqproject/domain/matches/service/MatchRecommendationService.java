@@ -0,0 +1,80 @@
+package piq.piqproject.domain.matches.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import piq.piqproject.domain.blocks.service.BlockExclusionCache;
+import piq.piqproject.domain.matches.dto.CandidateQuery;
+import piq.piqproject.domain.users.cache.SeenProfileStore;
+import piq.piqproject.domain.users.dto.response.UserSimpleProfileResponseDto;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+/**
+ * 매칭 후보를 궁합 점수순으로 추천합니다.
+ * <p>
+ * 후보 검색과 점수 계산은 CandidateIndex의 메모리 배열에서 전용 fork-join 풀로 처리하고,
+ * DB에서는 최종 상위 K명의 프로필만 조회합니다.
+ */
+@Service
+public class MatchRecommendationService {
+
+    private final CandidateIndex candidateIndex;
+    private final UserRepository userRepository;
+    private final SeenProfileStore seenProfileStore;
+    private final BlockExclusionCache blockExclusionCache;
+    private final ForkJoinPool rankingPool;
+    private final CompatibilityRanker ranker;
+    private final int maxResults;
+
+    public MatchRecommendationService(CandidateIndex candidateIndex, UserRepository userRepository,
+            SeenProfileStore seenProfileStore, BlockExclusionCache blockExclusionCache, RankingProperties properties) {
+        this.candidateIndex = candidateIndex;
+        this.userRepository = userRepository;
+        this.seenProfileStore = seenProfileStore;
+        this.blockExclusionCache = blockExclusionCache;
+        this.maxResults = properties.getMaxResults();
+
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        // 공용 풀(commonPool)과 분리하여 다른 병렬 작업과 서로 영향을 주지 않도록 합니다.
+        this.rankingPool = new ForkJoinPool(parallelism);
+        this.ranker = new CompatibilityRanker(rankingPool, properties.getShardSize(),
+                new CompatibilityRanker.Weights(properties.getMbtiWeight(), properties.getTrustWeight(),
+                        properties.getAgeWeight(), properties.getRecencyWeight()),
+                properties.getTrustScale(), properties.getAgeHalfGapYears(), properties.getRecencyHalfLifeDays());
+    }
+
+    /**
+     * @param viewerId 추천을 받을 사용자의 ID
+     * @param query    후보 검색 조건
+     * @param limit    추천할 후보 수 (최대 matches.ranking.max-results)
+     * @return 궁합 점수가 높은 순서의 후보 프로필 목록 (차단 관계인 사용자, 이미 본 프로필 제외)
+     */
+    public List<UserSimpleProfileResponseDto> recommend(Long viewerId, CandidateQuery query, int limit) {
+        int k = Math.clamp(limit, 1, maxResults);
+        RoaringBitmap excluded = seenProfileStore.seenBy(viewerId);
+        excluded.or(blockExclusionCache.excludedFor(viewerId));
+        CompatibilityRanker.Ranked ranked = candidateIndex.recommend(viewerId, query, excluded, ranker, k);
+        if (ranked.ordinals().length == 0) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(ranked.ordinals().length);
+        for (int ordinal : ranked.ordinals()) {
+            ids.add(Integer.toUnsignedLong(ordinal));
+        }
+        // 점수 순서대로 정렬 (인덱스 반영 전에 탈퇴한 사용자는 건너뜀)
+        return userRepository.findProfilesInOrder(ids);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rankingPool.shutdownNow();
+    }
+}
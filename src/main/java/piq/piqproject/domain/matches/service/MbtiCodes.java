@@ -0,0 +1,52 @@
+package piq.piqproject.domain.matches.service;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * MBTI 문자열을 0~15 정수 코드로 변환합니다. (비트마다 한 축: E/I, S/N, T/F, J/P)
+ * 후보 인덱스의 MBTI 비트맵과 궁합 행렬의 인덱스로 사용합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MbtiCodes {
+
+    public static final int COUNT = 16;
+    public static final int UNKNOWN = -1;
+
+    private static final String AXES = "EISNTFJP";
+
+    /**
+     * @param mbti "ENFP" 같은 4글자 MBTI (대소문자 무관)
+     * @return 0~15 코드, 형식이 맞지 않으면 UNKNOWN
+     */
+    public static int of(String mbti) {
+        if (mbti == null || mbti.length() != 4) {
+            return UNKNOWN;
+        }
+        int code = 0;
+        for (int axis = 0; axis < 4; axis++) {
+            char c = Character.toUpperCase(mbti.charAt(axis));
+            if (c == AXES.charAt(axis * 2)) {
+                continue;
+            }
+            if (c != AXES.charAt(axis * 2 + 1)) {
+                return UNKNOWN;
+            }
+            code |= 1 << (3 - axis);
+        }
+        return code;
+    }
+
+    /**
+     * @param code 0~15 코드
+     * @return "ENFP" 같은 4글자 MBTI
+     */
+    public static String toString(int code) {
+        StringBuilder mbti = new StringBuilder(4);
+        for (int axis = 0; axis < 4; axis++) {
+            int bit = (code >>> (3 - axis)) & 1;
+            mbti.append(AXES.charAt(axis * 2 + bit));
+        }
+        return mbti.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package piq.piqproject.domain.matches.service;
+
+import java.util.Arrays;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * MBTI 궁합표(16 x 16)입니다. 널리 쓰이는 궁합표의 1(최악) ~ 5(최고) 단계를 0 ~ 1로 정규화하여
+ * MbtiCodes 코드 순서의 1차원 배열(viewer * 16 + candidate)로 보관합니다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MbtiCompatibility {
+
+    // MBTI를 모르는 경우의 중립 값
+    public static final float NEUTRAL = 0.5f;
+
+    private static final String[] ORDER = {
+            "INFP", "ENFP", "INFJ", "ENFJ", "INTJ", "ENTJ", "INTP", "ENTP",
+            "ISFP", "ESFP", "ISTP", "ESTP", "ISFJ", "ESFJ", "ISTJ", "ESTJ" };
+
+    // ORDER 순서의 궁합 단계 (행: 본인, 열: 상대)
+    private static final int[][] LEVELS = {
+            { 4, 4, 4, 5, 4, 5, 4, 4, 1, 1, 1, 1, 1, 1, 1, 1 }, // INFP
+            { 4, 4, 5, 4, 5, 4, 4, 4, 1, 1, 1, 1, 1, 1, 1, 1 }, // ENFP
+            { 4, 5, 4, 4, 4, 4, 4, 5, 1, 1, 1, 1, 1, 1, 1, 1 }, // INFJ
+            { 5, 4, 4, 4, 4, 4, 4, 4, 5, 1, 1, 1, 1, 1, 1, 1 }, // ENFJ
+            { 4, 5, 4, 4, 4, 4, 4, 5, 3, 3, 3, 3, 2, 2, 2, 2 }, // INTJ
+            { 5, 4, 4, 4, 4, 4, 5, 4, 3, 3, 3, 3, 3, 3, 3, 3 }, // ENTJ
+            { 4, 4, 4, 4, 4, 5, 4, 4, 3, 3, 3, 3, 2, 2, 2, 5 }, // INTP
+            { 4, 4, 5, 4, 5, 4, 4, 4, 3, 3, 3, 3, 2, 2, 2, 2 }, // ENTP
+            { 1, 1, 1, 5, 3, 3, 3, 3, 2, 2, 2, 2, 3, 5, 3, 5 }, // ISFP
+            { 1, 1, 1, 1, 3, 3, 3, 3, 2, 2, 2, 2, 5, 3, 5, 3 }, // ESFP
+            { 1, 1, 1, 1, 3, 3, 3, 3, 2, 2, 2, 2, 3, 5, 3, 5 }, // ISTP
+            { 1, 1, 1, 1, 3, 3, 3, 3, 2, 2, 2, 2, 5, 3, 5, 3 }, // ESTP
+            { 1, 1, 1, 1, 2, 3, 2, 2, 3, 5, 3, 5, 4, 4, 4, 4 }, // ISFJ
+            { 1, 1, 1, 1, 2, 3, 2, 2, 5, 3, 5, 3, 4, 4, 4, 4 }, // ESFJ
+            { 1, 1, 1, 1, 2, 3, 2, 2, 3, 5, 3, 5, 4, 4, 4, 4 }, // ISTJ
+            { 1, 1, 1, 1, 2, 3, 5, 2, 5, 3, 5, 3, 4, 4, 4, 4 }, // ESTJ
+    };
+
+    private static final float[] TABLE = new float[MbtiCodes.COUNT * MbtiCodes.COUNT];
+
+    static {
+        for (int row = 0; row < ORDER.length; row++) {
+            int viewer = MbtiCodes.of(ORDER[row]);
+            for (int col = 0; col < ORDER.length; col++) {
+                TABLE[viewer * MbtiCodes.COUNT + MbtiCodes.of(ORDER[col])] = (LEVELS[row][col] - 1) / 4f;
+            }
+        }
+    }
+
+    /**
+     * viewer 기준으로 candidate 코드별 궁합 값(0 ~ 1)을 담은 16칸 배열을 반환합니다.
+     * viewer의 MBTI를 모르면 모두 NEUTRAL입니다.
+     */
+    public static float[] rowFor(int viewerCode) {
+        float[] row = new float[MbtiCodes.COUNT];
+        if (viewerCode < 0) {
+            Arrays.fill(row, NEUTRAL);
+            return row;
+        }
+        System.arraycopy(TABLE, viewerCode * MbtiCodes.COUNT, row, 0, MbtiCodes.COUNT);
+        return row;
+    }
+}
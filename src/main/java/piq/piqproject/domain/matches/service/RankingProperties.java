@@ -0,0 +1,31 @@
+package piq.piqproject.domain.matches.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("matches.ranking") // application.properties에서 matches.ranking접두사 속성을 class의 필드에 매핑
+public class RankingProperties {
+    // 점수 계산 스레드 수 (0: CPU 코어 수)
+    private int parallelism = 0;
+    // 한 작업이 순차로 계산할 후보 수
+    private int shardSize = 16_384;
+    // 한 번에 추천할 최대 후보 수
+    private int maxResults = 100;
+    // 점수 항목별 가중치
+    private float mbtiWeight = 0.4f;
+    private float trustWeight = 0.3f;
+    private float ageWeight = 0.2f;
+    private float recencyWeight = 0.1f;
+    // 이 값 이상의 신뢰점수는 만점으로 계산
+    private float trustScale = 100f;
+    // 나이 차이가 이만큼이면 나이 점수가 절반
+    private float ageHalfGapYears = 5f;
+    // 가입 후 이 일수가 지나면 최신성 점수가 절반
+    private int recencyHalfLifeDays = 30;
+}
@@ -0,0 +1,221 @@
+package piq.piqproject.domain.matches.service;
+
+import piq.piqproject.domain.matches.enums.SwipeAction;
+
+/**
+ * 누가 누구에게 좋아요/넘기기를 했는지를 메모리에 담아 두는 방향 그래프입니다.
+ * <p>
+ * - 간선 (swiper → target)은 두 ID를 long 하나로 묶어(상위 32비트 swiper, 하위 32비트 target)
+ * stripe별 open addressing 해시 테이블에 저장하므로 객체를 만들지 않고, 조회/추가는 O(1)입니다.
+ * <p>
+ * - 두 사용자 사이의 양방향 간선은 항상 같은 stripe에 들어가도록 (작은 ID, 큰 ID)로 stripe를 고릅니다.
+ * 따라서 "내 간선 추가 + 역방향 좋아요 확인"을 stripe 락 하나로 원자적으로 처리하여,
+ * 두 사람이 동시에 좋아요해도 매칭은 정확히 한 번만 감지됩니다.
+ */
+public class SwipeGraph {
+
+    /**
+     * record()의 결과입니다.
+     */
+    public enum Outcome {
+        DUPLICATE, // 이미 선택한 상대 (기존 선택 유지)
+        RECORDED, // 새로 기록
+        MUTUAL // 새로 기록했고, 상대도 이미 좋아요한 상태
+    }
+
+    private static final SwipeAction[] ACTIONS = SwipeAction.values();
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes stripe 수 (2의 거듭제곱으로 올림)
+     */
+    public SwipeGraph(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * swiper → target 간선을 기록합니다. 이미 간선이 있으면 바꾸지 않습니다.
+     */
+    public Outcome record(int swiper, int target, SwipeAction action) {
+        Stripe stripe = stripeOf(swiper, target);
+        synchronized (stripe) {
+            if (stripe.get(edge(swiper, target)) != Stripe.EMPTY) {
+                return Outcome.DUPLICATE;
+            }
+            stripe.put(edge(swiper, target), action);
+            return action == SwipeAction.LIKE && stripe.get(edge(target, swiper)) == SwipeAction.LIKE.ordinal()
+                    ? Outcome.MUTUAL
+                    : Outcome.RECORDED;
+        }
+    }
+
+    /**
+     * 간선을 추가합니다. 이미 있으면 무시합니다. (DB에서 읽어온 기록 반영용)
+     */
+    public void load(int swiper, int target, SwipeAction action) {
+        Stripe stripe = stripeOf(swiper, target);
+        synchronized (stripe) {
+            if (stripe.get(edge(swiper, target)) == Stripe.EMPTY) {
+                stripe.put(edge(swiper, target), action);
+            }
+        }
+    }
+
+    /**
+     * 간선을 지웁니다. 없으면 무시합니다.
+     */
+    public void remove(int swiper, int target) {
+        Stripe stripe = stripeOf(swiper, target);
+        synchronized (stripe) {
+            stripe.remove(edge(swiper, target));
+        }
+    }
+
+    /**
+     * 사용자가 한 선택과 받은 선택을 모두 지웁니다. (탈퇴 시 호출)
+     * <p>
+     * 간선은 두 사용자 쌍으로 흩어져 있으므로 모든 stripe를 훑습니다. 탈퇴는 드물어서 전체를 훑는 비용을 감수합니다.
+     */
+    public void removeUser(int user) {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.removeIf(user);
+            }
+        }
+    }
+
+    /**
+     * @return swiper가 target에게 한 선택 (없으면 null)
+     */
+    public SwipeAction get(int swiper, int target) {
+        Stripe stripe = stripeOf(swiper, target);
+        synchronized (stripe) {
+            byte action = stripe.get(edge(swiper, target));
+            return action == Stripe.EMPTY ? null : ACTIONS[action];
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeOf(int a, int b) {
+        long pair = a < b ? edge(a, b) : edge(b, a);
+        return stripes[(int) mix(pair) & mask];
+    }
+
+    private static long edge(int swiper, int target) {
+        return ((long) swiper << 32) | Integer.toUnsignedLong(target);
+    }
+
+    // murmur3 finalizer: 연속된 ID도 고르게 흩어지도록 섞습니다.
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * linear probing 해시 테이블 (long 간선 → action ordinal). 간선 값 0은 빈 칸으로 사용합니다. (사용자 ID는 1부터)
+     * 삭제는 backward shift로 처리하여 tombstone을 남기지 않습니다.
+     */
+    private static final class Stripe {
+        private static final byte EMPTY = -1;
+
+        private long[] keys = new long[16];
+        private byte[] values = new byte[16];
+        private int size;
+
+        private byte get(long key) {
+            int slot = find(key);
+            return keys[slot] == 0 ? EMPTY : values[slot];
+        }
+
+        private void put(long key, SwipeAction action) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int slot = find(key);
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = (byte) action.ordinal();
+        }
+
+        private void remove(long key) {
+            int slot = find(key);
+            if (keys[slot] == 0) {
+                return;
+            }
+            int mask = keys.length - 1;
+            // 뒤따르는 항목 중 원래 자리가 빈 칸 이전인 항목을 당겨옵니다.
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (keys[next] != 0) {
+                int home = (int) mix(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[hole] = 0;
+            size--;
+        }
+
+        // swiper 또는 target이 user인 간선을 지웁니다. 지우면서 항목이 당겨지므로 먼저 모은 뒤 지웁니다.
+        private void removeIf(int user) {
+            long[] matched = new long[size];
+            int count = 0;
+            for (long key : keys) {
+                if (key != 0 && ((int) (key >>> 32) == user || (int) key == user)) {
+                    matched[count++] = key;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                remove(matched[i]);
+            }
+        }
+
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            byte[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new byte[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = find(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+}
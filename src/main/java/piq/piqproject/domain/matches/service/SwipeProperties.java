@@ -0,0 +1,29 @@
+package piq.piqproject.domain.matches.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("matches.swipes") // application.properties에서 matches.swipes접두사 속성을 class의 필드에 매핑
+public class SwipeProperties {
+    // write-ahead log 디렉터리와 segment 파일 하나의 최대 크기
+    private String walDirectory = "data/swipe-wal";
+    private long walSegmentBytes = 64L * 1024 * 1024;
+    // 좋아요/넘기기 요청이 log 기록(fsync)을 기다리는 최대 시간
+    private long walMaxWaitMillis = 2000;
+    // DB 저장을 기다리는 최대 건수 (가득 차면 buffer-wait-millis만큼 기다린 뒤 503)
+    private int bufferCapacity = 100_000;
+    private long bufferWaitMillis = 200;
+    // 한 번에 insert할 최대 건수와 버퍼가 비어 있을 때 확인 간격
+    private int batchSize = 1000;
+    private long flushIntervalMillis = 200;
+    // DB 저장에 실패했을 때 다시 시도하기 전 대기 시간
+    private long retryBackoffMillis = 1000;
+    // 좋아요 관계를 나눠 담을 stripe 수 (stripe마다 락 하나)
+    private int graphStripes = 64;
+}
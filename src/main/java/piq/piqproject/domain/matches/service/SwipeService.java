@@ -0,0 +1,229 @@
+package piq.piqproject.domain.matches.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InvalidRequestException;
+import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.common.error.exception.ServiceUnavailableException;
+import piq.piqproject.domain.blocks.service.BlockExclusionCache;
+import piq.piqproject.domain.matches.dto.SwipeRecord;
+import piq.piqproject.domain.matches.dto.SwipeResponseDto;
+import piq.piqproject.domain.matches.enums.SwipeAction;
+import piq.piqproject.domain.matches.event.SwipeLoggedEvent;
+import piq.piqproject.domain.matches.repository.SwipeBatchWriter;
+import piq.piqproject.domain.matches.repository.SwipeRepository;
+import piq.piqproject.domain.users.cache.SeenProfileStore;
+import piq.piqproject.domain.users.event.UserDeletedEvent;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+/**
+ * 좋아요/넘기기를 처리합니다.
+ * <p>
+ * - 중복/매칭 확인: SwipeGraph에서 이미 선택한 상대인지와 상대가 나를 좋아요했는지를 O(1)로 확인하므로,
+ * 서로 좋아요가 되면 DB 조회 없이 바로 응답에 matched=true로 알려줍니다.
+ * <p>
+ * - 저장: SwipeBatchWriter가 log에 기록한 뒤 반환하고, DB에는 모아서 batch로 저장합니다. 그래프에는 log 기록이
+ * 확인된 뒤에만 반영하므로, 기록되지 않은 선택으로 매칭이 감지되지 않습니다. 기록 결과를 기다리지 못한 경우(503)는
+ * 실패가 아니라 결과를 모르는 상태이므로 그래프를 건드리지 않고, 늦게 기록되면 그때 반영합니다.
+ * 선택한 상대는 본 프로필(SeenProfileStore)로도 기록하여 피드에 다시 나오지 않게 합니다.
+ * <p>
+ * - 전파: 반영한 간선은 Redis pub/sub으로 다른 서버의 그래프에도 추가합니다. 전파를 놓쳐 응답의 matched가 빠지더라도,
+ * 매칭 저장은 SwipeBatchWriter가 DB의 역방향 좋아요로 판단하므로 누락되지 않습니다.
+ * <p>
+ * - 탈퇴: 커밋된 후 탈퇴한 사용자의 간선을 그래프에서 지우고, 다른 서버에도 사용자 ID만 담아 전파합니다.
+ * <p>
+ * - 그래프 생성: 애플리케이션 기동 후 swipes 테이블을 스트리밍으로 읽어 만들며, 완료 전에는 요청한 두 사용자 사이의
+ * 기록만 DB에서 읽어 그래프에 먼저 반영합니다.
+ */
+@Slf4j
+@Service
+public class SwipeService implements MessageListener {
+
+    private static final String CHANNEL = "matches:swipes";
+
+    private final SwipeRepository swipeRepository;
+    private final SwipeBatchWriter swipeBatchWriter;
+    private final CandidateIndex candidateIndex;
+    private final UserRepository userRepository;
+    private final SeenProfileStore seenProfileStore;
+    private final BlockExclusionCache blockExclusionCache;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SwipeGraph graph;
+
+    private volatile boolean graphReady;
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    public SwipeService(SwipeRepository swipeRepository, SwipeBatchWriter swipeBatchWriter,
+            CandidateIndex candidateIndex, UserRepository userRepository, SeenProfileStore seenProfileStore,
+            BlockExclusionCache blockExclusionCache, StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer, PlatformTransactionManager transactionManager,
+            SwipeProperties properties) {
+        this.swipeRepository = swipeRepository;
+        this.swipeBatchWriter = swipeBatchWriter;
+        this.candidateIndex = candidateIndex;
+        this.userRepository = userRepository;
+        this.seenProfileStore = seenProfileStore;
+        this.blockExclusionCache = blockExclusionCache;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.graph = new SwipeGraph(properties.getGraphStripes());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().daemon().name("swipe-graph-build").start(() -> {
+            try {
+                build();
+            } catch (Exception e) {
+                log.warn("Failed to build swipe graph, falling back to DB per request: {}", e.getMessage());
+            } finally {
+                building.set(false);
+            }
+        });
+    }
+
+    /**
+     * 상대에게 좋아요/넘기기를 합니다. 이미 선택한 상대면 처음 선택을 유지하고 그 결과를 반환합니다.
+     *
+     * @param userId   선택하는 사용자의 ID
+     * @param targetId 상대 사용자의 ID
+     * @param action   LIKE 또는 PASS
+     * @return 기록된 선택과 서로 좋아요 여부
+     * @throws InvalidRequestException     자기 자신을 선택한 경우
+     * @throws NotFoundException           상대가 없거나 비활성화되었거나, 차단 관계인 경우
+     * @throws ServiceUnavailableException 저장 버퍼가 가득 찼거나, log 기록 결과를 기다리지 못한 경우 (다시 요청해도 안전)
+     */
+    public SwipeResponseDto swipe(Long userId, Long targetId, SwipeAction action) {
+        if (userId.equals(targetId)) {
+            throw new InvalidRequestException(ErrorCode.CANNOT_SWIPE_SELF);
+        }
+        Boolean active = candidateIndex.isActiveUser(targetId);
+        if ((active == null ? !userRepository.existsById(targetId) : !active)
+                || blockExclusionCache.isBlocked(userId, targetId)) {
+            throw new NotFoundException(ErrorCode.NOT_FOUND_USER, "해당 ID의 사용자를 찾을 수 없습니다: " + targetId);
+        }
+
+        int swiper = CandidateIndex.ordinal(userId);
+        int target = CandidateIndex.ordinal(targetId);
+        if (!graphReady) {
+            loadPair(userId, targetId);
+        }
+
+        if (graph.get(swiper, target) != null) {
+            return existingResponse(targetId, swiper, target);
+        }
+
+        // 예외가 나면 그래프에 반영하지 않습니다. (시간 초과는 나중에 기록되면 onSwipeLogged에서 반영)
+        swipeBatchWriter.write(new SwipeRecord(0, userId, targetId, action, System.currentTimeMillis()));
+
+        // 같은 상대에 대한 요청이 동시에 기록되었으면 먼저 반영된 선택이 유지됩니다. (DB insert도 처음 것만 저장)
+        SwipeGraph.Outcome outcome = apply(userId, targetId, action);
+        if (outcome == SwipeGraph.Outcome.DUPLICATE) {
+            return existingResponse(targetId, swiper, target);
+        }
+        seenProfileStore.markSeen(userId, targetId);
+        return new SwipeResponseDto(targetId, action, outcome == SwipeGraph.Outcome.MUTUAL);
+    }
+
+    // 요청 시간 초과 후 늦게 기록된 선택을 반영합니다. (SwipeBatchWriter의 writer 스레드에서 호출)
+    @EventListener
+    public void onSwipeLogged(SwipeLoggedEvent event) {
+        SwipeRecord record = event.record();
+        apply(record.swiperId(), record.targetId(), record.action());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        graph.removeUser(CandidateIndex.ordinal(event.userId()));
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.valueOf(event.userId()));
+        } catch (Exception e) {
+            // 다른 서버는 재기동 시 그래프를 다시 만들 때 탈퇴한 사용자의 간선을 읽지 않습니다.
+            log.warn("Failed to publish deletion of user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    // "swiper:target:action"은 간선 추가, 사용자 ID만 있으면 탈퇴한 사용자의 간선 삭제입니다.
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            String[] parts = body.split(":");
+            if (parts.length == 1) {
+                graph.removeUser(CandidateIndex.ordinal(Long.valueOf(parts[0])));
+                return;
+            }
+            graph.load(CandidateIndex.ordinal(Long.valueOf(parts[0])), CandidateIndex.ordinal(Long.valueOf(parts[1])),
+                    SwipeAction.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed swipe message: {}", body);
+        }
+    }
+
+    private SwipeResponseDto existingResponse(Long targetId, int swiper, int target) {
+        SwipeAction existing = graph.get(swiper, target);
+        boolean matched = existing == SwipeAction.LIKE && graph.get(target, swiper) == SwipeAction.LIKE;
+        return new SwipeResponseDto(targetId, existing, matched);
+    }
+
+    // log에 기록된 선택을 그래프에 반영하고 다른 서버에도 전파합니다.
+    private SwipeGraph.Outcome apply(Long userId, Long targetId, SwipeAction action) {
+        SwipeGraph.Outcome outcome = graph.record(CandidateIndex.ordinal(userId), CandidateIndex.ordinal(targetId),
+                action);
+        if (outcome != SwipeGraph.Outcome.DUPLICATE) {
+            try {
+                redisTemplate.convertAndSend(CHANNEL, userId + ":" + targetId + ":" + action.name());
+            } catch (Exception e) {
+                // 다른 서버는 재기동 시 그래프를 다시 만들 때 반영합니다. (매칭 저장은 DB로 판단하므로 누락되지 않음)
+                log.warn("Failed to publish swipe of user {}: {}", userId, e.getMessage());
+            }
+        }
+        return outcome;
+    }
+
+    // 그래프 생성 전에는 두 사용자 사이의 기존 기록을 DB에서 읽어 먼저 반영합니다.
+    private void loadPair(Long userId, Long targetId) {
+        swipeRepository.findAction(userId, targetId).ifPresent(action -> graph.load(
+                CandidateIndex.ordinal(userId), CandidateIndex.ordinal(targetId), action));
+        swipeRepository.findAction(targetId, userId).ifPresent(action -> graph.load(
+                CandidateIndex.ordinal(targetId), CandidateIndex.ordinal(userId), action));
+    }
+
+    private void build() {
+        long started = System.currentTimeMillis();
+        // 생성 중에 들어온 요청은 그래프에 바로 기록되며, load()는 이미 있는 간선을 덮어쓰지 않습니다.
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = swipeRepository.streamEdges()) {
+                rows.forEach(row -> graph.load(CandidateIndex.ordinal((Long) row[0]),
+                        CandidateIndex.ordinal((Long) row[1]), (SwipeAction) row[2]));
+            }
+        });
+        graphReady = true;
+        log.info("Swipe graph built: {} edges in {}ms", graph.size(), System.currentTimeMillis() - started);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import piq.piqproject.common.pagination.SliceResponseDto;
 import piq.piqproject.domain.posts.dto.request.AnnouncementRequestDto;
 import piq.piqproject.domain.posts.dto.request.EventRequestDto;
 import piq.piqproject.domain.posts.dto.response.PostResponseDto;
@@ -52,6 +53,14 @@ public class PostController {
                 return ResponseEntity.ok(postService.getPost(pageable));
         }
 
+        // 커서 기반 최신순 조회 (첫 요청은 cursor 없이, 이후에는 응답의 nextCursor를 전달)
+        @GetMapping("/all/cursor")
+        public ResponseEntity<SliceResponseDto<PostResponseDto>> getPostsByCursor(
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", required = false) Integer size) {
+                return ResponseEntity.ok(postService.getPostsAfter(cursor, size));
+        }
+
         @PutMapping("/announcement/{postId}")
         public ResponseEntity<PostResponseDto> updateAnnouncement(
                         @PathVariable("postId") Long postId,
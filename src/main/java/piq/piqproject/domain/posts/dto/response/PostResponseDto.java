@@ -1,5 +1,6 @@
 package piq.piqproject.domain.posts.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -7,6 +8,7 @@ import lombok.Setter;
 import piq.piqproject.domain.posts.entity.PostEntity;
 import piq.piqproject.domain.posts.entity.PostType;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 import static piq.piqproject.common.util.TimeUtils.formatToDateTimeWithMinutes;
@@ -29,6 +31,22 @@ public class PostResponseDto {
 
         private String createdAt;
 
+        @JsonIgnore
+        private LocalDateTime createdDateTime; // 커서 생성용 (응답에는 포함하지 않음)
+
+        /**
+         * PostRepository의 프로젝션 쿼리(SELECT new ...)에서 사용하는 생성자입니다.
+         * 작성자(user) 연관관계는 응답에 필요하지 않으므로 조회하지 않습니다.
+         */
+        public PostResponseDto(Long id, String title, String content, PostType type, LocalDateTime startDate,
+                        LocalDateTime endDate, LocalDateTime createdAt) {
+                this(id, title, content, type,
+                                startDate != null ? formatToDateTimeWithMinutes(startDate) : "",
+                                endDate != null ? formatToDateTimeWithMinutes(endDate) : "",
+                                createdAt.format(DateTimeFormatter.ISO_DATE));
+                this.createdDateTime = createdAt;
+        }
+
         @Builder
         private PostResponseDto(Long id, String title, String content, PostType type, String startDate, String endDate,
                         String createdAt) {
@@ -42,22 +60,7 @@ public class PostResponseDto {
         }
 
         public static PostResponseDto of(PostEntity post) {
-                String formattedStartDate = post.getStartDate() != null
-                                ? formatToDateTimeWithMinutes(post.getStartDate())
-                                : "";
-
-                String formattedEndDate = post.getStartDate() != null
-                                ? formatToDateTimeWithMinutes(post.getEndDate())
-                                : "";
-
-                return PostResponseDto.builder()
-                                .id(post.getId())
-                                .title(post.getTitle())
-                                .content(post.getContent())
-                                .type(post.getType())
-                                .startDate(formattedStartDate)
-                                .endDate(formattedEndDate)
-                                .createdAt(post.getCreatedAt().format(DateTimeFormatter.ISO_DATE))
-                                .build();
+                return new PostResponseDto(post.getId(), post.getTitle(), post.getContent(), post.getType(),
+                                post.getStartDate(), post.getEndDate(), post.getCreatedAt());
         }
 }
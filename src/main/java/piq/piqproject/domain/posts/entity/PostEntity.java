@@ -14,7 +14,10 @@ import static piq.piqproject.domain.posts.entity.PostType.ANNOUNCEMENT;
 import static piq.piqproject.domain.posts.entity.PostType.EVENT;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        // 커서 페이지네이션 (ORDER BY created_at DESC, id DESC)
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at, id")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 public class PostEntity extends BaseEntity {
@@ -1,7 +1,36 @@
 package piq.piqproject.domain.posts.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import piq.piqproject.domain.posts.dto.response.PostResponseDto;
 import piq.piqproject.domain.posts.entity.PostEntity;
 
 public interface PostRepository extends JpaRepository<PostEntity, Long> {
+
+    // 목록 응답(PostResponseDto)에 필요한 컬럼만 조회하는 프로젝션입니다. (엔티티를 영속성 컨텍스트에 올리지 않음)
+    String POST_PROJECTION = "SELECT new piq.piqproject.domain.posts.dto.response.PostResponseDto("
+            + "p.id, p.title, p.content, p.type, p.startDate, p.endDate, p.createdAt)"
+            + " FROM PostEntity p";
+
+    // 게시글 목록을 페이지 단위로 조회합니다.
+    @Query(value = POST_PROJECTION, countQuery = "SELECT COUNT(p) FROM PostEntity p")
+    Page<PostResponseDto> findAllPosts(Pageable pageable);
+
+    // 게시글 첫 페이지를 최신순으로 조회합니다. (커서 페이지네이션)
+    @Query(POST_PROJECTION + " ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostResponseDto> findFirstPage(Limit limit);
+
+    // 커서(createdAt, id) 다음부터 게시글을 최신순으로 조회합니다.
+    @Query(POST_PROJECTION
+            + " WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)"
+            + " ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostResponseDto> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Limit limit);
 }
@@ -1,12 +1,16 @@
 package piq.piqproject.domain.posts.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import piq.piqproject.common.error.exception.InvalidRequestException;
 import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.common.pagination.Cursor;
+import piq.piqproject.common.pagination.CursorCodec;
+import piq.piqproject.common.pagination.SliceResponseDto;
 import piq.piqproject.domain.posts.dto.request.AnnouncementRequestDto;
 import piq.piqproject.domain.posts.dto.request.EventRequestDto;
 import piq.piqproject.domain.posts.dto.response.PostResponseDto;
@@ -16,6 +20,9 @@ import piq.piqproject.domain.posts.repository.PostRepository;
 import piq.piqproject.domain.users.entity.UserEntity;
 import piq.piqproject.domain.users.repository.UserRepository;
 
+import java.util.List;
+import java.util.function.Function;
+
 import static piq.piqproject.common.error.exception.ErrorCode.*;
 
 @Service
@@ -59,8 +66,22 @@ public class PostService {
 
     @Transactional(readOnly = true)
     public Page<PostResponseDto> getPost(Pageable pageable) {
-        Page<PostEntity> posts = postRepository.findAll(pageable);
-        return posts.map(PostResponseDto::of);
+        return postRepository.findAllPosts(pageable);
+    }
+
+    // 게시글을 커서 기반으로 최신순 조회합니다. (COUNT 쿼리 없이 size + 1개만 조회)
+    @Transactional(readOnly = true)
+    public SliceResponseDto<PostResponseDto> getPostsAfter(String cursor, Integer size) {
+        Cursor after = CursorCodec.decode(cursor);
+        int pageSize = SliceResponseDto.normalizeSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<PostResponseDto> posts = after == null
+                ? postRepository.findFirstPage(limit)
+                : postRepository.findPageAfter(after.createdAt(), after.id(), limit);
+
+        return SliceResponseDto.of(posts, pageSize, post -> new Cursor(post.getCreatedDateTime(), post.getId()),
+                Function.identity());
     }
 
     @Transactional
@@ -12,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import piq.piqproject.common.pagination.SliceResponseDto;
 import piq.piqproject.domain.reviews.dto.ReviewRequestDto;
 import piq.piqproject.domain.reviews.dto.ReviewResponseDto;
 import piq.piqproject.domain.reviews.service.ReviewService;
@@ -38,6 +39,22 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.getReviews(pageable));
     }
 
+    /**
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 생략)
+     * @param size   페이지 크기 (기본 10, 최대 100)
+     * @return 리뷰 목록과 다음 페이지 커서
+     * @summary 서비스에 대한 리뷰 커서 기반 조회 API
+     *
+     *          전체 개수(COUNT)를 세지 않고 최신순으로 size 만큼 반환합니다.
+     *          offset 방식과 달리 페이지가 깊어져도 앞의 행을 건너뛰며 읽지 않습니다.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<SliceResponseDto<ReviewResponseDto>> getReviewsByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(reviewService.getReviewsAfter(cursor, size));
+    }
+
     /**
      * @summary 서비스에 대한 리뷰 작성 API
      * @description 사용자가 서비스 이용 경험에 대한 후기를 작성합니다. ['매칭 상대방'에 대한 평가(신뢰도)는 별도의 API를 통해
@@ -1,11 +1,15 @@
 package piq.piqproject.domain.reviews.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import piq.piqproject.domain.reviews.entity.ReviewEntity;
 
+import java.time.LocalDateTime;
+
 import static piq.piqproject.common.util.TimeUtils.formatToDate;
 
 @Getter
@@ -25,6 +29,19 @@ public class ReviewResponseDto {
 
     private String createdAt;
 
+    @JsonIgnore
+    private LocalDateTime createdDateTime; // 커서 생성용 (응답에는 포함하지 않음)
+
+    /**
+     * ReviewRepository의 프로젝션 쿼리(SELECT new ...)에서 사용하는 생성자입니다.
+     * 작성자는 닉네임만 조회하므로 UserEntity를 로딩하지 않습니다.
+     */
+    public ReviewResponseDto(Long reviewId, String nickName, String title, String content, int rate,
+            LocalDateTime createdAt) {
+        this(reviewId, nickName, title, content, rate, formatToDate(createdAt));
+        this.createdDateTime = createdAt;
+    }
+
     @Builder
     private ReviewResponseDto(Long reviewId, String nickName, String title, String content, int rate,
             String createdAt) {
@@ -37,13 +54,7 @@ public class ReviewResponseDto {
     }
 
     public static ReviewResponseDto of(ReviewEntity review) {
-        return ReviewResponseDto.builder()
-                .reviewId(review.getId())
-                .nickName(review.getUser().getNickname())
-                .title(review.getTitle())
-                .content(review.getContent())
-                .rate(review.getRate())
-                .createdAt(formatToDate(review.getCreatedAt()))
-                .build();
+        return new ReviewResponseDto(review.getId(), review.getUser().getNickname(), review.getTitle(),
+                review.getContent(), review.getRate(), review.getCreatedAt());
     }
 }
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import piq.piqproject.domain.BaseEntity;
 import piq.piqproject.domain.users.entity.UserEntity;
 
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // 커서 페이지네이션 (ORDER BY created_at DESC, id DESC)
+        @Index(name = "idx_reviews_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
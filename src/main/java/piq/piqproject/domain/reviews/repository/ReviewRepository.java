@@ -1,27 +1,47 @@
 package piq.piqproject.domain.reviews.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import piq.piqproject.domain.reviews.dto.ReviewResponseDto;
 import piq.piqproject.domain.reviews.entity.ReviewEntity;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
 
+    // 목록 응답(ReviewResponseDto)에 필요한 컬럼만 조회하는 프로젝션입니다.
+    // 작성자는 닉네임만 필요하므로 UserEntity 전체를 fetch join 하지 않고 컬럼 하나만 조인합니다.
+    String REVIEW_PROJECTION = "SELECT new piq.piqproject.domain.reviews.dto.ReviewResponseDto("
+            + "r.id, u.nickname, r.title, r.content, r.rate, r.createdAt)"
+            + " FROM ReviewEntity r JOIN r.user u";
+
     /**
-     * 모든 리뷰를 User 정보와 함께 페치 조인하여 조회합니다. (N+1 문제 해결)
-     * Pageable과 fetch join을 함께 사용할 때 발생하는 in-memory 페이징 문제를 해결하기 위해 countQuery를 별도로
-     * 작성합니다.
+     * 모든 리뷰를 작성자 닉네임과 함께 조회합니다. (N+1 문제 해결)
+     * 엔티티가 아닌 DTO를 조회하므로 in-memory 페이징 없이 limit/offset이 DB 쿼리에 적용됩니다.
      *
      * @param pageable 페이지네이션 정보
-     * @return User 정보가 포함된 리뷰 페이지
+     * @return 작성자 닉네임이 포함된 리뷰 페이지
      */
-    @Query(value = "SELECT r FROM ReviewEntity r JOIN FETCH r.user u", countQuery = "SELECT COUNT(r) FROM ReviewEntity r")
-    Page<ReviewEntity> findAllWithUser(Pageable pageable);
+    @Query(value = REVIEW_PROJECTION, countQuery = "SELECT COUNT(r) FROM ReviewEntity r")
+    Page<ReviewResponseDto> findAllWithUser(Pageable pageable);
+
+    // 리뷰 첫 페이지를 작성자 닉네임과 함께 최신순으로 조회합니다. (커서 페이지네이션)
+    @Query(REVIEW_PROJECTION + " ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponseDto> findFirstPageWithUser(Limit limit);
+
+    // 커서(createdAt, id) 다음부터 리뷰를 작성자 닉네임과 함께 최신순으로 조회합니다.
+    @Query(REVIEW_PROJECTION
+            + " WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)"
+            + " ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponseDto> findPageAfterWithUser(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Limit limit);
 
     @Query("SELECT r FROM ReviewEntity r JOIN FETCH r.user u WHERE r.id = :reviewId")
     Optional<ReviewEntity> findByIdWithUser(@Param("reviewId") Long reviewId);
@@ -6,7 +6,10 @@ import static piq.piqproject.common.error.exception.ErrorCode.NOT_FOUND_USER;
 import static piq.piqproject.common.error.exception.ErrorCode.NOT_REVIEW_OWNER;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.GrantedAuthority;
@@ -17,6 +20,9 @@ import lombok.RequiredArgsConstructor;
 import piq.piqproject.common.error.exception.ConflictException;
 import piq.piqproject.common.error.exception.ForbiddenException;
 import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.common.pagination.Cursor;
+import piq.piqproject.common.pagination.CursorCodec;
+import piq.piqproject.common.pagination.SliceResponseDto;
 import piq.piqproject.common.util.RoleUtils;
 import piq.piqproject.domain.reviews.dto.ReviewRequestDto;
 import piq.piqproject.domain.reviews.dto.ReviewResponseDto;
@@ -75,11 +81,28 @@ public class ReviewService {
     @Transactional(readOnly = true) // 읽기만 허용
     public Page<ReviewResponseDto> getReviews(Pageable pageable) {
 
-        // 클라이언트 요청이 담긴 pageable을 넘겨줌
-        Page<ReviewEntity> reviews = reviewRepository.findAllWithUser(pageable);
+        // 클라이언트 요청이 담긴 pageable을 넘겨주고, 응답 DTO로 바로 조회
+        return reviewRepository.findAllWithUser(pageable);
+    }
+
+    /**
+     * 리뷰를 커서 기반으로 최신순 조회합니다. (COUNT 쿼리 없이 size + 1개만 조회)
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size   페이지 크기
+     */
+    @Transactional(readOnly = true)
+    public SliceResponseDto<ReviewResponseDto> getReviewsAfter(String cursor, Integer size) {
+        Cursor after = CursorCodec.decode(cursor);
+        int pageSize = SliceResponseDto.normalizeSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<ReviewResponseDto> reviews = after == null
+                ? reviewRepository.findFirstPageWithUser(limit)
+                : reviewRepository.findPageAfterWithUser(after.createdAt(), after.id(), limit);
 
-        // responseDto로 담아서 응답
-        return reviews.map(ReviewResponseDto::of);
+        return SliceResponseDto.of(reviews, pageSize,
+                review -> new Cursor(review.getCreatedDateTime(), review.getReviewId()), Function.identity());
     }
 
     /**
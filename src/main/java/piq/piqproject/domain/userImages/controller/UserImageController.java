@@ -1,8 +1,12 @@
 package piq.piqproject.domain.userimages.controller;
 
+import java.net.URI;
+import java.util.List;
+
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -10,11 +14,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import piq.piqproject.common.error.exception.ErrorCode;
 import piq.piqproject.common.error.exception.InvalidRequestException;
+import piq.piqproject.common.list.ListResponseDto;
+import piq.piqproject.domain.userimages.dto.ImageUploadStatusResponseDto;
+import piq.piqproject.domain.userimages.dto.UserImageResponseDto;
+import piq.piqproject.domain.userimages.service.AsyncImageUploadService;
+import piq.piqproject.domain.userimages.service.UserImageBatchUploadService;
 import piq.piqproject.domain.userimages.service.UserImageService;
 import piq.piqproject.domain.users.entity.UserEntity;
 
@@ -25,6 +35,8 @@ import piq.piqproject.domain.users.entity.UserEntity;
 public class UserImageController {
 
     private final UserImageService userImageService;
+    private final AsyncImageUploadService asyncImageUploadService;
+    private final UserImageBatchUploadService userImageBatchUploadService;
 
     /**
      * 클라이언트로부터 이미지 파일을 받아 업로드
@@ -50,6 +62,61 @@ public class UserImageController {
         return ResponseEntity.ok("이미지가 성공적으로 업로드되었습니다.");
     }
 
+    /**
+     * 여러 장의 이미지를 한 번에 업로드합니다. 하나라도 실패하면 아무것도 등록되지 않습니다.
+     *
+     * @param user       현재 인증된 사용자 정보
+     * @param imageFiles 업로드할 이미지 파일들 (같은 이름의 part 여러 개, 이 순서대로 등록)
+     * @return 등록된 이미지 목록
+     */
+    @PostMapping(value = "/upload/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ListResponseDto<UserImageResponseDto>> uploadImages(
+            @AuthenticationPrincipal UserEntity user,
+            @RequestPart(value = "imageFiles") List<MultipartFile> imageFiles) {
+        if (imageFiles.isEmpty() || imageFiles.stream().anyMatch(MultipartFile::isEmpty))
+            throw new InvalidRequestException(ErrorCode.FILE_UPLOAD_ERROR, "업로드할 이미지 파일이 없습니다.");
+
+        return ResponseEntity.ok(ListResponseDto.from(userImageBatchUploadService.uploadImages(user, imageFiles)));
+    }
+
+    /**
+     * 이미지 업로드를 접수하고 바로 202로 응답합니다. 저장과 등록은 서버에서 나중에 처리하므로,
+     * 응답의 uploadId로 /uploads/{uploadId}를 조회하거나 /uploads/{uploadId}/events를 구독하여 결과를 확인합니다.
+     *
+     * @param user      현재 인증된 사용자 정보
+     * @param imageFile 업로드할 이미지 파일
+     * @return PENDING 상태와 업로드 ID (Location 헤더: 상태 조회 URL)
+     */
+    @PostMapping(value = "/upload/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImageUploadStatusResponseDto> uploadImageAsync(@AuthenticationPrincipal UserEntity user,
+            @RequestPart(value = "imageFile") MultipartFile imageFile) {
+        if (imageFile.isEmpty())
+            throw new InvalidRequestException(ErrorCode.FILE_UPLOAD_ERROR, "업로드할 이미지 파일이 없습니다.");
+
+        ImageUploadStatusResponseDto status = asyncImageUploadService.accept(user, imageFile);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/images/uploads/" + status.getUploadId()))
+                .body(status);
+    }
+
+    /**
+     * 비동기 업로드의 상태(PENDING, COMPLETED, FAILED)를 조회합니다.
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ImageUploadStatusResponseDto> getUploadStatus(@AuthenticationPrincipal UserEntity user,
+            @PathVariable("uploadId") String uploadId) {
+        return ResponseEntity.ok(asyncImageUploadService.status(user.getId(), uploadId));
+    }
+
+    /**
+     * 비동기 업로드의 상태를 SSE(upload 이벤트)로 구독합니다. 끝나면 최종 상태를 보내고 연결을 닫습니다.
+     */
+    @GetMapping(value = "/uploads/{uploadId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeUploadStatus(@AuthenticationPrincipal UserEntity user,
+            @PathVariable("uploadId") String uploadId) {
+        return asyncImageUploadService.subscribe(user.getId(), uploadId);
+    }
+
     /**
      * 특정 ID를 가진 이미지를 삭제합니다.
      *
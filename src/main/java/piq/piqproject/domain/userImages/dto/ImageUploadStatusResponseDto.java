@@ -0,0 +1,39 @@
+package piq.piqproject.domain.userimages.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.domain.userimages.entity.UserImageEntity;
+import piq.piqproject.domain.userimages.enums.ImageUploadState;
+
+// 비동기 업로드 상태 (완료 전에는 이미지 항목을, 실패가 아니면 에러 항목을 생략)
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImageUploadStatusResponseDto {
+    private String uploadId;
+    private ImageUploadState state;
+    // COMPLETED 상태에서만
+    private Long imageId;
+    private String imageUrl;
+    private Boolean isMainImage;
+    // FAILED 상태에서만 (동기 업로드였다면 응답했을 에러)
+    private String errorCode;
+    private String message;
+
+    public static ImageUploadStatusResponseDto pending(String uploadId) {
+        return new ImageUploadStatusResponseDto(uploadId, ImageUploadState.PENDING, null, null, null, null, null);
+    }
+
+    public static ImageUploadStatusResponseDto completed(String uploadId, UserImageEntity image) {
+        return new ImageUploadStatusResponseDto(uploadId, ImageUploadState.COMPLETED, image.getImageId(),
+                image.getImageUrl(), image.getIsMainImage(), null, null);
+    }
+
+    public static ImageUploadStatusResponseDto failed(String uploadId, ErrorCode errorCode, String message) {
+        return new ImageUploadStatusResponseDto(uploadId, ImageUploadState.FAILED, null, null, null,
+                errorCode.name(), message);
+    }
+}
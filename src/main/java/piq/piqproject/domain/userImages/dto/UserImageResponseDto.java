@@ -10,7 +10,10 @@ import piq.piqproject.domain.userimages.entity.UserImageEntity;
 public class UserImageResponseDto implements Listable {
 
     private Long imageId;
-    private String imageUrl;
+    private String imageUrl; // 원본
+    private String thumbnailUrl; // 변형 이미지 (아직 만들어지지 않았으면 null, imageUrl 사용)
+    private String feedUrl;
+    private String fullUrl;
     private Boolean isMainImage;
 
     /**
@@ -20,6 +23,9 @@ public class UserImageResponseDto implements Listable {
         return UserImageResponseDto.builder()
                 .imageId(userImage.getImageId())
                 .imageUrl(userImage.getImageUrl())
+                .thumbnailUrl(userImage.getThumbnailUrl())
+                .feedUrl(userImage.getFeedUrl())
+                .fullUrl(userImage.getFullUrl())
                 .isMainImage(userImage.getIsMainImage())
                 .build();
     }
@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -20,7 +21,10 @@ import piq.piqproject.domain.users.entity.UserEntity;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "userImages") // DB 테이블명과 매핑
+@Table(name = "userImages", indexes = {
+        // 목록 조회 시 사용자별 대표 이미지 서브쿼리 (WHERE user_id = ? AND is_main_image = true)
+        @Index(name = "idx_user_images_user_id_main", columnList = "user_id, is_main_image")
+}) // DB 테이블명과 매핑
 public class UserImageEntity extends BaseEntity {
 
     @Id
@@ -38,6 +42,11 @@ public class UserImageEntity extends BaseEntity {
     @Column(nullable = false)
     private Boolean isMainImage;
 
+    // 업로드 후 ImageVariantPipeline이 만드는 변형 이미지 URL (만들기 전이나 실패하면 null, 클라이언트는 imageUrl 사용)
+    private String thumbnailUrl;
+    private String feedUrl;
+    private String fullUrl;
+
     @Builder
     public UserImageEntity(UserEntity user, String imageUrl, Boolean isMainImage) {
         this.user = user;
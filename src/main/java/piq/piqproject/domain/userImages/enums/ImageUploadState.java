@@ -0,0 +1,7 @@
+package piq.piqproject.domain.userimages.enums;
+
+public enum ImageUploadState {
+    PENDING, // 접수됨, 저장을 기다리거나 저장하는 중
+    COMPLETED, // 저장되어 사용자의 이미지로 등록됨
+    FAILED // 검증 또는 저장 실패 (errorCode, message 참고)
+}
@@ -0,0 +1,20 @@
+package piq.piqproject.domain.userimages.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 업로드한 원본에서 만드는 변형 이미지의 종류입니다. 모두 EXIF 등 메타데이터를 제거한 JPEG로 저장합니다.
+ * 긴 변이 maxEdge보다 작은 원본은 키우지 않고 원본 크기로 다시 압축만 합니다.
+ */
+@Getter
+@AllArgsConstructor
+public enum ImageVariant {
+    THUMBNAIL("thumb", 240, 0.75f), // 채팅/매칭 목록의 작은 원형 이미지
+    FEED("feed", 720, 0.80f), // 프로필 피드 카드
+    FULL("full", 1600, 0.85f); // 프로필 상세 화면
+
+    private final String suffix; // 파일 이름에 붙는 이름 (예: {해시}.thumb.jpg)
+    private final int maxEdge; // 긴 변의 최대 픽셀 수
+    private final float quality; // JPEG 압축 품질 (0~1)
+}
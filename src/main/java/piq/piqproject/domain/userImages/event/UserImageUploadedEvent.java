@@ -0,0 +1,11 @@
+package piq.piqproject.domain.userimages.event;
+
+/**
+ * 사용자가 이미지를 업로드했을 때 발행하는 이벤트입니다. 커밋 후 변형 이미지(썸네일/피드/상세)를 만듭니다.
+ *
+ * @param imageId  저장된 UserImageEntity의 ID
+ * @param userId   이미지를 올린 사용자의 ID
+ * @param imageUrl 원본 이미지의 URL
+ */
+public record UserImageUploadedEvent(Long imageId, Long userId, String imageUrl) {
+}
@@ -0,0 +1,78 @@
+package piq.piqproject.domain.userimages.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 한 사용자의 이미지 여러 장을 JDBC batch insert 한 번으로 저장합니다. (일괄 업로드)
+ * <p>
+ * UserImageEntity는 IDENTITY 전략이라 JPA save()로는 INSERT가 한 건씩 실행되므로, JdbcTemplate으로 직접 저장하고
+ * 생성된 imageId는 getGeneratedKeys()로 받습니다. 변형 이미지 URL은 비워 두고 ImageVariantPipeline이 채웁니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImageBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO user_images (user_id, image_url, is_main_image, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 이미지를 저장합니다. 호출한 쪽의 트랜잭션 안에서 실행해야 전부 저장되거나 전부 취소됩니다.
+     *
+     * @param userId    이미지 소유자의 ID
+     * @param imageUrls 저장할 이미지 URL (이 순서대로 저장)
+     * @param mainIndex 대표 이미지로 저장할 imageUrls의 위치 (-1이면 모두 대표 이미지가 아님)
+     * @return imageUrls와 같은 순서의 imageId
+     */
+    public List<Long> insert(Long userId, List<String> imageUrls, int mainIndex) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, userId);
+                        ps.setString(2, imageUrls.get(i));
+                        ps.setBoolean(3, i == mainIndex);
+                        ps.setTimestamp(4, now);
+                        ps.setTimestamp(5, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return imageUrls.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != imageUrls.size()) {
+            // 트랜잭션을 롤백시켜 ID를 모르는 행이 남지 않게 합니다.
+            throw new IllegalStateException(
+                    "expected " + imageUrls.size() + " generated keys but got " + keys.size());
+        }
+        List<Long> imageIds = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            // 키 컬럼 이름은 드라이버마다 다르므로(IMAGE_ID, GENERATED_KEY 등) 첫 번째 값을 사용합니다.
+            imageIds.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return imageIds;
+    }
+}
@@ -3,9 +3,14 @@ package piq.piqproject.domain.userimages.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import piq.piqproject.domain.userimages.entity.UserImageEntity;
+import piq.piqproject.domain.userimages.event.UserImageUploadedEvent;
 import piq.piqproject.domain.users.entity.UserEntity;
 
 public interface UserImageRepository extends JpaRepository<UserImageEntity, Long> {
@@ -21,4 +26,23 @@ public interface UserImageRepository extends JpaRepository<UserImageEntity, Long
 
     // 특정 유저의 대표 이미지 존재 여부 확인 쿼리 메서드
     boolean existsByUserAndIsMainImage(UserEntity user, boolean isMain);
+
+    // 같은 원본(같은 내용이면 같은 URL)에 이미 만들어 둔 변형이 있는지 찾습니다.
+    Optional<UserImageEntity> findFirstByImageUrlAndThumbnailUrlIsNotNull(String imageUrl);
+
+    // 변형 이미지가 아직 없는 이미지 중 afterId 다음부터 (기동 시 이전 실행에서 처리하지 못한 작업을 keyset으로 훑으며 다시 등록)
+    @Query("SELECT new piq.piqproject.domain.userimages.event.UserImageUploadedEvent(i.imageId, i.user.id, i.imageUrl)"
+            + " FROM UserImageEntity i WHERE i.thumbnailUrl IS NULL AND i.imageId > :afterId ORDER BY i.imageId")
+    List<UserImageUploadedEvent> findWithoutVariantsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * 변형 이미지 URL을 저장합니다. 엔티티를 읽지 않고 UPDATE 한 번으로 처리합니다.
+     *
+     * @return 변경된 행 수 (0이면 그 사이 이미지가 삭제됨)
+     */
+    @Modifying
+    @Query("UPDATE UserImageEntity i SET i.thumbnailUrl = :thumbnailUrl, i.feedUrl = :feedUrl, i.fullUrl = :fullUrl"
+            + " WHERE i.imageId = :imageId")
+    int updateVariants(@Param("imageId") Long imageId, @Param("thumbnailUrl") String thumbnailUrl,
+            @Param("feedUrl") String feedUrl, @Param("fullUrl") String fullUrl);
 }
\ No newline at end of file
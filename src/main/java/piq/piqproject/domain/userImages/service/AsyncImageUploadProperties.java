@@ -0,0 +1,26 @@
+package piq.piqproject.domain.userimages.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("images.async-upload") // application.properties에서 images.async-upload접두사 속성을 class의 필드에 매핑
+public class AsyncImageUploadProperties {
+    // 접수한 파일을 처리할 때까지 보관하는 디렉터리 (서버마다 하위 디렉터리를 만들고, 종료된 서버의 것은 기동 시 삭제)
+    private String spoolDirectory = "data/upload-spool";
+    // 파일을 저장하고 DB에 등록하는 스레드 수
+    private int workers = 4;
+    // 처리를 기다리는 최대 업로드 수 (가득 차면 503)
+    private int queueCapacity = 200;
+    // 처리를 기다리는 업로드의 상태를 Redis에 보관하는 시간 (넘도록 처리되지 않으면 다른 서버에서는 조회할 수 없음)
+    private long pendingRetentionSeconds = 3600;
+    // 끝난 업로드의 결과를 상태 조회로 확인할 수 있는 시간
+    private long resultRetentionSeconds = 300;
+    // 상태 구독(SSE) 연결을 유지하는 최대 시간 (끝나지 않았으면 다시 구독하거나 상태를 조회)
+    private long subscribeTimeoutSeconds = 60;
+}
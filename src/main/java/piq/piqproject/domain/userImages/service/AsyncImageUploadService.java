@@ -0,0 +1,453 @@
+package piq.piqproject.domain.userimages.service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.CustomException;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InternalServerException;
+import piq.piqproject.common.error.exception.InvalidRequestException;
+import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.common.error.exception.ServiceUnavailableException;
+import piq.piqproject.common.file.FileUploader;
+import piq.piqproject.common.file.FileUtil;
+import piq.piqproject.common.timer.HierarchicalTimingWheel;
+import piq.piqproject.domain.userimages.dto.ImageUploadStatusResponseDto;
+import piq.piqproject.domain.userimages.entity.UserImageEntity;
+import piq.piqproject.domain.userimages.enums.ImageUploadState;
+import piq.piqproject.domain.users.entity.UserEntity;
+
+/**
+ * 이미지 업로드를 접수만 하고 바로 응답(202)한 뒤, 파일 저장과 DB 등록은 전용 스레드에서 처리합니다.
+ * <p>
+ * - 접수: 요청 스레드는 이미지 개수만 확인하고, multipart 파일을 임시 디렉터리로 옮긴 뒤 업로드 ID를 반환합니다.
+ * 트랜잭션을 열지 않으므로 파일을 기록하는 동안 DB 커넥션을 잡지 않습니다.
+ * <p>
+ * - 처리: images.async-upload.workers개의 스레드가 파일을 검증(magic bytes, 크기)하여 저장한 뒤,
+ * 짧은 트랜잭션에서 개수를 다시 확인하고 UserImageEntity를 INSERT합니다. 등록에 실패하면 저장한 파일의 참조를 해제합니다.
+ * <p>
+ * - 결과: 상태는 Redis(images:uploads:{업로드 ID})에도 기록하므로, 로드밸런서 뒤의 어느 서버에서든 조회/구독할 수 있습니다.
+ * 끝나면 Redis pub/sub으로 알려 다른 서버의 SSE 구독도 끝냅니다. 끝난 결과는 result-retention-seconds 동안 보관합니다.
+ * (Redis에 쓰지 못하면 접수한 서버에서만 조회 가능)
+ * <p>
+ * - 임시 파일: spool-directory는 여러 서버가 공유할 수 있으므로, 서버마다 하위 디렉터리를 만들고 lock 파일을 잡아 둡니다.
+ * 기동 시에는 lock을 잡을 수 있는(주인이 종료된) 하위 디렉터리만 삭제합니다. 재시작하면 처리하지 못한 업로드는 사라집니다.
+ */
+@Slf4j
+@Service
+public class AsyncImageUploadService implements MessageListener {
+
+    private static final String SSE_EVENT_NAME = "upload";
+    private static final String SPOOL_SUFFIX = ".upload";
+    private static final String SPOOL_DIRECTORY_PREFIX = "node-";
+    private static final String SPOOL_LOCK_FILE = ".lock";
+    private static final String KEY_PREFIX = "images:uploads:";
+    private static final String CHANNEL = "images:uploads:finished";
+    // 이 JVM이 lock을 잡고 있는 spool 디렉터리 (POSIX에서는 같은 파일을 다른 채널로 열었다 닫아도 lock이 풀리므로 열지 않음)
+    private static final Set<Path> LOCKED_SPOOLS = ConcurrentHashMap.newKeySet();
+
+    private final UserImageService userImageService;
+    private final FileUploader fileUploader;
+    private final FileUtil fileUtil;
+    private final ObjectMapper mapper;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Path spoolDirectory;
+    private final FileChannel spoolLockChannel;
+    private final FileLock spoolLock;
+    private final Duration pendingRetention;
+    private final Duration resultRetention;
+    private final long subscribeTimeoutMillis;
+    private final ThreadPoolExecutor executor;
+    // 끝난 업로드의 결과 만료 (tick 1초, 최대 약 3일)
+    private final HierarchicalTimingWheel timer = new HierarchicalTimingWheel(1000, 64, 3, "image-upload-expiry");
+    // 이 서버에서 접수한 업로드
+    private final ConcurrentHashMap<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    // 이 서버에 연결된 SSE 구독 (다른 서버에서 접수한 업로드 포함)
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public AsyncImageUploadService(UserImageService userImageService, FileUploader fileUploader, FileUtil fileUtil,
+            ObjectMapper mapper, StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+            AsyncImageUploadProperties properties) throws IOException {
+        this.userImageService = userImageService;
+        this.fileUploader = fileUploader;
+        this.fileUtil = fileUtil;
+        this.mapper = mapper;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.pendingRetention = Duration.ofSeconds(properties.getPendingRetentionSeconds());
+        this.resultRetention = Duration.ofSeconds(properties.getResultRetentionSeconds());
+        this.subscribeTimeoutMillis = TimeUnit.SECONDS.toMillis(properties.getSubscribeTimeoutSeconds());
+
+        Path spoolRoot = Files.createDirectories(Path.of(properties.getSpoolDirectory())).toAbsolutePath();
+        deleteAbandonedSpools(spoolRoot);
+        this.spoolDirectory = Files.createTempDirectory(spoolRoot, SPOOL_DIRECTORY_PREFIX);
+        this.spoolLockChannel = FileChannel.open(spoolDirectory.resolve(SPOOL_LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        this.spoolLock = spoolLockChannel.lock();
+        LOCKED_SPOOLS.add(spoolDirectory);
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // 대기열이 가득 차면 RejectedExecutionException
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        timer.start();
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 업로드를 접수합니다. 파일을 임시 디렉터리로 옮기고 바로 반환하며, 저장과 등록은 나중에 처리합니다.
+     *
+     * @param user      현재 인증된 사용자
+     * @param imageFile 업로드할 이미지 파일
+     * @return PENDING 상태와 업로드 ID
+     * @throws InvalidRequestException     이미지 파일이 아닌 경우 (INVALID_IMAGE_FILE)
+     * @throws InternalServerException     이미 최대 개수의 이미지가 있는 경우 (FILE_NUMBER_EXCEEDED)
+     * @throws ServiceUnavailableException 처리를 기다리는 업로드가 queue-capacity를 넘은 경우 (IMAGE_UPLOAD_BUSY)
+     */
+    public ImageUploadStatusResponseDto accept(UserEntity user, MultipartFile imageFile) {
+        if (!fileUtil.isImageFile(imageFile)) {
+            throw new InvalidRequestException(ErrorCode.INVALID_IMAGE_FILE);
+        }
+        // 개수를 넘었으면 파일을 옮기기 전에 거절합니다. (등록할 때 트랜잭션 안에서 다시 확인)
+        userImageService.validateImageCount(user);
+
+        String relativePath = fileUtil.createDirectoryPath() + "/"
+                + fileUtil.createUniqueFileName(imageFile.getOriginalFilename());
+        String uploadId = UUID.randomUUID().toString();
+        Path spooled = spoolDirectory.resolve(uploadId + SPOOL_SUFFIX);
+        try {
+            // Tomcat이 디스크에 받아 둔 multipart 임시 파일을 옮깁니다. (같은 파일시스템이면 rename, 아니면 복사)
+            // 요청이 끝나면 multipart 임시 파일은 삭제되므로, 처리할 때까지 보관할 곳으로 옮겨야 합니다.
+            imageFile.transferTo(spooled.toFile());
+        } catch (IOException e) {
+            deleteQuietly(spooled);
+            log.error("업로드 임시 파일 저장 실패: {}", e.getMessage());
+            throw new InternalServerException(ErrorCode.FILE_UPLOAD_ERROR, "업로드 임시 파일 저장 실패");
+        }
+
+        UploadJob job = new UploadJob(user.getId(), ImageUploadStatusResponseDto.pending(uploadId));
+        jobs.put(uploadId, job);
+        // 처리가 끝나기 전에 다른 서버로 온 조회에도 응답할 수 있도록 먼저 기록합니다.
+        store(uploadId, job.userId, job.status, pendingRetention);
+        try {
+            executor.execute(() -> process(uploadId, job, spooled, relativePath));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(uploadId);
+            deleteStored(uploadId);
+            deleteQuietly(spooled);
+            log.warn("Async upload queue is full, rejecting upload of user {}", user.getId());
+            throw new ServiceUnavailableException(ErrorCode.IMAGE_UPLOAD_BUSY);
+        }
+        return job.status;
+    }
+
+    /**
+     * 업로드 상태를 조회합니다. 다른 서버에서 접수한 업로드도 조회할 수 있습니다.
+     *
+     * @throws NotFoundException 없거나 다른 사용자의 업로드, 또는 끝난 뒤 보관 시간이 지난 경우
+     */
+    public ImageUploadStatusResponseDto status(Long userId, String uploadId) {
+        return findStatus(userId, uploadId);
+    }
+
+    /**
+     * 업로드 상태를 SSE로 구독합니다. 현재 상태를 먼저 보내고, 끝나면 최종 상태를 보낸 뒤 연결을 닫습니다.
+     *
+     * @throws NotFoundException 없거나 다른 사용자의 업로드, 또는 끝난 뒤 보관 시간이 지난 경우
+     */
+    public SseEmitter subscribe(Long userId, String uploadId) {
+        ImageUploadStatusResponseDto current = findStatus(userId, uploadId);
+        SseEmitter emitter = createEmitter();
+        if (current.getState() != ImageUploadState.PENDING) {
+            sendAndComplete(emitter, current);
+            return emitter;
+        }
+
+        // 목록에 넣기 전에 보내야 최종 상태보다 먼저 도착합니다.
+        send(emitter, current);
+        emitter.onCompletion(() -> removeSubscriber(uploadId, emitter));
+        subscribers.compute(uploadId, (id, list) -> {
+            CopyOnWriteArrayList<SseEmitter> emitters = list != null ? list : new CopyOnWriteArrayList<>();
+            emitters.add(emitter);
+            return emitters;
+        });
+        // 넣는 사이에 끝났을 수 있으므로 다시 확인합니다. (목록을 map에서 꺼낸 쪽만 보내므로 한 번만 전송)
+        ImageUploadStatusResponseDto latest = currentStatus(uploadId);
+        if (latest != null && latest.getState() != ImageUploadState.PENDING) {
+            notifySubscribers(uploadId, latest);
+        }
+        return emitter;
+    }
+
+    // 다른 서버에서 끝난 업로드: 이 서버에 구독이 있으면 Redis에서 최종 상태를 읽어 보냅니다.
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String uploadId = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!subscribers.containsKey(uploadId)) {
+            return;
+        }
+        ImageUploadStatusResponseDto status = currentStatus(uploadId);
+        if (status != null && status.getState() != ImageUploadState.PENDING) {
+            notifySubscribers(uploadId, status);
+        }
+    }
+
+    // 테스트용
+    SseEmitter createEmitter() {
+        return new SseEmitter(subscribeTimeoutMillis);
+    }
+
+    private ImageUploadStatusResponseDto findStatus(Long userId, String uploadId) {
+        UploadJob job = jobs.get(uploadId);
+        StoredStatus stored = job == null ? load(uploadId) : null;
+        Long owner = job != null ? job.userId : stored != null ? stored.userId() : null;
+        // 다른 사용자의 업로드는 없는 것과 같이 응답합니다.
+        if (owner == null || !owner.equals(userId)) {
+            throw new NotFoundException(ErrorCode.NOT_FOUND_UPLOAD);
+        }
+        return job != null ? job.status : stored.toDto(uploadId);
+    }
+
+    private ImageUploadStatusResponseDto currentStatus(String uploadId) {
+        UploadJob job = jobs.get(uploadId);
+        if (job != null) {
+            return job.status;
+        }
+        StoredStatus stored = load(uploadId);
+        return stored != null ? stored.toDto(uploadId) : null;
+    }
+
+    private void process(String uploadId, UploadJob job, Path spooled, String relativePath) {
+        String imageUrl = null;
+        try {
+            // 1. 파일 검증(magic bytes, 크기)과 저장 (DB 커넥션 없이 처리)
+            imageUrl = fileUploader.upload(spooled, relativePath);
+            // 2. 짧은 트랜잭션에서 개수를 다시 확인하고 등록
+            UserImageEntity image = userImageService.registerUploadedImage(job.userId, imageUrl);
+            finish(uploadId, job, ImageUploadStatusResponseDto.completed(uploadId, image));
+        } catch (CustomException e) {
+            release(imageUrl);
+            finish(uploadId, job, ImageUploadStatusResponseDto.failed(uploadId, e.getErrorCode(), e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Async upload {} failed", uploadId, e);
+            release(imageUrl);
+            finish(uploadId, job, ImageUploadStatusResponseDto.failed(uploadId, ErrorCode.FILE_UPLOAD_ERROR,
+                    ErrorCode.FILE_UPLOAD_ERROR.getMessage()));
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    private void finish(String uploadId, UploadJob job, ImageUploadStatusResponseDto status) {
+        job.status = status;
+        // 다른 서버가 알림을 받고 읽을 수 있도록 Redis에 먼저 기록한 뒤 알립니다.
+        store(uploadId, job.userId, status, resultRetention);
+        notifySubscribers(uploadId, status);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, uploadId);
+        } catch (Exception e) {
+            // 다른 서버의 구독은 시간 초과로 끝나고, 클라이언트는 상태 조회로 결과를 확인합니다.
+            log.warn("Failed to publish upload {} completion: {}", uploadId, e.getMessage());
+        }
+        timer.schedule(() -> jobs.remove(uploadId, job), resultRetention.toMillis());
+    }
+
+    private void notifySubscribers(String uploadId, ImageUploadStatusResponseDto status) {
+        CopyOnWriteArrayList<SseEmitter> emitters = subscribers.remove(uploadId);
+        if (emitters != null) {
+            emitters.forEach(emitter -> sendAndComplete(emitter, status));
+        }
+    }
+
+    private void removeSubscriber(String uploadId, SseEmitter emitter) {
+        subscribers.computeIfPresent(uploadId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private void store(String uploadId, Long userId, ImageUploadStatusResponseDto status, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + uploadId,
+                    mapper.writeValueAsString(StoredStatus.of(userId, status)), ttl);
+        } catch (Exception e) {
+            log.warn("Failed to store upload {} status: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private StoredStatus load(String uploadId) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + uploadId);
+            return value != null ? mapper.readValue(value, StoredStatus.class) : null;
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed upload {} status", uploadId);
+            return null;
+        } catch (Exception e) {
+            log.warn("Failed to load upload {} status: {}", uploadId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void deleteStored(String uploadId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + uploadId);
+        } catch (Exception e) {
+            log.warn("Failed to delete upload {} status: {}", uploadId, e.getMessage());
+        }
+    }
+
+    // 저장은 되었지만 등록하지 못한 파일의 참조를 해제합니다.
+    private void release(String imageUrl) {
+        if (imageUrl == null) {
+            return;
+        }
+        try {
+            fileUploader.delete(imageUrl);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release unregistered upload {}: {}", imageUrl, e.getMessage());
+        }
+    }
+
+    private static boolean send(SseEmitter emitter, ImageUploadStatusResponseDto status) {
+        try {
+            emitter.send(SseEmitter.event().name(SSE_EVENT_NAME).data(status));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊었거나 시간 초과로 이미 끝난 구독
+            log.debug("Failed to send upload status {}: {}", status.getUploadId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static void sendAndComplete(SseEmitter emitter, ImageUploadStatusResponseDto status) {
+        if (send(emitter, status)) {
+            emitter.complete();
+        }
+    }
+
+    // lock을 잡을 수 있는 하위 디렉터리는 주인 서버가 종료된 것이므로 남은 임시 파일과 함께 삭제합니다.
+    private static void deleteAbandonedSpools(Path spoolRoot) {
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(spoolRoot, SPOOL_DIRECTORY_PREFIX + "*")) {
+            for (Path directory : directories) {
+                Path lockFile = directory.resolve(SPOOL_LOCK_FILE);
+                if (LOCKED_SPOOLS.contains(directory) || !Files.exists(lockFile)) {
+                    continue; // 이 JVM에서 사용 중이거나 다른 서버가 만드는 중
+                }
+                boolean abandoned;
+                try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE);
+                        FileLock lock = channel.tryLock()) {
+                    abandoned = lock != null; // null: 다른 서버가 사용 중
+                    if (abandoned) {
+                        deleteSpooledFiles(directory);
+                    }
+                } catch (OverlappingFileLockException e) {
+                    abandoned = false; // 같은 JVM의 다른 인스턴스가 사용 중
+                }
+                if (abandoned) {
+                    Files.deleteIfExists(lockFile);
+                    Files.deleteIfExists(directory);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up spooled uploads in {}: {}", spoolRoot, e.getMessage());
+        }
+    }
+
+    private static void deleteSpooledFiles(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SPOOL_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled upload {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 처리하지 못한 임시 파일은 lock을 푼 뒤 다음에 기동하는 서버가 삭제합니다.
+        executor.shutdownNow();
+        timer.close();
+        try {
+            spoolLock.release();
+            spoolLockChannel.close();
+            LOCKED_SPOOLS.remove(spoolDirectory);
+        } catch (IOException e) {
+            log.warn("Failed to release spool directory lock {}: {}", spoolDirectory, e.getMessage());
+        }
+    }
+
+    private static final class UploadJob {
+        private final Long userId;
+        private volatile ImageUploadStatusResponseDto status;
+
+        private UploadJob(Long userId, ImageUploadStatusResponseDto status) {
+            this.userId = userId;
+            this.status = status;
+        }
+    }
+
+    // Redis에 저장하는 업로드 상태 (업로드 ID는 key에 있음)
+    private record StoredStatus(Long userId, ImageUploadState state, Long imageId, String imageUrl,
+            Boolean isMainImage, String errorCode, String message) {
+
+        private static StoredStatus of(Long userId, ImageUploadStatusResponseDto status) {
+            return new StoredStatus(userId, status.getState(), status.getImageId(), status.getImageUrl(),
+                    status.getIsMainImage(), status.getErrorCode(), status.getMessage());
+        }
+
+        private ImageUploadStatusResponseDto toDto(String uploadId) {
+            return new ImageUploadStatusResponseDto(uploadId, state, imageId, imageUrl, isMainImage, errorCode,
+                    message);
+        }
+    }
+}
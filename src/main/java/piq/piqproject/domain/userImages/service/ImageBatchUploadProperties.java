@@ -0,0 +1,18 @@
+package piq.piqproject.domain.userimages.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("images.batch-upload") // application.properties에서 images.batch-upload접두사 속성을 class의 필드에 매핑
+public class ImageBatchUploadProperties {
+    // 일괄 업로드의 파일을 나누어 저장하는 스레드 수 (모든 일괄 업로드 요청이 함께 사용)
+    private int workers = 4;
+    // 저장을 기다리는 최대 파일 수 (가득 차면 요청 전체를 503으로 거절)
+    private int queueCapacity = 60;
+}
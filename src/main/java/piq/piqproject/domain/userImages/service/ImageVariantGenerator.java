@@ -0,0 +1,239 @@
+package piq.piqproject.domain.userimages.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import piq.piqproject.domain.userimages.enums.ImageVariant;
+
+/**
+ * 원본 이미지에서 ImageVariant별 JPEG를 만듭니다. JDK(ImageIO, Java2D)만 사용합니다.
+ * <p>
+ * - 메타데이터 제거: 디코딩한 픽셀만 새 JPEG로 인코딩하므로 EXIF(GPS 위치, 기기 정보 등)는 남지 않습니다.
+ * 대신 EXIF의 회전 정보(Orientation)는 먼저 읽어 픽셀에 적용하므로, 휴대폰 사진이 옆으로 눕지 않습니다.
+ * <p>
+ * - 메모리: 픽셀 수가 max-source-pixels를 넘는 원본은 디코딩하지 않습니다. 가장 큰 변형보다 훨씬 큰 원본은
+ * 디코딩할 때부터 subsampling하여 읽으므로, 4800만 화소 사진도 전체 해상도로 메모리에 올리지 않습니다.
+ * <p>
+ * - 화질: 한 번에 크게 줄이면 계단 현상이 생기므로, 목표 크기의 2배 안쪽이 될 때까지 절반씩 줄인 뒤 마지막에 bicubic으로 맞춥니다.
+ * <p>
+ * 상태가 없으므로 여러 스레드에서 함께 사용할 수 있습니다. (ImageReader/Writer는 호출마다 새로 생성)
+ */
+public class ImageVariantGenerator {
+
+    private static final ImageVariant[] VARIANTS = ImageVariant.values();
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    private final long maxSourcePixels;
+
+    public ImageVariantGenerator(long maxSourcePixels) {
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    /**
+     * @param original 원본 파일의 내용
+     * @return 변형별 JPEG 내용
+     * @throws IOException 디코딩할 수 없는 형식(예: WebP)이거나 픽셀 수가 너무 많은 경우
+     */
+    public Map<ImageVariant, byte[]> generate(byte[] original) throws IOException {
+        BufferedImage decoded = decode(original);
+        int orientation = readExifOrientation(original);
+
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+        // 큰 변형부터 만들고, 작은 변형은 직전 결과에서 줄여 반복 작업을 줄입니다.
+        BufferedImage source = decoded;
+        for (int i = VARIANTS.length - 1; i >= 0; i--) {
+            ImageVariant variant = VARIANTS[i];
+            BufferedImage resized = resize(source, variant.getMaxEdge());
+            variants.put(variant, encodeJpeg(orient(resized, orientation), variant.getQuality()));
+            source = resized;
+        }
+        return variants;
+    }
+
+    private BufferedImage decode(byte[] original) throws IOException {
+        // ImageIO.createImageInputStream()은 기본 설정에서 임시 파일을 만들므로, 메모리 버퍼 스트림을 직접 사용합니다.
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("no image reader for this format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                // 메타데이터는 읽지 않습니다. (회전 정보는 readExifOrientation()에서 따로 읽음)
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    throw new IOException("image has too many pixels: " + width + "x" + height);
+                }
+                // 가장 큰 변형의 2배 이상은 남도록 건너뛰며 읽습니다.
+                int step = Math.max(1, Math.max(width, height) / (2 * largestEdge()));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static int largestEdge() {
+        int largest = 0;
+        for (ImageVariant variant : VARIANTS) {
+            largest = Math.max(largest, variant.getMaxEdge());
+        }
+        return largest;
+    }
+
+    // 긴 변을 maxEdge 이하로 줄이고, 투명 영역은 흰색으로 채운 RGB 이미지를 반환합니다. (JPEG는 alpha를 지원하지 않음)
+    static BufferedImage resize(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, null,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        return draw(current, targetWidth, targetHeight, null, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    }
+
+    // EXIF Orientation(1~8)에 맞게 뒤집거나 회전합니다.
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        // AffineTransform(m00, m10, m01, m11, m02, m12): x' = m00*x + m01*y + m02, y' = m10*x + m11*y + m12
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0); // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h); // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h); // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0); // 대각선 반전
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0); // 시계 방향 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w); // 반대 대각선 반전
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w); // 시계 방향 270도
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+        boolean swap = orientation >= 5;
+        return draw(source, swap ? h : w, swap ? w : h, transform,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, AffineTransform transform,
+            Object interpolation) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (transform == null) {
+                graphics.drawImage(source, 0, 0, width, height, null);
+            } else {
+                graphics.drawImage(source, transform, null);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // 메타데이터 없이(IIOImage의 metadata = null) 인코딩하므로 JFIF 헤더만 기록됩니다.
+    static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * JPEG의 EXIF(APP1) 세그먼트에서 Orientation 값을 읽습니다.
+     *
+     * @return 1~8 (JPEG가 아니거나 값이 없으면 1)
+     */
+    static int readExifOrientation(byte[] jpeg) {
+        if (jpeg.length < 4 || (jpeg[0] & 0xFF) != 0xFF || (jpeg[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(jpeg);
+        int offset = 2;
+        try {
+            while (offset + 4 <= jpeg.length && (jpeg[offset] & 0xFF) == 0xFF) {
+                int marker = jpeg[offset + 1] & 0xFF;
+                int length = buffer.getShort(offset + 2) & 0xFFFF;
+                // SOS 이후는 이미지 데이터이므로 더 볼 필요가 없습니다.
+                if (marker == 0xDA) {
+                    break;
+                }
+                if (marker == 0xE1 && length >= 8 && startsWithExif(jpeg, offset + 4)) {
+                    return orientationFromTiff(buffer, offset + 10, offset + 2 + length);
+                }
+                offset += 2 + length;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // 잘린 세그먼트는 무시합니다.
+        }
+        return 1;
+    }
+
+    private static boolean startsWithExif(byte[] data, int offset) {
+        return offset + 6 <= data.length && data[offset] == 'E' && data[offset + 1] == 'x' && data[offset + 2] == 'i'
+                && data[offset + 3] == 'f' && data[offset + 4] == 0 && data[offset + 5] == 0;
+    }
+
+    // TIFF 헤더(바이트 순서, 42, IFD0 위치) 뒤의 IFD0에서 Orientation 태그를 찾습니다.
+    private static int orientationFromTiff(ByteBuffer buffer, int tiffStart, int segmentEnd) {
+        ByteBuffer tiff = buffer.duplicate();
+        byte first = tiff.get(tiffStart);
+        tiff.order(first == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiffStart + tiff.getInt(tiffStart + 4);
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > segmentEnd) {
+                break;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == EXIF_ORIENTATION_TAG) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+}
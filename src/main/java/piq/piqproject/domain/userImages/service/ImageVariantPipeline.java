@@ -0,0 +1,201 @@
+package piq.piqproject.domain.userimages.service;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.file.FileUploader;
+import piq.piqproject.common.file.ImageFormat;
+import piq.piqproject.domain.userimages.entity.UserImageEntity;
+import piq.piqproject.domain.userimages.enums.ImageVariant;
+import piq.piqproject.domain.userimages.event.UserImageUploadedEvent;
+import piq.piqproject.domain.userimages.repository.UserImageRepository;
+import piq.piqproject.domain.users.event.UserProfileChangedEvent;
+
+/**
+ * 업로드가 커밋된 뒤, 원본에서 썸네일/피드/상세용 변형 이미지를 만들어 원본 옆에 저장하고 URL을 기록합니다.
+ * 피드는 수 MB짜리 원본 대신 피드용 변형(feedUrl)을 내려줍니다.
+ * <p>
+ * - 격리: 디코딩/리사이즈는 CPU와 메모리를 많이 사용하므로 images.variants.workers개의 전용 스레드에서만 실행하고,
+ * 대기열(queue-capacity)이 가득 차면 건너뜁니다. 업로드 요청은 변형 생성을 기다리지 않습니다.
+ * <p>
+ * - 중복 제거: 같은 내용의 원본은 같은 URL이므로, 이미 변형을 만든 이미지가 있으면 그 URL을 그대로 사용합니다.
+ * <p>
+ * - 재시도: 만들지 못한 이미지(대기열 초과, 저장 실패, 종료)는 thumbnailUrl이 null로 남고, 다음 기동 때 다시 등록합니다.
+ * 기동 시에는 id 순서로 끝까지(keyset) 훑으며 대기열에 자리가 날 때마다 등록하므로, 계속 실패하는 행이 뒤의 행을 막지 않습니다.
+ * <p>
+ * - 영구 실패: 디코딩할 수 없는 원본(WebP 등)이나 원본 파일이 없는 이미지(옛 URL 등)는 변형 URL에 원본을 기록하여 반복하지 않습니다.
+ */
+@Slf4j
+@Service
+public class ImageVariantPipeline {
+
+    // 기동 시 다시 등록할 때 대기열에서 비워둘 비율 (새 업로드용)과 자리가 나길 기다리는 간격
+    private static final int RESUME_RESERVED_DIVISOR = 2;
+    private static final long RESUME_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final UserImageRepository userImageRepository;
+    private final FileUploader fileUploader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageVariantGenerator generator;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+
+    public ImageVariantPipeline(UserImageRepository userImageRepository, FileUploader fileUploader,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+            ImageVariantProperties properties) {
+        this.userImageRepository = userImageRepository;
+        this.fileUploader = fileUploader;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.generator = new ImageVariantGenerator(properties.getMaxSourcePixels());
+        this.queueCapacity = properties.getQueueCapacity();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // 대기열이 가득 차면 RejectedExecutionException
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onImageUploaded(UserImageUploadedEvent event) {
+        submit(event);
+    }
+
+    // 이전 실행에서 만들지 못한 변형을 다시 등록합니다. 오래 걸릴 수 있으므로 별도 스레드에서 훑습니다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        Thread.ofPlatform().daemon().name("image-variant-resume").start(this::resumeAll);
+    }
+
+    // id 순서로 끝까지 훑으며, 대기열이 절반 이상 비어 있을 때만 등록합니다. (나머지 절반은 새 업로드용)
+    private void resumeAll() {
+        long afterId = 0;
+        int resubmitted = 0;
+        try {
+            while (!executor.isShutdown()) {
+                List<UserImageUploadedEvent> page = userImageRepository.findWithoutVariantsAfter(afterId,
+                        Limit.of(queueCapacity));
+                if (page.isEmpty()) {
+                    return;
+                }
+                for (UserImageUploadedEvent event : page) {
+                    while (executor.getQueue().remainingCapacity() < queueCapacity / RESUME_RESERVED_DIVISOR) {
+                        if (executor.isShutdown()) {
+                            return;
+                        }
+                        LockSupport.parkNanos(RESUME_WAIT_NANOS);
+                    }
+                    submit(event);
+                    afterId = event.imageId();
+                    resubmitted++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to resume pending image variants after image {}: {}", afterId, e.getMessage());
+        } finally {
+            if (resubmitted > 0) {
+                log.info("Resubmitted {} images without variants", resubmitted);
+            }
+        }
+    }
+
+    private void submit(UserImageUploadedEvent event) {
+        try {
+            executor.execute(() -> process(event));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant queue is full, skipping image {} until next startup", event.imageId());
+        }
+    }
+
+    private void process(UserImageUploadedEvent event) {
+        try {
+            VariantUrls urls = userImageRepository.findFirstByImageUrlAndThumbnailUrlIsNotNull(event.imageUrl())
+                    .map(VariantUrls::of)
+                    .orElse(null);
+            if (urls == null) {
+                urls = generate(event.imageUrl());
+            }
+
+            // 파일 작업이 모두 끝난 뒤 짧은 트랜잭션에서 URL만 기록합니다.
+            VariantUrls saved = urls;
+            Integer updated = transactionTemplate.execute(status -> userImageRepository.updateVariants(
+                    event.imageId(), saved.thumbnail(), saved.feed(), saved.full()));
+            if (updated != null && updated > 0) {
+                eventPublisher.publishEvent(new UserProfileChangedEvent(event.userId()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to create variants of image {}: {}", event.imageId(), e.getMessage());
+        }
+    }
+
+    // 변형을 만들어 저장하고 URL을 반환합니다. 원본이 없거나 디코딩할 수 없으면 모든 변형 URL에 원본을 기록합니다.
+    // (그 외 IOException은 thumbnailUrl을 null로 남겨 다음 기동 때 다시 시도)
+    private VariantUrls generate(String imageUrl) throws IOException {
+        byte[] original;
+        try {
+            original = fileUploader.read(imageUrl);
+        } catch (NoSuchFileException e) {
+            log.info("Original of image {} does not exist, using the original URL for all variants", imageUrl);
+            return new VariantUrls(imageUrl, imageUrl, imageUrl);
+        }
+        Map<ImageVariant, byte[]> variants;
+        try {
+            variants = generator.generate(original);
+        } catch (IOException | RuntimeException e) {
+            log.info("Image {} cannot be decoded, using the original for all variants: {}", imageUrl, e.getMessage());
+            return new VariantUrls(imageUrl, imageUrl, imageUrl);
+        }
+
+        Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+        for (Map.Entry<ImageVariant, byte[]> variant : variants.entrySet()) {
+            String url = fileUploader.uploadVariant(imageUrl, variant.getKey().getSuffix(), ImageFormat.JPEG,
+                    variant.getValue());
+            if (url == null) {
+                // 그 사이 원본이 삭제됨 (행도 삭제되었다면 아래 UPDATE는 0건)
+                return new VariantUrls(imageUrl, imageUrl, imageUrl);
+            }
+            urls.put(variant.getKey(), url);
+        }
+        return new VariantUrls(urls.get(ImageVariant.THUMBNAIL), urls.get(ImageVariant.FEED),
+                urls.get(ImageVariant.FULL));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 남은 작업은 thumbnailUrl이 null로 남아 다음 기동 때 다시 등록됩니다.
+        executor.shutdownNow();
+    }
+
+    private record VariantUrls(String thumbnail, String feed, String full) {
+        private static VariantUrls of(UserImageEntity image) {
+            return new VariantUrls(image.getThumbnailUrl(), image.getFeedUrl(), image.getFullUrl());
+        }
+    }
+}
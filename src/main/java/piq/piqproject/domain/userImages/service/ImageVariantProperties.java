@@ -0,0 +1,20 @@
+package piq.piqproject.domain.userimages.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("images.variants") // application.properties에서 images.variants접두사 속성을 class의 필드에 매핑
+public class ImageVariantProperties {
+    // 변형 이미지를 만드는 스레드 수 (디코딩/리사이즈는 CPU와 메모리를 많이 사용하므로 작게 유지)
+    private int workers = 2;
+    // 처리를 기다리는 최대 작업 수 (가득 차면 건너뛰고, 다음 기동 때 다시 등록)
+    private int queueCapacity = 500;
+    // 이보다 픽셀 수가 많은 원본은 디코딩하지 않음 (압축 폭탄 방지)
+    private long maxSourcePixels = 50_000_000L;
+}
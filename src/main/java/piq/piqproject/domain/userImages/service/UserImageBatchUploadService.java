@@ -0,0 +1,226 @@
+package piq.piqproject.domain.userimages.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.CustomException;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InternalServerException;
+import piq.piqproject.common.error.exception.InvalidRequestException;
+import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.common.error.exception.ServiceUnavailableException;
+import piq.piqproject.common.file.FileUploader;
+import piq.piqproject.common.file.FileUtil;
+import piq.piqproject.domain.userimages.dto.UserImageResponseDto;
+import piq.piqproject.domain.userimages.event.UserImageUploadedEvent;
+import piq.piqproject.domain.userimages.repository.UserImageBatchWriter;
+import piq.piqproject.domain.userimages.repository.UserImageRepository;
+import piq.piqproject.domain.users.entity.UserEntity;
+import piq.piqproject.domain.users.event.UserProfileChangedEvent;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+/**
+ * 여러 장의 이미지를 한 번의 요청으로 업로드합니다. (가입 직후 프로필 사진 등록)
+ * <p>
+ * - 검증: 파일 형식을 먼저 모두 확인하고, 이미지 개수는 올릴 장수와 합쳐 확인합니다. (저장 전에 거절하기 위한 확인)
+ * <p>
+ * - 저장: 파일은 images.batch-upload.workers개의 스레드에서 나누어 동시에 저장합니다. 트랜잭션 밖에서 저장하므로
+ * 파일을 기록하는 동안 DB 커넥션을 잡지 않습니다.
+ * <p>
+ * - 등록: 짧은 트랜잭션 하나에서 사용자 행을 잠그고(SELECT ... FOR UPDATE) 개수와 대표 이미지 여부를 다시 확인한 뒤,
+ * 모든 행을 JDBC batch insert 한 번으로 저장합니다. 같은 사용자의 다른 업로드는 잠금이 풀릴 때까지 기다리므로
+ * 최대 개수를 넘거나 대표 이미지가 두 장이 되지 않습니다.
+ * <p>
+ * - 전부 또는 전무: 파일 하나라도 저장하지 못하거나 등록에 실패하면, 이미 저장한 파일의 참조를 모두 해제하고 요청 전체를 실패로 응답합니다.
+ */
+@Slf4j
+@Service
+public class UserImageBatchUploadService {
+
+    private final UserImageRepository userImageRepository;
+    private final UserRepository userRepository;
+    private final UserImageBatchWriter userImageBatchWriter;
+    private final FileUploader fileUploader;
+    private final FileUtil fileUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    public UserImageBatchUploadService(UserImageRepository userImageRepository, UserRepository userRepository,
+            UserImageBatchWriter userImageBatchWriter, FileUploader fileUploader, FileUtil fileUtil,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+            ImageBatchUploadProperties properties) {
+        this.userImageRepository = userImageRepository;
+        this.userRepository = userRepository;
+        this.userImageBatchWriter = userImageBatchWriter;
+        this.fileUploader = fileUploader;
+        this.fileUtil = fileUtil;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-batch-upload-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // 대기열이 가득 차면 RejectedExecutionException
+    }
+
+    /**
+     * 이미지를 모두 저장하고 사용자의 이미지로 등록합니다. 대표 이미지가 없으면 첫 번째 이미지가 대표 이미지가 됩니다.
+     *
+     * @param user       현재 인증된 사용자
+     * @param imageFiles 업로드할 이미지 파일 (이 순서대로 등록)
+     * @return 등록된 이미지 (imageFiles와 같은 순서)
+     * @throws InvalidRequestException     이미지 파일이 아닌 것이 있는 경우 (INVALID_IMAGE_FILE)
+     * @throws InternalServerException     등록하면 최대 개수를 넘는 경우 (FILE_NUMBER_EXCEEDED)
+     * @throws ServiceUnavailableException 저장을 기다리는 파일이 queue-capacity를 넘은 경우 (IMAGE_UPLOAD_BUSY)
+     */
+    public List<UserImageResponseDto> uploadImages(UserEntity user, List<MultipartFile> imageFiles) {
+        // 1. 검증: 파일 형식, 이미지 개수 (파일을 저장하기 전에 거절, 등록할 때 잠근 뒤 다시 확인)
+        for (MultipartFile imageFile : imageFiles) {
+            if (!fileUtil.isImageFile(imageFile)) {
+                throw new InvalidRequestException(ErrorCode.INVALID_IMAGE_FILE);
+            }
+        }
+        validateImageCount(user, imageFiles.size());
+
+        // 2. 파일 저장 (병렬, 트랜잭션 밖)
+        List<String> imageUrls = storeAll(imageFiles);
+
+        // 3. DB 등록 (트랜잭션 하나, batch insert 한 번)
+        try {
+            return transactionTemplate.execute(status -> register(user, imageUrls));
+        } catch (CustomException e) {
+            releaseAll(imageUrls);
+            throw e;
+        } catch (RuntimeException e) {
+            releaseAll(imageUrls);
+            log.error("Failed to register {} uploaded images of user {}", imageUrls.size(), user.getId(), e);
+            throw new InternalServerException(ErrorCode.FILE_UPLOAD_ERROR, "이미지 등록 실패");
+        }
+    }
+
+    private List<String> storeAll(List<MultipartFile> imageFiles) {
+        List<Future<String>> futures = new ArrayList<>(imageFiles.size());
+        RuntimeException failure = null;
+        for (MultipartFile imageFile : imageFiles) {
+            String relativePath = fileUtil.createDirectoryPath() + "/"
+                    + fileUtil.createUniqueFileName(imageFile.getOriginalFilename());
+            try {
+                futures.add(executor.submit(() -> fileUploader.upload(imageFile, relativePath)));
+            } catch (RejectedExecutionException e) {
+                log.warn("Image batch upload queue is full, rejecting {} files", imageFiles.size());
+                failure = new ServiceUnavailableException(ErrorCode.IMAGE_UPLOAD_BUSY);
+                break;
+            }
+        }
+
+        // 하나가 실패해도 이미 시작한 저장은 모두 기다려야, 저장된 파일을 빠짐없이 해제할 수 있습니다.
+        List<String> imageUrls = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            try {
+                imageUrls.add(await(future));
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause
+                            : new InternalServerException(ErrorCode.FILE_UPLOAD_ERROR);
+                }
+            } catch (CancellationException e) {
+                // 서버 종료로 실행되지 못한 저장
+                if (failure == null) {
+                    failure = new ServiceUnavailableException(ErrorCode.IMAGE_UPLOAD_BUSY);
+                }
+            }
+        }
+        if (failure != null) {
+            releaseAll(imageUrls);
+            throw failure;
+        }
+        return imageUrls;
+    }
+
+    private List<UserImageResponseDto> register(UserEntity user, List<String> imageUrls) {
+        // 같은 사용자의 등록을 직렬화한 뒤, 저장하는 동안 바뀌었을 수 있는 개수와 대표 이미지 여부를 다시 확인
+        userRepository.findByIdForUpdate(user.getId())
+                .orElseThrow(() -> new NotFoundException(ErrorCode.NOT_FOUND_USER));
+        validateImageCount(user, imageUrls.size());
+
+        // 현재 대표 이미지가 없는 경우, 첫 번째 이미지를 대표 이미지로 설정
+        boolean hasMain = userImageRepository.existsByUserAndIsMainImage(user, true);
+        int mainIndex = hasMain ? -1 : 0;
+        List<Long> imageIds = userImageBatchWriter.insert(user.getId(), imageUrls, mainIndex);
+
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId()));
+        List<UserImageResponseDto> images = new ArrayList<>(imageIds.size());
+        for (int i = 0; i < imageIds.size(); i++) {
+            // 커밋 후 ImageVariantPipeline이 변형 이미지를 만듭니다.
+            eventPublisher.publishEvent(new UserImageUploadedEvent(imageIds.get(i), user.getId(), imageUrls.get(i)));
+            images.add(UserImageResponseDto.builder()
+                    .imageId(imageIds.get(i))
+                    .imageUrl(imageUrls.get(i))
+                    .isMainImage(i == mainIndex)
+                    .build());
+        }
+        return images;
+    }
+
+    private void validateImageCount(UserEntity user, int adding) {
+        if (userImageRepository.countByUser(user) + adding > UserImageService.MAX_IMAGE_COUNT) {
+            throw new InternalServerException(ErrorCode.FILE_NUMBER_EXCEEDED);
+        }
+    }
+
+    private void releaseAll(List<String> imageUrls) {
+        for (String imageUrl : imageUrls) {
+            try {
+                fileUploader.delete(imageUrl);
+            } catch (RuntimeException e) {
+                log.warn("Failed to release unregistered upload {}: {}", imageUrl, e.getMessage());
+            }
+        }
+    }
+
+    // 인터럽트되어도 저장이 끝날 때까지 기다립니다. (기다리지 않으면 저장된 파일을 해제할 수 없음)
+    private static String await(Future<String> future) throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 대기열에서 꺼내지 못한 저장을 취소해야, 결과를 기다리는 요청 스레드가 끝납니다.
+        executor.shutdownNow().forEach(task -> ((Future<?>) task).cancel(false));
+    }
+}
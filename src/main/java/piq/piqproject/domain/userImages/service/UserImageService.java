@@ -2,48 +2,60 @@ package piq.piqproject.domain.userimages.service;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import piq.piqproject.common.error.exception.ErrorCode;
 import piq.piqproject.common.error.exception.InternalServerException;
+import piq.piqproject.common.error.exception.InvalidRequestException;
 import piq.piqproject.common.error.exception.NotFoundException;
 import piq.piqproject.common.error.exception.UnauthorizedException;
 import piq.piqproject.common.file.FileUploader;
 import piq.piqproject.common.file.FileUtil;
 import piq.piqproject.domain.userimages.entity.UserImageEntity;
+import piq.piqproject.domain.userimages.event.UserImageUploadedEvent;
 import piq.piqproject.domain.userimages.repository.UserImageRepository;
 import piq.piqproject.domain.users.entity.UserEntity;
+import piq.piqproject.domain.users.event.UserProfileChangedEvent;
+import piq.piqproject.domain.users.repository.UserRepository;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserImageService {
 
     private final UserImageRepository userImageRepository;
+    private final UserRepository userRepository;
     private final FileUploader fileUploader; // LocalUploader 또는 S3Uploader가 주입
     private final FileUtil fileUtil;
+    private final ApplicationEventPublisher eventPublisher; // 커밋 후 프로필 캐시 무효화
 
-    private static final int MAX_IMAGE_COUNT = 6; // 비즈니스 규칙: 사용자당 최대 이미지 개수
+    static final int MAX_IMAGE_COUNT = 6; // 비즈니스 규칙: 사용자당 최대 이미지 개수 (일괄 업로드에서도 사용)
 
     /**
      * 사용자의 이미지를 업로드합니다.
      */
     @Transactional
     public void uploadImage(UserEntity user, MultipartFile imageFile) {
-        // 1. 비즈니스 규칙 검증: 이미지 개수 제한
+        // 1. 비즈니스 규칙 검증: 이미지 개수 제한 (일괄 업로드와 같이 사용자 행을 잠근 뒤 확인)
+        lockUser(user.getId());
         validateImageCount(user);
 
-        // 2. 파일 유효성 검증: 이미지 파일인지 확인
+        // 2. 파일 유효성 검증: 이미지 파일인지 확인 (실제 형식은 저장하면서 magic bytes로 다시 확인)
         if (!fileUtil.isImageFile(imageFile)) {
-            throw new InternalServerException(ErrorCode.FILE_UPLOAD_ERROR, " 이미지 파일이 아닙니다.");
+            throw new InvalidRequestException(ErrorCode.INVALID_IMAGE_FILE);
         }
 
         // 3. 파일 경로/이름 생성
         // fullPath는 루트에서부터가 아닌 사진을 저장하기로한 최상위 디렉토리까지만을 의미한다.
-        // 저장위치의 최상위 C:/는 FileUploader가 관리한다.
+        // 저장위치의 최상위(storage.local.root)는 FileUploader가 관리한다.
         String directoryPath = fileUtil.createDirectoryPath();
         String fileName = fileUtil.createUniqueFileName(imageFile.getOriginalFilename());
         String relativePath = directoryPath + "/" + fileName;
@@ -52,9 +64,37 @@ public class UserImageService {
         // fullPath는 절대경로가 아님을 유의, 실제 저장 위치는 FileUploader 구현체에 따라 다름
         // fullPath 예시: /images/2025/09/17/~~~~.jpg
         // imageUrl은 절대경로가된다.
+        // LocalUploader는 내용의 해시로 경로를 정하므로, 같은 사진은 한 번만 저장되고 같은 URL을 받는다.
         String imageUrl = fileUploader.upload(imageFile, relativePath);
+        // 파일의 참조 수는 이미 늘었으므로, INSERT 등이 실패해 롤백되면 참조를 해제합니다.
+        releaseOnRollback(imageUrl);
 
         // 5. DB에 이미지 정보 저장
+        saveImage(user, imageUrl);
+    }
+
+    /**
+     * 이미 저장된 파일을 사용자의 이미지로 등록합니다. (비동기 업로드의 마지막 단계)
+     * 파일 저장이 끝난 뒤에 호출되므로, 트랜잭션(DB 커넥션)은 개수 확인과 INSERT 동안만 유지됩니다.
+     *
+     * @param userId   이미지 소유자의 ID (등록하는 동안 사용자 행을 잠금)
+     * @param imageUrl FileUploader가 반환한 URL
+     * @return 저장된 이미지
+     */
+    @Transactional
+    public UserImageEntity registerUploadedImage(Long userId, String imageUrl) {
+        UserEntity user = lockUser(userId);
+        validateImageCount(user);
+        return saveImage(user, imageUrl);
+    }
+
+    // 같은 사용자의 이미지 등록을 직렬화합니다. (SELECT ... FOR UPDATE, 개수와 대표 이미지 확인이 어긋나지 않도록)
+    private UserEntity lockUser(Long userId) {
+        return userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.NOT_FOUND_USER));
+    }
+
+    private UserImageEntity saveImage(UserEntity user, String imageUrl) {
         // 현재 대표 이미지가 없는 경우, 이 이미지를 대표 이미지로 설정
         boolean isMain = !userImageRepository.existsByUserAndIsMainImage(user, true);
 
@@ -65,9 +105,18 @@ public class UserImageService {
                 .build();
 
         userImageRepository.save(newImage);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId()));
+        // 커밋 후 ImageVariantPipeline이 썸네일/피드/상세용 변형을 만듭니다. (응답은 기다리지 않음)
+        eventPublisher.publishEvent(new UserImageUploadedEvent(newImage.getImageId(), user.getId(), imageUrl));
+        return newImage;
     }
 
-    private void validateImageCount(UserEntity user) {
+    /**
+     * 비즈니스 규칙 검증: 사용자당 이미지 개수 제한
+     *
+     * @throws InternalServerException 이미 MAX_IMAGE_COUNT개의 이미지가 있는 경우 (FILE_NUMBER_EXCEEDED)
+     */
+    public void validateImageCount(UserEntity user) {
         long currentImageCount = userImageRepository.countByUser(user);
         if (currentImageCount >= MAX_IMAGE_COUNT) {
             throw new InternalServerException(ErrorCode.FILE_NUMBER_EXCEEDED);
@@ -93,15 +142,52 @@ public class UserImageService {
         // Step 2: 권한 검증 (Authorization)
         validateOwnership(user, imageToDelete);
 
-        // Step 3: 외부 스토리지의 물리적 파일 삭제
-        // TODO ※ 이 작업은 데이터베이스 트랜잭션의 롤백 대상이 아님
-        fileUploader.delete(imageToDelete.getImageUrl());
+        // Step 3: 외부 스토리지의 파일 참조 해제
+        // 롤백 대상이 아니므로 커밋된 뒤에 해제합니다. (롤백되면 행과 파일이 그대로 남음)
+        releaseAfterCommit(imageToDelete.getImageUrl());
 
         // Step 4: 데이터베이스에서 엔티티 삭제
         userImageRepository.delete(imageToDelete);
 
         // Step 5: 비즈니스 규칙 후처리 (Edge Case Handling)
         handleMainImageAfterDeletion(user, imageToDelete);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId()));
+    }
+
+    private void releaseOnRollback(String imageUrl) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(imageUrl);
+                }
+            }
+        });
+    }
+
+    private void releaseAfterCommit(String imageUrl) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            fileUploader.delete(imageUrl);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(imageUrl);
+            }
+        });
+    }
+
+    // 트랜잭션이 끝난 뒤에는 요청을 실패시킬 수 없으므로 로그만 남깁니다.
+    private void release(String imageUrl) {
+        try {
+            fileUploader.delete(imageUrl);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release image file {}: {}", imageUrl, e.getMessage());
+        }
     }
 
     /**
@@ -157,6 +243,7 @@ public class UserImageService {
         }
 
         newMainImage.setMainImage(true);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId()));
     }
 
 }
\ No newline at end of file
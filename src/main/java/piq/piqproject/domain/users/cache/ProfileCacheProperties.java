@@ -0,0 +1,22 @@
+package piq.piqproject.domain.users.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("users.profile-cache") // application.properties에서 users.profile-cache접두사 속성을 class의 필드에 매핑
+public class ProfileCacheProperties {
+    // 프로필 응답 캐시 사용 여부
+    private boolean enabled = true;
+    // 세그먼트 수 (락 경합을 줄이기 위해 나누는 단위)
+    private int segments = 16;
+    // 세그먼트별 direct memory 크기 (전체 사용량 = segments * segment-bytes)
+    private int segmentBytes = 4 * 1024 * 1024;
+    // 캐시할 응답의 최대 크기 (넘으면 캐시하지 않음)
+    private int maxEntryBytes = 64 * 1024;
+}
@@ -0,0 +1,143 @@
+package piq.piqproject.domain.users.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.cache.OffHeapByteCache;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InternalServerException;
+import piq.piqproject.domain.users.dto.response.UserProfileResponseDto;
+import piq.piqproject.domain.users.event.UserDeletedEvent;
+import piq.piqproject.domain.users.event.UserProfileChangedEvent;
+
+/**
+ * 공개 프로필 조회(/api/v1/users/profiles/{id}) 응답을 JSON 바이트로 캐시합니다.
+ * <p>
+ * - 조회: 캐시에 있으면 DB 조회와 Jackson 직렬화 없이 저장된 바이트를 그대로 응답합니다.
+ * 값은 OffHeapByteCache에 저장되어 프로필이 많아져도 힙 사용량이 늘지 않습니다.
+ * <p>
+ * - 무효화: 프로필/이미지 변경(UserProfileChangedEvent), 탈퇴(UserDeletedEvent)가 커밋된 후에 항목을 지우고,
+ * 다른 서버에도 Redis pub/sub으로 전파합니다. (커밋 전에 지우면 커밋 전의 값이 다시 캐시될 수 있음)
+ */
+@Slf4j
+@Component
+public class ProfileResponseCache implements MessageListener {
+
+    private static final String CHANNEL = "users:profile-invalidations";
+
+    private final ObjectMapper mapper;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final OffHeapByteCache cache; // 비활성화된 경우 null
+
+    public ProfileResponseCache(ProfileCacheProperties properties, ObjectMapper mapper,
+            StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry) {
+        this.mapper = mapper;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.cache = properties.isEnabled()
+                ? new OffHeapByteCache(properties.getSegments(), properties.getSegmentBytes(),
+                        properties.getMaxEntryBytes())
+                : null;
+
+        if (cache != null) {
+            Gauge.builder("users.profile.cache.size", cache, OffHeapByteCache::size).register(meterRegistry);
+            FunctionCounter.builder("users.profile.cache.hits", cache, OffHeapByteCache::hitCount)
+                    .register(meterRegistry);
+            FunctionCounter.builder("users.profile.cache.misses", cache, OffHeapByteCache::missCount)
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 캐시된 프로필 JSON을 반환하고, 없으면 loader로 조회하여 직렬화한 뒤 저장합니다.
+     *
+     * @param userId 조회할 사용자의 ID
+     * @param loader 캐시에 없을 때 프로필을 조회하는 함수 (없으면 NotFoundException)
+     * @return 프로필 응답 JSON (UTF-8)
+     */
+    public byte[] getOrLoad(Long userId, Supplier<UserProfileResponseDto> loader) {
+        if (cache == null) {
+            return serialize(loader.get());
+        }
+
+        byte[] cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 조회 전에 ticket을 받아두고, 조회 중에 무효화가 있었다면 저장하지 않습니다.
+        long ticket = cache.ticket(userId);
+        byte[] json = serialize(loader.get());
+        cache.put(userId, json, ticket);
+        return json;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        evictEverywhere(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        evictEverywhere(event.userId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            evict(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed profile invalidation message");
+        }
+    }
+
+    private void evictEverywhere(Long userId) {
+        evict(userId);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            // 전파에 실패하면 다른 서버는 해당 세그먼트가 교체될 때까지 이전 프로필을 응답할 수 있습니다.
+            log.warn("Failed to publish profile invalidation for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void evict(long userId) {
+        if (cache != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    private byte[] serialize(UserProfileResponseDto profile) {
+        try {
+            return mapper.writeValueAsBytes(profile);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize profile response", e);
+            throw new InternalServerException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
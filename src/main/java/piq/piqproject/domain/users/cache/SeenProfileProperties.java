@@ -0,0 +1,26 @@
+package piq.piqproject.domain.users.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("users.seen") // application.properties에서 users.seen접두사 속성을 class의 필드에 매핑
+public class SeenProfileProperties {
+    // 마지막으로 기록한 뒤 Redis에 보관하는 기간 (일)
+    private int ttlDays = 90;
+    // 로컬에 쌓인 기록을 Redis에 반영하는 간격 (ms)
+    private long flushIntervalMillis = 1000;
+    // 이 시간 동안 사용하지 않은 로컬 항목은 메모리에서 내림 (초)
+    private long idleEvictSeconds = 600;
+    // 로컬에 유지할 최대 사용자 수 (넘으면 반영이 끝난 항목부터 내림)
+    private int maxEntries = 100_000;
+    // 페이지 목록 조회 시 SQL NOT IN으로 제외할 최대 ID 수 (최근 가입자 ID부터)
+    private int maxSqlExclusions = 1000;
+    // 커서 피드에서 한 페이지를 채우기 위해 추가로 읽는 최대 횟수
+    private int maxScanRounds = 5;
+}
@@ -0,0 +1,309 @@
+package piq.piqproject.domain.users.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.domain.users.event.UserDeletedEvent;
+
+/**
+ * 사용자별로 이미 본 프로필(상세 조회, 좋아요/넘기기 등)의 ID 집합을 관리합니다. 피드/후보 조회에서 제외 조건으로 사용합니다.
+ * <p>
+ * - 저장: 사용자 ID(ordinal) 집합을 RoaringBitmap으로 압축하여 Redis에 사용자별 키 하나로 저장합니다.
+ * 오래 사용한 사용자도 본 프로필 수만큼의 long 목록이 아니라 수 KB 안팎의 비트맵 하나로 저장됩니다.
+ * <p>
+ * - write-back: 기록은 로컬 비트맵에만 추가하고 요청은 바로 반환합니다. 전용 스레드가 flush-interval-millis마다
+ * 반영되지 않은 기록을 Redis 값과 합쳐(WATCH/MULTI로 다른 서버의 기록을 덮어쓰지 않음) 저장하고,
+ * 그 과정에서 읽은 다른 서버의 기록도 로컬에 합칩니다.
+ * <p>
+ * - 조회: 로컬에 없으면 Redis에서 한 번 읽어 올려두고, 오래 사용하지 않은 항목은 메모리에서 내립니다.
+ * Redis에 연결할 수 없으면 빈 집합으로 올려두어 피드 조회는 실패하지 않고(제외만 적용되지 않음), 그동안의 기록도
+ * 로컬에 쌓아 둡니다. Redis가 돌아오면 다음 반영 주기에 저장된 값을 읽어 합칩니다.
+ * <p>
+ * - 크기 제한: max-entries를 넘으면 반영이 끝난 항목부터 내리고, Redis 장애로 반영하지 못한 항목이 쌓여 그래도 넘치면
+ * 반영하지 못한 기록을 버리고 내립니다. (본 프로필이 다시 보일 뿐이므로 메모리 보호를 우선)
+ */
+@Slf4j
+@Component
+public class SeenProfileStore {
+
+    private static final String KEY_PREFIX = "users:seen:";
+    private static final int MAX_MERGE_ATTEMPTS = 3;
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final long flushIntervalNanos;
+    private final long idleEvictMillis;
+    private final int maxEntries;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public SeenProfileStore(RedisTemplate<String, byte[]> redisTemplate, SeenProfileProperties properties,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofDays(properties.getTtlDays());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMillis());
+        this.idleEvictMillis = TimeUnit.SECONDS.toMillis(properties.getIdleEvictSeconds());
+        this.maxEntries = properties.getMaxEntries();
+        Gauge.builder("users.seen.local.size", entries, Map::size).register(meterRegistry);
+        this.flusher = Thread.ofPlatform().daemon().name("seen-profile-flusher").start(this::run);
+    }
+
+    /**
+     * 사용자가 본 프로필을 기록합니다. Redis에는 다음 반영 주기에 저장됩니다.
+     *
+     * @param userId     조회한 사용자의 ID
+     * @param profileIds 본 프로필의 사용자 ID 목록
+     */
+    public void markSeen(Long userId, Collection<Long> profileIds) {
+        if (profileIds.isEmpty()) {
+            return;
+        }
+        while (true) {
+            Entry entry = load(userId);
+            synchronized (entry) {
+                // 기록하는 사이 메모리에서 내려갔다면 다시 올려서 기록합니다.
+                if (entry.evicted) {
+                    continue;
+                }
+                for (Long profileId : profileIds) {
+                    int ordinal = ordinal(profileId);
+                    if (entry.seen.checkedAdd(ordinal)) {
+                        entry.pending.add(ordinal);
+                    }
+                }
+                entry.lastAccess = System.currentTimeMillis();
+                return;
+            }
+        }
+    }
+
+    public void markSeen(Long userId, Long profileId) {
+        markSeen(userId, List.of(profileId));
+    }
+
+    /**
+     * @return 사용자가 본 프로필 ID(ordinal) 집합 (호출자가 자유롭게 수정할 수 있는 복사본)
+     */
+    public RoaringBitmap seenBy(Long userId) {
+        Entry entry = load(userId);
+        synchronized (entry) {
+            entry.lastAccess = System.currentTimeMillis();
+            return entry.seen.clone();
+        }
+    }
+
+    // 탈퇴한 사용자의 기록을 지웁니다. (다른 사용자의 집합에 남은 ID는 더 이상 조회되지 않으므로 그대로 둠)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        Entry entry = entries.remove(event.userId());
+        if (entry != null) {
+            synchronized (entry) {
+                entry.evicted = true;
+                entry.pending = new RoaringBitmap();
+            }
+        }
+        try {
+            redisTemplate.delete(key(event.userId()));
+        } catch (DataAccessException e) {
+            log.warn("Failed to delete seen profiles of user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    // Redis 조회는 computeIfAbsent 밖에서 하여, 로딩 중에 같은 버킷의 다른 사용자 조회를 막지 않습니다.
+    private Entry load(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry != null) {
+            return entry;
+        }
+        RoaringBitmap stored;
+        try {
+            stored = deserialize(redisTemplate.opsForValue().get(key(userId)));
+        } catch (DataAccessException e) {
+            // 빈 집합으로 올려두고 기록을 받으며, Redis 값은 flush 스레드가 다시 읽어 합칩니다.
+            log.warn("Failed to load seen profiles of user {}: {}", userId, e.getMessage());
+            Entry unloaded = new Entry(new RoaringBitmap());
+            unloaded.stale = true;
+            Entry existing = entries.putIfAbsent(userId, unloaded);
+            return existing != null ? existing : unloaded;
+        }
+        Entry loaded = new Entry(stored);
+        Entry existing = entries.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            try {
+                flushAll();
+                evict();
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush seen profiles: {}", e.getMessage());
+            }
+        }
+    }
+
+    void flushAll() {
+        for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+            flush(e.getKey(), e.getValue());
+        }
+    }
+
+    private void flush(Long userId, Entry entry) {
+        RoaringBitmap delta;
+        synchronized (entry) {
+            if (entry.pending.isEmpty() && !entry.stale) {
+                return;
+            }
+            delta = entry.pending;
+            entry.pending = new RoaringBitmap();
+        }
+
+        RoaringBitmap remote = null;
+        try {
+            for (int attempt = 0; attempt < MAX_MERGE_ATTEMPTS && remote == null; attempt++) {
+                remote = merge(key(userId), delta);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to save seen profiles of user {}: {}", userId, e.getMessage());
+        }
+
+        synchronized (entry) {
+            if (remote == null) {
+                // 저장하지 못한 기록은 다음 주기에 다시 저장합니다.
+                entry.pending.or(delta);
+            } else {
+                // 다른 서버에서 기록한 프로필도 로컬에 합칩니다.
+                entry.seen.or(remote);
+                entry.stale = false;
+            }
+        }
+    }
+
+    // Redis 값에 delta를 합쳐 저장합니다. 그 사이 다른 서버가 값을 바꿨으면 null (다시 시도)
+    private RoaringBitmap merge(String key, RoaringBitmap delta) {
+        if (delta.isEmpty()) {
+            // 로딩에 실패했던 항목은 저장할 것 없이 읽기만 합니다.
+            return deserialize(redisTemplate.opsForValue().get(key));
+        }
+        RoaringBitmap[] merged = new RoaringBitmap[1];
+        List<Object> results = redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                ops.watch(key);
+                merged[0] = deserialize(ops.opsForValue().get(key));
+                merged[0].or(delta);
+                ops.multi();
+                ops.opsForValue().set(key, serialize(merged[0]), ttl);
+                return ops.exec();
+            }
+        });
+        // WATCH한 키가 바뀌어 트랜잭션이 취소되면 결과가 비어 있습니다.
+        return results == null || results.isEmpty() ? null : merged[0];
+    }
+
+    // 오래 사용하지 않았거나 최대 개수를 넘은 항목 중 Redis 반영이 끝난 항목을 메모리에서 내립니다.
+    // 그래도 최대 개수를 넘으면(Redis 장애로 반영하지 못한 항목이 쌓인 경우) 반영하지 못한 기록을 버리고 내립니다.
+    void evict() {
+        long idleBefore = System.currentTimeMillis() - idleEvictMillis;
+        for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            synchronized (entry) {
+                boolean idle = entry.lastAccess < idleBefore;
+                if (entry.pending.isEmpty() && (idle || entries.size() > maxEntries)) {
+                    entry.evicted = true;
+                    entries.remove(e.getKey(), entry);
+                }
+            }
+        }
+
+        long dropped = 0;
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Map.Entry<Long, Entry> e = iterator.next();
+            Entry entry = e.getValue();
+            synchronized (entry) {
+                dropped += entry.pending.getLongCardinality();
+                entry.pending = new RoaringBitmap();
+                entry.evicted = true;
+                entries.remove(e.getKey(), entry);
+            }
+        }
+        if (dropped > 0) {
+            log.warn("Seen profile cache is over max-entries, dropped {} unsaved records", dropped);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        // 종료 전에 남은 기록을 저장합니다.
+        flushAll();
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static int ordinal(Long userId) {
+        return Math.toIntExact(userId);
+    }
+
+    static byte[] serialize(RoaringBitmap bitmap) {
+        bitmap.runOptimize();
+        ByteBuffer buffer = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(buffer);
+        return buffer.array();
+    }
+
+    static RoaringBitmap deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return new RoaringBitmap();
+        }
+        try {
+            return new ImmutableRoaringBitmap(ByteBuffer.wrap(bytes)).toRoaringBitmap();
+        } catch (RuntimeException e) {
+            // 형식이 맞지 않는 값은 버리고 새로 기록합니다.
+            log.warn("Ignoring malformed seen profile bitmap: {}", e.getMessage());
+            return new RoaringBitmap();
+        }
+    }
+
+    private static final class Entry {
+        private final RoaringBitmap seen; // 로컬에서 알고 있는 전체 집합
+        private RoaringBitmap pending = new RoaringBitmap(); // 아직 Redis에 반영하지 않은 기록
+        private long lastAccess = System.currentTimeMillis();
+        private boolean evicted;
+        private boolean stale; // Redis 값을 아직 읽지 못함 (로딩 실패)
+
+        private Entry(RoaringBitmap seen) {
+            this.seen = seen;
+        }
+    }
+}
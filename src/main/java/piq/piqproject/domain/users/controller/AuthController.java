@@ -5,20 +5,25 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.config.jwt.JwtTokenProvider;
 import piq.piqproject.domain.users.dto.request.LoginRequestDto;
 import piq.piqproject.domain.users.dto.request.SignUpRequestDto;
 import piq.piqproject.domain.users.dto.response.AccessTokenResponseDto;
+import piq.piqproject.domain.users.dto.response.AvailabilityResponseDto;
 import piq.piqproject.domain.users.dto.response.TokensResponseDto;
+import piq.piqproject.domain.users.entity.UserEntity;
 import piq.piqproject.domain.users.service.AuthService;
 
 @RestController
@@ -45,6 +50,21 @@ public class AuthController {
         return ResponseEntity.ok("회원가입이 성공적으로 완료되었습니다.");
     }
 
+    /**
+     * 이메일/닉네임 사용 가능 여부를 확인합니다. (회원가입 화면에서 입력할 때마다 호출)
+     * 대부분의 요청은 메모리의 Bloom filter만으로 처리되어 DB를 조회하지 않습니다.
+     *
+     * @param email    확인할 이메일 (선택)
+     * @param nickname 확인할 닉네임 (선택)
+     * @return ResponseEntity<AvailabilityResponseDto>
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponseDto> checkAvailability(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String nickname) {
+        return ResponseEntity.ok(authService.checkAvailability(email, nickname));
+    }
+
     /**
      * 클라이언트에게 두개의 토큰을 어떻게 전달할까
      * -> RefreshToken을 쿠키에,AccessToken은 body에 담아 반환
@@ -59,13 +79,7 @@ public class AuthController {
         TokensResponseDto tokenResponseDto = authService.login(loginRequestDto);
 
         // 1. Refresh Token을 위한 HttpOnly 쿠키 생성
-        ResponseCookie cookie = ResponseCookie.from("refreshToken", tokenResponseDto.getRefreshToken())
-                .maxAge(7 * 24 * 60 * 60) // 쿠키 수명 7일로 설정
-                .path("/") // 모든 경로에서 쿠키 사용
-                // .secure(true) // HTTPS 환경에서만 쿠키 전송
-                .sameSite("None") // 다른 도메인에서도 쿠키 전송 허용 (CORS 환경)?
-                .httpOnly(true) // JavaScript 접근 방지
-                .build();
+        ResponseCookie cookie = createRefreshTokenCookie(tokenResponseDto.getRefreshToken());
 
         // 2. Access Token만 포함하는 응답 DTO 생성
         AccessTokenResponseDto accessTokenResponse = new AccessTokenResponseDto(tokenResponseDto.getAccessToken());
@@ -77,41 +91,44 @@ public class AuthController {
     }
 
     /**
-     * 1.Redis에 저장된 Refresh Token을 삭제하여, 해당 토큰으로는 더 이상 새로운 Access Token을 발급받지 못하게 함
+     * 1.Redis에 저장된 현재 기기의 Refresh Token 세션을 삭제하여, 해당 토큰으로는 더 이상 새로운 Access Token을 발급받지 못하게 함
      * 2.브라우저에 저장된 Refresh Token 쿠키를 삭제하도록 명령하여, 사용자의 브라우저를 깨끗한 상태로 만듦
-     * ★로그아웃 로직은 클라이언트의 Access Token은 무효화하지않음, 클라이언트에서 처리해야함
+     * ★현재 Access Token은 폐기 목록에 등록되어 만료 전이라도 더 이상 사용할 수 없음
      * ★클라이언트가 /logout API를 사용시 이전에 로그인 시 발급받았던 유효한 Access Token을 Authorization
      * 헤더에 담아 보내기만하면됨
+     * ★Refresh Token 쿠키가 함께 오지 않으면 어떤 기기인지 알 수 없으므로 모든 기기에서 로그아웃됨
      * 
      */
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(@AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<String> logout(@AuthenticationPrincipal UserEntity user,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @CookieValue(value = "refreshToken", required = false) String refreshToken) {
 
-        // 1. 현재 인증된 사용자의 이메일(username)을 가져옵니다.
-        String userEmail = userDetails.getUsername();
+        // 1. 서비스 레이어에 로그아웃 처리를 위임. (Access Token 폐기 + Redis에서 현재 기기의 Refresh Token 세션 삭제)
+        authService.logout(user.getId(), JwtTokenProvider.resolveBearerToken(authorization), refreshToken);
 
-        // 2. 서비스 레이어에 로그아웃 처리를 위임. (Redis에서 Refresh Token 삭제)
-        authService.logout(userEmail);
+        // 2. 응답 헤더에 쿠키 삭제 명령을 추가하고, 성공 메시지를 바디에 담아 반환
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, deleteRefreshTokenCookie().toString())
+                .body("로그아웃 되었습니다.");
+    }
 
-        // 3. 클라이언트 측의 Refresh Token 쿠키를 삭제하기 위한 쿠키를 생성
-        ResponseCookie deleteCookie = ResponseCookie.from("refreshToken", null)
-                .maxAge(0) // 쿠키의 수명을 0으로 설정하여 즉시 만료시킵니다.
-                .path("/")
-                // .secure(true), .sameSite("None"), .httpOnly(true) 등 기존 쿠키와 동일한 속성을 유지해야
-                // 브라우저가 동일한 쿠키로 인식하고 삭제
-                // .secure(true)
-                .sameSite("None")
-                .httpOnly(true)
-                .build();
+    /**
+     * 모든 기기에서 로그아웃합니다.
+     * 사용자의 모든 Refresh Token 세션을 한 번에 삭제합니다.
+     */
+    @PostMapping("/logout/all")
+    public ResponseEntity<String> logoutAllDevices(@AuthenticationPrincipal UserEntity user) {
+        authService.logoutAllDevices(user.getId());
 
-        // 4. 응답 헤더에 쿠키 삭제 명령을 추가하고, 성공 메시지를 바디에 담아 반환
         return ResponseEntity.ok()
-                .header(HttpHeaders.SET_COOKIE, deleteCookie.toString())
-                .body("로그아웃 되었습니다.");
+                .header(HttpHeaders.SET_COOKIE, deleteRefreshTokenCookie().toString())
+                .body("모든 기기에서 로그아웃 되었습니다.");
     }
 
     /**
      * Refresh Token을 이용하여 새로운 Access Token 발급
+     * Refresh Token도 함께 교체(rotation)되므로 새 쿠키를 내려줍니다.
      * 
      * @param refreshToken
      * @return ResponseEntity<AccessTokenResponseDto>
@@ -119,11 +136,37 @@ public class AuthController {
     @PostMapping("/reissue")
     public ResponseEntity<AccessTokenResponseDto> reissue(@CookieValue("refreshToken") String refreshToken) {
         log.info("reissue 요청이 controller에 도달");
-        // 1. Refresh Token 유효성 검사 및 새로운 Access Token 발급
-        String newAccessToken = authService.reissueAccessToken(refreshToken);
+        // 1. Refresh Token 유효성 검사 및 새로운 Access Token, Refresh Token 발급
+        TokensResponseDto tokens = authService.reissueAccessToken(refreshToken);
         // 2. 새로운 Access Token을 응답 DTO에 저장
-        AccessTokenResponseDto responseDto = new AccessTokenResponseDto(newAccessToken);
-        // 3. 새로운 Access Token을 포함한 응답 반환
-        return ResponseEntity.ok().body(responseDto);
+        AccessTokenResponseDto responseDto = new AccessTokenResponseDto(tokens.getAccessToken());
+        // 3. 새로운 Refresh Token 쿠키와 Access Token을 포함한 응답 반환
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, createRefreshTokenCookie(tokens.getRefreshToken()).toString())
+                .body(responseDto);
+    }
+
+    // Refresh Token을 담는 HttpOnly 쿠키 생성
+    private ResponseCookie createRefreshTokenCookie(String refreshToken) {
+        return ResponseCookie.from("refreshToken", refreshToken)
+                .maxAge(7 * 24 * 60 * 60) // 쿠키 수명 7일로 설정
+                .path("/") // 모든 경로에서 쿠키 사용
+                // .secure(true) // HTTPS 환경에서만 쿠키 전송
+                .sameSite("None") // 다른 도메인에서도 쿠키 전송 허용 (CORS 환경)?
+                .httpOnly(true) // JavaScript 접근 방지
+                .build();
+    }
+
+    // 클라이언트 측의 Refresh Token 쿠키를 삭제하기 위한 쿠키를 생성
+    private ResponseCookie deleteRefreshTokenCookie() {
+        return ResponseCookie.from("refreshToken", null)
+                .maxAge(0) // 쿠키의 수명을 0으로 설정하여 즉시 만료시킵니다.
+                .path("/")
+                // .secure(true), .sameSite("None"), .httpOnly(true) 등 기존 쿠키와 동일한 속성을 유지해야
+                // 브라우저가 동일한 쿠키로 인식하고 삭제
+                // .secure(true)
+                .sameSite("None")
+                .httpOnly(true)
+                .build();
     }
 }
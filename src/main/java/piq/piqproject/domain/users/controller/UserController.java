@@ -4,19 +4,23 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.pagination.SliceResponseDto;
+import piq.piqproject.domain.users.dto.request.SeenProfilesRequestDto;
 import piq.piqproject.domain.users.dto.response.MyProfileResponseDto;
-import piq.piqproject.domain.users.dto.response.UserProfileResponseDto;
 import piq.piqproject.domain.users.dto.response.UserSimpleProfileResponseDto;
 import piq.piqproject.domain.users.entity.UserEntity;
 import piq.piqproject.domain.users.enums.Gender;
@@ -34,18 +38,75 @@ public class UserController {
      * 성별에 따라 필터링된 전체 사용자 프로필 목록을 페이지네이션으로 조회합니다.
      * 클라이언트는 page, size, sort 파라미터를 통해 페이징을 제어할 수 있습니다.
      * 예: /api/v1/users/profiles?gender=FEMALE&page=0&size=10&sort=createdAt,desc
+     * 로그인한 사용자가 조회하면 이미 본 프로필은 제외됩니다.
      * 
      * @param Gender "MALE" 또는 "FEMALE"
      * @return 프로필 DTO 목록
      */
     @GetMapping("/profiles")
     public ResponseEntity<Page<UserSimpleProfileResponseDto>> getAllProfiles(
+            @AuthenticationPrincipal UserEntity viewer,
             @RequestParam("gender") Gender gender,
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<UserSimpleProfileResponseDto> profilesPage = userService.findAllProfilesByGender(gender, pageable);
+        Page<UserSimpleProfileResponseDto> profilesPage = userService.findAllProfilesByGender(viewerId(viewer), gender,
+                pageable);
         return ResponseEntity.ok(profilesPage);
     }
 
+    /**
+     * 성별 피드를 커서 기반으로 조회합니다. 전체 개수(COUNT)를 세지 않으며, 깊은 페이지도 첫 페이지와 같은 비용으로 조회됩니다.
+     * 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor를 그대로 전달합니다. (hasNext가 false면 마지막 페이지)
+     * 예: /api/v1/users/profiles/cursor?gender=FEMALE&size=10&cursor=...
+     * 로그인한 사용자가 조회하면 이미 본 프로필은 제외되므로, 페이지가 size보다 적게 올 수 있습니다.
+     *
+     * @param gender "MALE" 또는 "FEMALE"
+     * @param cursor 이전 응답의 nextCursor
+     * @param size   페이지 크기 (기본 10, 최대 100)
+     * @return 프로필 DTO 목록과 다음 페이지 커서
+     */
+    @GetMapping("/profiles/cursor")
+    public ResponseEntity<SliceResponseDto<UserSimpleProfileResponseDto>> getProfilesByCursor(
+            @AuthenticationPrincipal UserEntity viewer,
+            @RequestParam("gender") Gender gender,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(userService.findProfilesByGenderAfter(viewerId(viewer), gender, cursor, size));
+    }
+
+    /**
+     * 성별 피드를 나에게만 섞인 순서로 조회합니다. 순서는 하루 동안 유지되며 다음 날 새로 섞입니다.
+     * 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor를 그대로 전달합니다. (hasNext가 false면 마지막 페이지)
+     * 차단 관계인 사용자와 이미 본 프로필은 제외되므로, 페이지가 size보다 적게 올 수 있습니다.
+     * 예: /api/v1/users/profiles/shuffle?gender=FEMALE&size=10&cursor=...
+     *
+     * @param userEntity @AuthenticationPrincipal을 통해 주입된 현재 인증된 사용자 엔티티
+     * @param gender     "MALE" 또는 "FEMALE"
+     * @param cursor     이전 응답의 nextCursor
+     * @param size       페이지 크기 (기본 10, 최대 100)
+     * @return 프로필 DTO 목록과 다음 페이지 커서
+     */
+    @GetMapping("/profiles/shuffle")
+    public ResponseEntity<SliceResponseDto<UserSimpleProfileResponseDto>> getShuffledProfiles(
+            @AuthenticationPrincipal UserEntity userEntity,
+            @RequestParam("gender") Gender gender,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        return ResponseEntity.ok(userService.findShuffledProfiles(userEntity.getId(), gender, cursor, size));
+    }
+
+    /**
+     * 화면에 보여준 프로필을 본 프로필로 기록합니다. 이후 피드와 매칭 후보에서 제외됩니다.
+     *
+     * @param userEntity @AuthenticationPrincipal을 통해 주입된 현재 인증된 사용자 엔티티
+     * @param request    본 프로필 ID 목록 (최대 100개)
+     */
+    @PostMapping("/me/seen")
+    public ResponseEntity<Void> markProfilesSeen(@AuthenticationPrincipal UserEntity userEntity,
+            @Valid @RequestBody SeenProfilesRequestDto request) {
+        userService.markProfilesSeen(userEntity.getId(), request.getProfileIds());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * 현재 로그인된 사용자의 상세 프로필을 조회합니다.
      * 
@@ -61,16 +122,20 @@ public class UserController {
     /**
      * 특정 ID를 가진 사용자의 공개 프로필을 조회합니다.
      *
+     * 응답은 캐시된 JSON 바이트를 그대로 내려주며, 형식은 UserProfileResponseDto와 같습니다.
+     * 조회한 프로필은 본 프로필로 기록되어 이후 피드에서 제외됩니다.
+     *
      * @param id 조회할 사용자의 PK (Long)
-     * @return 특정 사용자의 프로필 정보
+     * @return 특정 사용자의 프로필 정보 (UserProfileResponseDto JSON)
      */
-    @GetMapping("/profiles/{id}")
-    public ResponseEntity<UserProfileResponseDto> getUserProfile(@PathVariable("id") Long id) {
-        // 1. 서비스를 호출하여 비즈니스 로직을 수행하고 DTO를 받습니다.
-        UserProfileResponseDto userProfile = userService.findUserProfileById(id);
+    @GetMapping(value = "/profiles/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getUserProfile(@AuthenticationPrincipal UserEntity viewer,
+            @PathVariable("id") Long id) {
+        // 1. 서비스를 호출하여 직렬화된 프로필을 받습니다. (캐시에 있으면 DB 조회 없음)
+        byte[] userProfile = userService.findUserProfileJsonById(viewerId(viewer), id);
 
-        // 2. 성공 응답(200 OK)과 함께 DTO를 ResponseEntity에 담아 반환합니다.
-        return ResponseEntity.ok(userProfile);
+        // 2. 성공 응답(200 OK)과 함께 JSON 바이트를 그대로 반환합니다.
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(userProfile);
     }
 
     /**
@@ -85,4 +150,9 @@ public class UserController {
         return ResponseEntity.ok("회원 탈퇴가 성공적으로 처리되었습니다.");
     }
 
+    // 로그인하지 않고 조회할 수 있는 API에서는 principal이 없을 수 있습니다.
+    private static Long viewerId(UserEntity viewer) {
+        return viewer == null ? null : viewer.getId();
+    }
+
 }
@@ -0,0 +1,27 @@
+package piq.piqproject.domain.users.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 클라이언트가 화면에 보여준 프로필 ID 목록을 전달하는 DTO입니다. (피드에서 다시 나오지 않도록 기록)
+ */
+@Getter
+@Setter
+@NoArgsConstructor // JSON -> DTO 객체 변환 시 Jackson 라이브러리가 기본 생성자를 사용합니다.
+public class SeenProfilesRequestDto {
+
+    @NotEmpty(message = "프로필 ID를 입력해주세요.")
+    @Size(max = 100, message = "한 번에 최대 100개까지 기록할 수 있습니다.")
+    // 사용자 ID는 본 프로필 비트맵에 int로 저장되므로 그 범위를 넘는 값은 400으로 거절합니다.
+    private List<@NotNull @Positive(message = "올바른 프로필 ID가 아닙니다.")
+            @Max(value = Integer.MAX_VALUE, message = "올바른 프로필 ID가 아닙니다.") Long> profileIds;
+}
@@ -0,0 +1,15 @@
+package piq.piqproject.domain.users.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 이메일/닉네임 사용 가능 여부 (요청하지 않은 항목은 응답에서 생략)
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityResponseDto {
+    private Boolean emailAvailable;
+    private Boolean nicknameAvailable;
+}
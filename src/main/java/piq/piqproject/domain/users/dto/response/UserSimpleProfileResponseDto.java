@@ -1,5 +1,9 @@
 package piq.piqproject.domain.users.dto.response;
 
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Builder;
 import lombok.Getter;
 import piq.piqproject.common.list.Listable;
@@ -8,7 +12,6 @@ import piq.piqproject.domain.users.entity.UserEntity;
 import piq.piqproject.domain.users.enums.Gender;
 
 @Getter
-@Builder
 public class UserSimpleProfileResponseDto implements Listable {
 
     private Long id; // 클라이언트가 상세 조회를 위해 사용할 id
@@ -20,6 +23,27 @@ public class UserSimpleProfileResponseDto implements Listable {
     private Boolean isActive;
     private String mainImageUrl;
 
+    @JsonIgnore
+    private LocalDateTime createdAt; // 커서 생성용 (응답에는 포함하지 않음)
+
+    /**
+     * UserRepository의 프로젝션 쿼리(SELECT new ...)에서 사용하는 생성자입니다.
+     * 엔티티와 이미지 컬렉션을 로딩하지 않고 목록에 필요한 컬럼만 조회합니다.
+     */
+    @Builder
+    public UserSimpleProfileResponseDto(Long id, String nickname, Integer age, Gender gender, String mbti,
+            Double score, Boolean isActive, String mainImageUrl, LocalDateTime createdAt) {
+        this.id = id;
+        this.nickname = nickname;
+        this.age = age;
+        this.gender = gender;
+        this.mbti = mbti;
+        this.score = score;
+        this.isActive = isActive;
+        this.mainImageUrl = mainImageUrl;
+        this.createdAt = createdAt;
+    }
+
     /**
      * UserEntity를 UserSimpleProfileDto로 변환하는 정적 팩토리 메서드
      */
@@ -29,7 +53,7 @@ public class UserSimpleProfileResponseDto implements Listable {
         String mainImageUrl = user.getImages().stream()
                 .filter(UserImageEntity::getIsMainImage) // isMainImage가 true인 것만 필터링
                 .findFirst() // 필터링된 것 중 첫 번째 것을 찾음
-                .map(UserImageEntity::getImageUrl) // 찾았다면 imageUrl을 꺼냄
+                .map(image -> image.getFeedUrl() != null ? image.getFeedUrl() : image.getImageUrl()) // 피드용 변형 우선
                 .orElse(null); // 대표 이미지가 없으면 null
 
         return UserSimpleProfileResponseDto.builder()
@@ -41,6 +65,7 @@ public class UserSimpleProfileResponseDto implements Listable {
                 .score(user.getScore())
                 .isActive(user.getIsActive())
                 .mainImageUrl(mainImageUrl) // 빌더에 추가
+                .createdAt(user.getCreatedAt())
                 .build();
     }
 }
@@ -20,6 +20,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -45,7 +46,10 @@ import piq.piqproject.domain.users.enums.Role;
  */
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // 성별 피드 커서 페이지네이션 (WHERE gender = ? ORDER BY created_at DESC, id DESC)
+        @Index(name = "idx_users_gender_created_at_id", columnList = "gender, created_at, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA 엔티티는 기본 생성자가 필요하지만, 외부에서 직접 인스턴스화하는 것을 막기 위해 protected로 설정
 public class UserEntity extends BaseEntity implements UserDetails {
@@ -55,7 +59,7 @@ public class UserEntity extends BaseEntity implements UserDetails {
     @Column(name = "id")
     private Long id;
 
-    @Column(name="nickname", nullable = false, length = 50)
+    @Column(name="nickname", nullable = false, unique = true, length = 50)
     private String nickname;
 
     @Column(name="email", nullable = false, unique = true, length = 100) // email을 로그인 ID로 사용할 것임
@@ -165,6 +169,25 @@ public class UserEntity extends BaseEntity implements UserDetails {
                 return user;
     }
 
+    /**
+     * JWT 클레임만으로 인증 주체(principal)용 UserEntity를 생성합니다. (DB 조회 없음)
+     * 영속화되지 않은 객체이므로 id, email, 권한, 활성화 여부 외의 필드는 비어있습니다.
+     * 프로필 등 다른 정보가 필요하면 id로 다시 조회해야 합니다.
+     *
+     * @param id    토큰의 id 클레임
+     * @param email 토큰의 subject
+     * @param roles 토큰의 auth 클레임에서 변환한 권한 목록
+     * @return 인증 주체로만 사용할 UserEntity
+     */
+    public static UserEntity principalOf(Long id, String email, Collection<Role> roles) {
+        UserEntity user = new UserEntity();
+        user.id = id;
+        user.email = email;
+        user.isActive = true;
+        roles.forEach(user::addRole);
+        return user;
+    }
+
      //== 연관관계 편의 메서드 (양방향 관계에서 중요) ==//
     public void addRole(Role role) {
         UserRoleEntity newUserRole = UserRoleEntity.builder()
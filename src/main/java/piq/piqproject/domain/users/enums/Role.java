@@ -16,4 +16,20 @@ public enum Role {
 
     private final String key;
     private final String title;
+
+    /**
+     * 권한 문자열(예: "ROLE_USER")로 Role을 찾습니다.
+     *
+     * @param key GrantedAuthority 문자열
+     * @return 일치하는 Role
+     * @throws IllegalArgumentException 일치하는 Role이 없을 경우
+     */
+    public static Role fromKey(String key) {
+        for (Role role : values()) {
+            if (role.key.equals(key)) {
+                return role;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 권한입니다: " + key);
+    }
 }
\ No newline at end of file
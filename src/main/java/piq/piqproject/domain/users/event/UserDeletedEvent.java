@@ -0,0 +1,9 @@
+package piq.piqproject.domain.users.event;
+
+/**
+ * 사용자가 탈퇴했을 때 발행하는 이벤트입니다.
+ *
+ * @param userId 탈퇴한 사용자의 ID
+ */
+public record UserDeletedEvent(Long userId) {
+}
@@ -0,0 +1,9 @@
+package piq.piqproject.domain.users.event;
+
+/**
+ * 사용자의 공개 프로필(기본 정보, 이미지, 대표 이미지)이 변경되었을 때 발행하는 이벤트입니다.
+ *
+ * @param userId 프로필이 변경된 사용자의 ID
+ */
+public record UserProfileChangedEvent(Long userId) {
+}
@@ -0,0 +1,9 @@
+package piq.piqproject.domain.users.event;
+
+/**
+ * 새 사용자가 가입했을 때 발행하는 이벤트입니다.
+ *
+ * @param userId 가입한 사용자의 ID
+ */
+public record UserRegisteredEvent(Long userId) {
+}
@@ -0,0 +1,145 @@
+package piq.piqproject.domain.users.repository;
+
+import java.util.List;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import piq.piqproject.common.util.HashUtils;
+
+/**
+ * 기기(device)별 Refresh Token 세션을 Redis에 저장하는 저장소입니다.
+ * <p>
+ * 사용자마다 하나의 Hash(refresh:sessions:{userId})를 두고, field는 deviceId, value는
+ * "토큰 digest:만료시각(ms)" 입니다. 토큰 원문은 저장하지 않습니다.
+ * <p>
+ * - 항목별 만료: value에 만료 시각을 함께 저장하고 스크립트에서 확인합니다. Hash key 자체의 TTL은
+ * 가장 늦게 만료되는 항목에 맞춰 연장됩니다.
+ * <p>
+ * - 회전(rotation): 토큰 확인, 재사용 탐지, 새 토큰 저장을 Lua 스크립트 하나로 처리하여 1번의 왕복으로 끝냅니다.
+ * <p>
+ * - 전체 로그아웃: Hash key 하나만 삭제하면 되므로 SCAN이 필요 없습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenSessionStore {
+
+    private static final String KEY_PREFIX = "refresh:sessions:";
+
+    // KEYS[1]: 세션 Hash, ARGV[1]: deviceId, ARGV[2]: 새 값, ARGV[3]: TTL(ms), ARGV[4]: 현재 시각(ms)
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            local ttl = tonumber(ARGV[3])
+            if redis.call('PTTL', KEYS[1]) < ttl then
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            local now = tonumber(ARGV[4])
+            local entries = redis.call('HGETALL', KEYS[1])
+            for i = 1, #entries, 2 do
+                local expiresAt = tonumber(string.match(entries[i + 1], ':(%d+)$'))
+                if expiresAt and expiresAt <= now then
+                    redis.call('HDEL', KEYS[1], entries[i])
+                end
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS[1]: 세션 Hash, ARGV[1]: deviceId, ARGV[2]: 제출된 토큰 digest, ARGV[3]: 새 값, ARGV[4]: TTL(ms),
+    // ARGV[5]: 현재 시각(ms)
+    // 반환값 1: 회전 성공, 0: 세션 없음(만료 포함), -1: 이미 회전된 토큰 재사용 (해당 사용자의 모든 세션 폐기)
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local stored = redis.call('HGET', KEYS[1], ARGV[1])
+            if not stored then
+                return 0
+            end
+            local digest, expiresAt = string.match(stored, '^(.*):(%d+)$')
+            if tonumber(expiresAt) <= tonumber(ARGV[5]) then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+                return 0
+            end
+            if digest ~= ARGV[2] then
+                redis.call('DEL', KEYS[1])
+                return -1
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[3])
+            local ttl = tonumber(ARGV[4])
+            if redis.call('PTTL', KEYS[1]) < ttl then
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 로그인한 기기의 Refresh Token을 저장합니다. 같은 기기의 기존 토큰은 덮어씁니다.
+     *
+     * @param userId       사용자 ID
+     * @param deviceId     기기 식별자 (Refresh Token의 did 클레임)
+     * @param refreshToken 저장할 Refresh Token
+     * @param ttlMillis    Refresh Token의 수명(ms)
+     */
+    public void save(Long userId, String deviceId, String refreshToken, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        redisTemplate.execute(SAVE_SCRIPT, List.of(key(userId)),
+                deviceId, value(refreshToken, now + ttlMillis), String.valueOf(ttlMillis), String.valueOf(now));
+    }
+
+    /**
+     * 제출된 Refresh Token이 저장된 토큰과 같으면 새 토큰으로 교체합니다.
+     * 이미 교체된(이전) 토큰이 다시 제출되면 탈취로 간주하여 해당 사용자의 모든 세션을 폐기합니다.
+     *
+     * @param userId          사용자 ID
+     * @param deviceId        기기 식별자
+     * @param presentedToken  클라이언트가 제출한 Refresh Token
+     * @param newRefreshToken 새로 발급한 Refresh Token
+     * @param ttlMillis       새 Refresh Token의 수명(ms)
+     * @return 회전 결과
+     */
+    public RotationResult rotate(Long userId, String deviceId, String presentedToken, String newRefreshToken,
+            long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, List.of(key(userId)),
+                deviceId,
+                HashUtils.sha256Base64Url(presentedToken),
+                value(newRefreshToken, now + ttlMillis),
+                String.valueOf(ttlMillis),
+                String.valueOf(now));
+
+        if (result == null || result == 0L) {
+            return RotationResult.NOT_FOUND;
+        }
+        return result > 0 ? RotationResult.ROTATED : RotationResult.REUSED;
+    }
+
+    /**
+     * 특정 기기의 세션만 삭제합니다. (단일 기기 로그아웃)
+     */
+    public void revoke(Long userId, String deviceId) {
+        redisTemplate.opsForHash().delete(key(userId), deviceId);
+    }
+
+    /**
+     * 사용자의 모든 기기 세션을 삭제합니다. (전체 로그아웃, 권한 변경/비활성화/탈퇴 시)
+     */
+    public void revokeAll(Long userId) {
+        redisTemplate.delete(key(userId));
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private String value(String refreshToken, long expiresAt) {
+        return HashUtils.sha256Base64Url(refreshToken) + ":" + expiresAt;
+    }
+
+    public enum RotationResult {
+        ROTATED,
+        NOT_FOUND,
+        REUSED
+    }
+}
@@ -1,13 +1,32 @@
 package piq.piqproject.domain.users.repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import piq.piqproject.domain.matches.dto.CandidateRow;
+import piq.piqproject.domain.users.dto.response.UserSimpleProfileResponseDto;
 import piq.piqproject.domain.users.entity.UserEntity;
 import piq.piqproject.domain.users.enums.Gender;
 
@@ -20,21 +39,136 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.roles WHERE u.email = :email")
     Optional<UserEntity> findByEmailWithRoles(@Param("email") String email);
 
+    // 사용자 행을 잠급니다. (SELECT ... FOR UPDATE, 트랜잭션 안에서만)
+    // 이미지 등록처럼 같은 사용자의 요청을 직렬화해야 개수/대표 이미지 확인이 어긋나지 않는 작업에서 사용
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM UserEntity u WHERE u.id = :id")
+    Optional<UserEntity> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 비밀번호 해시를 교체합니다. (로그인 시 재해싱)
+     * 그 사이 비밀번호가 바뀌었다면 덮어쓰지 않도록, 기존 해시가 그대로일 때만 변경합니다.
+     *
+     * @return 변경된 행 수 (0이면 이미 다른 값으로 바뀐 상태)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePassword(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+            @Param("newPassword") String newPassword);
+
     // 이메일 존재 여부 확인
     boolean existsByEmail(String email);
 
+    // 목록 응답(UserSimpleProfileResponseDto)에 필요한 컬럼만 조회하는 프로젝션입니다.
+    // 엔티티/이미지 컬렉션을 로딩하지 않으며, 대표 이미지 URL은 같은 SQL 안에서 스칼라 서브쿼리로 가져옵니다.
+    // 대표 이미지는 피드용 변형(feedUrl)을 쓰고, 아직 만들어지지 않았으면 원본(imageUrl)을 씁니다.
+    // (introduce, password, 연락처 등 목록에 쓰지 않는 컬럼은 읽지 않음)
+    String SIMPLE_PROFILE_PROJECTION = "SELECT new piq.piqproject.domain.users.dto.response.UserSimpleProfileResponseDto("
+            + "u.id, u.nickname, u.age, u.gender, u.mbti, u.score, u.isActive,"
+            + " (SELECT MAX(COALESCE(i.feedUrl, i.imageUrl)) FROM UserImageEntity i"
+            + " WHERE i.user = u AND i.isMainImage = true),"
+            + " u.createdAt)"
+            + " FROM UserEntity u";
+
+    // 조회자(:viewerId)와 어느 방향으로든 차단 관계인 사용자를 제외하는 조건입니다. (blocks의 (user_id, other_id) unique 인덱스 사용)
+    String NOT_BLOCKED = "NOT EXISTS (SELECT 1 FROM BlockEntity b WHERE b.userId = :viewerId AND b.otherId = u.id)";
+
     /**
-     * 성별(gender)을 기준으로 모든 사용자 엔티티를 찾아 리스트로 반환합니다.
-     * Spring Data JPA가 메소드 이름을 분석하여 아래와 같은 JPQL을 자동으로 생성합니다.
-     * "SELECT u FROM UserEntity u WHERE u.gender = :gender"
+     * 성별(gender)을 기준으로 사용자 프로필 목록을 페이지 단위로 조회합니다.
+     * 목록에 필요한 컬럼만 DTO로 바로 조회합니다. (SIMPLE_PROFILE_PROJECTION 참고)
      *
      * @param gender 검색할 성별 (Gender Enum 타입), Pageable pageable
-     * @return 해당 성별을 가진 UserEntity의 리스트
+     * @return 해당 성별을 가진 사용자의 프로필 페이지
+     */
+    @Query(value = SIMPLE_PROFILE_PROJECTION + " WHERE u.gender = :gender",
+            countQuery = "SELECT COUNT(u) FROM UserEntity u WHERE u.gender = :gender")
+    Page<UserSimpleProfileResponseDto> findProfilesByGender(@Param("gender") Gender gender, Pageable pageable);
+
+    /**
+     * findProfilesByGender()와 같고, 조회자와 차단 관계인 사용자를 제외합니다.
+     * 차단 관계는 목록으로 넘기지 않고 blocks 테이블과 anti-join하므로, 차단 수와 관계없이 쿼리 크기가 일정합니다.
+     */
+    @Query(value = SIMPLE_PROFILE_PROJECTION + " WHERE u.gender = :gender AND " + NOT_BLOCKED,
+            countQuery = "SELECT COUNT(u) FROM UserEntity u WHERE u.gender = :gender AND " + NOT_BLOCKED)
+    Page<UserSimpleProfileResponseDto> findProfilesByGenderNotBlocked(@Param("gender") Gender gender,
+            @Param("viewerId") Long viewerId, Pageable pageable);
+
+    /**
+     * findProfilesByGenderNotBlocked()와 같고, 지정한 ID(이미 본 프로필)도 제외합니다.
+     *
+     * @param excludedIds 제외할 사용자 ID (비어 있으면 안 됨, 길이는 호출자가 제한)
      */
-    Page<UserEntity> findAllByGender(Gender gender, Pageable pageable);
+    @Query(value = SIMPLE_PROFILE_PROJECTION + " WHERE u.gender = :gender AND " + NOT_BLOCKED
+            + " AND u.id NOT IN :excludedIds",
+            countQuery = "SELECT COUNT(u) FROM UserEntity u WHERE u.gender = :gender AND " + NOT_BLOCKED
+                    + " AND u.id NOT IN :excludedIds")
+    Page<UserSimpleProfileResponseDto> findProfilesByGenderExcluding(@Param("gender") Gender gender,
+            @Param("viewerId") Long viewerId, @Param("excludedIds") Collection<Long> excludedIds,
+            Pageable pageable);
+
+    /**
+     * 성별 피드의 첫 페이지를 최신순으로 조회합니다. (커서 페이지네이션, COUNT 쿼리 없음)
+     * (gender, created_at, id) 인덱스를 역순으로 읽으므로 limit 만큼만 읽고 멈춥니다.
+     */
+    @Query(SIMPLE_PROFILE_PROJECTION + " WHERE u.gender = :gender ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserSimpleProfileResponseDto> findFeedFirstPage(@Param("gender") Gender gender, Limit limit);
+
+    /**
+     * 커서(createdAt, id) 다음부터 성별 피드를 조회합니다.
+     * OFFSET 대신 마지막 항목의 정렬 키로 시작 위치를 찾으므로 몇 번째 페이지든 조회 비용이 같습니다.
+     */
+    @Query(SIMPLE_PROFILE_PROJECTION + " WHERE u.gender = :gender"
+            + " AND (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id))"
+            + " ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserSimpleProfileResponseDto> findFeedPageAfter(@Param("gender") Gender gender,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // 지정한 ID들의 프로필 목록을 조회합니다. (매칭 후보 인덱스에서 고른 ID를 프로필로 변환, 순서는 호출자가 맞춤)
+    @Query(SIMPLE_PROFILE_PROJECTION + " WHERE u.id IN :ids")
+    List<UserSimpleProfileResponseDto> findProfilesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 지정한 ID들의 프로필 목록을 ids 순서대로 조회합니다.
+     * IN 쿼리 결과는 순서가 보장되지 않으므로 다시 정렬하며, 그 사이 탈퇴한 사용자는 건너뜁니다.
+     */
+    default List<UserSimpleProfileResponseDto> findProfilesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserSimpleProfileResponseDto> profiles = findProfilesByIds(ids).stream()
+                .collect(Collectors.toMap(UserSimpleProfileResponseDto::getId, Function.identity()));
+
+        List<UserSimpleProfileResponseDto> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            UserSimpleProfileResponseDto profile = profiles.get(id);
+            if (profile != null) {
+                ordered.add(profile);
+            }
+        }
+        return ordered;
+    }
 
     boolean existsByNickname(String nickname);
 
+    // 매칭 후보 인덱스(CandidateIndex) 생성용으로 모든 사용자의 색인 컬럼을 한 행씩 읽어옵니다.
+    // Stream은 트랜잭션 안에서 사용해야 하며, fetch size 단위로 나눠 읽으므로 전체를 메모리에 올리지 않습니다.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new piq.piqproject.domain.matches.dto.CandidateRow("
+            + "u.id, u.gender, u.age, u.mbti, u.score, u.isActive, u.createdAt) FROM UserEntity u ORDER BY u.id")
+    Stream<CandidateRow> streamCandidateRows();
+
+    // 사용자 한 명의 색인 컬럼을 조회합니다. (CandidateIndex 갱신용)
+    @Query("SELECT new piq.piqproject.domain.matches.dto.CandidateRow("
+            + "u.id, u.gender, u.age, u.mbti, u.score, u.isActive, u.createdAt) FROM UserEntity u WHERE u.id = :id")
+    Optional<CandidateRow> findCandidateRowById(@Param("id") Long id);
+
+    // 가입된 모든 이메일/닉네임을 한 행씩 읽어옵니다. (AvailabilityService의 Bloom filter 생성용)
+    // Stream은 트랜잭션 안에서 사용해야 하며, fetch size 단위로 나눠 읽으므로 전체를 메모리에 올리지 않습니다.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email, u.nickname FROM UserEntity u")
+    Stream<Object[]> streamAllEmailsAndNicknames();
+
     // User를 조회할 때 연관된 images 한 번의 쿼리로 함께 가져온다.
     // 'LEFT JOIN FETCH'가 핵심입니다.
     // UserEntity의 이미지 컬렉션 필드명이 'images'라고 가정하겠습니다.
@@ -1,10 +1,12 @@
 package piq.piqproject.domain.users.service;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import piq.piqproject.domain.users.repository.UserRepository;
@@ -25,9 +27,11 @@ public class AdminInitializer {
     @Value("${admin.initial.password:}") // 실제 서비스에서는 암호화된 값을 사용
     private String adminPassword;
 
-    @PostConstruct // 애플리케이션 시작 후 실행
+    // 애플리케이션이 요청을 받을 준비가 된 뒤 별도 스레드에서 실행합니다.
+    // (DB 조회와 BCrypt 해싱이 기동 시간과 첫 요청 처리를 지연시키지 않도록 함)
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
     public void initializeAdminAccount() {
-        log.info("" + adminPassword);
         if (!adminCreationEnabled) {
             // 초기화 기능이 비활성화되어 있으면 아무것도 하지 않음
             return;
@@ -35,22 +39,22 @@ public class AdminInitializer {
 
         // 필수 정보가 모두 설정되어 있는지 확인
         if (!StringUtils.hasText(adminEmail) || !StringUtils.hasText(adminPassword)) {
-            System.err.println("초기 관리자 계정 생성을 위한 설정 정보가 부족합니다. (admin.initial.email, admin.initial.password)");
+            log.warn("초기 관리자 계정 생성을 위한 설정 정보가 부족합니다. (admin.initial.email, admin.initial.password)");
             return;
         }
 
         // 이미 관리자 계정이 존재하는지 확인
         if (userRepository.findByEmail(adminEmail).isPresent()) {
-            System.out.println("이미 관리자 계정이 존재합니다.");
+            log.info("이미 관리자 계정이 존재합니다.");
             return;
         }
 
         // 관리자 계정 생성 (비밀번호는 암호화되어야 함)
         try {
             userService.createAdminAccount(adminEmail, adminPassword);
-            System.out.println("초기 관리자 계정이 생성되었습니다: " + adminEmail);
+            log.info("초기 관리자 계정이 생성되었습니다: {}", adminEmail);
         } catch (Exception e) {
-            System.err.println("초기 관리자 계정 생성에 실패했습니다: " + e.getMessage());
+            log.error("초기 관리자 계정 생성에 실패했습니다: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
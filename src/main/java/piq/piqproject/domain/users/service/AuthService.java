@@ -1,31 +1,48 @@
 package piq.piqproject.domain.users.service;
 
+import static piq.piqproject.common.error.exception.ErrorCode.ALREADY_EXISTS_NICKNAME;
 import static piq.piqproject.common.error.exception.ErrorCode.ALREADY_EXISTS_USER;
+import static piq.piqproject.common.error.exception.ErrorCode.AVAILABILITY_QUERY_MISSING;
 import static piq.piqproject.common.error.exception.ErrorCode.DISABLED_ACCOUNT_USER;
+import static piq.piqproject.common.error.exception.ErrorCode.INVALID_REFRESH_TOKEN;
 import static piq.piqproject.common.error.exception.ErrorCode.NOT_FOUND_REFRESH_TOKEN;
 import static piq.piqproject.common.error.exception.ErrorCode.NOT_FOUND_USER;
 import static piq.piqproject.common.error.exception.ErrorCode.PASSWORD_MISMATCH;
+import static piq.piqproject.common.error.exception.ErrorCode.REFRESH_TOKEN_MISMATCH;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import io.jsonwebtoken.Claims;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import piq.piqproject.common.error.exception.ConflictException;
 import piq.piqproject.common.error.exception.ForbiddenException;
+import piq.piqproject.common.error.exception.InvalidRequestException;
 import piq.piqproject.common.error.exception.NotFoundException;
 import piq.piqproject.common.error.exception.UnauthorizedException;
+import piq.piqproject.config.jwt.JwtProperties;
 import piq.piqproject.config.jwt.JwtTokenProvider;
+import piq.piqproject.config.jwt.PrincipalCache;
+import piq.piqproject.config.jwt.TokenRevocationService;
+import piq.piqproject.config.springsecurity.PasswordHashingService;
 import piq.piqproject.domain.users.dto.request.LoginRequestDto;
 import piq.piqproject.domain.users.dto.request.SignUpRequestDto;
+import piq.piqproject.domain.users.dto.response.AvailabilityResponseDto;
 import piq.piqproject.domain.users.dto.response.MyProfileResponseDto;
 import piq.piqproject.domain.users.dto.response.SignUpResponseDto;
 import piq.piqproject.domain.users.dto.response.TokensResponseDto;
 import piq.piqproject.domain.users.dto.response.UserProfileResponseDto;
-import piq.piqproject.domain.users.entity.RefreshTokenEntity;
 import piq.piqproject.domain.users.entity.UserEntity;
-import piq.piqproject.domain.users.repository.RefreshTokenRepository;
+import piq.piqproject.domain.users.event.UserDeletedEvent;
+import piq.piqproject.domain.users.event.UserRegisteredEvent;
+import piq.piqproject.domain.users.repository.RefreshTokenSessionStore;
+import piq.piqproject.domain.users.repository.RefreshTokenSessionStore.RotationResult;
 import piq.piqproject.domain.users.repository.UserRepository;
 
 @Service
@@ -33,9 +50,14 @@ import piq.piqproject.domain.users.repository.UserRepository;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenSessionStore refreshTokenSessionStore;
+    private final JwtProperties jwtProperties;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final AvailabilityService availabilityService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 회원가입 비즈니스 로직을 처리하는 메소드
@@ -43,19 +65,23 @@ public class AuthService {
      * @param signUpRequestDto 회원가입 요청 DTO
      * @return 저장된 UserEntity
      */
-    @Transactional // 데이터베이스에 변경 작업을 하므로 트랜잭션 처리
+    // 비밀번호 해싱을 기다리는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 처리합니다.
+    // (save()는 자체 트랜잭션에서 권한(roles)까지 cascade로 함께 저장하며, 이메일/닉네임 중복은 unique 제약이 최종적으로 막아줌)
     public SignUpResponseDto signUp(SignUpRequestDto signUpRequestDto) {
-        // 1. 이메일 중복 확인
-        if (userRepository.existsByEmail(signUpRequestDto.getEmail())
-                && userRepository.existsByNickname(signUpRequestDto.getNickname())) {
+        // 1. 이메일/닉네임 중복 확인 (Bloom filter가 "확실히 없음"이면 DB를 조회하지 않음)
+        // 필터가 놓친 중복(다른 서버에서 방금 가입 등)은 저장 시 unique 제약 위반(409)으로 막습니다.
+        if (!availabilityService.isEmailAvailable(signUpRequestDto.getEmail())) {
             // 실무에서는 custom exception을 정의하여 사용하는 것이 좋습니다.
             // ErrorCode Enum으로 정의해두었던 값을 사용하여 CustomException을 상속받고 있는 ConflictException에게
             // 넘겨줍니다.
             throw new ConflictException(ALREADY_EXISTS_USER);
         }
+        if (!availabilityService.isNicknameAvailable(signUpRequestDto.getNickname())) {
+            throw new ConflictException(ALREADY_EXISTS_NICKNAME);
+        }
 
-        // 2. DTO를 Entity로 변환 (이때 비밀번호 암호화가 이루어짐)
-        String encodedPassword = passwordEncoder.encode(signUpRequestDto.getPassword());
+        // 2. DTO를 Entity로 변환 (비밀번호 암호화는 전용 스레드 풀에서 이루어짐)
+        String encodedPassword = passwordHashingService.encode(signUpRequestDto.getPassword());
         UserEntity userEntity = UserEntity.of(
                 signUpRequestDto.getEmail(),
                 signUpRequestDto.getNickname(),
@@ -72,8 +98,17 @@ public class AuthService {
         // 최초 가입시 ADMIN 권한도 부여 (추후 운영자가 직접 ADMIN
         // 권한을 부여하는 방식으로 변경할 수도 있음
 
-        // 3. 사용자 정보 저장
-        userRepository.save(userEntity);
+        // 3. 사용자 정보 저장 후 중복 확인용 필터에 등록
+        try {
+            userRepository.save(userEntity);
+        } catch (DataIntegrityViolationException e) {
+            // 확인 후 저장 전에 같은 이메일/닉네임으로 동시에 가입한 경우 (unique 제약 위반)
+            throw new ConflictException(userRepository.existsByEmail(signUpRequestDto.getEmail())
+                    ? ALREADY_EXISTS_USER
+                    : ALREADY_EXISTS_NICKNAME);
+        }
+        availabilityService.register(userEntity.getEmail(), userEntity.getNickname());
+        eventPublisher.publishEvent(new UserRegisteredEvent(userEntity.getId()));
 
         return SignUpResponseDto.toDto(userEntity);
     }
@@ -84,28 +119,37 @@ public class AuthService {
      * @param loginRequestDto 로그인 요청 DTO (email, password)
      * @return TokenResponse
      */
-    @Transactional(readOnly = true)
+    // 비밀번호 검증을 기다리는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 처리합니다.
+    // (토큰 생성에 필요한 권한(roles)은 조회 시 함께 가져옴)
     public TokensResponseDto login(LoginRequestDto loginRequestDto) {
         // 1. 이메일을 기반으로 사용자 조회
-        UserEntity user = userRepository.findByEmail(loginRequestDto.getEmail())
+        UserEntity user = userRepository.findByEmailWithRoles(loginRequestDto.getEmail())
                 .orElseThrow(() -> new NotFoundException(NOT_FOUND_USER));
 
-        // 2. 사용자의 비밀번호와 입력된 비밀번호가 일치하는지 확인
-        if (!passwordEncoder.matches(loginRequestDto.getPassword(), user.getPassword())) {
+        // 2. 사용자의 비밀번호와 입력된 비밀번호가 일치하는지 확인 (전용 스레드 풀에서 실행, 바쁘면 503)
+        String storedPassword = user.getPassword();
+        if (!passwordHashingService.matches(loginRequestDto.getPassword(), storedPassword)) {
             throw new UnauthorizedException(PASSWORD_MISMATCH);
         }
 
+        // 2-1. 해싱 설정(work factor, 알고리즘)이 바뀌었다면 비밀번호 재설정 없이 새 형식으로 다시 해싱하여 저장
+        if (passwordHashingService.needsRehash(storedPassword)) {
+            passwordHashingService.rehashInBackground(loginRequestDto.getPassword(),
+                    newPassword -> userRepository.updatePassword(user.getId(), storedPassword, newPassword));
+        }
+
         // 3. 계정 활성화 상태 확인
         if (!(user.isEnabled() && user.isAccountNonLocked())) { // UserEntity의 isEnabled() 메서드 활용
             throw new ForbiddenException(DISABLED_ACCOUNT_USER);
         }
 
-        // 4. 인증이 성공하면 JWT 생성
-        String refreshToken = jwtTokenProvider.createRefreshToken(user);
+        // 4. 인증이 성공하면 JWT 생성 (기기마다 별도의 Refresh Token 세션을 가짐)
+        String deviceId = UUID.randomUUID().toString();
+        String refreshToken = jwtTokenProvider.createRefreshToken(user, deviceId);
         String accessToken = jwtTokenProvider.createAccessToken(user);
 
-        // 5. 생성된 Refresh Token을 Redis에 저장
-        refreshTokenRepository.save(new RefreshTokenEntity(user.getEmail(), refreshToken));
+        // 5. 생성된 Refresh Token을 Redis의 기기별 세션에 저장
+        refreshTokenSessionStore.save(user.getId(), deviceId, refreshToken, jwtProperties.getRefreshExpiration());
 
         // 6. 생성된 토큰을 DTO에 담아 반환
         return TokensResponseDto.builder()
@@ -115,45 +159,103 @@ public class AuthService {
     }
 
     /**
+     * 현재 기기에서 로그아웃합니다.
+     * 사용 중인 Access Token은 폐기 목록에 등록되어 만료 전이라도 즉시 사용할 수 없게 됩니다.
+     * Refresh Token 쿠키가 없으면 어떤 기기의 세션인지 알 수 없으므로 모든 기기에서 로그아웃합니다.
      *
-     * @param refreshToken
-     * @return
+     * @param userId       로그아웃할 사용자 ID
+     * @param accessToken  현재 요청의 Access Token
+     * @param refreshToken 클라이언트의 Refresh Token 쿠키 (없을 수 있음)
      */
-    @Transactional
-    public void logout(String userEmail) {
-        // 1. Redis에서 해당 사용자의 Refresh Token 삭제
-        refreshTokenRepository.deleteById(userEmail);
+    public void logout(Long userId, String accessToken, String refreshToken) {
+        // 1. 현재 Access Token 폐기 (JwtFilter에서 이미 검증되어 캐시된 클레임을 사용)
+        if (accessToken != null) {
+            tokenRevocationService.revokeToken(jwtTokenProvider.verify(accessToken));
+        }
 
+        if (refreshToken == null) {
+            refreshTokenSessionStore.revokeAll(userId);
+            return;
+        }
+
+        // 2. Redis에서 해당 기기의 Refresh Token 세션 삭제
+        Claims claims = jwtTokenProvider.verify(refreshToken);
+        if (!jwtTokenProvider.isRefreshToken(claims) || !userId.equals(claims.get("id", Long.class))) {
+            throw new UnauthorizedException(INVALID_REFRESH_TOKEN);
+        }
+        refreshTokenSessionStore.revoke(userId, claims.get(JwtTokenProvider.DEVICE_ID_CLAIM, String.class));
+    }
+
+    /**
+     * 모든 기기에서 로그아웃합니다. (Hash key 하나만 삭제)
+     * 지금까지 발급된 모든 Access Token도 함께 폐기됩니다.
+     *
+     * @param userId 로그아웃할 사용자 ID
+     */
+    public void logoutAllDevices(Long userId) {
+        refreshTokenSessionStore.revokeAll(userId);
+        tokenRevocationService.revokeUser(userId);
     }
 
     /**
      * Access Token 재발급 로직
+     * Refresh Token도 함께 회전(rotation)하며, 토큰 확인과 교체는 Redis 스크립트 1번으로 처리합니다.
+     * 사용자 정보는 서명된 Refresh Token의 클레임을 사용하므로 DB를 조회하지 않습니다.
+     * (권한 변경/비활성화/탈퇴 시에는 UserService가 모든 세션을 폐기하므로 오래된 클레임으로 재발급되지 않습니다.)
      *
      * @param refreshToken 클라이언트로부터 받은 Refresh Token
-     * @return 새로 생성된 Access Token
+     * @return 새로 생성된 Access Token과 Refresh Token
      */
-    @Transactional
-    public String reissueAccessToken(String refreshToken) {
+    public TokensResponseDto reissueAccessToken(String refreshToken) {
         // 1. Refresh Token의 유효성을 먼저 검증
-        jwtTokenProvider.validateToken(refreshToken);
+        Claims claims = jwtTokenProvider.verify(refreshToken);
+        if (!jwtTokenProvider.isRefreshToken(claims)) {
+            throw new UnauthorizedException(INVALID_REFRESH_TOKEN);
+        }
 
-        // 2. Refresh Token에서 사용자의 이메일을 추출
-        String userEmail = jwtTokenProvider.getUserEmail(refreshToken);
+        Long userId = claims.get("id", Long.class);
+        String deviceId = claims.get(JwtTokenProvider.DEVICE_ID_CLAIM, String.class);
 
-        // 3. Redis에 저장된 Refresh Token을 이메일로 조회
-        RefreshTokenEntity storedRefreshToken = refreshTokenRepository.findById(userEmail)
-                .orElseThrow(() -> new NotFoundException(NOT_FOUND_REFRESH_TOKEN));
+        // 2. 같은 기기의 새 Refresh Token을 만들고, 저장된 토큰과 일치할 때만 교체
+        String newRefreshToken = jwtTokenProvider.rotateRefreshToken(claims);
+        RotationResult result = refreshTokenSessionStore.rotate(userId, deviceId, refreshToken, newRefreshToken,
+                jwtProperties.getRefreshExpiration());
 
-        // 4. 클라이언트로부터 받은 Refresh Token과 Redis에 저장된 토큰이 일치하는지 확인
-        storedRefreshToken.getRefreshToken().equals(refreshToken);
+        if (result == RotationResult.NOT_FOUND) {
+            throw new NotFoundException(NOT_FOUND_REFRESH_TOKEN);
+        }
+        if (result == RotationResult.REUSED) {
+            // 이미 교체된 토큰이 다시 사용됨 -> 탈취 가능성이 있으므로 모든 기기의 세션이 폐기되었습니다.
+            throw new UnauthorizedException(REFRESH_TOKEN_MISMATCH);
+        }
 
-        // 5. 새로운 Access Token을 생성하기 위해 사용자 정보를 DB에서 조회
-        // (보안 상 이유로, 토큰에 모든 정보를 담기보다 DB에서 최신 정보를 가져오는 것이 안전)
-        UserEntity user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new NotFoundException(NOT_FOUND_USER));
+        // 3. 새로운 Access Token을 생성하여 반환
+        String accessToken = jwtTokenProvider.createAccessToken(userId, claims.getSubject(),
+                claims.get("auth", String.class));
+
+        return TokensResponseDto.builder()
+                .accessToken(accessToken)
+                .refreshToken(newRefreshToken)
+                .build();
+    }
+
+    /**
+     * 이메일/닉네임 사용 가능 여부를 확인합니다. (회원가입 화면의 실시간 중복 확인용)
+     *
+     * @param email    확인할 이메일 (null이면 확인하지 않음)
+     * @param nickname 확인할 닉네임 (null이면 확인하지 않음)
+     * @return 요청한 항목의 사용 가능 여부
+     */
+    public AvailabilityResponseDto checkAvailability(String email, String nickname) {
+        if (!StringUtils.hasText(email) && !StringUtils.hasText(nickname)) {
+            throw new InvalidRequestException(AVAILABILITY_QUERY_MISSING);
+        }
 
-        // 6. 새로운 Access Token을 생성하여 반환
-        return jwtTokenProvider.createAccessToken(user);
+        Boolean emailAvailable = StringUtils.hasText(email) ? availabilityService.isEmailAvailable(email) : null;
+        Boolean nicknameAvailable = StringUtils.hasText(nickname)
+                ? availabilityService.isNicknameAvailable(nickname)
+                : null;
+        return new AvailabilityResponseDto(emailAvailable, nicknameAvailable);
     }
 
     public MyProfileResponseDto findMyProfile(UserEntity userEntity) {
@@ -162,8 +264,13 @@ public class AuthService {
     }
 
     public void deleteUser(UserEntity userEntity) {
-        // ID를 사용하거나 엔티티 자체를 사용하여 삭제 로직을 수행합니다.
-        userRepository.delete(userEntity);
+        // principal은 토큰 클레임으로 만든 비영속 객체일 수 있으므로 ID로 조회 후 삭제합니다.
+        userRepository.deleteById(userEntity.getId());
+        principalCache.invalidate(userEntity.getId());
+        refreshTokenSessionStore.revokeAll(userEntity.getId());
+        tokenRevocationService.revokeUser(userEntity.getId());
+        availabilityService.onUserDeleted();
+        eventPublisher.publishEvent(new UserDeletedEvent(userEntity.getId()));
     }
 
     /**
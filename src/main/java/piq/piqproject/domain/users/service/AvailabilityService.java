@@ -0,0 +1,222 @@
+package piq.piqproject.domain.users.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.bloom.BloomFilter;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+/**
+ * 이메일/닉네임 사용 가능 여부를 확인합니다.
+ * <p>
+ * - 조회: 가입된 이메일/닉네임을 담은 Bloom filter를 먼저 확인하고, "있을 수도 있음"인 경우에만 DB를 조회합니다.
+ * 회원가입 화면에서 입력할 때마다 보내는 확인 요청 대부분이 DB 조회 없이 처리됩니다.
+ * <p>
+ * - 생성: 애플리케이션 기동 후 users 테이블을 스트리밍으로 읽어 만들며, 완료 전에는 항상 DB를 조회합니다.
+ * <p>
+ * - 갱신: 가입 시 register()로 추가하고, 다른 서버에도 Redis pub/sub으로 전파합니다.
+ * Bloom filter는 삭제를 지원하지 않으므로 탈퇴가 일정 건수 이상 쌓이거나 예상 크기를 넘으면 새로 만들어 교체합니다.
+ * (삭제된 값이 남아 있어도 DB에서 다시 확인하므로 결과는 정확하며, 불필요한 DB 조회만 늘어납니다.)
+ */
+@Slf4j
+@Service
+public class AvailabilityService implements MessageListener {
+
+    private static final String CHANNEL = "users:identifiers";
+    private static final String EMAIL_PREFIX = "e:";
+    private static final String NICKNAME_PREFIX = "n:";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${users.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${users.availability.min-expected-insertions:100000}")
+    private long minExpectedInsertions;
+
+    @Value("${users.availability.rebuild-after-deletions:1000}")
+    private long rebuildAfterDeletions;
+
+    // null이면 아직 생성 전 (항상 DB 조회)
+    private volatile Filters filters;
+    // 재생성 중 추가된 값 (새 필터로 교체할 때 함께 반영)
+    private List<String> pendingDuringRebuild;
+    private final Object lock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong deletionsSinceBuild = new AtomicLong();
+
+    public AvailabilityService(UserRepository userRepository, StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        rebuildInBackground();
+    }
+
+    /**
+     * 이메일을 사용할 수 있는지 확인합니다. (이미 가입된 이메일이면 false)
+     */
+    public boolean isEmailAvailable(String email) {
+        Filters current = filters;
+        if (current != null && !current.emails.mightContain(normalize(email))) {
+            return true;
+        }
+        return !userRepository.existsByEmail(email);
+    }
+
+    /**
+     * 닉네임을 사용할 수 있는지 확인합니다. (이미 사용 중인 닉네임이면 false)
+     */
+    public boolean isNicknameAvailable(String nickname) {
+        Filters current = filters;
+        if (current != null && !current.nicknames.mightContain(normalize(nickname))) {
+            return true;
+        }
+        return !userRepository.existsByNickname(nickname);
+    }
+
+    /**
+     * 새로 가입한 사용자의 이메일/닉네임을 등록하고 다른 서버에도 전파합니다.
+     */
+    public void register(String email, String nickname) {
+        add(EMAIL_PREFIX + normalize(email));
+        add(NICKNAME_PREFIX + normalize(nickname));
+        try {
+            redisTemplate.convertAndSend(CHANNEL, EMAIL_PREFIX + normalize(email));
+            redisTemplate.convertAndSend(CHANNEL, NICKNAME_PREFIX + normalize(nickname));
+        } catch (Exception e) {
+            // 전파에 실패해도 가입 시 DB unique 제약이 중복을 막아주므로 가입은 계속 진행합니다.
+            log.warn("Failed to publish new user identifiers: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자 탈퇴를 기록하고, 쌓인 탈퇴 건수가 기준을 넘으면 필터를 새로 만듭니다.
+     */
+    public void onUserDeleted() {
+        if (deletionsSinceBuild.incrementAndGet() >= rebuildAfterDeletions) {
+            rebuildInBackground();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void add(String entry) {
+        synchronized (lock) {
+            Filters current = filters;
+            if (current != null) {
+                current.put(entry);
+                if (current.insertions > current.expectedInsertions) {
+                    rebuildInBackground(); // 예상 크기를 넘으면 오탐률이 올라가므로 더 큰 필터로 교체
+                }
+            }
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(entry);
+            }
+        }
+    }
+
+    private void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().daemon().name("availability-filter-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.warn("Failed to build availability filters, falling back to DB: {}", e.getMessage());
+                synchronized (lock) {
+                    pendingDuringRebuild = null;
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (lock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        deletionsSinceBuild.set(0);
+
+        long expected = Math.max(minExpectedInsertions, userRepository.count() * 2);
+        Filters next = new Filters(expected, falsePositiveRate);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = userRepository.streamAllEmailsAndNicknames()) {
+                rows.forEach(row -> {
+                    next.put(EMAIL_PREFIX + normalize((String) row[0]));
+                    next.put(NICKNAME_PREFIX + normalize((String) row[1]));
+                });
+            }
+        });
+
+        synchronized (lock) {
+            // 스트리밍 중에 가입한 사용자를 반영한 뒤 교체합니다.
+            pendingDuringRebuild.forEach(next::put);
+            pendingDuringRebuild = null;
+            filters = next;
+        }
+        log.info("Availability filters built: {} entries in {}ms", next.insertions,
+                System.currentTimeMillis() - started);
+    }
+
+    // 대소문자/앞뒤 공백만 다른 값은 같은 항목으로 봅니다. (오탐만 늘어날 뿐 누락은 생기지 않음)
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Filters {
+        private final BloomFilter emails;
+        private final BloomFilter nicknames;
+        private final long expectedInsertions;
+        private long insertions; // lock 안에서만 변경
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            this.emails = BloomFilter.create(expectedInsertions / 2, falsePositiveRate);
+            this.nicknames = BloomFilter.create(expectedInsertions / 2, falsePositiveRate);
+            this.expectedInsertions = expectedInsertions;
+        }
+
+        private void put(String entry) {
+            if (entry.startsWith(EMAIL_PREFIX)) {
+                emails.put(entry.substring(EMAIL_PREFIX.length()));
+            } else if (entry.startsWith(NICKNAME_PREFIX)) {
+                nicknames.put(entry.substring(NICKNAME_PREFIX.length()));
+            }
+            insertions++;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package piq.piqproject.domain.users.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("users.shuffle-feed") // application.properties에서 users.shuffle-feed접두사 속성을 class의 필드에 매핑
+public class ShuffleFeedProperties {
+    // 조회자별 순서를 정하는 key의 비밀값 (모든 서버가 같은 값을 사용해야 같은 순서가 나옴)
+    private String secret = "piq-shuffle-feed";
+    // 한 페이지를 채우기 위해 읽는 최대 위치 수 (페이지 크기의 배수, 제외 대상이 많으면 페이지가 덜 채워질 수 있음)
+    private int maxScanFactor = 10;
+}
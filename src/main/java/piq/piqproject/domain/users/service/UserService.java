@@ -1,5 +1,20 @@
 package piq.piqproject.domain.users.service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -10,12 +25,28 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import piq.piqproject.common.error.exception.ErrorCode;
 import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.common.pagination.Cursor;
+import piq.piqproject.common.pagination.CursorCodec;
+import piq.piqproject.common.pagination.ShuffleCursor;
+import piq.piqproject.common.pagination.SliceResponseDto;
+import piq.piqproject.common.shuffle.FeistelPermutation;
+import piq.piqproject.common.util.HashUtils;
+import piq.piqproject.config.jwt.PrincipalCache;
+import piq.piqproject.config.jwt.TokenRevocationService;
+import piq.piqproject.domain.blocks.service.BlockExclusionCache;
+import piq.piqproject.domain.matches.service.CandidateIndex;
+import piq.piqproject.domain.users.cache.ProfileResponseCache;
+import piq.piqproject.domain.users.cache.SeenProfileProperties;
+import piq.piqproject.domain.users.cache.SeenProfileStore;
 import piq.piqproject.domain.users.dto.response.MyProfileResponseDto;
 import piq.piqproject.domain.users.dto.response.UserProfileResponseDto;
 import piq.piqproject.domain.users.dto.response.UserSimpleProfileResponseDto;
 import piq.piqproject.domain.users.entity.UserEntity;
 import piq.piqproject.domain.users.enums.Gender;
 import piq.piqproject.domain.users.enums.Role;
+import piq.piqproject.domain.users.event.UserDeletedEvent;
+import piq.piqproject.domain.users.event.UserRegisteredEvent;
+import piq.piqproject.domain.users.repository.RefreshTokenSessionStore;
 import piq.piqproject.domain.users.repository.UserRepository;
 
 @Service
@@ -24,6 +55,17 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder; // DI 주입
+    private final PrincipalCache principalCache;
+    private final RefreshTokenSessionStore refreshTokenSessionStore;
+    private final TokenRevocationService tokenRevocationService;
+    private final AvailabilityService availabilityService;
+    private final ProfileResponseCache profileResponseCache;
+    private final SeenProfileStore seenProfileStore;
+    private final SeenProfileProperties seenProfileProperties;
+    private final BlockExclusionCache blockExclusionCache;
+    private final CandidateIndex candidateIndex;
+    private final ShuffleFeedProperties shuffleFeedProperties;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public MyProfileResponseDto findMyProfile(Long userId) {
@@ -36,16 +78,168 @@ public class UserService {
     }
 
     public void deleteUser(UserEntity userEntity) {
-        // ID를 사용하거나 엔티티 자체를 사용하여 삭제 로직을 수행합니다.
-        userRepository.delete(userEntity);
+        // principal은 토큰 클레임으로 만든 비영속 객체일 수 있으므로 ID로 조회 후 삭제합니다.
+        userRepository.deleteById(userEntity.getId());
+        principalCache.invalidate(userEntity.getId());
+        refreshTokenSessionStore.revokeAll(userEntity.getId());
+        tokenRevocationService.revokeUser(userEntity.getId());
+        availabilityService.onUserDeleted();
+        eventPublisher.publishEvent(new UserDeletedEvent(userEntity.getId()));
+    }
+
+    /**
+     * 성별 피드를 페이지 단위로 조회합니다. 로그인한 사용자면 차단 관계인 사용자와 이미 본 프로필은 제외합니다.
+     *
+     * @param viewerId 조회하는 사용자의 ID (로그인하지 않았으면 null)
+     * @param gender   조회할 성별
+     * @param pageable 페이지 정보
+     */
+    @Transactional(readOnly = true)
+    public Page<UserSimpleProfileResponseDto> findAllProfilesByGender(Long viewerId, Gender gender,
+            Pageable pageable) {
+        // 엔티티를 거치지 않고 목록에 필요한 컬럼만 DTO로 바로 조회합니다.
+        if (viewerId == null) {
+            return userRepository.findProfilesByGender(gender, pageable);
+        }
+        List<Long> seenIds = seenIdsForSql(viewerId);
+        return seenIds.isEmpty()
+                ? userRepository.findProfilesByGenderNotBlocked(gender, viewerId, pageable)
+                : userRepository.findProfilesByGenderExcluding(gender, viewerId, seenIds, pageable);
+    }
+
+    /**
+     * 성별 피드를 커서 기반으로 조회합니다. (COUNT 쿼리 없이 size + 1개씩 조회)
+     * 로그인한 사용자면 차단 관계인 사용자와 이미 본 프로필을 메모리에서 걸러내고, 모자란 만큼 이어서 조회합니다.
+     * 최대 users.seen.max-scan-rounds번까지만 읽으므로 페이지가 size보다 적게 채워질 수 있습니다. (hasNext로 계속 조회)
+     *
+     * @param viewerId 조회하는 사용자의 ID (로그인하지 않았으면 null)
+     * @param gender   조회할 성별
+     * @param cursor   이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size     페이지 크기
+     * @throws piq.piqproject.common.error.exception.InvalidRequestException 커서 형식이 올바르지 않을 경우
+     */
+    @Transactional(readOnly = true)
+    public SliceResponseDto<UserSimpleProfileResponseDto> findProfilesByGenderAfter(Long viewerId, Gender gender,
+            String cursor, Integer size) {
+        Cursor after = CursorCodec.decode(cursor);
+        int pageSize = SliceResponseDto.normalizeSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        Function<UserSimpleProfileResponseDto, Cursor> cursorOf = profile -> new Cursor(profile.getCreatedAt(),
+                profile.getId());
+
+        RoaringBitmap excluded = new RoaringBitmap();
+        if (viewerId != null) {
+            excluded = seenProfileStore.seenBy(viewerId);
+            excluded.or(blockExclusionCache.excludedFor(viewerId));
+        }
+        if (excluded.isEmpty()) {
+            return SliceResponseDto.of(findFeedRows(gender, after, limit), pageSize, cursorOf, Function.identity());
+        }
+
+        List<UserSimpleProfileResponseDto> page = new ArrayList<>(pageSize + 1);
+        Cursor position = after;
+        boolean exhausted = false;
+        for (int round = 0; round < seenProfileProperties.getMaxScanRounds() && page.size() <= pageSize; round++) {
+            List<UserSimpleProfileResponseDto> rows = findFeedRows(gender, position, limit);
+            for (UserSimpleProfileResponseDto row : rows) {
+                position = cursorOf.apply(row);
+                if (excluded.contains(Math.toIntExact(row.getId()))) {
+                    continue;
+                }
+                page.add(row);
+                if (page.size() > pageSize) {
+                    break;
+                }
+            }
+            if (rows.size() < limit.max()) {
+                exhausted = true;
+                break;
+            }
+        }
+
+        if (page.size() > pageSize) {
+            return SliceResponseDto.of(page, pageSize, cursorOf, Function.identity());
+        }
+        // 읽은 위치까지 걸러낸 결과만 반환하고, 다음 요청은 마지막으로 읽은 행 다음부터 이어갑니다.
+        return SliceResponseDto.of(page, !exhausted, position == null ? null : CursorCodec.encode(position));
+    }
+
+    /**
+     * 성별 피드를 조회자별로 섞인 순서로 조회합니다. 순서는 (조회자, 날짜)마다 정해지며 하루 동안 같습니다.
+     * <p>
+     * 순서는 매칭 후보 인덱스의 성별 비트맵 순위에 대한 순열(FeistelPermutation)로 계산하므로,
+     * 커서에 담긴 위치만으로 어느 페이지든 독립적으로 계산하며 서버에 조회자별 상태를 저장하지 않습니다.
+     * 차단 관계인 사용자와 이미 본 프로필은 건너뛰며, 한 번에 size * max-scan-factor 위치까지만 읽으므로
+     * 페이지가 size보다 적게 채워질 수 있습니다. (hasNext로 계속 조회)
+     *
+     * @param viewerId 조회하는 사용자의 ID
+     * @param gender   조회할 성별
+     * @param cursor   이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size     페이지 크기
+     * @throws piq.piqproject.common.error.exception.InvalidRequestException     커서 형식이 올바르지 않을 경우
+     * @throws piq.piqproject.common.error.exception.ServiceUnavailableException 후보 인덱스가 아직 생성되지 않은 경우
+     */
+    public SliceResponseDto<UserSimpleProfileResponseDto> findShuffledProfiles(Long viewerId, Gender gender,
+            String cursor, Integer size) {
+        ShuffleCursor after = ShuffleCursor.decode(cursor);
+        int pageSize = SliceResponseDto.normalizeSize(size);
+        // 자정을 넘겨 이어서 조회해도 커서의 날짜와 인원으로 같은 순서를 유지합니다.
+        int day = after == null ? (int) LocalDate.now(ZoneOffset.UTC).toEpochDay() : after.day();
+        int population = after == null ? candidateIndex.countByGender(gender) : after.size();
+        long position = after == null ? 0 : after.position();
+        if (population == 0) {
+            return SliceResponseDto.of(List.of(), false, null);
+        }
+
+        RoaringBitmap excluded = seenProfileStore.seenBy(viewerId);
+        excluded.or(blockExclusionCache.excludedFor(viewerId));
+        excluded.add(Math.toIntExact(viewerId));
+
+        FeistelPermutation permutation = new FeistelPermutation(population, shuffleKey(viewerId, day));
+        CandidateIndex.ShuffledPage page = candidateIndex.shuffledPage(gender, permutation, position, pageSize,
+                pageSize * shuffleFeedProperties.getMaxScanFactor(), excluded);
+
+        boolean hasNext = page.nextPosition() < population;
+        return SliceResponseDto.of(userRepository.findProfilesInOrder(page.ids()), hasNext,
+                new ShuffleCursor(day, population, page.nextPosition()).encode());
     }
 
-    public Page<UserSimpleProfileResponseDto> findAllProfilesByGender(Gender gender, Pageable pageable) {
-        // 1. DAO를 호출하여 Page<UserEntity>를 받습니다.
-        Page<UserEntity> userEntityPage = userRepository.findAllByGender(gender, pageable);
+    /**
+     * 사용자가 본 프로필을 기록합니다. 이후 피드/후보 조회에서 제외됩니다.
+     *
+     * @param viewerId   조회한 사용자의 ID
+     * @param profileIds 본 프로필의 사용자 ID 목록
+     */
+    public void markProfilesSeen(Long viewerId, Collection<Long> profileIds) {
+        seenProfileStore.markSeen(viewerId, profileIds);
+    }
 
-        // 2. Page 객체가 제공하는 map() 함수를 사용하여 내용물(Entity)을 DTO로 변환합니다.
-        return userEntityPage.map(user -> UserSimpleProfileResponseDto.from(user));
+    private List<UserSimpleProfileResponseDto> findFeedRows(Gender gender, Cursor after, Limit limit) {
+        return after == null
+                ? userRepository.findFeedFirstPage(gender, limit)
+                : userRepository.findFeedPageAfter(gender, after.createdAt(), after.id(), limit);
+    }
+
+    // (조회자, 날짜)의 keyed hash. 비밀값을 섞어 다른 사람의 순서를 추측할 수 없게 합니다.
+    private long shuffleKey(Long viewerId, int day) {
+        MessageDigest digest = HashUtils.newSha256();
+        digest.update(shuffleFeedProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        digest.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(viewerId).putInt(day).array());
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    // 차단 관계는 쿼리에서 blocks와 anti-join으로 제외하므로(나를 차단한 사용자 수는 제한이 없음) 목록에 넣지 않습니다.
+    // 본 프로필은 NOT IN 목록이 너무 길어지지 않도록 최근 가입자(큰 ID)부터 max-sql-exclusions개만 사용합니다.
+    // (최신순 피드의 앞 페이지에 나오는 프로필일수록 ID가 크므로, 오래된 프로필이 다시 보일 수 있는 정도로 타협)
+    private List<Long> seenIdsForSql(Long viewerId) {
+        RoaringBitmap seen = seenProfileStore.seenBy(viewerId);
+        int max = seenProfileProperties.getMaxSqlExclusions();
+        List<Long> ids = new ArrayList<>(Math.min(seen.getCardinality(), max));
+        IntIterator iterator = seen.getReverseIntIterator();
+        while (iterator.hasNext() && ids.size() < max) {
+            ids.add(Integer.toUnsignedLong(iterator.next()));
+        }
+        return ids;
     }
 
     /**
@@ -57,10 +251,37 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public UserProfileResponseDto findUserProfileById(Long id) {
-        UserEntity user = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(ErrorCode.NOT_FOUND_USER, "해당 ID의 사용자를 찾을 수 없습니다: " + id));
+        return loadUserProfile(id);
+    }
+
+    /**
+     * 특정 사용자의 공개 프로필을 직렬화된 JSON으로 조회합니다.
+     * 캐시에 있으면 DB 조회와 직렬화 없이 반환하므로, DB 커넥션도 miss일 때만 사용합니다.
+     * miss일 때는 이 클래스의 @Transactional 메서드를 거치지 않고(자기 호출은 프록시를 지나지 않음) 조회 쿼리 하나만
+     * repository의 읽기 전용 트랜잭션에서 실행하므로, 커넥션은 그 쿼리 동안만 사용합니다.
+     * 로그인한 사용자가 다른 사용자의 프로필을 조회하면 본 프로필로 기록합니다.
+     *
+     * @param viewerId 조회하는 사용자의 ID (로그인하지 않았으면 null)
+     * @param id       조회할 사용자의 ID
+     * @return UserProfileResponseDto의 JSON (UTF-8)
+     * @throws NotFoundException 해당 ID의 사용자가 없거나, 조회하는 사용자와 차단 관계인 경우 발생
+     */
+    public byte[] findUserProfileJsonById(Long viewerId, Long id) {
+        // 차단 여부가 드러나지 않도록 없는 사용자와 같은 응답을 보냅니다.
+        if (viewerId != null && blockExclusionCache.isBlocked(viewerId, id)) {
+            throw new NotFoundException(ErrorCode.NOT_FOUND_USER, "해당 ID의 사용자를 찾을 수 없습니다: " + id);
+        }
+        byte[] profile = profileResponseCache.getOrLoad(id, () -> loadUserProfile(id));
+        if (viewerId != null && !viewerId.equals(id)) {
+            seenProfileStore.markSeen(viewerId, id);
+        }
+        return profile;
+    }
 
-        // 2. 조회된 UserEntity를 DTO로 변환하여 반환합니다.
+    // 이미지까지 한 번의 쿼리로 조회하므로, 트랜잭션 밖에서 DTO로 변환해도 지연 로딩이 발생하지 않습니다.
+    private UserProfileResponseDto loadUserProfile(Long id) {
+        UserEntity user = userRepository.findByIdWithImages(id)
+                .orElseThrow(() -> new NotFoundException(ErrorCode.NOT_FOUND_USER, "해당 ID의 사용자를 찾을 수 없습니다: " + id));
         return UserProfileResponseDto.from(user);
     }
 
@@ -79,7 +300,9 @@ public class UserService {
                 30, Gender.MALE, "MBTI", 1000.0, 1000, "관리자 계정", true);
         adminUser.addRole(Role.ADMIN); // 관리자 권한 부여
 
-        // 4. DB에 저장
+        // 4. DB에 저장 후 중복 확인용 필터에 등록 (기동 직후 필터 생성과 동시에 실행될 수 있음)
         userRepository.save(adminUser);
+        availabilityService.register(adminUser.getEmail(), adminUser.getNickname());
+        eventPublisher.publishEvent(new UserRegisteredEvent(adminUser.getId()));
     }
 }
\ No newline at end of file
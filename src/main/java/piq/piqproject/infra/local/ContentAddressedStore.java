@@ -0,0 +1,308 @@
+package piq.piqproject.infra.local;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InvalidRequestException;
+import piq.piqproject.common.error.exception.PayloadTooLargeException;
+import piq.piqproject.common.file.ImageFormat;
+import piq.piqproject.common.util.HashUtils;
+
+/**
+ * 파일 내용의 SHA-256 해시를 이름으로 저장하는 로컬 디스크 저장소입니다. 같은 사진은 몇 번을 올려도 한 번만 저장됩니다.
+ * <p>
+ * - 저장: 업로드 스트림을 고정 크기 버퍼로 읽으면서 해시를 계산하고, 같은 파일시스템의 임시 파일(.staging)에
+ * FileChannel로 기록합니다. 앞부분의 magic bytes가 허용된 이미지 형식이 아니거나 최대 크기를 넘으면 그 자리에서 중단하므로
+ * 나머지를 읽지 않습니다. 기록이 끝나면 ab/cd/{해시}.{확장자} 경로로 ATOMIC_MOVE하므로, 읽는 쪽은 완성된 파일만 봅니다.
+ * <p>
+ * - 참조 수: 파일 옆의 .refs 파일에 참조 수를 기록합니다. 이미 있는 내용이면 임시 파일을 지우고 참조 수만 올리며,
+ * release()로 0이 되면 파일을 지웁니다. 해시 앞자리로 나눈 stripe 락(스레드 간 ReentrantLock, 프로세스 간 FileLock)
+ * 안에서 처리하므로 같은 디렉터리를 쓰는 서버 프로세스가 여러 개여도 참조 수가 어긋나지 않습니다.
+ * <p>
+ * - 변형: 원본에서 만든 썸네일 등은 storeVariant()로 같은 디렉터리에 {해시}.{변형}.{확장자}로 저장하며,
+ * 원본의 참조 수가 0이 되어 지울 때 함께 지웁니다.
+ * <p>
+ * - 복구: 참조 수는 파일을 옮기기 전에 먼저 올립니다. 중간에 비정상 종료되면 참조 수가 실제보다 클 수는 있어도
+ * 작아지지는 않으므로, 참조 중인 파일이 지워지지 않습니다.
+ */
+@Slf4j
+public class ContentAddressedStore {
+
+    // 원본: ab/cd/{해시}.{확장자}, 변형: ab/cd/{해시}.{변형}.{확장자}
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(\\.[a-z]+)?\\.[a-z]+");
+    private static final Pattern VARIANT_NAME = Pattern.compile("[a-z]+");
+    private static final int HASH_OFFSET = 6;
+    private static final int HASH_LENGTH = 64;
+    private static final String STAGING_DIRECTORY = ".staging";
+    private static final String LOCK_DIRECTORY = ".locks";
+    private static final String REFS_SUFFIX = ".refs";
+    private static final int LOCK_STRIPES = 64;
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final Path root;
+    private final Path stagingDirectory;
+    private final Path[] lockFiles = new Path[LOCK_STRIPES];
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    /**
+     * 저장된 파일의 정보입니다.
+     *
+     * @param key          root 아래의 상대 경로 (예: 3a/7f/3a7f...e1.jpg)
+     * @param hash         파일 내용의 SHA-256 (16진수)
+     * @param deduplicated 같은 내용의 파일이 이미 있어 새로 저장하지 않았는지 여부
+     */
+    public record StoredFile(String key, String hash, ImageFormat format, long size, boolean deduplicated) {
+    }
+
+    /**
+     * @param root                   저장소 최상위 디렉터리 (없으면 생성)
+     * @param stagingRetentionMillis 이보다 오래된 임시 파일은 이전 실행에서 남은 것으로 보고 삭제
+     */
+    public ContentAddressedStore(Path root, long stagingRetentionMillis) throws IOException {
+        this.root = Files.createDirectories(root).toAbsolutePath();
+        this.stagingDirectory = Files.createDirectories(this.root.resolve(STAGING_DIRECTORY));
+        Path lockDirectory = Files.createDirectories(this.root.resolve(LOCK_DIRECTORY));
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            lockFiles[i] = lockDirectory.resolve(String.format("%02d.lock", i));
+            locks[i] = new ReentrantLock();
+        }
+        deleteStaleStagingFiles(System.currentTimeMillis() - stagingRetentionMillis);
+    }
+
+    /**
+     * 스트림의 내용을 저장합니다. 스트림은 호출한 쪽에서 닫습니다.
+     *
+     * @param content  저장할 내용
+     * @param maxBytes 허용하는 최대 크기
+     * @throws InvalidRequestException   허용된 이미지 형식이 아닌 경우 (INVALID_IMAGE_FILE)
+     * @throws PayloadTooLargeException  maxBytes를 넘는 경우 (FILE_SIZE_EXCEEDED)
+     * @throws IOException               디스크 기록에 실패한 경우
+     */
+    public StoredFile store(InputStream content, long maxBytes) throws IOException {
+        Path staging = Files.createTempFile(stagingDirectory, "upload-", ".tmp");
+        try {
+            MessageDigest digest = HashUtils.newSha256();
+            byte[] chunk = new byte[CHUNK_BYTES];
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            ImageFormat format;
+            long size = 0;
+            try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.WRITE)) {
+                // 형식 판별에 필요한 앞부분만 먼저 읽고, 이미지가 아니면 나머지는 읽지 않습니다.
+                int read = content.readNBytes(chunk, 0, ImageFormat.HEADER_BYTES);
+                format = ImageFormat.detect(chunk, read);
+                if (format == null) {
+                    throw new InvalidRequestException(ErrorCode.INVALID_IMAGE_FILE);
+                }
+                while (read != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new PayloadTooLargeException(ErrorCode.FILE_SIZE_EXCEEDED);
+                    }
+                    digest.update(chunk, 0, read);
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    read = content.read(chunk);
+                }
+                // 참조를 DB에 기록하기 전에 내용이 디스크에 남아 있어야 합니다.
+                channel.force(true);
+            }
+
+            String hash = HashUtils.toHex(digest.digest());
+            String key = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + format.getExtension();
+            Path target = root.resolve(key);
+            long storedSize = size;
+            return withLock(hash, () -> {
+                Path refs = refsOf(target);
+                writeCount(refs, readCount(refs) + 1);
+                if (Files.exists(target)) {
+                    return new StoredFile(key, hash, format, storedSize, true);
+                }
+                Files.createDirectories(target.getParent());
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+                return new StoredFile(key, hash, format, storedSize, false);
+            });
+        } finally {
+            // 옮기지 않은 임시 파일 (중복, 검증 실패, 기록 실패)
+            Files.deleteIfExists(staging);
+        }
+    }
+
+    /**
+     * 원본에서 만든 변형 파일을 원본 옆에 저장합니다. 같은 변형이 이미 있으면 그대로 둡니다.
+     *
+     * @param key     원본의 key (store()가 반환한 값)
+     * @param variant 변형 이름 (영문 소문자, 예: thumb)
+     * @param format  변형 파일의 형식
+     * @param content 변형 파일의 내용
+     * @return 변형 파일의 key (그 사이 원본이 지워졌으면 null)
+     */
+    public String storeVariant(String key, String variant, ImageFormat format, byte[] content) throws IOException {
+        Path original = resolve(key);
+        if (original == null || isVariant(key) || !VARIANT_NAME.matcher(variant).matches()) {
+            throw new IllegalArgumentException("invalid variant of " + key + ": " + variant);
+        }
+        String variantKey = key.substring(0, key.lastIndexOf('.')) + "." + variant + "." + format.getExtension();
+        Path target = root.resolve(variantKey);
+        Path staging = Files.createTempFile(stagingDirectory, "variant-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            return withLock(hashOf(key), () -> {
+                // 원본이 지워진 뒤에 저장하면 아무도 지우지 않는 파일이 남습니다.
+                if (!Files.exists(original)) {
+                    return null;
+                }
+                if (!Files.exists(target)) {
+                    Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return variantKey;
+            });
+        } finally {
+            Files.deleteIfExists(staging);
+        }
+    }
+
+    /**
+     * 참조 하나를 해제합니다. 참조 수가 0이 되면 파일과 변형 파일을 모두 지웁니다.
+     *
+     * @param key store()가 반환한 key
+     * @return 파일을 지웠으면 true
+     */
+    public boolean release(String key) throws IOException {
+        Path target = resolve(key);
+        if (target == null || isVariant(key)) {
+            log.warn("Ignoring release of {}: not an original content-addressed key", key);
+            return false;
+        }
+        return withLock(hashOf(key), () -> {
+            Path refs = refsOf(target);
+            long count = readCount(refs) - 1;
+            if (count > 0) {
+                writeCount(refs, count);
+                return false;
+            }
+            Files.deleteIfExists(target);
+            Files.deleteIfExists(refs);
+            deleteVariants(target.getParent(), hashOf(key));
+            return true;
+        });
+    }
+
+    /**
+     * @return key에 해당하는 파일 경로 (key 형식이 아니면 null, 파일이 있는지는 확인하지 않음)
+     */
+    public Path resolve(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return null;
+        }
+        String extension = key.substring(key.lastIndexOf('.') + 1);
+        return ImageFormat.fromExtension(extension) == null ? null : root.resolve(key);
+    }
+
+    /**
+     * @return 파일의 현재 참조 수 (없으면 0)
+     */
+    public long referenceCount(String key) throws IOException {
+        Path target = resolve(key);
+        return target == null || isVariant(key) ? 0 : withLock(hashOf(key), () -> readCount(refsOf(target)));
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    private static String hashOf(String key) {
+        return key.substring(HASH_OFFSET, HASH_OFFSET + HASH_LENGTH);
+    }
+
+    // 해시 뒤에 확장자 외의 이름이 더 붙어 있으면 변형 파일입니다.
+    private static boolean isVariant(String key) {
+        return key.indexOf('.', HASH_OFFSET + HASH_LENGTH + 1) != -1;
+    }
+
+    private static void deleteVariants(Path directory, String hash) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, hash + ".*")) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static Path refsOf(Path target) {
+        return target.resolveSibling(target.getFileName() + REFS_SUFFIX);
+    }
+
+    private long readCount(Path refs) throws IOException {
+        if (!Files.exists(refs)) {
+            return 0;
+        }
+        String value = Files.readString(refs, StandardCharsets.US_ASCII).trim();
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // 알 수 없으면 참조가 하나는 있다고 보고, 파일을 지우지 않는 쪽으로 처리합니다.
+            log.warn("Malformed reference count in {}: {}", refs, value);
+            return 1;
+        }
+    }
+
+    // 임시 파일에 쓴 뒤 바꿔치기하여, 중간에 종료되어도 이전 값 또는 새 값 중 하나가 남습니다.
+    private void writeCount(Path refs, long count) throws IOException {
+        Files.createDirectories(refs.getParent());
+        Path temp = refs.resolveSibling(refs.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(count), StandardCharsets.US_ASCII);
+        Files.move(temp, refs, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // 가상 스레드에서 호출되어도 carrier 스레드를 붙잡지 않도록 synchronized 대신 ReentrantLock을 사용합니다.
+    private <T> T withLock(String hash, LockedAction<T> action) throws IOException {
+        int stripe = Integer.parseInt(hash.substring(0, 2), 16) % LOCK_STRIPES;
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try (FileChannel channel = FileChannel.open(lockFiles[stripe], StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+                FileLock ignored = channel.lock()) {
+            return action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deleteStaleStagingFiles(long modifiedBefore) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(stagingDirectory)) {
+            for (Path path : stream) {
+                if (Files.getLastModifiedTime(path).toMillis() < modifiedBefore) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up staging files in {}: {}", stagingDirectory, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+}
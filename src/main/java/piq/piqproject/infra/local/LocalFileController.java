@@ -0,0 +1,175 @@
+package piq.piqproject.infra.local;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.common.file.ByteRange;
+import piq.piqproject.common.file.ImageFormat;
+
+/**
+ * LocalUploader가 저장한 이미지(/uploads/**)를 응답합니다.
+ * <p>
+ * - 캐시: URL이 내용의 해시이므로 같은 URL의 내용은 바뀌지 않습니다. 파일 이름(해시)을 strong ETag로,
+ * Cache-Control은 1년 + immutable로 응답하여 브라우저/프록시가 다시 요청하지 않게 하고,
+ * 다시 요청해도 If-None-Match가 맞으면 파일을 열지 않고 304로 끝냅니다.
+ * <p>
+ * - 전송: storage.local.sendfile-min-bytes 이상의 파일은 Tomcat sendfile 요청 속성을 설정하여 커널이 파일을
+ * 소켓으로 바로 보내게 합니다. (JVM 힙을 거치지 않음) sendfile을 쓸 수 없으면(TLS, 작은 파일 등)
+ * FileChannel.transferTo()로 응답 스트림에 씁니다.
+ * <p>
+ * - Range: 한 구간의 Range 요청(bytes=start-end)을 206으로 응답합니다. If-Range가 ETag와 다르면 전체를 응답합니다.
+ * <p>
+ * 해시 저장소 이전의 파일(/uploads/images/...)도 같은 방식으로 응답합니다. (이름이 UUID라 내용이 바뀌지 않음)
+ */
+@RestController
+public class LocalFileController {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // Tomcat이 지원하는 sendfile 요청 속성 (org.apache.tomcat.util.net.Constants)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalUploader localUploader;
+    private final long sendfileMinBytes;
+
+    public LocalFileController(LocalUploader localUploader, LocalStorageProperties properties) {
+        this.localUploader = localUploader;
+        this.sendfileMinBytes = properties.getSendfileMinBytes();
+    }
+
+    @RequestMapping(value = "/uploads/**", method = { RequestMethod.GET, RequestMethod.HEAD })
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = request.getRequestURI().substring(request.getContextPath().length()
+                + LocalUploader.URL_PREFIX.length());
+        Path path = localUploader.resolve(key);
+        if (path == null) {
+            throw new NotFoundException(ErrorCode.NOT_FOUND_FILE);
+        }
+
+        String etag = etagOf(path);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // ETag/Cache-Control은 404 응답에 남기지 않습니다.
+            response.reset();
+            throw new NotFoundException(ErrorCode.NOT_FOUND_FILE);
+        }
+        try (channel) {
+            long size = channel.size();
+            ByteRange range = rangeOf(request, etag, size);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (range == ByteRange.UNSATISFIABLE) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return;
+            }
+            if (range == null) {
+                range = new ByteRange(0, size - 1);
+            } else {
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + range.start() + "-" + range.end() + "/" + size);
+            }
+
+            response.setContentType(contentTypeOf(key));
+            response.setContentLengthLong(Math.max(0, range.length()));
+            if (RequestMethod.HEAD.name().equals(request.getMethod()) || range.length() <= 0) {
+                return;
+            }
+
+            boolean sendfile = Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED));
+            if (sendfile && range.length() >= sendfileMinBytes) {
+                // 응답 본문은 쓰지 않고, 요청이 끝난 뒤 Tomcat이 sendfile로 보냅니다. (end는 포함하지 않음)
+                request.setAttribute(SENDFILE_FILENAME, path.toString());
+                request.setAttribute(SENDFILE_START, range.start());
+                request.setAttribute(SENDFILE_END, range.end() + 1);
+                return;
+            }
+            transfer(channel, range, response);
+        }
+    }
+
+    private static void transfer(FileChannel channel, ByteRange range, HttpServletResponse response)
+            throws IOException {
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long position = range.start();
+        long remaining = range.length();
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, out);
+            if (sent <= 0) {
+                break; // 전송 중 파일이 잘린 경우
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    // If-Range가 있으면 ETag가 같을 때만 Range를 적용합니다. (strong 비교)
+    private static ByteRange rangeOf(HttpServletRequest request, String etag, long size) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(etag)) {
+            return null;
+        }
+        return ByteRange.parse(request.getHeader(HttpHeaders.RANGE), size);
+    }
+
+    // 옛 파일은 확장자가 ImageFormat에 없을 수 있습니다. (jpeg 등)
+    private static String contentTypeOf(String key) {
+        ImageFormat format = ImageFormat.fromExtension(key.substring(key.lastIndexOf('.') + 1));
+        if (format != null) {
+            return format.getContentType();
+        }
+        return MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+    }
+
+    // 파일 이름에서 확장자를 뺀 부분 (원본: {해시}, 변형: {해시}.{변형}, 옛 파일: {UUID})
+    private static String etagOf(Path path) {
+        String fileName = path.getFileName().toString();
+        return "\"" + fileName.substring(0, fileName.lastIndexOf('.')) + "\"";
+    }
+
+    // If-None-Match는 weak 비교 (W/ 접두사 무시), "*"는 파일이 있는지 확인해야 하므로 전체 응답으로 처리
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
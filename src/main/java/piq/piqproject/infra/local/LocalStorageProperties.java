@@ -0,0 +1,24 @@
+package piq.piqproject.infra.local;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component // spring bean으로 만듦
+@ConfigurationProperties("storage.local") // application.properties에서 storage.local접두사 속성을 class의 필드에 매핑
+public class LocalStorageProperties {
+    // 업로드 파일을 저장할 최상위 디렉터리 (임시 파일과 락 파일도 이 아래에 생성)
+    private String root = "data/uploads";
+    // 업로드할 수 있는 파일 하나의 최대 크기 (넘으면 읽는 도중 중단하고 413)
+    private long maxFileBytes = 10L * 1024 * 1024;
+    // 기동 시 이 시간(분)보다 오래된 임시 파일은 이전 실행에서 남은 것으로 보고 삭제
+    private long stagingRetentionMinutes = 60;
+    // 이 크기 이상의 파일은 Tomcat sendfile로 응답 (작은 파일은 복사가 더 빠름, Tomcat DefaultServlet 기본값과 같음)
+    private long sendfileMinBytes = 48 * 1024;
+    // 해시 저장소 이전에 images/yyyy/MM/dd/{UUID}.{확장자}로 저장하던 디렉터리 (비우면 옛 URL은 404)
+    private String legacyRoot = "C:/uploads";
+}
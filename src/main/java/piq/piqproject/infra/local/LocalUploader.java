@@ -1,63 +1,161 @@
 package piq.piqproject.infra.local;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import lombok.extern.slf4j.Slf4j;
 import piq.piqproject.common.error.exception.ErrorCode;
 import piq.piqproject.common.error.exception.InternalServerException;
+import piq.piqproject.common.error.exception.PayloadTooLargeException;
 import piq.piqproject.common.file.FileUploader;
-import java.io.File;
+import piq.piqproject.common.file.ImageFormat;
 
+/**
+ * 업로드 파일을 로컬 디스크의 ContentAddressedStore(storage.local.root)에 저장합니다.
+ * 파일 이름은 내용의 해시로 정해지므로, 같은 사진은 몇 번을 올려도 한 번만 저장됩니다.
+ * <p>
+ * 해시 저장소 이전에 올린 파일(/uploads/images/yyyy/MM/dd/{UUID}.{확장자})은 storage.local.legacy-root에서
+ * 읽고 지웁니다. 옛 파일은 참조 수가 없으므로 삭제하면 바로 지우고, 변형 이미지 대신 원본 URL을 사용합니다.
+ */
 @Component
 @Slf4j
 // @Profile("local") // local 프로필일 때만 활성화
 public class LocalUploader implements FileUploader {
 
-    private final String uploadDir = "C:/uploads/"; // 실제 저장될 로컬 경로
+    public static final String URL_PREFIX = "/uploads/";
+    // 해시 저장소 이전의 key (FileUtil.createDirectoryPath() + "/" + createUniqueFileName())
+    private static final Pattern LEGACY_KEY = Pattern.compile(
+            "images/[0-9]{4}/[0-9]{2}/[0-9]{2}/[0-9a-f-]{36}\\.[A-Za-z0-9]+");
+
+    private final ContentAddressedStore store;
+    private final Path legacyRoot;
+    private final long maxFileBytes;
+
+    public LocalUploader(LocalStorageProperties properties) throws IOException {
+        this.store = new ContentAddressedStore(Path.of(properties.getRoot()),
+                TimeUnit.MINUTES.toMillis(properties.getStagingRetentionMinutes()));
+        String legacyRoot = properties.getLegacyRoot();
+        this.legacyRoot = legacyRoot == null || legacyRoot.isBlank() ? null : Path.of(legacyRoot).toAbsolutePath();
+        this.maxFileBytes = properties.getMaxFileBytes();
+        log.info("Local file storage root: {}", store.getRoot());
+    }
 
     /**
-     * 파일을 로컬 디스크에 저장하고, 해당 파일의 절대경로를 반환한다.
-     * 
+     * 파일을 로컬 디스크에 저장하고, 해당 파일의 URL을 반환한다.
+     * 저장 경로는 내용의 해시로 정해지므로 relativePath는 사용하지 않는다.
+     *
      * @param file         업로드할 파일
-     * @param relativePath 파일을 저장할 상대경로 (예: /images/2025/09/17/~~~~.jpg)
-     * @return 파일의 절대 URL (예: /uploads/images/2025/
+     * @param relativePath 사용하지 않음 (S3Uploader 등 경로를 지정하는 구현체용)
+     * @return 파일의 URL (예: /uploads/3a/7f/3a7f...e1.jpg)
      */
     @Override
     public String upload(MultipartFile file, String relativePath) {
-        try {
-            File targetFile = new File(uploadDir + relativePath);
-            File parentDir = targetFile.getParentFile();
-            if (!parentDir.exists()) {
-                parentDir.mkdirs(); // 부모 디렉토리가 없으면 생성
-            }
-            file.transferTo(targetFile);
-            return "/uploads/" + relativePath;
-        } catch (Exception e) {
-            log.error("로컬 파일 업로드 실패", e.getMessage());
+        // 크기를 알 수 있으면 읽기 전에 거절합니다.
+        if (file.getSize() > maxFileBytes) {
+            throw new PayloadTooLargeException(ErrorCode.FILE_SIZE_EXCEEDED);
+        }
+        try (InputStream content = file.getInputStream()) {
+            return store(content);
+        } catch (IOException e) {
+            log.error("로컬 파일 업로드 실패: {}", e.getMessage());
+            throw new InternalServerException(ErrorCode.FILE_UPLOAD_ERROR, "로컬 파일 업로드 실패");
+        }
+    }
+
+    /**
+     * 디스크에 있는 파일을 저장하고, 해당 파일의 URL을 반환한다. 원본 파일은 지우지 않는다.
+     *
+     * @param file         업로드할 파일의 경로
+     * @param relativePath 사용하지 않음
+     * @return 파일의 URL
+     */
+    @Override
+    public String upload(Path file, String relativePath) {
+        try (InputStream content = Files.newInputStream(file)) {
+            return store(content);
+        } catch (IOException e) {
+            log.error("로컬 파일 업로드 실패: {}", e.getMessage());
             throw new InternalServerException(ErrorCode.FILE_UPLOAD_ERROR, "로컬 파일 업로드 실패");
         }
     }
 
+    private String store(InputStream content) throws IOException {
+        ContentAddressedStore.StoredFile stored = store.store(content, maxFileBytes);
+        log.debug("Stored upload {} ({} bytes, deduplicated={})", stored.key(), stored.size(),
+                stored.deduplicated());
+        return URL_PREFIX + stored.key();
+    }
+
     /*
-     * 파일을 로컬 디스크에서 삭제한다.
-     * 
-     * @param fileUrl 삭제할 파일의 절대 URL (예: /uploads/images/2025/09/17/~~~~.jpg)
-     * 
+     * 파일의 참조를 하나 해제한다. 같은 파일을 참조하는 이미지가 더 없으면 디스크에서 삭제한다.
+     *
+     * @param fileUrl 삭제할 파일의 URL (예: /uploads/3a/7f/3a7f...e1.jpg)
+     *
      * @return void
      */
     @Override
     public void delete(String fileUrl) {
         try {
-            // fileUrl은 "/uploads/images/2025/..." 형태이므로, 앞의 "/uploads"를 제거해야 실제 경로와 매칭됨
-            String filePath = fileUrl.replaceFirst("/uploads", "");
-            File file = new File(uploadDir + filePath);
-            if (file.exists()) {
-                file.delete();
+            Path legacy = resolveLegacy(keyOf(fileUrl));
+            if (legacy != null) {
+                Files.deleteIfExists(legacy);
+                return;
             }
-        } catch (Exception e) {
-            log.error("로컬 파일 삭제 실패: " + fileUrl, e.getMessage());
+            store.release(keyOf(fileUrl));
+        } catch (IOException e) {
+            log.error("로컬 파일 삭제 실패: {} ({})", fileUrl, e.getMessage());
             throw new InternalServerException(ErrorCode.FILE_DELETE_ERROR, "로컬 파일 삭제 실패");
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public byte[] read(String fileUrl) throws IOException {
+        Path path = resolve(keyOf(fileUrl));
+        if (path == null) {
+            throw new NoSuchFileException(fileUrl);
+        }
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public String uploadVariant(String fileUrl, String variant, ImageFormat format, byte[] content)
+            throws IOException {
+        if (resolveLegacy(keyOf(fileUrl)) != null) {
+            return fileUrl; // 옛 파일은 저장소 밖에 있으므로 원본을 그대로 사용
+        }
+        String variantKey = store.storeVariant(keyOf(fileUrl), variant, format, content);
+        return variantKey == null ? null : URL_PREFIX + variantKey;
+    }
+
+    /**
+     * @return key에 해당하는 파일 경로 (해시 저장소 또는 옛 디렉터리, 어느 형식도 아니면 null, 파일이 있는지는 확인하지 않음)
+     */
+    public Path resolve(String key) {
+        Path path = store.resolve(key);
+        return path != null ? path : resolveLegacy(key);
+    }
+
+    public ContentAddressedStore getStore() {
+        return store;
+    }
+
+    private Path resolveLegacy(String key) {
+        if (legacyRoot == null || !LEGACY_KEY.matcher(key).matches()) {
+            return null;
+        }
+        return legacyRoot.resolve(key);
+    }
+
+    // fileUrl은 "/uploads/3a/7f/..." 형태이므로, 앞의 "/uploads/"를 제거해야 저장소의 key와 매칭됨
+    private static String keyOf(String fileUrl) {
+        return fileUrl.startsWith(URL_PREFIX) ? fileUrl.substring(URL_PREFIX.length()) : fileUrl;
+    }
+}
@@ -1,9 +1,13 @@
 package piq.piqproject.infra.s3;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import piq.piqproject.common.file.FileUploader;
+import piq.piqproject.common.file.ImageFormat;
 
 //TODO: S3 SDK 의존성 추가 및 업로드 로직 구현해야함 /현재는 임시로 만든 클래스
 // @Component
@@ -20,6 +24,12 @@ public class S3Uploader implements FileUploader {
         return "S3_UPLOADED_URL/" + fullPath; // 예시 URL
     }
 
+    @Override
+    public String upload(Path file, String fullPath) {
+        // amazonS3Client.putObject(bucket, fullPath, file.toFile())로 업로드하는 로직 구현
+        return "S3_UPLOADED_URL/" + fullPath; // 예시 URL
+    }
+
     @Override
     public void delete(String fileUrl) {
         try {
@@ -30,4 +40,17 @@ public class S3Uploader implements FileUploader {
             System.err.println("S3 파일 삭제 실패: " + fileUrl);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public byte[] read(String fileUrl) throws IOException {
+        // amazonS3Client.getObject(bucket, fileKey)로 원본을 내려받는 로직 구현
+        throw new IOException("S3 다운로드는 아직 구현되지 않았습니다: " + fileUrl);
+    }
+
+    @Override
+    public String uploadVariant(String fileUrl, String variant, ImageFormat format, byte[] content)
+            throws IOException {
+        // 원본 key의 확장자 앞에 변형 이름을 붙인 key(images/.../uuid.thumb.jpg)로 업로드하는 로직 구현
+        throw new IOException("S3 변형 이미지 업로드는 아직 구현되지 않았습니다: " + fileUrl);
+    }
+}
@@ -0,0 +1,49 @@
+package piq.piqproject.common.bloom;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    void testContainsEveryInsertedValue() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+            filter.put((long) i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+            assertTrue(filter.mightContain((long) i));
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("member-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("stranger-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // 1% 설정에서 여유를 두고 3% 미만인지 확인
+        assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+
+        assertFalse(filter.mightContain("anything"));
+        assertFalse(filter.mightContain(42L));
+    }
+}
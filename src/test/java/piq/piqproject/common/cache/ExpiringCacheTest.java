@@ -0,0 +1,54 @@
+package piq.piqproject.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class ExpiringCacheTest {
+
+    @Test
+    void testExpiredEntryIsNotReturned() {
+        ExpiringCache<Long, Long> cache = new ExpiringCache<>(10, expiresAt -> expiresAt);
+        long now = System.currentTimeMillis();
+        cache.put(1L, now + 60_000);
+        cache.put(2L, now - 1);
+
+        assertEquals(now + 60_000, cache.get(1L));
+        assertNull(cache.get(2L));
+        // 조회하면서 만료된 항목을 제거합니다.
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testOverflowIsBounded() {
+        ExpiringCache<Long, Long> cache = new ExpiringCache<>(10, expiresAt -> expiresAt);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        for (long key = 1; key <= 100; key++) {
+            cache.put(key, expiresAt);
+            assertTrue(cache.size() <= 10);
+        }
+    }
+
+    @Test
+    void testSweeperRemovesExpiredEntriesUntilClosed() throws InterruptedException {
+        ExpiringCache<Long, Long> cache = new ExpiringCache<>(10, expiresAt -> expiresAt);
+        cache.put(1L, System.currentTimeMillis() - 1);
+        cache.startSweeper("test-sweep", Duration.ofMillis(10));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cache.size() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, cache.size());
+
+        cache.close();
+        cache.put(2L, System.currentTimeMillis() - 1);
+        Thread.sleep(50);
+        assertEquals(1, cache.size());
+    }
+}
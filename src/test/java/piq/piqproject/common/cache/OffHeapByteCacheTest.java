@@ -0,0 +1,47 @@
+package piq.piqproject.common.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class OffHeapByteCacheTest {
+
+    @Test
+    void testPutAndGet() {
+        OffHeapByteCache cache = new OffHeapByteCache(4, 1024, 256);
+        byte[] value = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(cache.put(1L, value, cache.ticket(1L)));
+
+        assertArrayEquals(value, cache.get(1L));
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void testInvalidationRejectsStalePut() {
+        OffHeapByteCache cache = new OffHeapByteCache(1, 1024, 256);
+        long ticket = cache.ticket(1L);
+
+        // 조회 도중 커밋된 변경으로 무효화되면, 이전에 읽은 값은 저장하지 않습니다.
+        cache.invalidate(1L);
+
+        assertFalse(cache.put(1L, new byte[] { 1 }, ticket));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void testFullSegmentIsRecycled() {
+        OffHeapByteCache cache = new OffHeapByteCache(1, 100, 60);
+
+        cache.put(1L, new byte[60], cache.ticket(1L));
+        cache.put(2L, new byte[60], cache.ticket(2L));
+
+        assertNull(cache.get(1L));
+        assertArrayEquals(new byte[60], cache.get(2L));
+    }
+}
@@ -0,0 +1,32 @@
+package piq.piqproject.common.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class ByteRangeTest {
+
+    @Test
+    void testParsesSingleRanges() {
+        assertEquals(new ByteRange(0, 99), ByteRange.parse("bytes=0-99", 1000));
+        assertEquals(new ByteRange(500, 999), ByteRange.parse("bytes=500-", 1000));
+        assertEquals(new ByteRange(900, 999), ByteRange.parse("bytes=-100", 1000));
+        // 파일보다 긴 구간은 파일 끝까지로 줄입니다.
+        assertEquals(new ByteRange(900, 999), ByteRange.parse("bytes=900-5000", 1000));
+        assertEquals(new ByteRange(0, 999), ByteRange.parse("bytes=-5000", 1000));
+        assertEquals(100, ByteRange.parse("BYTES=0-99", 1000).length());
+    }
+
+    @Test
+    void testUnsatisfiableAndIgnoredRanges() {
+        assertEquals(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=1000-", 1000));
+        assertEquals(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 1000));
+
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("bytes=0-1,5-9", 1000));
+        assertNull(ByteRange.parse("bytes=9-5", 1000));
+        assertNull(ByteRange.parse("items=0-9", 1000));
+        assertNull(ByteRange.parse("bytes=a-b", 1000));
+    }
+}
@@ -0,0 +1,52 @@
+package piq.piqproject.common.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import piq.piqproject.common.error.exception.InvalidRequestException;
+
+public class CursorCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2025, 9, 1, 12, 30, 15, 123_456_789), 42L);
+
+        String encoded = CursorCodec.encode(cursor);
+
+        assertFalse(encoded.contains("="));
+        assertEquals(cursor, CursorCodec.decode(encoded));
+    }
+
+    @Test
+    void testBlankCursorMeansFirstPage() {
+        assertNull(CursorCodec.decode(null));
+        assertNull(CursorCodec.decode(""));
+    }
+
+    @Test
+    void testRejectsMalformedCursor() {
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.decode("not a cursor!"));
+        assertThrows(InvalidRequestException.class, () -> CursorCodec.decode("AAAA"));
+    }
+
+    @Test
+    void testSliceUsesExtraRowForHasNext() {
+        LocalDateTime now = LocalDateTime.of(2025, 9, 1, 0, 0);
+        List<Long> rows = IntStream.rangeClosed(1, 11).mapToObj(i -> (long) (100 - i)).toList();
+
+        SliceResponseDto<Long> slice = SliceResponseDto.of(rows, 10, id -> new Cursor(now, id), id -> id);
+
+        assertTrue(slice.isHasNext());
+        assertEquals(10, slice.getContent().size());
+        assertEquals(new Cursor(now, 90L), CursorCodec.decode(slice.getNextCursor()));
+    }
+}
@@ -0,0 +1,44 @@
+package piq.piqproject.common.shuffle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+public class FeistelPermutationTest {
+
+    @Test
+    void testEveryValueAppearsExactlyOnce() {
+        for (int size : new int[] { 1, 2, 3, 7, 64, 1000, 65_537 }) {
+            FeistelPermutation permutation = new FeistelPermutation(size, 42L);
+            BitSet seen = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                int value = permutation.apply(i);
+                assertTrue(value >= 0 && value < size);
+                assertTrue(!seen.get(value), "duplicate value " + value + " for size " + size);
+                seen.set(value);
+            }
+            assertEquals(size, seen.cardinality());
+        }
+    }
+
+    @Test
+    void testSameKeyGivesSameOrderAndDifferentKeyShuffles() {
+        FeistelPermutation first = new FeistelPermutation(10_000, 7L);
+        FeistelPermutation again = new FeistelPermutation(10_000, 7L);
+        FeistelPermutation other = new FeistelPermutation(10_000, 8L);
+
+        int differences = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(first.apply(i), again.apply(i));
+            if (first.apply(i) != other.apply(i)) {
+                differences++;
+            }
+        }
+        assertNotEquals(0, differences);
+        assertTrue(differences > 9_000);
+    }
+}
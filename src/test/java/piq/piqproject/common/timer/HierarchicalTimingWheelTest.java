@@ -0,0 +1,71 @@
+package piq.piqproject.common.timer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class HierarchicalTimingWheelTest {
+
+    @Test
+    void testExpiresOnDeadlineTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(100, 8, 3, "test-timer");
+        AtomicInteger fired = new AtomicInteger();
+        wheel.schedule(fired::incrementAndGet, 250); // 3 tick으로 올림
+
+        wheel.tick();
+        wheel.tick();
+        assertEquals(0, fired.get());
+
+        wheel.tick();
+        assertEquals(1, fired.get());
+    }
+
+    @Test
+    void testCascadesFromUpperLevels() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, 8, 3, "test-timer");
+        int[] delays = { 7, 8, 9, 63, 64, 65, 200, 511 };
+        long[] firedAt = new long[delays.length];
+        AtomicInteger now = new AtomicInteger();
+        for (int i = 0; i < delays.length; i++) {
+            int index = i;
+            wheel.schedule(() -> firedAt[index] = now.get(), delays[i]);
+        }
+
+        for (int tick = 1; tick <= 511; tick++) {
+            now.set(tick);
+            wheel.tick();
+        }
+
+        for (int i = 0; i < delays.length; i++) {
+            assertEquals(delays[i], firedAt[i], "delay " + delays[i]);
+        }
+    }
+
+    @Test
+    void testCancelledTimeoutDoesNotRun() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, 8, 2, "test-timer");
+        AtomicInteger fired = new AtomicInteger();
+        HierarchicalTimingWheel.Timeout timeout = wheel.schedule(fired::incrementAndGet, 20);
+
+        assertTrue(timeout.cancel());
+        for (int tick = 0; tick < 30; tick++) {
+            wheel.tick();
+        }
+
+        assertEquals(0, fired.get());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void testRejectsDelayBeyondRange() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(1, 8, 2, "test-timer");
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(() -> {
+        }, 64));
+    }
+}
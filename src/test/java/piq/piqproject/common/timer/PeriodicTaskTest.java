@@ -0,0 +1,51 @@
+package piq.piqproject.common.timer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class PeriodicTaskTest {
+
+    @Test
+    void testRunsFirstAndKeepsRunningAfterFailure() throws InterruptedException {
+        CountDownLatch runs = new CountDownLatch(3);
+        PeriodicTask task = new PeriodicTask("test-task", Duration.ofMillis(10), true, () -> {
+            runs.countDown();
+            throw new IllegalStateException("fails every time");
+        });
+        task.start();
+
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        task.close();
+    }
+
+    @Test
+    void testCloseWakesAndStopsWorker() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        PeriodicTask task = new PeriodicTask("test-task", Duration.ofHours(1), false, runs::incrementAndGet);
+        task.start();
+        assertTrue(task.isRunning());
+
+        // 한 시간 간격이어도 기다리지 않고 바로 멈춥니다.
+        long started = System.nanoTime();
+        task.close();
+
+        assertFalse(task.isRunning());
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void testRejectsNonPositiveInterval() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PeriodicTask("test-task", Duration.ZERO, false, () -> { }));
+    }
+}
@@ -0,0 +1,77 @@
+package piq.piqproject.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class ConnectionLimiterPostProcessorTest {
+
+    @Test
+    void testWrapsPointsOfUseAndKeepsHikariBean() throws SQLException {
+        HikariDataSource hikari = new HikariDataSource(); // 설정 전에는 풀을 만들지 않음
+        hikari.setMaximumPoolSize(3);
+        ConnectionLimiterPostProcessor postProcessor = newPostProcessor(true);
+
+        assertSame(hikari, postProcessor.postProcessAfterInitialization(hikari, "dataSource"));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(hikari);
+        postProcessor.postProcessBeforeInitialization(jdbcTemplate, "jdbcTemplate");
+        LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(hikari);
+        postProcessor.postProcessBeforeInitialization(entityManagerFactory, "entityManagerFactory");
+
+        assertThat(jdbcTemplate.getDataSource()).isInstanceOf(ConnectionLimitingDataSource.class);
+        assertSame(jdbcTemplate.getDataSource(), entityManagerFactory.getDataSource());
+        // 허가 없이 커넥션을 얻지 못하도록 Hikari를 노출하지 않습니다.
+        assertThrows(SQLException.class, () -> jdbcTemplate.getDataSource().unwrap(HikariDataSource.class));
+    }
+
+    @Test
+    void testDisabledLeavesDataSourceAlone() {
+        HikariDataSource hikari = new HikariDataSource();
+        ConnectionLimiterPostProcessor postProcessor = newPostProcessor(false);
+        postProcessor.postProcessAfterInitialization(hikari, "dataSource");
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(hikari);
+        postProcessor.postProcessBeforeInitialization(jdbcTemplate, "jdbcTemplate");
+
+        assertSame(hikari, jdbcTemplate.getDataSource());
+    }
+
+    @Test
+    void testPermitIsReturnedOnClose() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(target, 1, 10);
+
+        Connection first = limiter.getConnection();
+        assertThrows(SQLTransientConnectionException.class, limiter::getConnection);
+
+        first.close();
+        first.close(); // 두 번 닫아도 허가는 한 번만 반납
+        limiter.getConnection();
+        assertThrows(SQLTransientConnectionException.class, limiter::getConnection);
+    }
+
+    private static ConnectionLimiterPostProcessor newPostProcessor(boolean enabled) {
+        ConnectionLimiterPostProcessor postProcessor = new ConnectionLimiterPostProcessor();
+        postProcessor.setEnvironment(new MockEnvironment()
+                .withProperty("db.connection-limiter.enabled", String.valueOf(enabled)));
+        return postProcessor;
+    }
+}
@@ -0,0 +1,63 @@
+package piq.piqproject.config.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import piq.piqproject.domain.users.entity.UserEntity;
+
+public class PrincipalCacheTest {
+
+    private JwtProperties jwtProperties;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setExpiration(3_600_000);
+    }
+
+    @Test
+    void testCachedUntilInvalidated() {
+        PrincipalCache cache = new PrincipalCache(jwtProperties);
+        long now = System.currentTimeMillis();
+        UserEntity fromClaims = mock(UserEntity.class);
+        UserEntity fromDatabase = mock(UserEntity.class);
+
+        assertSame(fromClaims, cache.get(1L, now - 1_000, now + 60_000, () -> fromClaims, () -> fromDatabase));
+        assertSame(fromClaims, cache.get(1L, now - 1_000, now + 60_000, () -> mock(UserEntity.class),
+                () -> fromDatabase));
+
+        // 무효화 이전에 발급된 토큰은 DB에서 다시 읽습니다.
+        cache.invalidate(1L);
+        assertSame(fromDatabase, cache.get(1L, now - 1_000, now + 60_000, () -> fromClaims, () -> fromDatabase));
+    }
+
+    @Test
+    void testOverflowIsBounded() {
+        jwtProperties.setPrincipalCacheSize(10);
+        PrincipalCache cache = new PrincipalCache(jwtProperties);
+        long now = System.currentTimeMillis();
+
+        for (long userId = 1; userId <= 100; userId++) {
+            cache.get(userId, now, now + 60_000, () -> mock(UserEntity.class), () -> mock(UserEntity.class));
+            assertTrue(cache.cachedUsers() <= 10);
+        }
+    }
+
+    @Test
+    void testSweepRemovesExpiredEntries() {
+        PrincipalCache cache = new PrincipalCache(jwtProperties);
+        long now = System.currentTimeMillis();
+        cache.get(1L, now - 2_000, now - 1, () -> mock(UserEntity.class), () -> mock(UserEntity.class));
+        cache.get(2L, now, now + 60_000, () -> mock(UserEntity.class), () -> mock(UserEntity.class));
+        assertEquals(2, cache.cachedUsers());
+
+        cache.sweepExpired();
+
+        assertEquals(1, cache.cachedUsers());
+    }
+}
@@ -0,0 +1,120 @@
+package piq.piqproject.config.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+public class TokenRevocationServiceTest {
+
+    private static final long EXPIRATION = 3_600_000;
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private ZSetOperations<String, String> zSetOperations;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        zSetOperations = mock(ZSetOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setExpiration(EXPIRATION);
+        service = new TokenRevocationService(redisTemplate, mock(RedisMessageListenerContainer.class), jwtProperties);
+        service.init();
+    }
+
+    @Test
+    void testRevokedTokenIsForgottenAfterTwoGenerations() {
+        when(redisTemplate.hasKey(anyString())).thenReturn(true);
+        Claims revoked = claims("revoked", 1L, System.currentTimeMillis());
+        service.revokeToken(revoked);
+
+        assertTrue(service.isRevoked(revoked));
+        // Bloom filter에 없는 토큰은 Redis를 조회하지 않습니다.
+        assertFalse(service.isRevoked(claims("other", 2L, System.currentTimeMillis())));
+        verify(redisTemplate, times(1)).hasKey(anyString());
+
+        // 한 세대가 지나면 이전 세대 필터에 남아 있어 계속 Redis로 확인합니다.
+        expireGeneration();
+        assertTrue(service.isRevoked(revoked));
+        verify(redisTemplate, times(2)).hasKey(anyString());
+
+        // 두 세대가 지나면(= 토큰이 이미 만료된 뒤) 필터에서 빠져 Redis를 조회하지 않습니다.
+        expireGeneration();
+        assertFalse(service.isRevoked(revoked));
+        verify(redisTemplate, times(2)).hasKey(anyString());
+    }
+
+    @Test
+    void testUserRevocationStoredInMillisecondsIsReadAsSeconds() {
+        long revokedAt = System.currentTimeMillis();
+        service.revokeUser(1L);
+        // 이전 버전이 ms 단위로 저장한 값
+        when(valueOperations.get("jwt:revoked:u:1")).thenReturn(String.valueOf(revokedAt));
+
+        assertTrue(service.isRevoked(claims("before", 1L, revokedAt - TimeUnit.MINUTES.toMillis(1))));
+        assertFalse(service.isRevoked(claims("after", 1L, revokedAt + TimeUnit.MINUTES.toMillis(1))));
+    }
+
+    @Test
+    void testUserRevocationStoredInSeconds() {
+        long revokedAt = System.currentTimeMillis();
+        service.revokeUser(1L);
+        verify(valueOperations).set(eq("jwt:revoked:u:1"), anyString(), eq(Duration.ofMillis(EXPIRATION)));
+        when(valueOperations.get("jwt:revoked:u:1"))
+                .thenReturn(String.valueOf(TimeUnit.MILLISECONDS.toSeconds(revokedAt)));
+
+        assertTrue(service.isRevoked(claims("before", 1L, revokedAt - TimeUnit.MINUTES.toMillis(1))));
+        assertFalse(service.isRevoked(claims("after", 1L, revokedAt + TimeUnit.MINUTES.toMillis(1))));
+    }
+
+    @Test
+    void testPublishPrunesExpiredIndexEntries() {
+        service.revokeUser(1L);
+        service.revokeToken(claims("revoked", 1L, System.currentTimeMillis()));
+
+        // 기동 시 1번 + 폐기할 때마다 1번
+        verify(zSetOperations, times(3)).removeRangeByScore(eq("jwt:revocations:index"),
+                eq(Double.NEGATIVE_INFINITY), anyDouble());
+    }
+
+    // 현재 세대가 Access Token 수명만큼 지난 것으로 만듭니다.
+    private void expireGeneration() {
+        ReflectionTestUtils.setField(service, "currentStartedAt", System.currentTimeMillis() - EXPIRATION - 1);
+    }
+
+    private static Claims claims(String jti, Long userId, long issuedAt) {
+        Claims claims = Jwts.claims();
+        claims.setId(jti);
+        claims.setIssuedAt(new Date(issuedAt));
+        claims.setExpiration(new Date(issuedAt + EXPIRATION));
+        claims.put("id", userId);
+        return claims;
+    }
+}
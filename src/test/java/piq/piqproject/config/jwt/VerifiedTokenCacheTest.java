@@ -0,0 +1,65 @@
+package piq.piqproject.config.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+public class VerifiedTokenCacheTest {
+
+    private JwtProperties jwtProperties;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setExpiration(3_600_000);
+    }
+
+    @Test
+    void testExpiredClaimsAreNotReturned() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtProperties);
+        Claims valid = claims(60_000);
+        cache.put("a", valid);
+        cache.put("b", claims(-1));
+
+        assertSame(valid, cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void testOverflowIsBounded() {
+        jwtProperties.setVerifiedTokenCacheSize(10);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtProperties);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, claims(60_000));
+            assertTrue(cache.cachedTokens() <= 10);
+        }
+    }
+
+    @Test
+    void testSweepRemovesExpiredEntries() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtProperties);
+        cache.put("a", claims(-1));
+        cache.put("b", claims(60_000));
+        assertEquals(2, cache.cachedTokens());
+
+        cache.sweepExpired();
+
+        assertEquals(1, cache.cachedTokens());
+    }
+
+    private static Claims claims(long expiresInMillis) {
+        Claims claims = Jwts.claims();
+        claims.setExpiration(new Date(System.currentTimeMillis() + expiresInMillis));
+        return claims;
+    }
+}
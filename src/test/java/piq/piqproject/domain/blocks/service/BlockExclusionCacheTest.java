@@ -0,0 +1,93 @@
+package piq.piqproject.domain.blocks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import piq.piqproject.domain.blocks.event.BlockChangedEvent;
+import piq.piqproject.domain.blocks.repository.BlockRepository;
+
+public class BlockExclusionCacheTest {
+
+    private BlockRepository blockRepository;
+    private BlockProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        blockRepository = mock(BlockRepository.class);
+        when(blockRepository.findOtherIdsByUserId(anyLong())).thenReturn(List.of());
+        when(blockRepository.findOtherIdsByUserId(1L)).thenReturn(List.of(2L, 3L));
+        when(blockRepository.findOtherIdsByUserId(2L)).thenReturn(List.of(1L));
+        properties = new BlockProperties();
+    }
+
+    private BlockExclusionCache newCache() {
+        // initialize()를 호출하지 않으므로 Bloom filter 없이 항상 캐시/DB를 확인합니다.
+        return new BlockExclusionCache(blockRepository, mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class), mock(PlatformTransactionManager.class), properties);
+    }
+
+    @Test
+    void testLoadsOnceAndCaches() {
+        BlockExclusionCache cache = newCache();
+
+        assertTrue(cache.isBlocked(1L, 2L));
+        assertTrue(cache.isBlocked(1L, 3L));
+        assertFalse(cache.isBlocked(1L, 4L));
+
+        verify(blockRepository, times(1)).findOtherIdsByUserId(1L);
+    }
+
+    @Test
+    void testBlockChangeInvalidatesBothUsers() {
+        BlockExclusionCache cache = newCache();
+        cache.excludedFor(1L);
+        cache.excludedFor(2L);
+
+        when(blockRepository.findOtherIdsByUserId(1L)).thenReturn(List.of(2L, 3L, 4L));
+        cache.onBlockChanged(new BlockChangedEvent(1L, 4L));
+
+        assertTrue(cache.isBlocked(1L, 4L));
+        verify(blockRepository, times(2)).findOtherIdsByUserId(1L);
+        // 2번 사용자는 이번 변경과 관계없으므로 다시 읽지 않습니다.
+        cache.excludedFor(2L);
+        verify(blockRepository, times(1)).findOtherIdsByUserId(2L);
+    }
+
+    @Test
+    void testOverflowIsBounded() {
+        properties.setMaxCachedUsers(10);
+        BlockExclusionCache cache = newCache();
+
+        for (long userId = 1; userId <= 100; userId++) {
+            cache.excludedFor(userId);
+            assertTrue(cache.cachedUsers() <= 10);
+        }
+    }
+
+    @Test
+    void testSweepRemovesExpiredEntries() {
+        properties.setCacheTtlSeconds(0); // 읽자마자 만료
+        BlockExclusionCache cache = newCache();
+        cache.excludedFor(1L);
+        cache.excludedFor(2L);
+        assertEquals(2, cache.cachedUsers());
+
+        cache.sweepExpired();
+
+        assertEquals(0, cache.cachedUsers());
+    }
+}
@@ -0,0 +1,83 @@
+package piq.piqproject.domain.blocks.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import piq.piqproject.common.error.exception.ConflictException;
+import piq.piqproject.common.error.exception.InvalidRequestException;
+import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.domain.blocks.entity.BlockEntity;
+import piq.piqproject.domain.blocks.enums.BlockDirection;
+import piq.piqproject.domain.blocks.event.BlockChangedEvent;
+import piq.piqproject.domain.blocks.repository.BlockRepository;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+public class BlockServiceTest {
+
+    private BlockRepository blockRepository;
+    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private BlockService blockService;
+
+    @BeforeEach
+    void setUp() {
+        blockRepository = mock(BlockRepository.class);
+        userRepository = mock(UserRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        BlockProperties properties = new BlockProperties();
+        properties.setMaxBlocksPerUser(2);
+        blockService = new BlockService(blockRepository, userRepository, properties, eventPublisher,
+                mock(PlatformTransactionManager.class));
+        when(userRepository.existsById(2L)).thenReturn(true);
+    }
+
+    @Test
+    void testBlockSavesBothDirections() {
+        blockService.block(1L, 2L);
+
+        verify(blockRepository, times(2)).save(any(BlockEntity.class));
+        verify(eventPublisher).publishEvent(new BlockChangedEvent(1L, 2L));
+    }
+
+    @Test
+    void testAlreadyBlockedIsIgnored() {
+        when(blockRepository.existsByUserIdAndOtherIdAndDirection(1L, 2L, BlockDirection.OUTGOING)).thenReturn(true);
+
+        blockService.block(1L, 2L);
+
+        verify(blockRepository, never()).save(any(BlockEntity.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testConcurrentDuplicateBlockIsIdempotent() {
+        // 확인 후 저장 전에 같은 차단이 먼저 저장되어 unique 제약에 걸린 경우
+        when(blockRepository.save(any(BlockEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_blocks_user_id_other_id_direction"));
+
+        blockService.block(1L, 2L);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testRejectsSelfMissingTargetAndLimit() {
+        assertThrows(InvalidRequestException.class, () -> blockService.block(1L, 1L));
+        assertThrows(NotFoundException.class, () -> blockService.block(1L, 3L));
+
+        when(blockRepository.countByUserIdAndDirection(1L, BlockDirection.OUTGOING)).thenReturn(2L);
+        assertThrows(ConflictException.class, () -> blockService.block(1L, 2L));
+        verify(blockRepository, never()).save(any(BlockEntity.class));
+    }
+}
@@ -0,0 +1,113 @@
+package piq.piqproject.domain.matches.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import piq.piqproject.domain.matches.dto.SwipeRecord;
+import piq.piqproject.domain.matches.enums.SwipeAction;
+import piq.piqproject.domain.matches.service.SwipeProperties;
+
+public class SwipeBatchWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private SwipeProperties properties;
+    private SwipeBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate.execute("CREATE TABLE swipes (id BIGINT AUTO_INCREMENT PRIMARY KEY, swiper_id BIGINT NOT NULL, "
+                + "target_id BIGINT NOT NULL, action VARCHAR(10) NOT NULL, created_at TIMESTAMP, "
+                + "updated_at TIMESTAMP, UNIQUE (swiper_id, target_id))");
+        jdbcTemplate.execute("CREATE TABLE matches (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_a_id BIGINT NOT NULL, "
+                + "user_b_id BIGINT NOT NULL, source VARCHAR(20) NOT NULL, status VARCHAR(20) NOT NULL, "
+                + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+
+        properties = new SwipeProperties();
+        properties.setWalDirectory(directory.toString());
+        properties.setBatchSize(1); // 레코드마다 따로 저장
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void testLaterLikeStoredFirstStillMatches() throws Exception {
+        // 2번의 좋아요(2000)가 1번의 좋아요(1000)보다 먼저 log에 기록된 경우 (다른 서버의 재시도 등)
+        appendToLog(new SwipeRecord(0, 2, 1, SwipeAction.LIKE, 2000),
+                new SwipeRecord(0, 1, 2, SwipeAction.LIKE, 1000));
+
+        writer = new SwipeBatchWriter(jdbcTemplate, transactionManager, mock(ApplicationEventPublisher.class),
+                properties);
+
+        assertEquals(2, count("swipes"));
+        List<Map<String, Object>> matches = jdbcTemplate.queryForList("SELECT user_a_id, user_b_id FROM matches");
+        assertEquals(1, matches.size());
+        // 먼저 저장된 좋아요의 주인이 user_a
+        assertEquals(2L, ((Number) matches.get(0).get("USER_A_ID")).longValue());
+        assertEquals(1L, ((Number) matches.get(0).get("USER_B_ID")).longValue());
+    }
+
+    @Test
+    void testReplayDoesNotDuplicateMatch() throws Exception {
+        SwipeRecord first = new SwipeRecord(0, 1, 2, SwipeAction.LIKE, 1000);
+        SwipeRecord second = new SwipeRecord(0, 2, 1, SwipeAction.LIKE, 2000);
+        appendToLog(first, second, first, second); // 같은 레코드를 다시 저장 (복구 중 재시도)
+
+        writer = new SwipeBatchWriter(jdbcTemplate, transactionManager, mock(ApplicationEventPublisher.class),
+                properties);
+
+        assertEquals(2, count("swipes"));
+        assertEquals(1, count("matches"));
+    }
+
+    @Test
+    void testPassDoesNotMatch() throws Exception {
+        appendToLog(new SwipeRecord(0, 1, 2, SwipeAction.LIKE, 1000),
+                new SwipeRecord(0, 2, 1, SwipeAction.PASS, 2000));
+
+        writer = new SwipeBatchWriter(jdbcTemplate, transactionManager, mock(ApplicationEventPublisher.class),
+                properties);
+
+        assertEquals(0, count("matches"));
+    }
+
+    private void appendToLog(SwipeRecord... records) throws Exception {
+        try (SwipeWriteAheadLog log = new SwipeWriteAheadLog(directory, 1, properties.getWalSegmentBytes(), 1000,
+                written -> {
+                })) {
+            for (SwipeRecord record : records) {
+                log.append(record);
+            }
+        }
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,109 @@
+package piq.piqproject.domain.matches.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import piq.piqproject.domain.matches.dto.SwipeRecord;
+import piq.piqproject.domain.matches.enums.SwipeAction;
+
+public class SwipeWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppendedRecordsAreRecoveredInOrder() throws IOException {
+        List<SwipeRecord> durable = new CopyOnWriteArrayList<>();
+        try (SwipeWriteAheadLog log = new SwipeWriteAheadLog(directory, 1,
+                SwipeWriteAheadLog.RECORD_BYTES * 2L, 1000, durable::addAll)) {
+            for (long i = 1; i <= 5; i++) {
+                log.append(new SwipeRecord(0, i, i + 100, SwipeAction.LIKE, 1000 * i));
+            }
+        }
+
+        List<SwipeRecord> recovered = SwipeWriteAheadLog.recover(directory);
+
+        assertEquals(5, recovered.size());
+        assertEquals(durable, recovered);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i + 1, recovered.get(i).lsn());
+        }
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws IOException {
+        try (SwipeWriteAheadLog log = new SwipeWriteAheadLog(directory, 1, 1024, 1000, records -> {
+        })) {
+            log.append(new SwipeRecord(0, 1, 2, SwipeAction.LIKE, 1000));
+            log.append(new SwipeRecord(0, 1, 3, SwipeAction.PASS, 2000));
+        }
+
+        // 마지막 레코드를 쓰는 도중에 종료된 상황
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        List<SwipeRecord> recovered = SwipeWriteAheadLog.recover(directory);
+
+        assertEquals(1, recovered.size());
+        assertEquals(2, recovered.get(0).targetId());
+    }
+
+    @Test
+    void testCheckpointDeletesPersistedSegments() throws IOException {
+        try (SwipeWriteAheadLog log = new SwipeWriteAheadLog(directory, 1, SwipeWriteAheadLog.RECORD_BYTES, 1000,
+                records -> {
+                })) {
+            for (long i = 1; i <= 3; i++) {
+                log.append(new SwipeRecord(0, i, i + 100, SwipeAction.PASS, 1000 * i));
+            }
+
+            // 레코드마다 segment가 나뉘며, 마지막(현재) segment는 남습니다.
+            log.checkpoint(2);
+        }
+
+        List<SwipeRecord> recovered = SwipeWriteAheadLog.recover(directory);
+        assertEquals(1, recovered.size());
+        assertEquals(3, recovered.get(0).lsn());
+    }
+
+    @Test
+    void testTimedOutAppendIsStillWritten() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (SwipeWriteAheadLog log = new SwipeWriteAheadLog(directory, 1, 1024, 50, records -> {
+            try {
+                release.await(5, TimeUnit.SECONDS); // 기록이 max-wait보다 오래 걸리는 상황
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            SwipeWriteAheadLog.WriteTimeoutException timeout = assertThrows(
+                    SwipeWriteAheadLog.WriteTimeoutException.class,
+                    () -> log.append(new SwipeRecord(0, 1, 2, SwipeAction.LIKE, 1000)));
+            release.countDown();
+
+            // 시간 초과는 실패가 아니라 결과를 모르는 상태이며, 레코드는 그대로 기록됩니다.
+            SwipeRecord written = timeout.completion().get(5, TimeUnit.SECONDS);
+            assertEquals(1, written.lsn());
+        }
+        assertEquals(1, SwipeWriteAheadLog.recover(directory).size());
+    }
+}
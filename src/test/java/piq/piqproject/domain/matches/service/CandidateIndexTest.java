@@ -0,0 +1,137 @@
+package piq.piqproject.domain.matches.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import piq.piqproject.domain.matches.dto.CandidateQuery;
+import piq.piqproject.domain.matches.dto.CandidateRow;
+import piq.piqproject.domain.users.enums.Gender;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+public class CandidateIndexTest {
+
+    @Test
+    void testSearchCombinesConditions() {
+        CandidateIndex.IndexData data = new CandidateIndex.IndexData(10);
+        data.upsert(row(1L, Gender.FEMALE, 25, "ENFP", 50.0, true));
+        data.upsert(row(2L, Gender.FEMALE, 31, "ENFP", 50.0, true));
+        data.upsert(row(3L, Gender.MALE, 25, "INFJ", 50.0, true));
+        data.upsert(row(4L, Gender.FEMALE, 27, "INFJ", 50.0, false));
+
+        assertThat(data.search(query(Gender.FEMALE, 20, 30, null, null, true)).toArray()).containsExactly(1);
+        assertThat(data.search(query(Gender.FEMALE, 20, 30, null, null, false)).toArray()).containsExactly(1, 4);
+        CandidateQuery infj = new CandidateQuery(null, null, null, Set.of("INFJ"), null, null, false);
+        assertThat(data.search(infj).toArray()).containsExactly(3, 4);
+    }
+
+    @Test
+    void testScoreRangeIsExact() {
+        CandidateIndex.IndexData data = new CandidateIndex.IndexData(10);
+        data.upsert(row(1L, Gender.FEMALE, 25, null, 41.0, true));
+        data.upsert(row(2L, Gender.FEMALE, 25, null, 45.5, true));
+        data.upsert(row(3L, Gender.FEMALE, 25, null, 49.9, true));
+        data.upsert(row(4L, Gender.FEMALE, 25, null, 55.0, true));
+        data.upsert(row(5L, Gender.FEMALE, 25, null, 62.0, true));
+
+        // 같은 구간(40 ~ 50) 안의 경계
+        assertThat(data.search(query(null, null, null, 45.5, 49.0, true)).toArray()).containsExactly(2);
+        // 여러 구간에 걸친 범위
+        assertThat(data.search(query(null, null, null, 45.5, 60.0, true)).toArray()).containsExactly(2, 3, 4);
+        assertThat(data.search(query(null, null, null, null, 45.0, true)).toArray()).containsExactly(1);
+        assertThat(data.search(query(null, null, null, 49.95, null, true)).toArray()).containsExactly(4, 5);
+        assertThat(data.search(query(null, null, null, 60.0, 50.0, true)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void testUpsertMovesUserBetweenBitmaps() {
+        CandidateIndex.IndexData data = new CandidateIndex.IndexData(10);
+        data.upsert(row(1L, Gender.FEMALE, 25, "ENFP", 45.0, true));
+        data.upsert(row(1L, Gender.MALE, 40, "ENFP", 75.0, true));
+
+        assertThat(data.search(query(Gender.FEMALE, null, null, null, null, true)).isEmpty()).isTrue();
+        assertThat(data.search(query(null, 20, 30, null, null, true)).isEmpty()).isTrue();
+        assertThat(data.search(query(null, null, null, 40.0, 50.0, true)).isEmpty()).isTrue();
+        assertThat(data.search(query(Gender.MALE, 40, 40, 70.0, 80.0, true)).toArray()).containsExactly(1);
+
+        data.remove(1);
+        assertThat(data.search(query(null, null, null, null, null, false)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void testPageDescending() {
+        RoaringBitmap candidates = RoaringBitmap.bitmapOf(1, 3, 5, 7, 9);
+
+        assertEquals(List.of(9L, 7L), CandidateIndex.pageDescending(candidates, null, 2));
+        assertEquals(List.of(5L, 3L, 1L), CandidateIndex.pageDescending(candidates, 7L, 10));
+        assertEquals(List.of(5L, 3L), CandidateIndex.pageDescending(candidates, 6L, 2));
+        assertEquals(List.of(), CandidateIndex.pageDescending(candidates, 1L, 10));
+        assertEquals(List.of(), CandidateIndex.pageDescending(new RoaringBitmap(), null, 10));
+    }
+
+    @Test
+    void testStaleRefreshDoesNotOverwriteNewerOne() throws Exception {
+        UserRepository userRepository = mock(UserRepository.class);
+        CandidateIndex index = new CandidateIndex(userRepository, mock(StringRedisTemplate.class),
+                mock(RedisMessageListenerContainer.class), mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(index, "scoreBandWidth", 10.0);
+        when(userRepository.streamCandidateRows()).thenReturn(Stream.of(row(1L, Gender.FEMALE, 20, null, 0.0, true)));
+        index.initialize();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (index.isActiveUser(1L) == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // 첫 번째 갱신은 변경 전 값(21살)을 읽은 뒤 멈추고, 두 번째 갱신은 변경 후 값(30살)을 읽습니다.
+        CountDownLatch firstRead = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findCandidateRowById(1L)).thenAnswer(invocation -> {
+            firstRead.countDown();
+            release.await();
+            return Optional.of(row(1L, Gender.FEMALE, 21, null, 0.0, true));
+        }).thenReturn(Optional.of(row(1L, Gender.FEMALE, 30, null, 0.0, true)));
+
+        Thread stale = Thread.ofPlatform().start(() -> index.onMessage(message(1L), null));
+        assertThat(firstRead.await(1, TimeUnit.SECONDS)).isTrue();
+        Thread fresh = Thread.ofPlatform().start(() -> index.onMessage(message(1L), null));
+        Thread.sleep(50);
+        release.countDown();
+        stale.join();
+        fresh.join();
+
+        assertThat(index.search(query(null, 30, 30, null, null, true)).toArray()).containsExactly(1);
+        assertThat(index.search(query(null, 21, 21, null, null, true)).isEmpty()).isTrue();
+    }
+
+    private static CandidateQuery query(Gender gender, Integer minAge, Integer maxAge, Double minScore,
+            Double maxScore, boolean activeOnly) {
+        return new CandidateQuery(gender, minAge, maxAge, null, minScore, maxScore, activeOnly);
+    }
+
+    private static CandidateRow row(long id, Gender gender, int age, String mbti, double score, boolean active) {
+        return new CandidateRow(id, gender, age, mbti, score, active, LocalDateTime.of(2025, 9, 1, 0, 0));
+    }
+
+    private static DefaultMessage message(long userId) {
+        return new DefaultMessage("matches:candidate-index".getBytes(StandardCharsets.UTF_8),
+                String.valueOf(userId).getBytes(StandardCharsets.UTF_8));
+    }
+}
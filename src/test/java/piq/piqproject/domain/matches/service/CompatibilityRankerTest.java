@@ -0,0 +1,81 @@
+package piq.piqproject.domain.matches.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+public class CompatibilityRankerTest {
+
+    private static final int TODAY = 20_000;
+
+    @Test
+    void testParallelTopKMatchesSequentialScan() {
+        int population = 50_000;
+        CandidateColumns columns = randomColumns(population);
+        RoaringBitmap candidates = RoaringBitmap.bitmapOfRange(1, population + 1);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CompatibilityRanker parallel = newRanker(pool, 1024);
+            CompatibilityRanker sequential = newRanker(pool, Integer.MAX_VALUE);
+
+            CompatibilityRanker.Ranked expected = sequential.topK(candidates, columns, MbtiCodes.of("INTJ"), 30,
+                    TODAY, 25);
+            CompatibilityRanker.Ranked actual = parallel.topK(candidates, columns, MbtiCodes.of("INTJ"), 30,
+                    TODAY, 25);
+
+            assertEquals(25, actual.ordinals().length);
+            assertArrayEquals(expected.ordinals(), actual.ordinals());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testResultsAreSortedByScoreDescending() {
+        CandidateColumns columns = randomColumns(5_000);
+        RoaringBitmap candidates = RoaringBitmap.bitmapOfRange(1, 5_001);
+
+        CompatibilityRanker.Ranked ranked = newRanker(ForkJoinPool.commonPool(), 1024)
+                .topK(candidates, columns, MbtiCodes.UNKNOWN, -1, TODAY, 50);
+
+        for (int i = 1; i < ranked.scores().length; i++) {
+            assertTrue(ranked.scores()[i - 1] >= ranked.scores()[i]);
+        }
+    }
+
+    @Test
+    void testBestMbtiMatchWinsWhenOtherFactorsAreEqual() {
+        CandidateColumns columns = new CandidateColumns(16);
+        // INFP와 ENFJ는 최고 궁합, ISTJ는 최저 궁합
+        columns.set(1, (byte) 1, (byte) 30, (byte) MbtiCodes.of("ISTJ"), 0, 50f, TODAY);
+        columns.set(2, (byte) 1, (byte) 30, (byte) MbtiCodes.of("ENFJ"), 0, 50f, TODAY);
+
+        CompatibilityRanker.Ranked ranked = newRanker(ForkJoinPool.commonPool(), 1024)
+                .topK(RoaringBitmap.bitmapOf(1, 2), columns, MbtiCodes.of("INFP"), 30, TODAY, 1);
+
+        assertArrayEquals(new int[] { 2 }, ranked.ordinals());
+    }
+
+    private static CompatibilityRanker newRanker(ForkJoinPool pool, int shardSize) {
+        return new CompatibilityRanker(pool, shardSize, new CompatibilityRanker.Weights(0.4f, 0.3f, 0.2f, 0.1f),
+                100f, 5f, 30);
+    }
+
+    private static CandidateColumns randomColumns(int population) {
+        SplittableRandom random = new SplittableRandom(7);
+        CandidateColumns columns = new CandidateColumns(population + 1);
+        for (int ordinal = 1; ordinal <= population; ordinal++) {
+            columns.set(ordinal, (byte) random.nextInt(2), (byte) random.nextInt(20, 45),
+                    (byte) random.nextInt(-1, MbtiCodes.COUNT), 0, (float) random.nextDouble(0, 120),
+                    TODAY - random.nextInt(0, 1_000));
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,240 @@
+package piq.piqproject.domain.matches.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import piq.piqproject.common.error.exception.ServiceUnavailableException;
+import piq.piqproject.domain.blocks.service.BlockExclusionCache;
+import piq.piqproject.domain.matches.dto.CandidateRow;
+import piq.piqproject.domain.matches.dto.InstantMatchStatusResponseDto;
+import piq.piqproject.domain.matches.dto.MatchResult;
+import piq.piqproject.domain.matches.enums.InstantMatchState;
+import piq.piqproject.domain.matches.enums.MatchStatus;
+import piq.piqproject.domain.matches.repository.MatchResultWriter;
+import piq.piqproject.domain.users.enums.Gender;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+public class InstantMatchServiceTest {
+
+    private UserRepository userRepository;
+    private MatchResultWriter matchResultWriter;
+    private BlockExclusionCache blockExclusionCache;
+    private InstantMatchProperties properties;
+    private InstantMatchService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        matchResultWriter = mock(MatchResultWriter.class);
+        blockExclusionCache = mock(BlockExclusionCache.class);
+        properties = new InstantMatchProperties();
+        properties.setTimerTickMillis(10);
+        user(1L, Gender.MALE, 25);
+        user(2L, Gender.FEMALE, 26);
+        user(3L, Gender.FEMALE, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testPairsWaitingUsers() {
+        service = newService();
+        service.join(1L, null);
+        service.join(2L, null);
+
+        assertEquals(1, service.pairOnce());
+
+        InstantMatchStatusResponseDto a = service.status(1L);
+        InstantMatchStatusResponseDto b = service.status(2L);
+        assertEquals(InstantMatchState.OFFERED, a.getState());
+        assertEquals(2L, a.getPartnerId());
+        assertEquals(1L, b.getPartnerId());
+        assertEquals(a.getOfferId(), b.getOfferId());
+    }
+
+    @Test
+    void testDistantAgeAndBlockedUsersAreNotPaired() {
+        service = newService();
+        when(blockExclusionCache.isBlocked(1L, 2L)).thenReturn(true);
+        when(blockExclusionCache.isBlocked(2L, 1L)).thenReturn(true);
+        service.join(1L, null);
+        service.join(2L, null);
+        service.join(3L, null);
+
+        assertEquals(0, service.pairOnce());
+        assertEquals(InstantMatchState.WAITING, service.status(1L).getState());
+        assertEquals(InstantMatchState.WAITING, service.status(2L).getState());
+        assertEquals(InstantMatchState.WAITING, service.status(3L).getState());
+    }
+
+    @Test
+    void testBothAcceptsMatch() {
+        service = newService();
+        long offerId = offer();
+
+        assertEquals(InstantMatchState.OFFERED, service.accept(1L, offerId).getState());
+        assertEquals(InstantMatchState.MATCHED, service.accept(2L, offerId).getState());
+        assertEquals(InstantMatchState.MATCHED, service.status(1L).getState());
+
+        ArgumentCaptor<MatchResult> result = ArgumentCaptor.forClass(MatchResult.class);
+        verify(matchResultWriter).write(result.capture());
+        assertEquals(MatchStatus.MATCHED, result.getValue().status());
+    }
+
+    @Test
+    void testDeclineRequeuesPartner() {
+        service = newService();
+        long offerId = offer();
+
+        assertEquals(InstantMatchState.DECLINED, service.decline(1L, offerId).getState());
+        assertEquals(InstantMatchState.WAITING, service.status(2L).getState());
+    }
+
+    @Test
+    void testLeaveWhileWaiting() {
+        service = newService();
+        service.join(1L, null);
+
+        assertEquals(InstantMatchState.NONE, service.leave(1L).getState());
+        service.join(2L, null);
+        assertEquals(0, service.pairOnce());
+        verify(matchResultWriter, never()).write(any(MatchResult.class));
+    }
+
+    @Test
+    void testLeaveWaitsForPairingToFinish() throws Exception {
+        service = newService();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(blockExclusionCache.isBlocked(anyLong(), anyLong())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return false;
+        });
+        service.join(1L, null);
+        service.join(2L, null);
+
+        Thread pairing = Thread.ofPlatform().start(service::pairOnce);
+        assertThat(entered.await(1, TimeUnit.SECONDS)).isTrue();
+        Thread.ofPlatform().start(() -> {
+            sleep(20);
+            release.countDown();
+        });
+
+        // MALE 큐를 먼저 돌므로 1번이 MATCHING 상태입니다. 짝짓기가 끝나 제안을 받으면 나가기는 거절로 처리됩니다.
+        InstantMatchState left = service.leave(1L).getState();
+        pairing.join();
+        assertEquals(InstantMatchState.DECLINED, left);
+        assertEquals(InstantMatchState.WAITING, service.status(2L).getState());
+    }
+
+    @Test
+    void testLeaveGivesUpWhilePairingIsStuck() throws Exception {
+        service = newService();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(blockExclusionCache.isBlocked(anyLong(), anyLong())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return true;
+        });
+        service.join(1L, null);
+        service.join(2L, null);
+
+        Thread pairing = Thread.ofPlatform().start(service::pairOnce);
+        assertThat(entered.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // 1번이 MATCHING 상태로 멈춰 있으면 제한 시간 뒤 503
+        assertThrows(ServiceUnavailableException.class, () -> service.leave(1L));
+        release.countDown();
+        pairing.join();
+        assertEquals(InstantMatchState.NONE, service.leave(1L).getState());
+    }
+
+    @Test
+    void testPairingFailureReleasesTicket() {
+        service = newService();
+        when(blockExclusionCache.isBlocked(anyLong(), anyLong())).thenThrow(new IllegalStateException("down"));
+        service.join(1L, null);
+        service.join(2L, null);
+
+        assertThrows(IllegalStateException.class, service::pairOnce);
+        assertEquals(InstantMatchState.NONE, service.leave(1L).getState());
+    }
+
+    @Test
+    void testWaitTimeoutExpires() {
+        properties.setWaitTimeoutSeconds(1);
+        service = newService();
+        service.join(1L, null);
+        service.start();
+
+        awaitState(() -> service.status(1L), InstantMatchState.EXPIRED);
+    }
+
+    @Test
+    void testOfferTimeoutRequeuesAcceptedSide() {
+        properties.setOfferTimeoutSeconds(1);
+        service = newService();
+        long offerId = offer();
+        service.accept(1L, offerId);
+        service.start();
+
+        awaitState(() -> service.status(2L), InstantMatchState.EXPIRED);
+        assertEquals(InstantMatchState.WAITING, service.status(1L).getState());
+    }
+
+    private InstantMatchService newService() {
+        return new InstantMatchService(userRepository, matchResultWriter, blockExclusionCache, properties);
+    }
+
+    private long offer() {
+        service.join(1L, null);
+        service.join(2L, null);
+        assertEquals(1, service.pairOnce());
+        return service.status(1L).getOfferId();
+    }
+
+    private void user(long id, Gender gender, int age) {
+        when(userRepository.findCandidateRowById(id))
+                .thenReturn(Optional.of(new CandidateRow(id, gender, age, null, null, true, null)));
+    }
+
+    private static void awaitState(Supplier<InstantMatchStatusResponseDto> status, InstantMatchState expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (status.get().getState() != expected && System.nanoTime() < deadline) {
+            sleep(20);
+        }
+        assertEquals(expected, status.get().getState());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package piq.piqproject.domain.matches.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import piq.piqproject.domain.matches.enums.SwipeAction;
+
+public class SwipeGraphTest {
+
+    @Test
+    void testRecordDetectsDuplicateAndMutual() {
+        SwipeGraph graph = new SwipeGraph(4);
+
+        assertEquals(SwipeGraph.Outcome.RECORDED, graph.record(1, 2, SwipeAction.LIKE));
+        assertEquals(SwipeGraph.Outcome.DUPLICATE, graph.record(1, 2, SwipeAction.PASS));
+        assertEquals(SwipeAction.LIKE, graph.get(1, 2));
+        assertNull(graph.get(2, 1));
+
+        assertEquals(SwipeGraph.Outcome.MUTUAL, graph.record(2, 1, SwipeAction.LIKE));
+        assertEquals(SwipeGraph.Outcome.RECORDED, graph.record(3, 1, SwipeAction.LIKE));
+        assertEquals(SwipeGraph.Outcome.RECORDED, graph.record(1, 3, SwipeAction.PASS));
+        assertEquals(4, graph.size());
+    }
+
+    @Test
+    void testLoadDoesNotOverwrite() {
+        SwipeGraph graph = new SwipeGraph(4);
+        graph.record(1, 2, SwipeAction.PASS);
+
+        graph.load(1, 2, SwipeAction.LIKE);
+        graph.load(2, 1, SwipeAction.LIKE);
+
+        assertEquals(SwipeAction.PASS, graph.get(1, 2));
+        assertEquals(SwipeAction.LIKE, graph.get(2, 1));
+        assertEquals(2, graph.size());
+    }
+
+    @Test
+    void testResizeKeepsAllEdges() {
+        // stripe 하나에 초기 크기(16칸)의 몇 배를 넣어 여러 번 커지게 합니다.
+        SwipeGraph graph = new SwipeGraph(1);
+        for (int swiper = 1; swiper <= 50; swiper++) {
+            for (int target = 1; target <= 20; target++) {
+                graph.load(swiper, target, target % 2 == 0 ? SwipeAction.LIKE : SwipeAction.PASS);
+            }
+        }
+
+        assertEquals(1000, graph.size());
+        for (int swiper = 1; swiper <= 50; swiper++) {
+            for (int target = 1; target <= 20; target++) {
+                assertEquals(target % 2 == 0 ? SwipeAction.LIKE : SwipeAction.PASS, graph.get(swiper, target));
+            }
+        }
+        assertNull(graph.get(51, 1));
+    }
+
+    @Test
+    void testRemoveShiftsProbedEdgesBack() {
+        // 같은 stripe에 많이 넣어 probe 체인을 만들고, 중간 항목을 지워도 뒤의 항목을 계속 찾을 수 있는지 확인합니다.
+        SwipeGraph graph = new SwipeGraph(1);
+        for (int target = 1; target <= 200; target++) {
+            graph.load(1, target, SwipeAction.LIKE);
+        }
+
+        for (int target = 1; target <= 200; target += 3) {
+            graph.remove(1, target);
+        }
+        graph.remove(1, 999); // 없는 간선은 무시
+
+        int remaining = 0;
+        for (int target = 1; target <= 200; target++) {
+            if (target % 3 == 1) {
+                assertNull(graph.get(1, target));
+            } else {
+                assertEquals(SwipeAction.LIKE, graph.get(1, target));
+                remaining++;
+            }
+        }
+        assertEquals(remaining, graph.size());
+
+        // 지운 자리에 다시 기록할 수 있어야 합니다.
+        assertEquals(SwipeGraph.Outcome.RECORDED, graph.record(1, 1, SwipeAction.PASS));
+        assertEquals(SwipeAction.PASS, graph.get(1, 1));
+    }
+
+    @Test
+    void testRemoveUserDropsBothDirections() {
+        SwipeGraph graph = new SwipeGraph(8);
+        for (int user = 2; user <= 50; user++) {
+            graph.record(1, user, SwipeAction.LIKE);
+            graph.record(user, 1, SwipeAction.PASS);
+            graph.record(user, user + 1, SwipeAction.LIKE);
+        }
+
+        graph.removeUser(1);
+
+        for (int user = 2; user <= 50; user++) {
+            assertNull(graph.get(1, user));
+            assertNull(graph.get(user, 1));
+            assertEquals(SwipeAction.LIKE, graph.get(user, user + 1));
+        }
+        assertEquals(49, graph.size());
+    }
+
+    @Test
+    void testMutualAcrossStripes() {
+        SwipeGraph graph = new SwipeGraph(64);
+        for (int user = 2; user <= 100; user++) {
+            graph.record(user, 1, SwipeAction.LIKE);
+        }
+        for (int user = 2; user <= 100; user++) {
+            assertEquals(SwipeGraph.Outcome.MUTUAL, graph.record(1, user, SwipeAction.LIKE));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package piq.piqproject.domain.userimages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import piq.piqproject.common.error.exception.NotFoundException;
+import piq.piqproject.common.file.FileUploader;
+import piq.piqproject.common.file.FileUtil;
+import piq.piqproject.domain.userimages.dto.ImageUploadStatusResponseDto;
+import piq.piqproject.domain.userimages.entity.UserImageEntity;
+import piq.piqproject.domain.userimages.enums.ImageUploadState;
+import piq.piqproject.domain.users.entity.UserEntity;
+
+public class AsyncImageUploadServiceTest {
+
+    private static final String IMAGE_URL = "/uploads/3a/7f/image.jpg";
+
+    @TempDir
+    Path spoolRoot;
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final List<AsyncImageUploadService> nodes = new ArrayList<>();
+    private final CountDownLatch storing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private UserImageService userImageService;
+    private FileUploader fileUploader;
+    private FileUtil fileUtil;
+    private StringRedisTemplate redisTemplate;
+    private UserEntity user;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        userImageService = mock(UserImageService.class);
+        fileUploader = mock(FileUploader.class);
+        fileUtil = mock(FileUtil.class);
+        when(fileUtil.isImageFile(any())).thenReturn(true);
+        when(fileUtil.createDirectoryPath()).thenReturn("images/2025/09/17");
+        when(fileUtil.createUniqueFileName(anyString())).thenReturn("image.jpg");
+        // 파일 저장을 release까지 멈춰서 PENDING 상태를 확인합니다.
+        when(fileUploader.upload(any(Path.class), anyString())).thenAnswer(invocation -> {
+            storing.countDown();
+            release.await();
+            return IMAGE_URL;
+        });
+        when(userImageService.registerUploadedImage(anyLong(), eq(IMAGE_URL)))
+                .thenReturn(UserImageEntity.builder().imageUrl(IMAGE_URL).isMainImage(true).build());
+
+        // 두 서버가 같은 Redis를 쓰는 것처럼, 값과 pub/sub을 모든 노드가 공유합니다.
+        redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.getArgument(0)));
+        doAnswer(invocation -> {
+            byte[] body = ((String) invocation.getArgument(1)).getBytes(StandardCharsets.UTF_8);
+            byte[] channel = ((String) invocation.getArgument(0)).getBytes(StandardCharsets.UTF_8);
+            nodes.forEach(node -> node.onMessage(new DefaultMessage(channel, body), null));
+            return 1L;
+        }).when(redisTemplate).convertAndSend(anyString(), anyString());
+
+        user = mock(UserEntity.class);
+        when(user.getId()).thenReturn(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        nodes.forEach(AsyncImageUploadService::shutdown);
+    }
+
+    @Test
+    void testUploadCompletes() throws Exception {
+        AsyncImageUploadService node = node();
+
+        String uploadId = node.accept(user, image()).getUploadId();
+        assertEquals(ImageUploadState.PENDING, node.status(1L, uploadId).getState());
+        release.countDown();
+
+        await(() -> node.status(1L, uploadId).getState() == ImageUploadState.COMPLETED);
+        assertEquals(IMAGE_URL, node.status(1L, uploadId).getImageUrl());
+        assertThrows(NotFoundException.class, () -> node.status(2L, uploadId));
+    }
+
+    @Test
+    void testStatusIsVisibleOnAnotherNode() throws Exception {
+        AsyncImageUploadService accepting = node();
+        AsyncImageUploadService other = node();
+
+        String uploadId = accepting.accept(user, image()).getUploadId();
+        assertEquals(ImageUploadState.PENDING, other.status(1L, uploadId).getState());
+        assertThrows(NotFoundException.class, () -> other.status(2L, uploadId));
+        release.countDown();
+
+        await(() -> other.status(1L, uploadId).getState() == ImageUploadState.COMPLETED);
+        assertEquals(IMAGE_URL, other.status(1L, uploadId).getImageUrl());
+        assertEquals(true, other.status(1L, uploadId).getIsMainImage());
+    }
+
+    @Test
+    void testSubscribersOnBothNodesReceiveTheFinalStatus() throws Exception {
+        AsyncImageUploadService accepting = node();
+        AsyncImageUploadService other = node();
+        String uploadId = accepting.accept(user, image()).getUploadId();
+
+        RecordingEmitter local = (RecordingEmitter) accepting.subscribe(1L, uploadId);
+        RecordingEmitter remote = (RecordingEmitter) other.subscribe(1L, uploadId);
+        assertThat(local.completed).isFalse();
+        assertThat(remote.completed).isFalse();
+        release.countDown();
+
+        await(() -> local.completed && remote.completed);
+        assertThat(local.states()).containsExactly(ImageUploadState.PENDING, ImageUploadState.COMPLETED);
+        assertThat(remote.states()).containsExactly(ImageUploadState.PENDING, ImageUploadState.COMPLETED);
+    }
+
+    @Test
+    void testSubscribeAfterFinishSendsOnlyTheFinalStatus() throws Exception {
+        AsyncImageUploadService node = node();
+        String uploadId = node.accept(user, image()).getUploadId();
+        release.countDown();
+        await(() -> node.status(1L, uploadId).getState() == ImageUploadState.COMPLETED);
+
+        RecordingEmitter emitter = (RecordingEmitter) node.subscribe(1L, uploadId);
+
+        assertThat(emitter.completed).isTrue();
+        assertThat(emitter.states()).containsExactly(ImageUploadState.COMPLETED);
+    }
+
+    @Test
+    void testNewNodeKeepsSpooledFilesOfRunningNode() throws Exception {
+        AsyncImageUploadService running = node();
+        running.accept(user, image());
+        assertThat(storing.await(1, TimeUnit.SECONDS)).isTrue();
+
+        node();
+
+        assertThat(spooledFiles()).hasSize(1);
+    }
+
+    @Test
+    void testNewNodeDeletesSpoolOfStoppedNode() throws Exception {
+        // 종료된 서버가 남긴 디렉터리 (lock 파일은 있지만 잡고 있는 프로세스가 없음)
+        Path abandoned = Files.createDirectories(spoolRoot.resolve("node-stopped"));
+        Files.createFile(abandoned.resolve(".lock"));
+        Files.write(abandoned.resolve("left.upload"), new byte[] { 1 });
+
+        node();
+
+        assertThat(abandoned).doesNotExist();
+    }
+
+    private AsyncImageUploadService node() throws IOException {
+        AsyncImageUploadProperties properties = new AsyncImageUploadProperties();
+        properties.setSpoolDirectory(spoolRoot.toString());
+        properties.setWorkers(1);
+        AsyncImageUploadService node = new AsyncImageUploadService(userImageService, fileUploader, fileUtil,
+                new ObjectMapper(), redisTemplate, mock(RedisMessageListenerContainer.class), properties) {
+            @Override
+            SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+        nodes.add(node);
+        return node;
+    }
+
+    private static MockMultipartFile image() {
+        return new MockMultipartFile("image", "image.jpg", "image/jpeg", new byte[] { 1, 2, 3 });
+    }
+
+    private List<Path> spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(spoolRoot)) {
+            return files.filter(path -> path.toString().endsWith(".upload")).toList();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    // 보낸 상태와 완료 여부를 기록합니다. (MVC 요청 없이 SSE 전송 순서 확인)
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<ImageUploadStatusResponseDto> sent = new ArrayList<>();
+        private volatile boolean completed;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) {
+            builder.build().stream()
+                    .filter(data -> data.getData() instanceof ImageUploadStatusResponseDto)
+                    .forEach(data -> sent.add((ImageUploadStatusResponseDto) data.getData()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        private synchronized List<ImageUploadState> states() {
+            return sent.stream().map(ImageUploadStatusResponseDto::getState).toList();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package piq.piqproject.domain.userimages.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import piq.piqproject.domain.userimages.enums.ImageVariant;
+
+public class ImageVariantGeneratorTest {
+
+    private final ImageVariantGenerator generator = new ImageVariantGenerator(50_000_000L);
+
+    @Test
+    void testVariantsAreResizedWithoutUpscaling() throws IOException {
+        Map<ImageVariant, byte[]> variants = generator.generate(png(3000, 2000));
+
+        assertEquals(3, variants.size());
+        assertSize(variants.get(ImageVariant.THUMBNAIL), 240, 160);
+        assertSize(variants.get(ImageVariant.FEED), 720, 480);
+        assertSize(variants.get(ImageVariant.FULL), 1600, 1067);
+
+        Map<ImageVariant, byte[]> small = generator.generate(png(300, 200));
+        assertSize(small.get(ImageVariant.FEED), 300, 200);
+    }
+
+    @Test
+    void testExifIsStrippedAndOrientationApplied() throws IOException {
+        BufferedImage rgb = ImageVariantGenerator.resize(image(800, 400), 800);
+        byte[] jpeg = withExifOrientation(ImageVariantGenerator.encodeJpeg(rgb, 0.9f), 6);
+        assertEquals(6, ImageVariantGenerator.readExifOrientation(jpeg));
+
+        byte[] full = generator.generate(jpeg).get(ImageVariant.FULL);
+
+        // 시계 방향 90도 회전이 적용되어 세로 이미지가 됩니다.
+        assertSize(full, 400, 800);
+        assertEquals(1, ImageVariantGenerator.readExifOrientation(full));
+        assertFalse(containsExif(full));
+    }
+
+    @Test
+    void testRejectsImagesWithTooManyPixels() {
+        ImageVariantGenerator strict = new ImageVariantGenerator(1000);
+
+        assertThrows(IOException.class, () -> strict.generate(png(100, 100)));
+    }
+
+    private static void assertSize(byte[] jpeg, int width, int height) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+    }
+
+    private static BufferedImage image(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y += 7) {
+            for (int x = 0; x < width; x += 5) {
+                image.setRGB(x, y, 0xFF000000 | (x * 31 + y * 17));
+            }
+        }
+        return image;
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image(width, height), "png", out);
+        return out.toByteArray();
+    }
+
+    // SOI 바로 뒤에 Orientation 태그 하나만 있는 EXIF(APP1, big endian) 세그먼트를 넣습니다.
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        byte[] app1 = {
+                (byte) 0xFF, (byte) 0xE1, 0, 34,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1,
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+                0, 0, 0, 0 };
+        byte[] result = new byte[jpeg.length + app1.length];
+        System.arraycopy(jpeg, 0, result, 0, 2);
+        System.arraycopy(app1, 0, result, 2, app1.length);
+        System.arraycopy(jpeg, 2, result, 2 + app1.length, jpeg.length - 2);
+        return result;
+    }
+
+    private static boolean containsExif(byte[] jpeg) {
+        for (int i = 0; i + 4 <= jpeg.length; i++) {
+            if (jpeg[i] == 'E' && jpeg[i + 1] == 'x' && jpeg[i + 2] == 'i' && jpeg[i + 3] == 'f') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,197 @@
+package piq.piqproject.domain.userimages.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.common.error.exception.InternalServerException;
+import piq.piqproject.common.error.exception.ServiceUnavailableException;
+import piq.piqproject.common.file.FileUploader;
+import piq.piqproject.common.file.FileUtil;
+import piq.piqproject.domain.userimages.dto.UserImageResponseDto;
+import piq.piqproject.domain.userimages.repository.UserImageBatchWriter;
+import piq.piqproject.domain.userimages.repository.UserImageRepository;
+import piq.piqproject.domain.users.entity.UserEntity;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+public class UserImageBatchUploadServiceTest {
+
+    private UserImageRepository userImageRepository;
+    private UserRepository userRepository;
+    private UserImageBatchWriter userImageBatchWriter;
+    private FileUploader fileUploader;
+    private UserImageBatchUploadService service;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        userImageRepository = mock(UserImageRepository.class);
+        userRepository = mock(UserRepository.class);
+        userImageBatchWriter = mock(UserImageBatchWriter.class);
+        fileUploader = mock(FileUploader.class);
+        FileUtil fileUtil = mock(FileUtil.class);
+        when(fileUtil.isImageFile(any())).thenReturn(true);
+        when(fileUtil.createDirectoryPath()).thenReturn("images/2025/09/17");
+        when(fileUtil.createUniqueFileName(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ImageBatchUploadProperties properties = new ImageBatchUploadProperties();
+        properties.setWorkers(2);
+        properties.setQueueCapacity(1);
+        service = new UserImageBatchUploadService(userImageRepository, userRepository, userImageBatchWriter,
+                fileUploader, fileUtil, mock(ApplicationEventPublisher.class), mock(PlatformTransactionManager.class),
+                properties);
+
+        user = mock(UserEntity.class);
+        when(user.getId()).thenReturn(1L);
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(user));
+        // 파일 이름 그대로 URL을 만들고, 앞의 파일일수록 늦게 끝나게 하여 완료 순서와 등록 순서를 다르게 합니다.
+        when(fileUploader.upload(any(MultipartFile.class), anyString())).thenAnswer(invocation -> {
+            MultipartFile file = invocation.getArgument(0);
+            Thread.sleep(file.getOriginalFilename().equals("a.jpg") ? 50 : 0);
+            return "/uploads/" + file.getOriginalFilename();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testFirstImageBecomesMainInRequestOrder() {
+        when(userImageBatchWriter.insert(1L, List.of("/uploads/a.jpg", "/uploads/b.jpg"), 0))
+                .thenReturn(List.of(10L, 11L));
+
+        List<UserImageResponseDto> images = service.uploadImages(user, List.of(image("a.jpg"), image("b.jpg")));
+
+        assertThat(images).extracting(UserImageResponseDto::getImageId).containsExactly(10L, 11L);
+        assertThat(images).extracting(UserImageResponseDto::getImageUrl)
+                .containsExactly("/uploads/a.jpg", "/uploads/b.jpg");
+        assertThat(images).extracting(UserImageResponseDto::getIsMainImage).containsExactly(true, false);
+    }
+
+    @Test
+    void testExistingMainImageIsKept() {
+        when(userImageRepository.existsByUserAndIsMainImage(user, true)).thenReturn(true);
+        when(userImageBatchWriter.insert(1L, List.of("/uploads/a.jpg", "/uploads/b.jpg"), -1))
+                .thenReturn(List.of(10L, 11L));
+
+        List<UserImageResponseDto> images = service.uploadImages(user, List.of(image("a.jpg"), image("b.jpg")));
+
+        assertThat(images).extracting(UserImageResponseDto::getIsMainImage).containsExactly(false, false);
+    }
+
+    @Test
+    void testTooManyImagesAreRejectedBeforeStoring() {
+        when(userImageRepository.countByUser(user)).thenReturn((long) UserImageService.MAX_IMAGE_COUNT - 1);
+
+        InternalServerException e = assertThrows(InternalServerException.class,
+                () -> service.uploadImages(user, List.of(image("a.jpg"), image("b.jpg"))));
+
+        assertEquals(ErrorCode.FILE_NUMBER_EXCEEDED, e.getErrorCode());
+        verify(fileUploader, never()).upload(any(MultipartFile.class), anyString());
+    }
+
+    @Test
+    void testCountIsCheckedAgainUnderLock() {
+        // 저장하는 사이 다른 요청이 이미지를 등록한 경우
+        when(userImageRepository.countByUser(user)).thenReturn(0L, (long) UserImageService.MAX_IMAGE_COUNT - 1);
+
+        InternalServerException e = assertThrows(InternalServerException.class,
+                () -> service.uploadImages(user, List.of(image("a.jpg"), image("b.jpg"))));
+
+        assertEquals(ErrorCode.FILE_NUMBER_EXCEEDED, e.getErrorCode());
+        verify(userRepository).findByIdForUpdate(1L);
+        verify(userImageBatchWriter, never()).insert(anyLong(), anyList(), anyInt());
+        verify(fileUploader).delete("/uploads/a.jpg");
+        verify(fileUploader).delete("/uploads/b.jpg");
+    }
+
+    @Test
+    void testStoreFailureReleasesStoredFiles() {
+        when(fileUploader.upload(any(MultipartFile.class), anyString())).thenAnswer(invocation -> {
+            MultipartFile file = invocation.getArgument(0);
+            if (file.getOriginalFilename().equals("b.jpg")) {
+                throw new InternalServerException(ErrorCode.FILE_UPLOAD_ERROR);
+            }
+            return "/uploads/" + file.getOriginalFilename();
+        });
+
+        InternalServerException e = assertThrows(InternalServerException.class,
+                () -> service.uploadImages(user, List.of(image("a.jpg"), image("b.jpg"))));
+
+        assertEquals(ErrorCode.FILE_UPLOAD_ERROR, e.getErrorCode());
+        verify(fileUploader).delete("/uploads/a.jpg");
+        verify(userImageBatchWriter, never()).insert(anyLong(), anyList(), anyInt());
+    }
+
+    @Test
+    void testRejectedStoreReleasesStartedFiles() {
+        // 스레드 2개가 멈춰 있고 대기열(1)이 차면 네 번째 파일은 거절됩니다.
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        when(fileUploader.upload(any(MultipartFile.class), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "/uploads/" + ((MultipartFile) invocation.getArgument(0)).getOriginalFilename();
+        });
+        Thread.ofPlatform().start(() -> {
+            try {
+                started.await();
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+
+        assertThrows(ServiceUnavailableException.class, () -> service.uploadImages(user,
+                List.of(image("a.jpg"), image("b.jpg"), image("c.jpg"), image("d.jpg"))));
+
+        verify(fileUploader).delete("/uploads/a.jpg");
+        verify(fileUploader).delete("/uploads/b.jpg");
+        verify(fileUploader).delete("/uploads/c.jpg");
+        verify(fileUploader, never()).delete("/uploads/d.jpg");
+        verify(userImageBatchWriter, never()).insert(anyLong(), anyList(), anyInt());
+    }
+
+    @Test
+    void testInsertFailureReleasesAllFiles() {
+        when(userImageBatchWriter.insert(anyLong(), anyList(), anyInt()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        InternalServerException e = assertThrows(InternalServerException.class,
+                () -> service.uploadImages(user, List.of(image("a.jpg"), image("b.jpg"))));
+
+        assertEquals(ErrorCode.FILE_UPLOAD_ERROR, e.getErrorCode());
+        verify(fileUploader).delete("/uploads/a.jpg");
+        verify(fileUploader).delete("/uploads/b.jpg");
+    }
+
+    private static MockMultipartFile image(String name) {
+        return new MockMultipartFile("images", name, "image/jpeg", new byte[] { 1, 2, 3 });
+    }
+}
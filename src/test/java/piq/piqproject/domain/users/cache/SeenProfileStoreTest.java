@@ -0,0 +1,162 @@
+package piq.piqproject.domain.users.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SeenProfileStoreTest {
+
+    // Redis 대신 쓰는 메모리 저장소 (down이면 연결 실패)
+    private final Map<String, byte[]> redis = new ConcurrentHashMap<>();
+    private final AtomicBoolean down = new AtomicBoolean();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisTemplate<String, byte[]> redisTemplate;
+    private SeenProfileProperties properties;
+    private SeenProfileStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, byte[]> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> {
+            if (down.get()) {
+                throw new RedisConnectionFailureException("redis is down");
+            }
+            return redis.get(invocation.<String>getArgument(0));
+        });
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), any(byte[].class), any(Duration.class));
+        // WATCH/MULTI는 아무것도 하지 않고, EXEC는 항상 성공합니다.
+        when(redisTemplate.execute(any(SessionCallback.class)))
+                .thenAnswer(invocation -> invocation.<SessionCallback<List<Object>>>getArgument(0)
+                        .execute(redisTemplate));
+        when(redisTemplate.exec()).thenReturn(List.of(true));
+
+        properties = new SeenProfileProperties();
+        properties.setFlushIntervalMillis(3_600_000); // 테스트에서 flushAll()/evict()를 직접 호출
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (store != null) {
+            store.shutdown();
+        }
+    }
+
+    private SeenProfileStore newStore() {
+        store = new SeenProfileStore(redisTemplate, properties, meterRegistry);
+        return store;
+    }
+
+    private double localEntries() {
+        return meterRegistry.get("users.seen.local.size").gauge().value();
+    }
+
+    @Test
+    void testFlushMergesWithOtherServers() {
+        redis.put("users:seen:1", SeenProfileStore.serialize(RoaringBitmap.bitmapOf(5)));
+        SeenProfileStore store = newStore();
+
+        store.markSeen(1L, List.of(2L, 3L));
+        assertEquals(RoaringBitmap.bitmapOf(2, 3, 5), store.seenBy(1L));
+
+        // 반영 전에 다른 서버가 7을 기록한 경우
+        redis.put("users:seen:1", SeenProfileStore.serialize(RoaringBitmap.bitmapOf(5, 7)));
+        store.flushAll();
+
+        assertEquals(RoaringBitmap.bitmapOf(2, 3, 5, 7), SeenProfileStore.deserialize(redis.get("users:seen:1")));
+        assertEquals(RoaringBitmap.bitmapOf(2, 3, 5, 7), store.seenBy(1L));
+    }
+
+    @Test
+    void testRecordsAreKeptWhileRedisIsDown() {
+        redis.put("users:seen:1", SeenProfileStore.serialize(RoaringBitmap.bitmapOf(9)));
+        down.set(true);
+        SeenProfileStore store = newStore();
+
+        store.markSeen(1L, 2L);
+        store.markSeen(1L, 3L);
+        assertEquals(RoaringBitmap.bitmapOf(2, 3), store.seenBy(1L));
+
+        store.flushAll(); // 아직 장애 중이므로 다음 주기로 미룸
+        down.set(false);
+        store.flushAll();
+
+        assertEquals(RoaringBitmap.bitmapOf(2, 3, 9), SeenProfileStore.deserialize(redis.get("users:seen:1")));
+        assertEquals(RoaringBitmap.bitmapOf(2, 3, 9), store.seenBy(1L));
+    }
+
+    @Test
+    void testEvictBoundsEntriesDuringOutage() {
+        properties.setMaxEntries(2);
+        down.set(true);
+        SeenProfileStore store = newStore();
+        for (long userId = 1; userId <= 5; userId++) {
+            store.markSeen(userId, userId + 100);
+        }
+        assertEquals(5, localEntries());
+
+        store.flushAll();
+        store.evict();
+
+        assertEquals(2, localEntries());
+    }
+
+    @Test
+    void testIdleEntriesAreEvictedAfterFlush() throws InterruptedException {
+        properties.setIdleEvictSeconds(0);
+        SeenProfileStore store = newStore();
+        store.markSeen(1L, 2L);
+
+        store.evict(); // 반영 전에는 내리지 않음
+        assertEquals(1, localEntries());
+
+        store.flushAll();
+        Thread.sleep(10); // 마지막 사용 시각보다 뒤에 확인
+        store.evict();
+        assertEquals(0, localEntries());
+        // 다시 읽으면 Redis에 저장된 기록이 보입니다.
+        assertEquals(RoaringBitmap.bitmapOf(2), store.seenBy(1L));
+    }
+
+    @Test
+    void testSerializedBitmapRoundTrips() {
+        RoaringBitmap seen = RoaringBitmap.bitmapOf(1, 7, 70_000);
+        seen.add(100_000L, 200_000L); // 연속 구간은 run container로 압축됨
+
+        RoaringBitmap restored = SeenProfileStore.deserialize(SeenProfileStore.serialize(seen.clone()));
+
+        assertEquals(seen, restored);
+        assertTrue(SeenProfileStore.serialize(seen).length < 1024);
+    }
+
+    @Test
+    void testMissingOrMalformedValueIsEmpty() {
+        assertTrue(SeenProfileStore.deserialize(null).isEmpty());
+        assertTrue(SeenProfileStore.deserialize("not a bitmap".getBytes(StandardCharsets.UTF_8)).isEmpty());
+    }
+}
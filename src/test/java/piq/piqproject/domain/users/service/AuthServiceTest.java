@@ -0,0 +1,106 @@
+package piq.piqproject.domain.users.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import piq.piqproject.common.error.exception.ConflictException;
+import piq.piqproject.common.error.exception.ErrorCode;
+import piq.piqproject.config.springsecurity.PasswordHashingService;
+import piq.piqproject.domain.users.dto.request.SignUpRequestDto;
+import piq.piqproject.domain.users.entity.UserEntity;
+import piq.piqproject.domain.users.enums.Gender;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+public class AuthServiceTest {
+
+    private UserRepository userRepository;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamAllEmailsAndNicknames())
+                .thenReturn(Stream.<Object[]>of(new Object[] { "taken@piq.com", "taken" }));
+        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AvailabilityService availabilityService = new AvailabilityService(userRepository,
+                mock(StringRedisTemplate.class), mock(RedisMessageListenerContainer.class),
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(availabilityService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(availabilityService, "minExpectedInsertions", 1_000L);
+        ReflectionTestUtils.setField(availabilityService, "rebuildAfterDeletions", 1_000L);
+        availabilityService.initialize();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ReflectionTestUtils.getField(availabilityService, "filters") == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+        when(passwordHashingService.encode(anyString())).thenReturn("hashed");
+        authService = new AuthService(userRepository, passwordHashingService, null, null, null, null, null,
+                availabilityService, mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void testBloomNegativeSkipsExistsQueries() {
+        authService.signUp(request("new@piq.com", "newbie"));
+
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).existsByNickname(anyString());
+        verify(userRepository).save(any(UserEntity.class));
+    }
+
+    @Test
+    void testBloomPositiveIsCheckedInDatabase() {
+        when(userRepository.existsByEmail("taken@piq.com")).thenReturn(true);
+
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> authService.signUp(request("taken@piq.com", "newbie")));
+
+        assertEquals(ErrorCode.ALREADY_EXISTS_USER, e.getErrorCode());
+        verify(userRepository, never()).save(any(UserEntity.class));
+    }
+
+    @Test
+    void testUniqueViolationMissedByFilterIsConflict() {
+        // 다른 서버에서 방금 가입하여 이 서버의 필터에는 아직 없는 닉네임
+        when(userRepository.save(any(UserEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_users_nickname"));
+
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> authService.signUp(request("new@piq.com", "racer")));
+
+        assertEquals(ErrorCode.ALREADY_EXISTS_NICKNAME, e.getErrorCode());
+    }
+
+    private static SignUpRequestDto request(String email, String nickname) {
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setEmail(email);
+        request.setNickname(nickname);
+        request.setPassword("password1!");
+        request.setKakaoTalkId("kakao");
+        request.setAge(25);
+        request.setGender(Gender.FEMALE);
+        request.setIntroduce("hello");
+        return request;
+    }
+}
@@ -0,0 +1,123 @@
+package piq.piqproject.domain.users.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Limit;
+
+import piq.piqproject.common.pagination.Cursor;
+import piq.piqproject.common.pagination.CursorCodec;
+import piq.piqproject.common.pagination.SliceResponseDto;
+import piq.piqproject.domain.blocks.service.BlockExclusionCache;
+import piq.piqproject.domain.users.cache.SeenProfileProperties;
+import piq.piqproject.domain.users.cache.SeenProfileStore;
+import piq.piqproject.domain.users.dto.response.UserSimpleProfileResponseDto;
+import piq.piqproject.domain.users.enums.Gender;
+import piq.piqproject.domain.users.repository.UserRepository;
+
+public class UserServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final long VIEWER_ID = 100L;
+
+    private UserRepository userRepository;
+    private SeenProfileStore seenProfileStore;
+    private BlockExclusionCache blockExclusionCache;
+    private SeenProfileProperties seenProfileProperties;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        seenProfileStore = mock(SeenProfileStore.class);
+        blockExclusionCache = mock(BlockExclusionCache.class);
+        seenProfileProperties = new SeenProfileProperties();
+        userService = new UserService(userRepository, null, null, null, null, null, null, seenProfileStore,
+                seenProfileProperties, blockExclusionCache, null, null, null);
+
+        // 피드: ID 1~10, ID가 클수록 최근 가입 (최신순으로 limit개씩)
+        when(userRepository.findFeedFirstPage(eq(Gender.FEMALE), any(Limit.class)))
+                .thenAnswer(invocation -> rowsBelow(11, invocation.<Limit>getArgument(1)));
+        when(userRepository.findFeedPageAfter(eq(Gender.FEMALE), any(LocalDateTime.class), anyLong(),
+                any(Limit.class)))
+                .thenAnswer(invocation -> rowsBelow(invocation.<Long>getArgument(2),
+                        invocation.<Limit>getArgument(3)));
+        when(blockExclusionCache.excludedFor(VIEWER_ID)).thenReturn(new RoaringBitmap());
+    }
+
+    private static List<UserSimpleProfileResponseDto> rowsBelow(long id, Limit limit) {
+        return LongStream.iterate(id - 1, i -> i >= 1, i -> i - 1)
+                .limit(limit.max())
+                .mapToObj(UserServiceTest::row)
+                .toList();
+    }
+
+    private static UserSimpleProfileResponseDto row(long id) {
+        return UserSimpleProfileResponseDto.builder()
+                .id(id)
+                .gender(Gender.FEMALE)
+                .createdAt(BASE.plusMinutes(id))
+                .build();
+    }
+
+    private static List<Long> ids(SliceResponseDto<UserSimpleProfileResponseDto> slice) {
+        return slice.getContent().stream().map(UserSimpleProfileResponseDto::getId).toList();
+    }
+
+    @Test
+    void testSeenProfilesAreSkippedAndPageIsFilledFromNextRounds() {
+        when(seenProfileStore.seenBy(VIEWER_ID)).thenReturn(RoaringBitmap.bitmapOf(9, 8, 6));
+
+        // 첫 조회(10, 9, 8)에서 한 개만 남으므로 이어서 읽어 채웁니다.
+        SliceResponseDto<UserSimpleProfileResponseDto> page = userService.findProfilesByGenderAfter(VIEWER_ID,
+                Gender.FEMALE, null, 2);
+
+        assertEquals(List.of(10L, 7L), ids(page));
+        assertTrue(page.isHasNext());
+        assertEquals(7L, CursorCodec.decode(page.getNextCursor()).id());
+
+        SliceResponseDto<UserSimpleProfileResponseDto> next = userService.findProfilesByGenderAfter(VIEWER_ID,
+                Gender.FEMALE, page.getNextCursor(), 2);
+        assertEquals(List.of(5L, 4L), ids(next));
+    }
+
+    @Test
+    void testPartialPageContinuesFromLastReadRow() {
+        // 조회 횟수 안에 페이지를 채우지 못하면, 마지막으로 읽은 행 다음부터 이어가도록 커서를 돌려줍니다.
+        seenProfileProperties.setMaxScanRounds(2);
+        when(seenProfileStore.seenBy(VIEWER_ID)).thenReturn(RoaringBitmap.bitmapOf(10, 9, 8, 7, 6));
+
+        SliceResponseDto<UserSimpleProfileResponseDto> page = userService.findProfilesByGenderAfter(VIEWER_ID,
+                Gender.FEMALE, null, 2);
+
+        assertEquals(List.of(5L), ids(page));
+        assertTrue(page.isHasNext());
+        assertEquals(5L, CursorCodec.decode(page.getNextCursor()).id());
+    }
+
+    @Test
+    void testLastPageHasNoCursor() {
+        when(seenProfileStore.seenBy(VIEWER_ID)).thenReturn(RoaringBitmap.bitmapOf(3, 2));
+
+        SliceResponseDto<UserSimpleProfileResponseDto> page = userService.findProfilesByGenderAfter(VIEWER_ID,
+                Gender.FEMALE, CursorCodec.encode(new Cursor(BASE.plusMinutes(5), 5L)), 5);
+
+        assertEquals(List.of(4L, 1L), ids(page));
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+}
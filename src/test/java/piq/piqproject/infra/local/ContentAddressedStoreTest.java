@@ -0,0 +1,103 @@
+package piq.piqproject.infra.local;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import piq.piqproject.common.error.exception.InvalidRequestException;
+import piq.piqproject.common.error.exception.PayloadTooLargeException;
+import piq.piqproject.common.file.ImageFormat;
+
+public class ContentAddressedStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void testSameContentIsStoredOnceAndReleasedByReferenceCount() throws IOException {
+        ContentAddressedStore store = new ContentAddressedStore(root, 0);
+        byte[] png = png(100_000);
+
+        ContentAddressedStore.StoredFile first = store.store(new ByteArrayInputStream(png), 1_000_000);
+        ContentAddressedStore.StoredFile second = store.store(new ByteArrayInputStream(png), 1_000_000);
+
+        assertEquals(first.key(), second.key());
+        assertEquals(ImageFormat.PNG, first.format());
+        assertTrue(first.key().endsWith(first.hash() + ".png"));
+        assertFalse(first.deduplicated());
+        assertTrue(second.deduplicated());
+        assertArrayEquals(png, Files.readAllBytes(store.resolve(first.key())));
+        assertEquals(2, store.referenceCount(first.key()));
+        assertEquals(0, stagingFiles());
+
+        assertFalse(store.release(first.key()));
+        assertTrue(Files.exists(store.resolve(first.key())));
+        assertTrue(store.release(first.key()));
+        assertFalse(Files.exists(store.resolve(first.key())));
+        assertEquals(0, store.referenceCount(first.key()));
+    }
+
+    @Test
+    void testVariantsAreDeletedWithTheOriginal() throws IOException {
+        ContentAddressedStore store = new ContentAddressedStore(root, 0);
+        String key = store.store(new ByteArrayInputStream(png(1000)), 1_000_000).key();
+
+        String variantKey = store.storeVariant(key, "thumb", ImageFormat.JPEG, new byte[] { 1, 2, 3 });
+
+        assertEquals(key.replace(".png", ".thumb.jpg"), variantKey);
+        assertArrayEquals(new byte[] { 1, 2, 3 }, Files.readAllBytes(store.resolve(variantKey)));
+        assertFalse(store.release(variantKey));
+        assertTrue(Files.exists(store.resolve(variantKey)));
+
+        assertTrue(store.release(key));
+        assertFalse(Files.exists(store.resolve(variantKey)));
+        assertEquals(null, store.storeVariant(key, "thumb", ImageFormat.JPEG, new byte[] { 1 }));
+    }
+
+    @Test
+    void testRejectsUnknownFormatAndOversizedContent() throws IOException {
+        ContentAddressedStore store = new ContentAddressedStore(root, 0);
+
+        assertThrows(InvalidRequestException.class,
+                () -> store.store(new ByteArrayInputStream("not an image".getBytes()), 1_000_000));
+        assertThrows(PayloadTooLargeException.class,
+                () -> store.store(new ByteArrayInputStream(png(200_000)), 100_000));
+        assertEquals(0, stagingFiles());
+    }
+
+    @Test
+    void testResolveRejectsPathsOutsideTheStore() throws IOException {
+        ContentAddressedStore store = new ContentAddressedStore(root, 0);
+
+        assertEquals(null, store.resolve("../../etc/passwd"));
+        assertEquals(null, store.resolve("ab/cd/" + "a".repeat(64) + ".exe"));
+        assertEquals(null, store.resolve("ab/cd/" + "a".repeat(64) + ".jpg.refs"));
+    }
+
+    private long stagingFiles() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve(".staging"))) {
+            return files.count();
+        }
+    }
+
+    private static byte[] png(int size) {
+        byte[] content = new byte[size];
+        byte[] signature = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+        System.arraycopy(signature, 0, content, 0, signature.length);
+        for (int i = signature.length; i < size; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        return content;
+    }
+}
@@ -0,0 +1,61 @@
+package piq.piqproject.infra.local;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import piq.piqproject.common.file.ImageFormat;
+
+public class LocalUploaderTest {
+
+    private static final String LEGACY_KEY = "images/2025/09/17/0f8fad5b-d9cb-469f-a165-70867728950e.jpg";
+
+    @TempDir
+    Path root;
+
+    private Path legacyRoot;
+    private LocalUploader uploader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        legacyRoot = root.resolve("legacy");
+        LocalStorageProperties properties = new LocalStorageProperties();
+        properties.setRoot(root.resolve("store").toString());
+        properties.setLegacyRoot(legacyRoot.toString());
+        uploader = new LocalUploader(properties);
+    }
+
+    @Test
+    void testLegacyFileIsReadAndDeleted() throws IOException {
+        Path legacy = legacyRoot.resolve(LEGACY_KEY);
+        Files.createDirectories(legacy.getParent());
+        Files.write(legacy, new byte[] { 1, 2, 3 });
+        String url = LocalUploader.URL_PREFIX + LEGACY_KEY;
+
+        assertEquals(legacy, uploader.resolve(LEGACY_KEY));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, uploader.read(url));
+        // 옛 파일에는 변형을 만들지 않고 원본을 사용
+        assertEquals(url, uploader.uploadVariant(url, "thumb", ImageFormat.JPEG, new byte[] { 4 }));
+
+        uploader.delete(url);
+        assertFalse(Files.exists(legacy));
+        assertThrows(NoSuchFileException.class, () -> uploader.read(url));
+    }
+
+    @Test
+    void testOtherPathsAreNotResolved() {
+        assertNull(uploader.resolve("images/2025/09/17/../../../../secret.jpg"));
+        assertNull(uploader.resolve("etc/passwd"));
+    }
+}